@@ -34,6 +34,8 @@ public class ApplicationConfiguration {
     private ErrorMessage sessionExpiredError;
     private int heartbeatInterval;
     private int maxMessageSuspendTimeout;
+    private int maxPipelinedMessages = 1;
+    private int changeProcessingFrameBudget;
 
     private boolean productionMode;
     private boolean requestTiming;
@@ -211,6 +213,53 @@ public class ApplicationConfiguration {
         this.maxMessageSuspendTimeout = maxMessageSuspendTimeout;
     }
 
+    /**
+     * Gets the maximum number of messages which may be sent to the server
+     * before the responses to the previous messages have been received.
+     *
+     * @return the maximum number of messages in flight, <code>1</code> if
+     *         messages are not pipelined
+     */
+    public int getMaxPipelinedMessages() {
+        return maxPipelinedMessages;
+    }
+
+    /**
+     * Sets the maximum number of messages which may be sent to the server
+     * before the responses to the previous messages have been received.
+     *
+     * @param maxPipelinedMessages
+     *            the maximum number of messages in flight, values smaller
+     *            than <code>1</code> are treated as <code>1</code>
+     */
+    public void setMaxPipelinedMessages(int maxPipelinedMessages) {
+        this.maxPipelinedMessages = Math.max(1, maxPipelinedMessages);
+    }
+
+    /**
+     * Gets the time budget for updating the DOM based on the changes of a
+     * server message before letting the browser render and handle user input.
+     *
+     * @return the time budget in milliseconds, or <code>0</code> if the DOM is
+     *         updated at once
+     */
+    public int getChangeProcessingFrameBudget() {
+        return changeProcessingFrameBudget;
+    }
+
+    /**
+     * Sets the time budget for updating the DOM based on the changes of a
+     * server message before letting the browser render and handle user input.
+     *
+     * @param changeProcessingFrameBudget
+     *            the time budget in milliseconds, or <code>0</code> to update
+     *            the DOM at once
+     */
+    public void setChangeProcessingFrameBudget(
+            int changeProcessingFrameBudget) {
+        this.changeProcessingFrameBudget = changeProcessingFrameBudget;
+    }
+
     /**
      * Gets the message used when a session expiration error occurs.
      *
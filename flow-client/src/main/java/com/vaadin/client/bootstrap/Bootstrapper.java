@@ -153,6 +153,19 @@ public class Bootstrapper implements EntryPoint {
         conf.setMaxMessageSuspendTimeout(
                 jsoConfiguration.getConfigInteger("maxMessageSuspendTimeout"));
 
+        Integer maxPipelinedMessages = jsoConfiguration
+                .getConfigInteger("maxPipelinedMessages");
+        if (maxPipelinedMessages != null) {
+            conf.setMaxPipelinedMessages(maxPipelinedMessages.intValue());
+        }
+
+        Integer changeProcessingFrameBudget = jsoConfiguration
+                .getConfigInteger("changeProcessingFrameBudget");
+        if (changeProcessingFrameBudget != null) {
+            conf.setChangeProcessingFrameBudget(
+                    changeProcessingFrameBudget.intValue());
+        }
+
         conf.setServletVersion(jsoConfiguration.getVaadinVersion());
         conf.setAtmosphereVersion(jsoConfiguration.getAtmosphereVersion());
         conf.setAtmosphereJSVersion(jsoConfiguration.getAtmosphereJSVersion());
@@ -29,6 +29,9 @@ import com.vaadin.client.UILifecycle;
 import com.vaadin.client.UILifecycle.UIState;
 import com.vaadin.client.WidgetUtil;
 import com.vaadin.client.communication.AtmospherePushConnection.AtmosphereResponse;
+import com.vaadin.client.flow.collection.JsArray;
+import com.vaadin.client.flow.collection.JsCollections;
+import com.vaadin.flow.shared.ApplicationConstants;
 
 import elemental.client.Browser;
 import elemental.json.JsonObject;
@@ -55,6 +58,13 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
 
     private Timer scheduledReconnect;
 
+    /**
+     * Payloads which did not reach the server and are re-sent on the next
+     * reconnect attempt, ordered by client-to-server id. There can be more
+     * than one when several requests are in flight at the same time.
+     */
+    private final JsArray<JsonObject> failedPayloads = JsCollections.array();
+
     protected enum Type {
         HEARTBEAT(0), PUSH(1), XHR(2);
 
@@ -200,6 +210,14 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
             return;
         }
 
+        if (payload != null && scheduledReconnect != null) {
+            // Another in-flight request failed for the same reason. Re-send it
+            // together with the already failed ones instead of counting it as
+            // a new reconnect attempt.
+            addFailedPayload(payload);
+            return;
+        }
+
         reconnectAttempt++;
         Console.log("Reconnect attempt " + reconnectAttempt + " for " + type);
 
@@ -226,6 +244,9 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
 
         // The request is still open at this point to avoid interference, so we
         // do not need to start a new one
+        if (payload != null) {
+            addFailedPayload(payload);
+        }
         if (reconnectAttempt == 1) {
             // Try once immediately
             doReconnect(payload);
@@ -245,6 +266,9 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
     /**
      * Re-sends the payload to the server (if not null) or re-sends a heartbeat
      * request immediately.
+     * <p>
+     * Any other payloads which have failed while waiting for the reconnect are
+     * re-sent as well, in the order they were originally sent.
      *
      * @param payload
      *            the payload that did not reach the server, null if the problem
@@ -259,8 +283,16 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
             return;
         }
         if (payload != null) {
-            Console.log("Re-sending last message to the server...");
-            registry.getMessageSender().send(payload);
+            addFailedPayload(payload);
+        }
+        if (!failedPayloads.isEmpty()) {
+            JsArray<JsonObject> payloads = failedPayloads.splice(0,
+                    failedPayloads.length());
+            Console.log("Re-sending " + payloads.length()
+                    + " message(s) to the server...");
+            for (int i = 0; i < payloads.length(); i++) {
+                registry.getMessageSender().send(payloads.get(i));
+            }
         } else {
             // Use heartbeat
             Console.log("Trying to re-establish server connection...");
@@ -268,16 +300,38 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
         }
     }
 
+    private void addFailedPayload(JsonObject payload) {
+        int index = failedPayloads.length();
+        for (int i = 0; i < failedPayloads.length(); i++) {
+            JsonObject failed = failedPayloads.get(i);
+            if (failed == payload) {
+                return;
+            }
+            if (index == failedPayloads.length()
+                    && getClientId(failed) > getClientId(payload)) {
+                index = i;
+            }
+        }
+        failedPayloads.splice(index, 0, payload);
+    }
+
+    private static double getClientId(JsonObject payload) {
+        if (payload.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID)) {
+            return payload.getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID);
+        }
+        return Double.MAX_VALUE;
+    }
+
     /**
      * Called when we should give up trying to reconnect and inform the user
      * that the application is in CONNECTION_LOST state.
      */
     protected final void giveUp() {
         reconnectionCause = null;
+        failedPayloads.clear();
 
-        if (registry.getRequestResponseTracker().hasActiveRequest()) {
-            endRequest();
-        }
+        // All requests in flight are lost, not only the one which failed last
+        registry.getRequestResponseTracker().endAllRequests();
 
         ConnectionIndicator.setState(ConnectionIndicator.CONNECTION_LOST);
         pauseHeartbeats();
@@ -139,9 +139,20 @@ public class MessageHandler {
     private Timer forceHandleMessage = new Timer() {
         @Override
         public void run() {
-            forceMessageHandling();
+            if (processingInSlices) {
+                // Still applying a large message, which is not stuck
+                schedule(registry.getApplicationConfiguration()
+                        .getMaxMessageSuspendTimeout());
+            } else {
+                forceMessageHandling();
+            }
         }
     };
+
+    /**
+     * Whether the changes of a message are being applied in several slices.
+     */
+    private boolean processingInSlices;
     private Command nextResponseSessionExpiredHandler;
 
     /**
@@ -384,11 +395,13 @@ public class MessageHandler {
         assert getServerId(valueMap) == -1
                 || getServerId(valueMap) == lastSeenServerSyncId;
 
-        try {
-            double processUidlStart = Duration.currentTimeMillis();
-
-            JsonObject json = valueMap.cast();
+        double processUidlStart = Duration.currentTimeMillis();
+        JsonObject json = valueMap.cast();
+        int frameBudget = registry.getApplicationConfiguration()
+                .getChangeProcessingFrameBudget();
 
+        boolean completing = false;
+        try {
             if (json.hasKey("constants")) {
                 ConstantPool constantPool = registry.getConstantPool();
                 JsonObject constants = json.getObject("constants");
@@ -398,19 +411,96 @@ public class MessageHandler {
             if (json.hasKey("changes")) {
                 processChanges(json);
             }
+            addExecuteJavaScriptListener(json);
 
-            if (json.hasKey(JsonConstants.UIDL_KEY_EXECUTE)) {
-                // Invoke JS only after all tree changes have been
-                // propagated and after post flush listeners added during
-                // message processing (so add one more post flush listener which
-                // is called after all added post listeners).
-                Reactive.addPostFlushListener(
-                        () -> Reactive.addPostFlushListener(() -> registry
-                                .getExecuteJavaScriptProcessor()
-                                .execute(json.getArray(
-                                        JsonConstants.UIDL_KEY_EXECUTE))));
+            completing = true;
+            if (frameBudget > 0) {
+                flushInSlices(valueMap, lock, start, processUidlStart,
+                        frameBudget);
+            } else {
+                completeMessage(valueMap, lock, start, processUidlStart);
             }
+        } finally {
+            if (!completing) {
+                endMessageProcessing(valueMap, lock);
+            }
+        }
+    }
+
+    /**
+     * Flushes the bindings resulting from the changes of a server message in
+     * slices of at most the given time budget, yielding to the browser between
+     * the slices. Other messages are not handled until all slices have been
+     * processed, since the response handling lock is held until then.
+     * <p>
+     * All changes of the message have been applied to the state tree before
+     * the first slice. A flush triggered by user input between the slices thus
+     * only completes the remaining bindings of a consistent tree.
+     */
+    private void flushInSlices(ValueMap valueMap, Object lock, double start,
+            double processUidlStart, int frameBudget) {
+        processingInSlices = true;
+        boolean completing = false;
+        try {
+            Profiler.enter("MessageHandler.flushSlice");
+            double deadline = Duration.currentTimeMillis() + frameBudget;
+            boolean flushed = Reactive
+                    .flush(() -> Duration.currentTimeMillis() >= deadline);
+            Profiler.leave("MessageHandler.flushSlice");
+
+            completing = true;
+            if (flushed) {
+                processingInSlices = false;
+                completeMessage(valueMap, lock, start, processUidlStart);
+            } else {
+                scheduleSlice(() -> flushInSlices(valueMap, lock, start,
+                        processUidlStart, frameBudget));
+            }
+        } finally {
+            if (!completing) {
+                processingInSlices = false;
+                endMessageProcessing(valueMap, lock);
+            }
+        }
+    }
+
+    /**
+     * Runs the given command once the browser has had a chance to render,
+     * or as soon as possible if the page is not visible and thus not rendered.
+     */
+    private static native void scheduleSlice(Command command)
+    /*-{
+        var callback = $entry(function() {
+            command.@com.vaadin.client.Command::execute()();
+        });
+        if ($wnd.requestAnimationFrame && !$doc.hidden) {
+            $wnd.requestAnimationFrame(callback);
+        } else {
+            $wnd.setTimeout(callback, 0);
+        }
+    }-*/;
+
+    private void addExecuteJavaScriptListener(JsonObject json) {
+        if (json.hasKey(JsonConstants.UIDL_KEY_EXECUTE)) {
+            // Invoke JS only after all tree changes have been
+            // propagated and after post flush listeners added during
+            // message processing (so add one more post flush listener which
+            // is called after all added post listeners).
+            Reactive.addPostFlushListener(
+                    () -> Reactive.addPostFlushListener(() -> registry
+                            .getExecuteJavaScriptProcessor()
+                            .execute(json.getArray(
+                                    JsonConstants.UIDL_KEY_EXECUTE))));
+        }
+    }
 
+    /**
+     * Completes the processing of a server message after its changes have
+     * been applied.
+     */
+    private void completeMessage(ValueMap valueMap, Object lock, double start,
+            double processUidlStart) {
+        try {
             Console.log("handleUIDLMessage: "
                     + (Duration.currentTimeMillis() - processUidlStart)
                     + " ms");
@@ -466,27 +556,34 @@ public class MessageHandler {
             }
 
         } finally {
-            Console.log(" Processing time was "
-                    + String.valueOf(lastProcessingTime) + "ms");
+            endMessageProcessing(valueMap, lock);
+        }
+    }
 
-            endRequestIfResponse(valueMap);
-            resumeResponseHandling(lock);
+    private void endMessageProcessing(ValueMap valueMap, Object lock) {
+        Console.log(" Processing time was " + String.valueOf(lastProcessingTime)
+                + "ms");
 
-            if (Profiler.isEnabled()) {
-                Scheduler.get().scheduleDeferred(() -> {
-                    Profiler.logTimings();
-                    Profiler.reset();
-                });
-            }
-        }
+        endRequestIfResponse(valueMap);
+        resumeResponseHandling(lock);
 
+        if (Profiler.isEnabled()) {
+            Scheduler.get().scheduleDeferred(() -> {
+                Profiler.logTimings();
+                Profiler.reset();
+            });
+        }
     }
 
     private void processChanges(JsonObject json) {
         StateTree tree = registry.getStateTree();
         JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
                 json.getArray("changes"));
+        afterChangesProcessed(updatedNodes);
+    }
 
+    private void afterChangesProcessed(JsSet<StateNode> updatedNodes) {
+        StateTree tree = registry.getStateTree();
         if (!registry.getApplicationConfiguration().isProductionMode()) {
             try {
                 JsonObject debugJson = tree.getRootNode().getDebugJson();
@@ -566,13 +663,11 @@ public class MessageHandler {
     }
 
     private void forceMessageHandling() {
-        // Clear previous request if it exists. Otherwise resyncrhonize can
+        // Clear previous requests if they exist. Otherwise resyncrhonize can
         // trigger
         // "Trying to start a new request while another is active" exception and
-        // fail.
-        if (registry.getRequestResponseTracker().hasActiveRequest()) {
-            registry.getRequestResponseTracker().endRequest();
-        }
+        // fail. With pipelining, several requests may be active.
+        registry.getRequestResponseTracker().endAllRequests();
         if (!responseHandlingLocks.isEmpty()) {
             // Lock which was never release -> bug in locker or things just
             // too slow
@@ -71,10 +71,11 @@ public class MessageSender {
             return;
         }
 
-        if (registry.getRequestResponseTracker().hasActiveRequest()
+        if (!registry.getRequestResponseTracker().canStartRequest()
                 || (push != null && !push.isActive())) {
-            // There is an active request or push is enabled but not active
-            // -> send when current request completes or push becomes active
+            // There are as many active requests as allowed or push is enabled
+            // but not active -> send when a current request completes or push
+            // becomes active
         } else {
             doSendInvocationsToServer();
         }
@@ -20,6 +20,7 @@ import com.google.web.bindery.event.shared.Event;
 import com.google.web.bindery.event.shared.EventBus;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 
+import com.vaadin.client.ApplicationConfiguration;
 import com.vaadin.client.ConnectionIndicator;
 import com.vaadin.client.Registry;
 import com.vaadin.client.gwt.com.google.web.bindery.event.shared.SimpleEventBus;
@@ -38,7 +39,7 @@ import com.vaadin.client.gwt.com.google.web.bindery.event.shared.SimpleEventBus;
  */
 public class RequestResponseTracker {
 
-    private boolean hasActiveRequest = false;
+    private int activeRequests = 0;
     private final Registry registry;
     private EventBus eventBus = new SimpleEventBus();
 
@@ -55,20 +56,45 @@ public class RequestResponseTracker {
     /**
      * Marks that a new request has started.
      * <p>
-     * Should not be called when a request is in progress, i.e.
-     * {@link #startRequest()} has been called but not {@link #endRequest()}.
+     * Should not be called unless {@link #canStartRequest()} returns
+     * <code>true</code>. Unless pipelining of messages is enabled, this means
+     * that no request may be in progress, i.e. {@link #startRequest()} has been
+     * called but not {@link #endRequest()}.
      * <p>
      * Fires a {@link RequestStartingEvent}.
      */
     public void startRequest() {
-        if (hasActiveRequest) {
+        if (!canStartRequest()) {
             throw new IllegalStateException(
                     "Trying to start a new request while another is active");
         }
-        hasActiveRequest = true;
+        activeRequests++;
         fireEvent(new RequestStartingEvent());
     }
 
+    /**
+     * Checks whether a new request can be started without waiting for the
+     * active requests to end.
+     * <p>
+     * Several requests can be active at the same time only when pipelining is
+     * enabled using
+     * {@link ApplicationConfiguration#getMaxPipelinedMessages()}.
+     *
+     * @return true if a new request can be started, false otherwise
+     */
+    public boolean canStartRequest() {
+        return activeRequests < getMaxActiveRequests();
+    }
+
+    private int getMaxActiveRequests() {
+        ApplicationConfiguration configuration = registry
+                .getApplicationConfiguration();
+        if (configuration == null) {
+            return 1;
+        }
+        return configuration.getMaxPipelinedMessages();
+    }
+
     /**
      * Fires the given event using the event bus for this class.
      *
@@ -85,11 +111,11 @@ public class RequestResponseTracker {
      * @return true if there is an active request, false otherwise
      */
     public boolean hasActiveRequest() {
-        return hasActiveRequest;
+        return activeRequests > 0;
     }
 
     /**
-     * Marks that the current request has ended.
+     * Marks that the oldest active request has ended.
      * <p>
      * Should not be called unless a request is in progress, i.e.
      * {@link #startRequest()} has been called but not {@link #endRequest()}.
@@ -99,14 +125,13 @@ public class RequestResponseTracker {
      * Fires a {@link ResponseHandlingEndedEvent}.
      */
     public void endRequest() {
-        if (!hasActiveRequest) {
+        if (activeRequests == 0) {
             throw new IllegalStateException(
                     "endRequest called when no request is active");
         }
         // After sendInvocationsToServer() there may be a new active
-        // request, so we must set hasActiveRequest to false before, not after,
-        // the call.
-        hasActiveRequest = false;
+        // request, so we must decrease the count before, not after, the call.
+        activeRequests--;
 
         if (registry.getUILifecycle().isRunning()
                 && registry.getServerRpcQueue().isFlushPending()) {
@@ -132,6 +157,31 @@ public class RequestResponseTracker {
         fireEvent(new ResponseHandlingEndedEvent());
     }
 
+    /**
+     * Marks that all active requests have ended, e.g. because the client gives
+     * up waiting for their responses and resynchronizes with the server.
+     * <p>
+     * Does nothing if no request is active. Otherwise behaves as a single call
+     * to {@link #endRequest()}, which fires one
+     * {@link ResponseHandlingEndedEvent}.
+     */
+    public void endAllRequests() {
+        if (activeRequests == 0) {
+            return;
+        }
+        activeRequests = 1;
+        endRequest();
+    }
+
+    /**
+     * Gets the number of requests which have been started but not ended.
+     *
+     * @return the number of active requests
+     */
+    public int getActiveRequestCount() {
+        return activeRequests;
+    }
+
     /**
      * Adds a handler for {@link RequestStartingEvent}s.
      *
@@ -15,6 +15,8 @@
  */
 package com.vaadin.client.flow.reactive;
 
+import java.util.function.BooleanSupplier;
+
 import com.vaadin.client.Command;
 import com.vaadin.client.flow.collection.JsArray;
 import com.vaadin.client.flow.collection.JsCollections;
@@ -97,14 +99,37 @@ public class Reactive {
      * @see #addPostFlushListener(FlushListener)
      */
     public static void flush() {
+        flush(() -> false);
+    }
+
+    /**
+     * Flushes flush listeners and post flush listeners in the same order as
+     * {@link #flush()}, but stops before invoking the next listener when the
+     * given condition is met. Remaining listeners are invoked by the next
+     * flush.
+     * <p>
+     * This makes it possible to spread the work of a large flush over several
+     * tasks to keep the browser responsive.
+     *
+     * @param interrupt
+     *            checked before invoking each listener, flushing stops if it
+     *            returns <code>true</code>
+     * @return <code>true</code> if there are no more listeners to flush,
+     *         <code>false</code> if the flush was interrupted or a flush is
+     *         already in progress
+     */
+    public static boolean flush(BooleanSupplier interrupt) {
         if (flushing) {
-            return;
+            return false;
         }
         try {
             flushing = true;
             while (hasFlushListeners() || hasPostFlushListeners()) {
                 // Purge all flush listeners
                 while (hasFlushListeners()) {
+                    if (interrupt.getAsBoolean()) {
+                        return false;
+                    }
                     FlushListener oldestListener = flushListeners.remove(0);
                     oldestListener.flush();
                 }
@@ -113,10 +138,14 @@ public class Reactive {
                 // flush
                 // listeners to purge
                 if (hasPostFlushListeners()) {
+                    if (interrupt.getAsBoolean()) {
+                        return false;
+                    }
                     FlushListener oldestListener = postFlushListeners.remove(0);
                     oldestListener.flush();
                 }
             }
+            return true;
         } finally {
             flushing = false;
         }
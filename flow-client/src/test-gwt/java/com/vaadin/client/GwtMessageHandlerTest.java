@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import com.google.gwt.core.client.Duration;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.user.client.Timer;
 import com.vaadin.client.communication.MessageHandler;
@@ -27,6 +28,8 @@ import com.vaadin.client.communication.MessageSender;
 import com.vaadin.client.communication.RequestResponseTracker;
 import com.vaadin.client.flow.ExecuteJavaScriptProcessor;
 import com.vaadin.client.flow.StateTree;
+import com.vaadin.client.flow.reactive.Reactive;
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
 import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
@@ -407,6 +410,95 @@ public class GwtMessageHandlerTest extends ClientEngineTestBase {
         });
     }
 
+    public void testHandleJSON_frameBudgetExceeded_allChangesAppliedBeforeBindingInSlices() {
+        resetInternalEvents();
+        Reactive.reset();
+        registry.getApplicationConfiguration()
+                .setChangeProcessingFrameBudget(1);
+        List<String> bindings = addSlowBindings(3);
+
+        handler.handleJSON(createPropertyChangesMessage().cast());
+
+        // The first slice has run: all changes have been applied to the tree
+        // but only one binding has been flushed
+        assertPropertyChangesApplied();
+        assertEquals(1, bindings.size());
+        assertFalse(handler.isInitialUidlHandled());
+
+        doAssert(() -> {
+            assertEquals(3, bindings.size());
+            assertTrue(handler.isInitialUidlHandled());
+        });
+    }
+
+    public void testHandleJSON_frameBudgetExceeded_flushByUserInputBindsCompleteTree() {
+        resetInternalEvents();
+        Reactive.reset();
+        registry.getApplicationConfiguration()
+                .setChangeProcessingFrameBudget(1);
+        List<String> bindings = addSlowBindings(3);
+
+        handler.handleJSON(createPropertyChangesMessage().cast());
+        assertEquals(1, bindings.size());
+
+        // An event handler flushes between the slices
+        Reactive.flush();
+
+        assertEquals(3, bindings.size());
+        assertPropertyChangesApplied();
+        // The message is still completed by the next slice
+        assertFalse(handler.isInitialUidlHandled());
+
+        doAssert(() -> {
+            assertEquals(3, bindings.size());
+            assertTrue(handler.isInitialUidlHandled());
+        });
+    }
+
+    private static List<String> addSlowBindings(int count) {
+        List<String> bindings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = "binding" + i;
+            Reactive.addFlushListener(() -> {
+                double end = Duration.currentTimeMillis() + 2;
+                while (Duration.currentTimeMillis() < end) {
+                    // Simulate an expensive binding
+                }
+                bindings.add(name);
+            });
+        }
+        return bindings;
+    }
+
+    private JavaScriptObject createPropertyChangesMessage() {
+        int rootId = registry.getStateTree().getRootNode().getId();
+        JsonArray changes = Json.createArray();
+        for (int i = 0; i < 3; i++) {
+            JsonObject change = Json.createObject();
+            change.put(JsonConstants.CHANGE_TYPE,
+                    JsonConstants.CHANGE_TYPE_PUT);
+            change.put(JsonConstants.CHANGE_NODE, rootId);
+            change.put(JsonConstants.CHANGE_FEATURE,
+                    NodeFeatures.ELEMENT_PROPERTIES);
+            change.put(JsonConstants.CHANGE_MAP_KEY, "property" + i);
+            change.put(JsonConstants.CHANGE_PUT_VALUE, "value" + i);
+            changes.set(i, change);
+        }
+        JavaScriptObject object = JavaScriptObject.createObject();
+        JsonObject obj = object.cast();
+        obj.put("changes", changes);
+        return object;
+    }
+
+    private void assertPropertyChangesApplied() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("value" + i,
+                    registry.getStateTree().getRootNode()
+                            .getMap(NodeFeatures.ELEMENT_PROPERTIES)
+                            .getProperty("property" + i).getValue());
+        }
+    }
+
     private TestResourceLoader getResourceLoader() {
         return (TestResourceLoader) registry.getResourceLoader();
     }
@@ -1,22 +1,43 @@
 package com.vaadin.client.communication;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.xhr.client.XMLHttpRequest;
 import com.vaadin.client.*;
 import com.vaadin.client.flow.StateTree;
 import com.vaadin.flow.internal.nodefeature.NodeFeatures;
 import com.vaadin.flow.internal.nodefeature.ReconnectDialogConfigurationMap;
+import com.vaadin.flow.shared.ApplicationConstants;
 import elemental.client.Browser;
 import elemental.events.Event;
+import elemental.json.Json;
+import elemental.json.JsonObject;
 
 public class GwtDefaultConnectionStateHandlerTest extends ClientEngineTestBase {
 
     private DefaultConnectionStateHandler handler;
     private Registry registry;
+    private List<JsonObject> sent;
+
+    private class TestMessageSender extends MessageSender {
+
+        public TestMessageSender(Registry registry) {
+            super(registry);
+        }
+
+        @Override
+        public void send(JsonObject payload) {
+            sent.add(payload);
+        }
+    }
 
     @Override
     protected void gwtSetUp() throws Exception {
         super.gwtSetUp();
         createDummyConnectionState();
+        sent = new ArrayList<>();
 
         registry = new Registry() {
             {
@@ -26,6 +47,7 @@ public class GwtDefaultConnectionStateHandlerTest extends ClientEngineTestBase {
                 set(ApplicationConfiguration.class, new ApplicationConfiguration() {{
                     setHeartbeatInterval(10);
                     setServiceUrl("");
+                    setMaxPipelinedMessages(2);
                 }});
                 set(StateTree.class, new StateTree(this) {{
                     getRootNode().getMap(NodeFeatures.RECONNECT_DIALOG_CONFIGURATION)
@@ -36,6 +58,8 @@ public class GwtDefaultConnectionStateHandlerTest extends ClientEngineTestBase {
                 }});
                 set(ReconnectConfiguration.class, new ReconnectConfiguration(this));
                 set(Heartbeat.class, new Heartbeat(this));
+                set(ServerRpcQueue.class, new ServerRpcQueue(this));
+                set(MessageSender.class, new TestMessageSender(this));
                 set(RequestResponseTracker.class,
                         new RequestResponseTracker(this));
                 set(ConnectionStateHandler.class,
@@ -102,6 +126,68 @@ public class GwtDefaultConnectionStateHandlerTest extends ClientEngineTestBase {
                 ConnectionIndicator.getState());
     }
 
+    public void test_severalRequestsFail_pendingReconnectResendsAllInOrder() {
+        JsonObject first = createPayload(0);
+        JsonObject second = createPayload(1);
+        registry.getRequestResponseTracker().startRequest();
+        registry.getRequestResponseTracker().startRequest();
+
+        // first attempt re-sends immediately
+        handler.pushNotConnected(first);
+        assertEquals(1, sent.size());
+        assertSame(first, sent.get(0));
+
+        setReconnectInterval(10);
+        // second attempt is scheduled
+        handler.pushNotConnected(second);
+        assertEquals(1, sent.size());
+
+        // the re-sent first message fails again while the reconnect is
+        // pending: it joins the pending reconnect without using up an attempt
+        handler.pushNotConnected(first);
+        assertEquals(ConnectionIndicator.RECONNECTING,
+                ConnectionIndicator.getState());
+        assertEquals(2,
+                registry.getRequestResponseTracker().getActiveRequestCount());
+
+        delayTestFinish(1000);
+        new Timer() {
+            @Override
+            public void run() {
+                assertEquals(3, sent.size());
+                assertSame(first, sent.get(1));
+                assertSame(second, sent.get(2));
+                finishTest();
+            }
+        }.schedule(100);
+    }
+
+    public void test_giveUp_severalRequestsInFlight_allRequestsEnded() {
+        registry.getRequestResponseTracker().startRequest();
+        registry.getRequestResponseTracker().startRequest();
+
+        Browser.getWindow().dispatchEvent(createEvent("offline"));
+
+        assertEquals(ConnectionIndicator.CONNECTION_LOST,
+                ConnectionIndicator.getState());
+        assertFalse(registry.getRequestResponseTracker().hasActiveRequest());
+    }
+
+    private void setReconnectInterval(int interval) {
+        registry.getStateTree().getRootNode()
+                .getMap(NodeFeatures.RECONNECT_DIALOG_CONFIGURATION)
+                .getProperty(
+                        ReconnectDialogConfigurationMap.RECONNECT_INTERVAL_KEY)
+                .setValue((double) interval);
+    }
+
+    private static JsonObject createPayload(int clientId) {
+        JsonObject payload = Json.createObject();
+        payload.put(ApplicationConstants.CLIENT_TO_SERVER_ID, clientId);
+        payload.put(ApplicationConstants.RPC_INVOCATIONS, Json.createArray());
+        return payload;
+    }
+
     private static native Event createEvent(String type)
     /*-{
         return new Event(type);
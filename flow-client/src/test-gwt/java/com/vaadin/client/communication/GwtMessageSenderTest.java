@@ -0,0 +1,174 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vaadin.client.ApplicationConfiguration;
+import com.vaadin.client.ClientEngineTestBase;
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+/**
+ * Tests pipelining of messages in {@link MessageSender} and
+ * {@link RequestResponseTracker}.
+ */
+public class GwtMessageSenderTest extends ClientEngineTestBase {
+
+    private Registry registry;
+    private List<JsonObject> sent;
+
+    private class TestMessageSender extends MessageSender {
+
+        public TestMessageSender(Registry registry) {
+            super(registry);
+        }
+
+        @Override
+        public void send(JsonObject payload) {
+            sent.add(payload);
+        }
+    }
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        super.gwtSetUp();
+        createDummyConnectionState();
+        sent = new ArrayList<>();
+
+        registry = new Registry() {
+            {
+                UILifecycle uiLifecycle = new UILifecycle();
+                uiLifecycle.setState(UILifecycle.UIState.RUNNING);
+                set(UILifecycle.class, uiLifecycle);
+                set(ApplicationConfiguration.class,
+                        new ApplicationConfiguration() {
+                            {
+                                setMaxPipelinedMessages(2);
+                            }
+                        });
+                set(ServerRpcQueue.class, new ServerRpcQueue(this));
+                set(MessageHandler.class, new MessageHandler(this));
+                set(MessageSender.class, new TestMessageSender(this));
+                set(RequestResponseTracker.class,
+                        new RequestResponseTracker(this));
+            }
+        };
+    }
+
+    public void testSendInvocations_windowFull_invocationsKeptInQueue() {
+        sendInvocation("first");
+        sendInvocation("second");
+
+        assertEquals(2, sent.size());
+        assertEquals(2, getTracker().getActiveRequestCount());
+        assertFalse(getTracker().canStartRequest());
+
+        sendInvocation("third");
+
+        assertEquals(2, sent.size());
+        assertEquals(1, registry.getServerRpcQueue().size());
+        assertEquals(0, getClientId(sent.get(0)));
+        assertEquals(1, getClientId(sent.get(1)));
+    }
+
+    public void testEndRequest_windowFull_requestCanBeStartedAgain() {
+        sendInvocation("first");
+        sendInvocation("second");
+        sendInvocation("third");
+
+        getTracker().endRequest();
+
+        assertEquals(1, getTracker().getActiveRequestCount());
+        assertTrue(getTracker().canStartRequest());
+
+        registry.getMessageSender().sendInvocationsToServer();
+
+        assertEquals(3, sent.size());
+        assertEquals(2, getClientId(sent.get(2)));
+        assertTrue(registry.getServerRpcQueue().isEmpty());
+        assertEquals(2, getTracker().getActiveRequestCount());
+    }
+
+    public void testEndRequest_allResponsesReceived_noActiveRequest() {
+        sendInvocation("first");
+        sendInvocation("second");
+
+        getTracker().endRequest();
+        getTracker().endRequest();
+
+        assertFalse(getTracker().hasActiveRequest());
+        try {
+            getTracker().endRequest();
+            fail("Ending a request which was never started should fail");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    public void testResynchronize_severalRequestsInFlight_allRequestsEnded() {
+        sendInvocation("first");
+        sendInvocation("second");
+
+        // What MessageHandler does before resynchronizing
+        getTracker().endAllRequests();
+        assertFalse(getTracker().hasActiveRequest());
+
+        registry.getMessageSender().resynchronize();
+
+        assertEquals(3, sent.size());
+        assertTrue(sent.get(2)
+                .getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
+        assertEquals(1, getTracker().getActiveRequestCount());
+    }
+
+    public void testEndAllRequests_noActiveRequest_doesNothing() {
+        getTracker().endAllRequests();
+
+        assertFalse(getTracker().hasActiveRequest());
+    }
+
+    private void sendInvocation(String name) {
+        JsonObject invocation = Json.createObject();
+        invocation.put("name", name);
+        registry.getServerRpcQueue().add(invocation);
+        registry.getMessageSender().sendInvocationsToServer();
+    }
+
+    private RequestResponseTracker getTracker() {
+        return registry.getRequestResponseTracker();
+    }
+
+    private static int getClientId(JsonObject payload) {
+        return (int) payload
+                .getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID);
+    }
+
+    private static native void createDummyConnectionState()
+    /*-{
+      if (!$wnd.Vaadin) {
+        $wnd.Vaadin = {};
+      }
+      if (!$wnd.Vaadin.connectionState) {
+        $wnd.Vaadin.connectionState = { state: 'connected' };
+      }
+    }-*/;
+}
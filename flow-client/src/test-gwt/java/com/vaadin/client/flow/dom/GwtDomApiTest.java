@@ -2,6 +2,7 @@ package com.vaadin.client.flow.dom;
 
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.impl.SchedulerImpl;
+import com.vaadin.client.ApplicationConfiguration;
 import com.vaadin.client.ClientEngineTestBase;
 import com.vaadin.client.DependencyLoader;
 import com.vaadin.client.Registry;
@@ -26,6 +27,8 @@ public class GwtDomApiTest extends ClientEngineTestBase {
                 UILifecycle uiLifecycle = new UILifecycle();
                 uiLifecycle.setState(UIState.RUNNING);
                 set(UILifecycle.class, uiLifecycle);
+                set(ApplicationConfiguration.class,
+                        new ApplicationConfiguration());
                 set(RequestResponseTracker.class,
                         new RequestResponseTracker(this));
                 set(MessageHandler.class, new MessageHandler(this));
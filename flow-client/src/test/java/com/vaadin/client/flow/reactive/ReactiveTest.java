@@ -178,4 +178,20 @@ public class ReactiveTest {
         Assert.assertEquals(Arrays.asList("flush", "flush2", "postFlush"),
                 order);
     }
+
+    @Test
+    public void interruptedFlush_remainingListenersInvokedByNextFlush() {
+        List<String> order = new ArrayList<>();
+
+        Reactive.addPostFlushListener(() -> order.add("postFlush"));
+        Reactive.addFlushListener(() -> order.add("flush"));
+        Reactive.addFlushListener(() -> order.add("flush2"));
+
+        Assert.assertFalse(Reactive.flush(() -> order.size() == 1));
+        Assert.assertEquals(Arrays.asList("flush"), order);
+
+        Assert.assertTrue(Reactive.flush(() -> false));
+        Assert.assertEquals(Arrays.asList("flush", "flush2", "postFlush"),
+                order);
+    }
 }
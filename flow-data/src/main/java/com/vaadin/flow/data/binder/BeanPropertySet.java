@@ -19,8 +19,12 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +38,7 @@ import java.util.stream.Stream;
 
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.internal.BeanUtil;
+import com.vaadin.flow.internal.ReflectTools;
 
 /**
  * A {@link PropertySet} that uses reflection to find bean properties.
@@ -110,6 +115,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
     private static class BeanPropertyDefinition<T, V>
             extends AbstractBeanPropertyDefinition<T, V> {
 
+        private transient PropertyAccessor accessor;
+
         public BeanPropertyDefinition(BeanPropertySet<T> propertySet,
                 Class<T> propertyHolderType, PropertyDescriptor descriptor) {
             super(propertySet, propertyHolderType, descriptor);
@@ -118,8 +125,7 @@ public class BeanPropertySet<T> implements PropertySet<T> {
         @Override
         public ValueProvider<T, V> getGetter() {
             return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod, bean);
+                Object value = getAccessor().read(bean);
                 return getType().cast(value);
             };
         }
@@ -131,16 +137,22 @@ public class BeanPropertySet<T> implements PropertySet<T> {
             }
 
             Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
+                // Do not "optimize" this accessor call,
                 // if its done outside the code block, that will produce
                 // NotSerializableException because of some lambda compilation
                 // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter, bean, value);
+                getAccessor().write(bean, value);
             };
             return Optional.of(setter);
         }
 
+        private PropertyAccessor getAccessor() {
+            if (accessor == null) {
+                accessor = new PropertyAccessor(getDescriptor());
+            }
+            return accessor;
+        }
+
         private Object writeReplace() {
             /*
              * Instead of serializing this actual property definition, only
@@ -177,6 +189,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         private final PropertyDefinition<T, ?> parent;
 
+        private transient PropertyAccessor accessor;
+
         /**
          * Creates a new instance of a nested property definition.
          *
@@ -197,9 +211,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
         @Override
         public ValueProvider<T, V> getGetter() {
             return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod,
-                        parent.getGetter().apply(bean));
+                Object value = getAccessor()
+                        .read(parent.getGetter().apply(bean));
                 return getType().cast(value);
             };
         }
@@ -211,17 +224,22 @@ public class BeanPropertySet<T> implements PropertySet<T> {
             }
 
             Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
+                // Do not "optimize" this accessor call,
                 // if its done outside the code block, that will produce
                 // NotSerializableException because of some lambda compilation
                 // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter,
-                        parent.getGetter().apply(bean), value);
+                getAccessor().write(parent.getGetter().apply(bean), value);
             };
             return Optional.of(setter);
         }
 
+        private PropertyAccessor getAccessor() {
+            if (accessor == null) {
+                accessor = new PropertyAccessor(getDescriptor());
+            }
+            return accessor;
+        }
+
         @Override
         public String getName() {
             return parent.getName() + "." + super.getName();
@@ -528,12 +546,121 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 && readMethod.getDeclaringClass() != Object.class;
     }
 
-    private static Object invokeWrapExceptions(Method method, Object target,
-            Object... parameters) {
-        try {
-            return method.invoke(target, parameters);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e);
+    /**
+     * Reads and writes a bean property through method handles created from
+     * the getter and setter of the property descriptor. The handles are
+     * created and adapted to generic signatures once per property, so that
+     * accessing the property needs neither a parameter array nor the access
+     * checks of {@link Method#invoke(Object, Object...)}.
+     * <p>
+     * Errors are reported the same way as a reflective invocation would: a
+     * value that cannot be converted to the parameter type of the setter with
+     * an unboxing and a widening conversion is rejected with an
+     * {@link IllegalArgumentException}, and an exception thrown by the
+     * accessor method is wrapped in an {@link InvocationTargetException}
+     * which is in turn wrapped in a {@link RuntimeException}.
+     * <p>
+     * Not serializable since it holds {@link MethodHandle} instances.
+     * Property definitions keep their accessor in a transient field and
+     * create a new one when needed after deserialization.
+     */
+    private static class PropertyAccessor {
+        private static final MethodType READ_TYPE = MethodType
+                .methodType(Object.class, Object.class);
+        private static final MethodType WRITE_TYPE = MethodType
+                .methodType(void.class, Object.class, Object.class);
+
+        // The wrapper types that can be converted to a primitive parameter
+        // type, keyed by the wrapper of the parameter type
+        private static final Map<Class<?>, List<Class<?>>> WIDENING = new HashMap<>();
+        static {
+            WIDENING.put(Boolean.class, Arrays.asList(Boolean.class));
+            WIDENING.put(Character.class, Arrays.asList(Character.class));
+            WIDENING.put(Byte.class, Arrays.asList(Byte.class));
+            WIDENING.put(Short.class, Arrays.asList(Byte.class, Short.class));
+            WIDENING.put(Integer.class, Arrays.asList(Byte.class, Short.class,
+                    Character.class, Integer.class));
+            WIDENING.put(Long.class, Arrays.asList(Byte.class, Short.class,
+                    Character.class, Integer.class, Long.class));
+            WIDENING.put(Float.class, Arrays.asList(Byte.class, Short.class,
+                    Character.class, Integer.class, Long.class, Float.class));
+            WIDENING.put(Double.class,
+                    Arrays.asList(Byte.class, Short.class, Character.class,
+                            Integer.class, Long.class, Float.class,
+                            Double.class));
+        }
+
+        private final Class<?> readType;
+        private final MethodHandle readHandle;
+
+        private final Class<?> writeType;
+        private final Class<?> writeParameterType;
+        private final MethodHandle writeHandle;
+
+        private PropertyAccessor(PropertyDescriptor descriptor) {
+            Method readMethod = descriptor.getReadMethod();
+            Method writeMethod = descriptor.getWriteMethod();
+            readType = readMethod == null ? null
+                    : readMethod.getDeclaringClass();
+            readHandle = readMethod == null ? null
+                    : createHandle(readMethod, READ_TYPE);
+            writeType = writeMethod == null ? null
+                    : writeMethod.getDeclaringClass();
+            writeParameterType = writeMethod == null ? null
+                    : writeMethod.getParameterTypes()[0];
+            writeHandle = writeMethod == null ? null
+                    : createHandle(writeMethod, WRITE_TYPE);
+        }
+
+        private Object read(Object target) {
+            checkTarget(readType, target);
+            try {
+                return readHandle.invokeExact(target);
+            } catch (Throwable e) {
+                throw new RuntimeException(new InvocationTargetException(e));
+            }
+        }
+
+        private void write(Object target, Object value) {
+            checkTarget(writeType, target);
+            if (!isAssignable(writeParameterType, value)) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+            try {
+                // The handle unboxes and widens the value as needed
+                writeHandle.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw new RuntimeException(new InvocationTargetException(e));
+            }
+        }
+
+        private static void checkTarget(Class<?> type, Object target) {
+            if (target == null) {
+                throw new NullPointerException();
+            }
+            if (!type.isInstance(target)) {
+                throw new IllegalArgumentException(
+                        "object is not an instance of declaring class");
+            }
+        }
+
+        private static boolean isAssignable(Class<?> parameterType,
+                Object value) {
+            if (!parameterType.isPrimitive()) {
+                return value == null || parameterType.isInstance(value);
+            }
+            return value != null
+                    && WIDENING.get(ReflectTools.convertPrimitiveType(
+                            parameterType)).contains(value.getClass());
+        }
+
+        private static MethodHandle createHandle(Method method,
+                MethodType type) {
+            try {
+                return MethodHandles.lookup().unreflect(method).asType(type);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 
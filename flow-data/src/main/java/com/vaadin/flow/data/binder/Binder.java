@@ -1524,6 +1524,24 @@ public class Binder<BEAN> implements Serializable {
 
     private boolean validatorsDisabled = false;
 
+    /**
+     * Fields that the bean level validators depend on, for validators that
+     * have declared their dependencies.
+     */
+    private final Map<Validator<? super BEAN>, List<HasValue<?, ?>>> validatorDependencies = new IdentityHashMap<>();
+
+    /**
+     * The latest results of the bean level validators, used for validators
+     * which do not need to be re-run after a field value change.
+     */
+    private final Map<Validator<? super BEAN>, ValidationResult> beanValidationResults = new IdentityHashMap<>();
+
+    private boolean batchStatusChangeEvents = false;
+
+    private boolean statusChangeEventPending = false;
+
+    private boolean pendingValidationErrors = false;
+
     /**
      * Creates a binder using a custom {@link PropertySet} implementation for
      * finding and resolving property names for
@@ -1628,7 +1646,7 @@ public class Binder<BEAN> implements Serializable {
     protected void handleFieldValueChange(Binding<BEAN, ?> binding) {
         changedBindings.add(binding);
         if (getBean() != null) {
-            doWriteIfValid(getBean(), changedBindings);
+            doWriteIfValid(getBean(), changedBindings, true);
         } else {
             binding.validate();
         }
@@ -1881,6 +1899,7 @@ public class Binder<BEAN> implements Serializable {
             clearFields();
         } else {
             changedBindings.clear();
+            beanValidationResults.clear();
             getBindings().forEach(binding -> {
                 /*
                  * Some bindings may have been removed from binder during
@@ -1921,7 +1940,8 @@ public class Binder<BEAN> implements Serializable {
      *             if some of the bound field values fail to validate
      */
     public void writeBean(BEAN bean) throws ValidationException {
-        BinderValidationStatus<BEAN> status = doWriteIfValid(bean, bindings);
+        BinderValidationStatus<BEAN> status = doWriteIfValid(bean, bindings,
+                false);
         if (status.hasErrors()) {
             throw new ValidationException(status.getFieldValidationErrors(),
                     status.getBeanValidationErrors());
@@ -1987,7 +2007,7 @@ public class Binder<BEAN> implements Serializable {
      *         updated, {@code false} otherwise
      */
     public boolean writeBeanIfValid(BEAN bean) {
-        return doWriteIfValid(bean, bindings).isOk();
+        return doWriteIfValid(bean, bindings, false).isOk();
     }
 
     /**
@@ -2001,12 +2021,16 @@ public class Binder<BEAN> implements Serializable {
      *            the bean to write field values into
      * @param bindings
      *            the set of bindings to write to the bean
+     * @param incremental
+     *            {@code true} to only re-run the bean level validators which
+     *            depend on the written bindings, {@code false} to run all of
+     *            them
      * @return a list of field validation errors if such occur, otherwise a list
      *         of bean validation errors.
      */
     @SuppressWarnings("unchecked")
     private BinderValidationStatus<BEAN> doWriteIfValid(BEAN bean,
-            Collection<Binding<BEAN, ?>> bindings) {
+            Collection<Binding<BEAN, ?>> bindings, boolean incremental) {
         Objects.requireNonNull(bean, "bean cannot be null");
         List<ValidationResult> binderResults = Collections.emptyList();
 
@@ -2031,7 +2055,9 @@ public class Binder<BEAN> implements Serializable {
                     .forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
                             .writeFieldValue(bean));
             // Now run bean level validation against the updated bean
-            binderResults = validateBean(bean);
+            binderResults = incremental
+                    ? validateBean(bean, currentBindings)
+                    : validateBean(bean);
             if (binderResults.stream().anyMatch(ValidationResult::isError)) {
                 // Bean validator failed, revert values
                 restoreBeanState(bean, oldValues);
@@ -2154,6 +2180,44 @@ public class Binder<BEAN> implements Serializable {
             }
         });
         validators.add(wrappedValidator);
+        beanValidationResults.clear();
+        return this;
+    }
+
+    /**
+     * Adds a bean level validator which only depends on the values of the
+     * given fields.
+     * <p>
+     * Bean level validators are applied on the bean instance after the bean is
+     * updated. If the validators fail, the bean instance is reverted to its
+     * previous state.
+     * <p>
+     * When a field value change is written to the bean set using
+     * {@link #setBean(Object)}, a validator added using this method is only
+     * run if the value of one of the given fields is written, otherwise its
+     * previous result is reused. This avoids re-running expensive cross-field
+     * validators for unrelated changes. All validators are still run when
+     * the whole bean is written or validated, e.g. in {@link #validate()} and
+     * {@link #writeBean(Object)}.
+     * <p>
+     * The validator must not read any other properties of the bean than the
+     * ones bound to the given fields, as it would then not be re-run when those
+     * properties change.
+     *
+     * @see #withValidator(Validator)
+     *
+     * @param validator
+     *            the validator to add, not null
+     * @param fields
+     *            the fields whose values the validator depends on, not null
+     * @return this binder, for chaining
+     */
+    public Binder<BEAN> withValidator(Validator<? super BEAN> validator,
+            HasValue<?, ?>... fields) {
+        Objects.requireNonNull(fields, "fields cannot be null");
+        withValidator(validator);
+        validatorDependencies.put(validators.get(validators.size() - 1),
+                new ArrayList<>(Arrays.asList(fields)));
         return this;
     }
 
@@ -2218,6 +2282,7 @@ public class Binder<BEAN> implements Serializable {
             fireStatusChangeEvent(false);
         }
         changedBindings.clear();
+        beanValidationResults.clear();
     }
 
     /**
@@ -2335,11 +2400,50 @@ public class Binder<BEAN> implements Serializable {
      *         succeeded
      */
     private List<ValidationResult> validateBean(BEAN bean) {
+        return validateBean(bean, null);
+    }
+
+    /**
+     * Validates the {@code bean} using the validators added using
+     * {@link #withValidator(Validator)}, re-running only those which may be
+     * affected by the given bindings. For the other validators, the result of
+     * their previous run is used.
+     *
+     * @param bean
+     *            the bean to validate
+     * @param writtenBindings
+     *            the bindings whose values have been written to the bean, or
+     *            {@code null} to run all validators
+     * @return a list of validation errors or an empty list if validation
+     *         succeeded
+     */
+    private List<ValidationResult> validateBean(BEAN bean,
+            Collection<Binding<BEAN, ?>> writtenBindings) {
         Objects.requireNonNull(bean, "bean cannot be null");
-        return validators.stream()
-                .map(validator -> validator.apply(bean, new ValueContext()))
-                .collect(Collectors.collectingAndThen(Collectors.toList(),
-                        Collections::unmodifiableList));
+        List<ValidationResult> results = new ArrayList<>(validators.size());
+        for (Validator<? super BEAN> validator : validators) {
+            ValidationResult result = null;
+            if (writtenBindings != null
+                    && !dependsOnAny(validator, writtenBindings)) {
+                result = beanValidationResults.get(validator);
+            }
+            if (result == null) {
+                result = validator.apply(bean, new ValueContext());
+                beanValidationResults.put(validator, result);
+            }
+            results.add(result);
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private boolean dependsOnAny(Validator<? super BEAN> validator,
+            Collection<Binding<BEAN, ?>> writtenBindings) {
+        List<HasValue<?, ?>> fields = validatorDependencies.get(validator);
+        if (fields == null) {
+            return true;
+        }
+        return writtenBindings.stream()
+                .anyMatch(binding -> fields.contains(binding.getField()));
     }
 
     /**
@@ -2717,6 +2821,39 @@ public class Binder<BEAN> implements Serializable {
         return !changedBindings.isEmpty();
     }
 
+    /**
+     * Sets whether status change events should be batched so that at most one
+     * event is fired per round trip.
+     * <p>
+     * When enabled, and there is a current {@link UI}, the status changes
+     * caused by the field value changes and validations of one round trip
+     * result in one {@link StatusChangeEvent}, fired before the response is
+     * sent to the client. The event reports the validation state of the latest
+     * status change. Without a current UI the events are fired immediately.
+     * <p>
+     * Batching is disabled by default.
+     *
+     * @param batchStatusChangeEvents
+     *            {@code true} to batch status change events, {@code false} to
+     *            fire them immediately
+     * @see #addStatusChangeListener(StatusChangeListener)
+     */
+    public void setBatchStatusChangeEvents(boolean batchStatusChangeEvents) {
+        this.batchStatusChangeEvents = batchStatusChangeEvents;
+    }
+
+    /**
+     * Gets whether status change events are batched so that at most one event
+     * is fired per round trip.
+     *
+     * @return {@code true} if status change events are batched, {@code false}
+     *         otherwise
+     * @see #setBatchStatusChangeEvents(boolean)
+     */
+    public boolean isBatchStatusChangeEvents() {
+        return batchStatusChangeEvents;
+    }
+
     /**
      * Sets the read only state to the given value for all currently bound
      * fields.
@@ -2752,6 +2889,7 @@ public class Binder<BEAN> implements Serializable {
 
     private void doRemoveBean(boolean fireStatusEvent) {
         changedBindings.clear();
+        beanValidationResults.clear();
         if (bean != null) {
             bean = null;
         }
@@ -2763,11 +2901,28 @@ public class Binder<BEAN> implements Serializable {
     }
 
     private void fireStatusChangeEvent(boolean hasValidationErrors) {
+        UI ui = batchStatusChangeEvents ? UI.getCurrent() : null;
+        if (ui != null) {
+            pendingValidationErrors = hasValidationErrors;
+            if (!statusChangeEventPending) {
+                statusChangeEventPending = true;
+                ui.beforeClientResponse(ui,
+                        context -> firePendingStatusChangeEvent());
+            }
+            return;
+        }
         StatusChangeEvent event = new StatusChangeEvent(this,
                 hasValidationErrors);
         fireEvent(event);
     }
 
+    private void firePendingStatusChangeEvent() {
+        if (statusChangeEventPending) {
+            statusChangeEventPending = false;
+            fireEvent(new StatusChangeEvent(this, pendingValidationErrors));
+        }
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private void fireEvent(Object event) {
         new HashMap<>(listeners).entrySet().stream().filter(
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.Arrays;
+
+import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.internal.SizeEstimator;
+import com.vaadin.flow.server.metrics.RetainedSizeContributor;
+
+/**
+ * A {@link DataKeyMapper} which stores its mappings in primitive arrays instead
+ * of hash maps.
+ * <p>
+ * The keys are positive integers, sent to the client in their decimal string
+ * form. The mapped objects are kept in one open addressing hash table indexed
+ * by the identifier of the object, and an array indexed by the key gives the
+ * position of the key in that table. No strings, boxed keys or map entries
+ * are retained for the mapped objects, which makes the mapper considerably
+ * smaller than {@link KeyMapper} when a large number of objects is mapped.
+ * <p>
+ * Keys of removed objects are reused for new objects. The mapper should thus
+ * only be used when keys are not retained after the objects have been removed
+ * from the mapper, which is the case for keys handled by a
+ * {@link DataCommunicator}.
+ *
+ * @param <V>
+ *            the type of mapped objects
+ *
+ * @since
+ */
+public class CompactKeyMapper<V>
+        implements DataKeyMapper<V>, RetainedSizeContributor {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int NO_SLOT = -1;
+
+    /**
+     * Stands for a <code>null</code> identifier in the table, since
+     * <code>null</code> marks an empty slot.
+     */
+    private enum NullId {
+        INSTANCE
+    }
+
+    private ValueProvider<V, Object> identifierGetter;
+
+    // Hash table of the mappings, indexed by the hash of the identifier
+    private Object[] ids;
+    private Object[] objects;
+    private int[] keys;
+    private int size;
+
+    // The slot of each key in the hash table, or NO_SLOT for unused keys
+    private int[] slots;
+    private int nextKey;
+
+    private int[] freeKeys;
+    private int freeKeyCount;
+
+    /**
+     * Constructs a new mapper.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     */
+    public CompactKeyMapper(ValueProvider<V, Object> identifierGetter) {
+        this.identifierGetter = identifierGetter;
+        clear();
+    }
+
+    /**
+     * Constructs a new mapper with trivial {@code identifierGetter}
+     */
+    public CompactKeyMapper() {
+        this(v -> v);
+    }
+
+    @Override
+    public String key(V dataObject) {
+        if (dataObject == null) {
+            return "null";
+        }
+
+        Object id = getId(dataObject);
+        int slot = findSlot(id);
+        if (slot >= 0) {
+            return Integer.toString(keys[slot]);
+        }
+
+        if ((size + 1) * 2 > ids.length) {
+            rehash(ids.length * 2);
+            slot = findSlot(id);
+        }
+        int key = allocateKey();
+        insert(-slot - 1, id, dataObject, key);
+        return Integer.toString(key);
+    }
+
+    @Override
+    public boolean has(V dataObject) {
+        return findSlot(getId(dataObject)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        int slot = getSlot(key);
+        return slot == NO_SLOT ? null : (V) objects[slot];
+    }
+
+    /**
+     * Checks if the given key is mapped to an object.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is currently mapped,
+     *         <code>false</code> otherwise
+     */
+    public boolean containsKey(String key) {
+        return getSlot(key) != NO_SLOT;
+    }
+
+    @Override
+    public void remove(V dataObject) {
+        int slot = findSlot(getId(dataObject));
+        if (slot >= 0) {
+            removeSlot(slot);
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        clear();
+    }
+
+    @Override
+    public void refresh(V dataObject) {
+        int slot = findSlot(getId(dataObject));
+        if (slot >= 0) {
+            objects[slot] = dataObject;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setIdentifierGetter(ValueProvider<V, Object> identifierGetter) {
+        if (this.identifierGetter == identifierGetter) {
+            return;
+        }
+        this.identifierGetter = identifierGetter;
+
+        Object[] oldObjects = objects;
+        int[] oldKeys = keys;
+        Arrays.fill(ids, null);
+        objects = new Object[ids.length];
+        keys = new int[ids.length];
+        size = 0;
+        for (int i = 0; i < oldObjects.length; i++) {
+            if (oldObjects[i] == null) {
+                continue;
+            }
+            Object id = getId((V) oldObjects[i]);
+            int slot = findSlot(id);
+            if (slot >= 0) {
+                // Another object already has the same identifier
+                slots[oldKeys[i]] = NO_SLOT;
+                freeKey(oldKeys[i]);
+            } else {
+                insert(-slot - 1, id, oldObjects[i], oldKeys[i]);
+            }
+        }
+    }
+
+    private Object getId(V dataObject) {
+        Object id = identifierGetter.apply(dataObject);
+        return id == null ? NullId.INSTANCE : id;
+    }
+
+    private void clear() {
+        ids = new Object[INITIAL_CAPACITY];
+        objects = new Object[INITIAL_CAPACITY];
+        keys = new int[INITIAL_CAPACITY];
+        size = 0;
+        slots = new int[INITIAL_CAPACITY];
+        Arrays.fill(slots, NO_SLOT);
+        // Keys start from 1 like in KeyMapper
+        nextKey = 1;
+        freeKeys = new int[0];
+        freeKeyCount = 0;
+    }
+
+    private static int hash(Object id) {
+        int hash = id.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Finds the slot of the given identifier.
+     *
+     * @return the slot of the identifier, or <code>-(insertion slot + 1)</code>
+     *         if the identifier is not in the table
+     */
+    private int findSlot(Object id) {
+        int mask = ids.length - 1;
+        int slot = hash(id) & mask;
+        while (ids[slot] != null) {
+            if (ids[slot].equals(id)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private void insert(int slot, Object id, Object dataObject, int key) {
+        ids[slot] = id;
+        objects[slot] = dataObject;
+        keys[slot] = key;
+        slots[key] = slot;
+        size++;
+    }
+
+    private void removeSlot(int slot) {
+        int key = keys[slot];
+        slots[key] = NO_SLOT;
+        freeKey(key);
+
+        // Shift back the following entries of the probe sequence so that no
+        // entry is separated from its ideal slot by an empty slot
+        int mask = ids.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (ids[next] != null) {
+            int ideal = hash(ids[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                ids[hole] = ids[next];
+                objects[hole] = objects[next];
+                keys[hole] = keys[next];
+                slots[keys[hole]] = hole;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        ids[hole] = null;
+        objects[hole] = null;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        Object[] oldIds = ids;
+        Object[] oldObjects = objects;
+        int[] oldKeys = keys;
+        ids = new Object[capacity];
+        objects = new Object[capacity];
+        keys = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != null) {
+                insert(-findSlot(oldIds[i]) - 1, oldIds[i], oldObjects[i],
+                        oldKeys[i]);
+            }
+        }
+    }
+
+    private int allocateKey() {
+        if (freeKeyCount > 0) {
+            return freeKeys[--freeKeyCount];
+        }
+        if (nextKey == slots.length) {
+            int oldLength = slots.length;
+            slots = Arrays.copyOf(slots, oldLength * 2);
+            Arrays.fill(slots, oldLength, slots.length, NO_SLOT);
+        }
+        return nextKey++;
+    }
+
+    private void freeKey(int key) {
+        if (freeKeyCount == freeKeys.length) {
+            freeKeys = Arrays.copyOf(freeKeys,
+                    Math.max(INITIAL_CAPACITY, freeKeyCount * 2));
+        }
+        freeKeys[freeKeyCount++] = key;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The estimate includes the mapping arrays and the identifiers which are
+     * not the mapped objects themselves. The mapped objects are not included
+     * since they are usually shared with the data provider.
+     */
+    @Override
+    public long estimateRetainedSize() {
+        long size = SizeEstimator.OBJECT_HEADER + SizeEstimator.REFERENCE * 10L
+                + SizeEstimator.OBJECT_HEADER * 5L
+                + (long) SizeEstimator.REFERENCE * (ids.length + objects.length)
+                + Integer.BYTES * ((long) keys.length + slots.length
+                        + freeKeys.length);
+        for (int i = 0; i < ids.length; i++) {
+            // Identifiers are often the items themselves, which are not
+            // counted since they are shared with the data provider
+            if (ids[i] != objects[i]) {
+                size += SizeEstimator.estimate(ids[i]);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the slot of the object mapped to the given key.
+     *
+     * @return the slot, or NO_SLOT if the key is not mapped
+     */
+    private int getSlot(String key) {
+        if (key == null || key.isEmpty() || key.length() > 10
+                || key.charAt(0) == '0') {
+            return NO_SLOT;
+        }
+        long value = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_SLOT;
+            }
+            value = value * 10 + (c - '0');
+        }
+        if (value >= nextKey) {
+            return NO_SLOT;
+        }
+        return slots[(int) value];
+    }
+}
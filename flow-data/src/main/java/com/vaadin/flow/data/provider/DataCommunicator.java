@@ -21,7 +21,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -42,7 +44,9 @@ import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.internal.ExecutionContext;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.Range;
+import com.vaadin.flow.internal.SizeEstimator;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.server.metrics.RetainedSizeContributor;
 import com.vaadin.flow.shared.Registration;
 import org.slf4j.LoggerFactory;
 
@@ -61,7 +65,8 @@ import elemental.json.JsonValue;
  *            the bean type
  * @since 1.0
  */
-public class DataCommunicator<T> implements Serializable {
+public class DataCommunicator<T>
+        implements Serializable, RetainedSizeContributor {
     public static final int DEFAULT_PAGE_INCREASE_COUNT = 4;
 
     private static final int DEFAULT_PAGE_SIZE = 50;
@@ -123,6 +128,9 @@ public class DataCommunicator<T> implements Serializable {
 
     private boolean fetchEnabled;
 
+    // Generated data of the items by key, null if caching is disabled
+    private GeneratedDataCache generatedDataCache;
+
     /**
      * In-memory data provider with no items.
      * <p>
@@ -332,6 +340,7 @@ public class DataCommunicator<T> implements Serializable {
         sizeReset = true;
         resendEntireRange = true;
         dataGenerator.destroyAllData();
+        clearGeneratedDataCache();
         updatedData.clear();
         requestFlush();
     }
@@ -346,6 +355,9 @@ public class DataCommunicator<T> implements Serializable {
         Objects.requireNonNull(data,
                 "DataCommunicator can not refresh null object");
         getKeyMapper().refresh(data);
+        if (generatedDataCache != null && getKeyMapper().has(data)) {
+            generatedDataCache.remove(getKeyMapper().key(data));
+        }
         dataGenerator.refreshData(data);
         updatedData.add(data);
         requestFlushUpdatedData();
@@ -759,6 +771,42 @@ public class DataCommunicator<T> implements Serializable {
      */
     protected void setKeyMapper(DataKeyMapper<T> keyMapper) {
         this.keyMapper = keyMapper;
+        clearGeneratedDataCache();
+    }
+
+    /**
+     * Sets the maximum number of items for which the generated data is cached.
+     * <p>
+     * When caching is enabled, the data generated for an item is reused when
+     * the same item is sent to the client again, e.g. when scrolling back to
+     * the item before it has been passivated, instead of running all the data
+     * generators again. The cached data of an item is discarded when the item
+     * is {@link #refresh(Object) refreshed} or passivated, and all cached data
+     * is discarded when the data communicator is {@link #reset() reset}. The
+     * least recently used entries are discarded when the cache is full.
+     * <p>
+     * Caching must only be enabled when the generated data depends on nothing
+     * else than the item, or {@link #reset()} is called whenever the other
+     * dependencies change. Caching is disabled by default.
+     *
+     * @param size
+     *            the maximum number of cached items, or 0 to disable caching
+     */
+    public void setGeneratedDataCacheSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Cache size cannot be less than 0, got %d", size));
+        }
+        generatedDataCache = size == 0 ? null : new GeneratedDataCache(size);
+    }
+
+    /**
+     * Gets the maximum number of items for which the generated data is cached.
+     *
+     * @return the maximum number of cached items, or 0 if caching is disabled
+     */
+    public int getGeneratedDataCacheSize() {
+        return generatedDataCache == null ? 0 : generatedDataCache.maximumSize;
     }
 
     /**
@@ -1032,6 +1080,7 @@ public class DataCommunicator<T> implements Serializable {
 
     private void handleDetach() {
         dataGenerator.destroyAllData();
+        clearGeneratedDataCache();
         if (dataProviderUpdateRegistration != null) {
             dataProviderUpdateRegistration.remove();
             dataProviderUpdateRegistration = null;
@@ -1201,6 +1250,9 @@ public class DataCommunicator<T> implements Serializable {
         if (passivated != null) {
             passivated.forEach(key -> {
                 T item = keyMapper.get(key);
+                if (generatedDataCache != null) {
+                    generatedDataCache.remove(key);
+                }
                 if (item != null) {
                     dataGenerator.destroyData(item);
                     keyMapper.remove(item);
@@ -1348,17 +1400,73 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private JsonValue generateJson(T item) {
+        String key = getKeyMapper().key(item);
+        if (generatedDataCache != null) {
+            JsonValue cached = generatedDataCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
         JsonObject json = Json.createObject();
-        json.put("key", getKeyMapper().key(item));
+        json.put("key", key);
         dataGenerator.generateData(item, json);
+        if (generatedDataCache != null) {
+            generatedDataCache.put(key, json);
+        }
         return json;
     }
 
+    private void clearGeneratedDataCache() {
+        if (generatedDataCache != null) {
+            generatedDataCache.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The estimate includes the key mapper, the cache of generated item data
+     * and the bookkeeping of the active range. Components using a data
+     * communicator can include this size in their own estimate.
+     */
+    @Override
+    public long estimateRetainedSize() {
+        long size = SizeEstimator.OBJECT_HEADER + SizeEstimator.REFERENCE * 40L
+                + SizeEstimator.estimate(activeKeyOrder)
+                + SizeEstimator.estimate(passivatedByUpdate)
+                + SizeEstimator.estimate(confirmedUpdates)
+                + SizeEstimator.estimate(updatedData);
+        if (keyMapper instanceof RetainedSizeContributor) {
+            size += ((RetainedSizeContributor) keyMapper)
+                    .estimateRetainedSize();
+        }
+        if (generatedDataCache != null) {
+            size += SizeEstimator.estimate(generatedDataCache);
+        }
+        return size;
+    }
+
     private void removeFilteringAndSorting() {
         Element.get(stateNode).getComponent().ifPresent(
                 DataViewUtils::removeComponentFilterAndSortComparator);
     }
 
+    private static class GeneratedDataCache
+            extends LinkedHashMap<String, JsonValue> {
+        private final int maximumSize;
+
+        private GeneratedDataCache(int maximumSize) {
+            // Access order for evicting the least recently used entries
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonValue> eldest) {
+            return size() > maximumSize;
+        }
+    }
+
     private static class Activation implements Serializable {
         private final List<String> activeKeys;
         private final boolean sizeRecheckNeeded;
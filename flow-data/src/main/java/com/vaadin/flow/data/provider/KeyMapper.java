@@ -20,6 +20,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.internal.SizeEstimator;
+import com.vaadin.flow.server.metrics.RetainedSizeContributor;
 
 /**
  * <code>KeyMapper</code> is the simple two-way map for generating textual keys
@@ -31,7 +33,8 @@ import com.vaadin.flow.function.ValueProvider;
  * @author Vaadin Ltd
  * @since 1.0.
  */
-public class KeyMapper<V> implements DataKeyMapper<V> {
+public class KeyMapper<V>
+        implements DataKeyMapper<V>, RetainedSizeContributor {
 
     private int lastKey = 0;
 
@@ -173,4 +176,13 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
             }
         }
     }
+
+    @Override
+    public long estimateRetainedSize() {
+        // Items are only counted shallowly since they are usually shared
+        // with the data provider
+        return SizeEstimator.OBJECT_HEADER + SizeEstimator.REFERENCE * 4L
+                + SizeEstimator.estimate(objectIdKeyMap)
+                + SizeEstimator.estimate(keyObjectMap);
+    }
 }
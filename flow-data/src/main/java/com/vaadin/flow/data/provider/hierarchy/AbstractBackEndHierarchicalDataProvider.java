@@ -69,6 +69,12 @@ public abstract class AbstractBackEndHierarchicalDataProvider<T, F>
         return fetchChildrenFromBackEnd(mixInSortOrders(query));
     }
 
+    @Override
+    public List<List<T>> fetchChildren(List<T> parents,
+            HierarchicalQuery<T, F> query) {
+        return fetchChildrenFromBackEnd(parents, mixInSortOrders(query));
+    }
+
     @Override
     public boolean isInMemory() {
         return false;
@@ -93,4 +99,31 @@ public abstract class AbstractBackEndHierarchicalDataProvider<T, F>
      */
     protected abstract Stream<T> fetchChildrenFromBackEnd(
             HierarchicalQuery<T, F> query);
+
+    /**
+     * Fetches the children of several parents from the back end using the
+     * given query.
+     * <p>
+     * The default implementation calls
+     * {@link #fetchChildrenFromBackEnd(HierarchicalQuery)} for each parent.
+     * Override this to fetch the children of all the parents with one back end
+     * call.
+     *
+     * @see HierarchicalDataProvider#fetchChildren(List, HierarchicalQuery)
+     *
+     * @param parents
+     *            the parent items to fetch children from
+     * @param query
+     *            the query that defines sorting, filtering and paging, the
+     *            parent of the query is ignored
+     * @return the children of each parent, in the same order as the parents
+     * @since
+     */
+    protected List<List<T>> fetchChildrenFromBackEnd(List<T> parents,
+            HierarchicalQuery<T, F> query) {
+        return parents.stream()
+                .map(parent -> fetchChildrenFromBackEnd(
+                        query.withParent(parent)).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
 }
@@ -157,6 +157,14 @@ public class HierarchicalCommunicationController<T> implements Serializable {
         resendEntireRange = resend;
     }
 
+    String getParentKey() {
+        return parentKey;
+    }
+
+    Range getRequestedRange() {
+        return requestedRange;
+    }
+
     private boolean collectChangesToSend(final Range previousActive,
             final Range effectiveRequested, HierarchicalUpdate update) {
         boolean updated = false;
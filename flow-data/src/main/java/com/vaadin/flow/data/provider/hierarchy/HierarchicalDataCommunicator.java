@@ -19,9 +19,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.CompositeDataGenerator;
@@ -65,6 +69,10 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
 
     private final Map<String, HierarchicalCommunicationController<T>> dataControllers = new HashMap<>();
 
+    // Controllers waiting for a flush, flushed together to fetch their data
+    // in batches
+    private final Set<HierarchicalCommunicationController<T>> pendingControllers = new LinkedHashSet<>();
+
     private KeyMapper<T> uniqueKeyMapper = new KeyMapper<T>() {
 
         private T object;
@@ -133,12 +141,53 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
     }
 
     private void requestFlush(HierarchicalCommunicationController<T> update) {
-        SerializableConsumer<ExecutionContext> flushRequest = context -> update
-                .flush();
+        pendingControllers.add(update);
+        SerializableConsumer<ExecutionContext> flushRequest = context -> flushPendingControllers();
         stateNode.runWhenAttached(ui -> ui.getInternals().getStateTree()
                 .beforeClientResponse(stateNode, flushRequest));
     }
 
+    private void flushPendingControllers() {
+        if (pendingControllers.isEmpty()) {
+            return;
+        }
+        List<HierarchicalCommunicationController<T>> controllers = new ArrayList<>(
+                pendingControllers);
+        pendingControllers.clear();
+
+        if (controllers.size() > 1) {
+            prefetchChildren(controllers);
+        }
+        try {
+            controllers.forEach(HierarchicalCommunicationController::flush);
+        } finally {
+            mapper.clearPrefetchedData();
+        }
+    }
+
+    /**
+     * Fetches the child counts and the requested children of the parents of
+     * the given controllers in batches, instead of one query per parent.
+     */
+    private void prefetchChildren(
+            List<HierarchicalCommunicationController<T>> controllers) {
+        Map<Range, List<T>> parentsByRange = new LinkedHashMap<>();
+        for (HierarchicalCommunicationController<T> controller : controllers) {
+            T parent = getKeyMapper().get(controller.getParentKey());
+            if (parent != null) {
+                parentsByRange.computeIfAbsent(controller.getRequestedRange(),
+                        range -> new ArrayList<>()).add(parent);
+            }
+        }
+        mapper.prefetchChildCounts(parentsByRange.values().stream()
+                .flatMap(List::stream).collect(Collectors.toList()));
+        parentsByRange.forEach((range, parents) -> {
+            if (!range.isEmpty()) {
+                mapper.prefetchChildren(parents, range);
+            }
+        });
+    }
+
     /**
      * Resets all the data.
      * <p>
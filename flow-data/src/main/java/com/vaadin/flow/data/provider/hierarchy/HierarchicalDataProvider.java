@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.data.provider.hierarchy;
 
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.DataProvider;
@@ -112,6 +114,55 @@ public interface HierarchicalDataProvider<T, F> extends DataProvider<T, F> {
      */
     public boolean hasChildren(T item);
 
+    /**
+     * Gets the number of immediate child data items for each of the given
+     * parents.
+     * <p>
+     * The parent of the {@code query} is ignored, the query is used for the
+     * filter only. The default implementation calls
+     * {@link #getChildCount(HierarchicalQuery)} for each parent. Back end data
+     * providers can override this to count the children of all the parents
+     * with one back end call.
+     *
+     * @param parents
+     *            the parent items, not <code>null</code>
+     * @param query
+     *            the query defining the filter, not <code>null</code>
+     * @return the child counts, in the same order as the parents
+     * @since
+     */
+    default List<Integer> getChildCounts(List<T> parents,
+            HierarchicalQuery<T, F> query) {
+        return parents.stream()
+                .map(parent -> getChildCount(query.withParent(parent)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetches the immediate children of each of the given parents.
+     * <p>
+     * The parent of the {@code query} is ignored, while the offset and limit
+     * of the query are applied to the children of each parent separately. The
+     * default implementation calls {@link #fetchChildren(HierarchicalQuery)}
+     * for each parent. Back end data providers can override this to fetch the
+     * children of all the parents with one back end call.
+     *
+     * @param parents
+     *            the parent items, not <code>null</code>
+     * @param query
+     *            the query defining sorting, filtering and paging, not
+     *            <code>null</code>
+     * @return the children of each parent, in the same order as the parents
+     * @since
+     */
+    default List<List<T>> fetchChildren(List<T> parents,
+            HierarchicalQuery<T, F> query) {
+        return parents.stream()
+                .map(parent -> fetchChildren(query.withParent(parent))
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
     @SuppressWarnings("serial")
     @Override
     default <Q, C> HierarchicalConfigurableFilterDataProvider<T, Q, C> withConfigurableFilter(
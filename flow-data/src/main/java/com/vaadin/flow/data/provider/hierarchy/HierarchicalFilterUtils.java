@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.data.provider.hierarchy;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.data.provider.ConfigurableFilterDataProviderWrapper;
@@ -53,6 +54,20 @@ final class HierarchicalFilterUtils {
                     .fetchChildren(adapt(query, getFilter(query)));
         }
 
+        @Override
+        public List<Integer> getChildCounts(List<T> parents,
+                HierarchicalQuery<T, Q> query) {
+            return getDataProvider().getChildCounts(parents,
+                    adapt(query, getFilter(query)));
+        }
+
+        @Override
+        public List<List<T>> fetchChildren(List<T> parents,
+                HierarchicalQuery<T, Q> query) {
+            return getDataProvider().fetchChildren(parents,
+                    adapt(query, getFilter(query)));
+        }
+
         @Override
         public boolean hasChildren(T item) {
             return getDataProvider().hasChildren(item);
@@ -116,6 +131,20 @@ final class HierarchicalFilterUtils {
                     .fetchChildren(adapt(query, getFilter(query)));
         }
 
+        @Override
+        public List<Integer> getChildCounts(List<T> parents,
+                HierarchicalQuery<T, F> query) {
+            return getDataProvider().getChildCounts(parents,
+                    adapt(query, getFilter(query)));
+        }
+
+        @Override
+        public List<List<T>> fetchChildren(List<T> parents,
+                HierarchicalQuery<T, F> query) {
+            return getDataProvider().fetchChildren(parents,
+                    adapt(query, getFilter(query)));
+        }
+
         @Override
         public boolean hasChildren(T item) {
             return getDataProvider().hasChildren(item);
@@ -95,4 +95,20 @@ public class HierarchicalQuery<T, F> extends Query<T, F> {
     public Optional<T> getParentOptional() {
         return Optional.ofNullable(parent);
     }
+
+    /**
+     * Creates a copy of this query for another parent. The offset, limit,
+     * sorting and filter of the copy are the same as in this query.
+     *
+     * @param parent
+     *            the hierarchical parent object of the copy, <code>null</code>
+     *            corresponding to the root node
+     * @return a query for the given parent
+     * @since
+     */
+    public HierarchicalQuery<T, F> withParent(T parent) {
+        return new HierarchicalQuery<>(getOffset(), getLimit(),
+                getSortOrders(), getInMemorySorting(),
+                getFilter().orElse(null), parent);
+    }
 }
@@ -16,9 +16,12 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -66,6 +69,20 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Map<Object, T> expandedItems = new HashMap<>();
 
+    // Children and child counts fetched in advance in batches, by parent id
+    private Map<Object, PrefetchedChildren<T>> prefetchedChildren = new HashMap<>();
+    private Map<Object, Integer> prefetchedChildCounts = new HashMap<>();
+
+    private static class PrefetchedChildren<T> implements Serializable {
+        private final Range range;
+        private final List<T> children;
+
+        private PrefetchedChildren(Range range, List<T> children) {
+            this.range = range;
+            this.children = children;
+        }
+    }
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -317,7 +334,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        return getHierarchy(null, true, range.getEnd())
+                .skip(range.getStart()).limit(range.length());
     }
 
     /**
@@ -331,8 +349,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(T parent, Range range) {
-        return getHierarchy(parent, false).skip(range.getStart())
-                .limit(range.length());
+        return getHierarchy(parent, false, range.getEnd())
+                .skip(range.getStart()).limit(range.length());
     }
 
     /**
@@ -352,10 +370,69 @@ public class HierarchyMapper<T, F> implements Serializable {
     }
 
     public int countChildItems(T parent) {
+        Integer prefetched = prefetchedChildCounts.get(getParentId(parent));
+        if (prefetched != null) {
+            return prefetched;
+        }
         return getDataProvider()
                 .getChildCount(new HierarchicalQuery<>(filter, parent));
     }
 
+    /**
+     * Fetches the child counts of the given parents with one call to the data
+     * provider. The counts are used by {@link #countChildItems(Object)} until
+     * {@link #clearPrefetchedData()} is called.
+     *
+     * @param parents
+     *            the parent items, not <code>null</code>
+     */
+    public void prefetchChildCounts(List<T> parents) {
+        if (parents.isEmpty()) {
+            return;
+        }
+        List<Integer> counts = getDataProvider().getChildCounts(parents,
+                new HierarchicalQuery<>(filter, null));
+        for (int i = 0; i < parents.size(); i++) {
+            prefetchedChildCounts.put(getParentId(parents.get(i)),
+                    counts.get(i));
+        }
+    }
+
+    /**
+     * Fetches the given range of children of the given parents with one call
+     * to the data provider. Only the children of expanded parents are fetched.
+     * The children are used by {@link #fetchChildItems(Object, Range)} for
+     * ranges within the given range until {@link #clearPrefetchedData()} is
+     * called.
+     *
+     * @param parents
+     *            the parent items, not <code>null</code>
+     * @param range
+     *            the range of children to fetch for each parent, not
+     *            <code>null</code>
+     */
+    public void prefetchChildren(List<T> parents, Range range) {
+        List<T> expandedParents = parents.stream().filter(this::isExpanded)
+                .collect(Collectors.toList());
+        if (expandedParents.isEmpty()) {
+            return;
+        }
+        List<List<T>> children = getDataProvider().fetchChildren(
+                expandedParents, createQuery(range));
+        for (int i = 0; i < expandedParents.size(); i++) {
+            prefetchedChildren.put(getParentId(expandedParents.get(i)),
+                    new PrefetchedChildren<>(range, children.get(i)));
+        }
+    }
+
+    /**
+     * Discards the children and child counts fetched in advance.
+     */
+    public void clearPrefetchedData() {
+        prefetchedChildren.clear();
+        prefetchedChildCounts.clear();
+    }
+
     /* Methods for providing information on the hierarchy. */
 
     /**
@@ -368,15 +445,31 @@ public class HierarchyMapper<T, F> implements Serializable {
      *            the range of direct children to return. null means full range.
      * @return the requested children of the given parent
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     private Stream<T> doFetchDirectChildren(T parent, Range range) {
         Range actualRange = (range == null)
                 ? Range.withLength(0, Integer.MAX_VALUE)
                 : range;
+        PrefetchedChildren<T> prefetched = prefetchedChildren
+                .get(getParentId(parent));
+        if (prefetched != null && actualRange.isSubsetOf(prefetched.range)) {
+            int offset = actualRange.getStart() - prefetched.range.getStart();
+            List<T> children = prefetched.children;
+            return children.subList(Math.min(offset, children.size()), Math
+                    .min(offset + actualRange.length(), children.size()))
+                    .stream();
+        }
         return getDataProvider()
-                .fetchChildren(new HierarchicalQuery(actualRange.getStart(),
-                        actualRange.length(), getBackEndSorting(),
-                        getInMemorySorting(), getFilter(), parent));
+                .fetchChildren(createQuery(actualRange).withParent(parent));
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private HierarchicalQuery<T, F> createQuery(Range range) {
+        return new HierarchicalQuery(range.getStart(), range.length(),
+                getBackEndSorting(), getInMemorySorting(), getFilter(), null);
+    }
+
+    private Object getParentId(T parent) {
+        return parent == null ? null : getDataProvider().getId(parent);
     }
 
     /**
@@ -490,62 +583,152 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the flattened hierarchy as a stream
      */
     private Stream<T> getHierarchy(T parent, boolean includeParent) {
-        return Stream.of(parent)
-                .flatMap(node -> getFlatChildrenStream(node, includeParent));
+        return getHierarchy(parent, includeParent, Integer.MAX_VALUE);
     }
 
     /**
-     * Gets the stream of direct children for given node.
+     * Gets the hierarchy tree starting from given node, up to the given number
+     * of items. The starting node can be omitted.
+     * <p>
+     * The tree is traversed depth first and only until the given number of
+     * items has been found. When the whole tree is needed, the children of the
+     * expanded nodes are fetched with one call to the data provider per tree
+     * level. Otherwise, the children of expanded siblings are fetched together
+     * only for the siblings which may still be within the limit.
      *
      * @param parent
-     *            the parent node
-     * @param range
-     * @return the stream of direct children
+     *            the parent node to start from
+     * @param includeParent
+     *            {@code true} to include the parent; {@code false} if not
+     * @param limit
+     *            the maximum number of items to get
+     * @return the flattened hierarchy as a stream
      */
-    private Stream<T> getDirectChildren(T parent, Range range) {
-        return getChildrenStream(parent, range, false);
+    private Stream<T> getHierarchy(T parent, boolean includeParent,
+            int limit) {
+        Map<Object, List<T>> fetchedChildren = limit == Integer.MAX_VALUE
+                ? fetchExpandedChildren(parent)
+                : new HashMap<>();
+        List<T> hierarchy = new ArrayList<>();
+        if (includeParent && parent != null) {
+            hierarchy.add(parent);
+        }
+        Deque<Iterator<T>> stack = new ArrayDeque<>();
+        stack.push(getExpandedChildren(parent, limit - hierarchy.size(),
+                fetchedChildren).iterator());
+        while (!stack.isEmpty() && hierarchy.size() < limit) {
+            Iterator<T> siblings = stack.peek();
+            if (siblings.hasNext()) {
+                T node = siblings.next();
+                hierarchy.add(node);
+                stack.push(getExpandedChildren(node, limit - hierarchy.size(),
+                        fetchedChildren).iterator());
+            } else {
+                stack.pop();
+            }
+        }
+        return hierarchy.stream();
     }
 
     /**
-     * The method to recursively fetch the children of given parent. Used with
-     * {@link Stream#flatMap} to expand a stream of parent nodes into a
-     * flattened hierarchy.
+     * Gets the children of the given node if it is expanded, and registers
+     * them. The children of the expanded nodes among the first children which
+     * may still be within the remaining number of items are fetched with one
+     * call to the data provider.
      *
      * @param parent
      *            the parent node
-     * @return the stream of all children under the parent, includes the parent
-     */
-    private Stream<T> getFlatChildrenStream(T parent) {
-        return getFlatChildrenStream(parent, true);
+     * @param remaining
+     *            the number of items still needed after the parent
+     * @param fetchedChildren
+     *            the children of the expanded nodes fetched in advance, by the
+     *            id of the node
+     * @return the children of the node, or an empty list if the node is not
+     *         expanded
+     */
+    private List<T> getExpandedChildren(T parent, int remaining,
+            Map<Object, List<T>> fetchedChildren) {
+        if (!isExpanded(parent)) {
+            return Collections.emptyList();
+        }
+        List<T> childList = fetchedChildren.remove(getParentId(parent));
+        if (childList == null) {
+            childList = doFetchDirectChildren(parent)
+                    .collect(Collectors.toList());
+        }
+        if (childList.isEmpty()) {
+            removeChildren(
+                    parent == null ? null : getDataProvider().getId(parent));
+            return childList;
+        }
+        registerChildren(parent, childList);
+
+        List<T> expanded = childList.stream()
+                .limit(Math.max(remaining, 0)).filter(this::isExpanded)
+                .filter(child -> !fetchedChildren
+                        .containsKey(getParentId(child)))
+                .collect(Collectors.toList());
+        // A single expanded child is fetched only if it's reached
+        if (expanded.size() > 1) {
+            List<List<T>> fetched = getDataProvider().fetchChildren(expanded,
+                    createQuery(Range.withLength(0, Integer.MAX_VALUE)));
+            for (int i = 0; i < expanded.size(); i++) {
+                fetchedChildren.put(getParentId(expanded.get(i)),
+                        fetched.get(i));
+            }
+        }
+        return childList;
     }
 
     /**
-     * The method to recursively fetch the children of given parent. Used with
-     * {@link Stream#flatMap} to expand a stream of parent nodes into a
-     * flattened hierarchy.
+     * Fetches the children of all expanded nodes in the subtree of the given
+     * node, with one call to the data provider per tree level.
      *
      * @param parent
-     *            the parent node
-     * @param includeParent
-     *            {@code true} to include the parent in the stream;
-     *            {@code false} if not
-     * @return the stream of all children under the parent
-     */
-    private Stream<T> getFlatChildrenStream(T parent, boolean includeParent) {
-        List<T> childList = Collections.emptyList();
-        if (isExpanded(parent)) {
-            childList = doFetchDirectChildren(parent)
-                    .collect(Collectors.toList());
-            if (childList.isEmpty()) {
-                removeChildren(parent == null ? null
-                        : getDataProvider().getId(parent));
-            } else {
-                registerChildren(parent, childList);
+     *            the root of the subtree
+     * @return the children of the expanded nodes, by the id of the node
+     */
+    private Map<Object, List<T>> fetchExpandedChildren(T parent) {
+        Map<Object, List<T>> children = new HashMap<>();
+        List<T> level = Collections.singletonList(parent);
+        while (!level.isEmpty()) {
+            List<T> expanded = new ArrayList<>();
+            List<T> nextLevel = new ArrayList<>();
+            for (T node : level) {
+                if (node == null) {
+                    // The root level is never fetched together with others
+                    List<T> rootItems = doFetchDirectChildren(null)
+                            .collect(Collectors.toList());
+                    children.put(null, rootItems);
+                    nextLevel.addAll(rootItems);
+                } else if (isExpanded(node)) {
+                    expanded.add(node);
+                }
+            }
+            if (!expanded.isEmpty()) {
+                List<List<T>> fetched = getDataProvider().fetchChildren(
+                        expanded,
+                        createQuery(Range.withLength(0, Integer.MAX_VALUE)));
+                for (int i = 0; i < expanded.size(); i++) {
+                    children.put(getParentId(expanded.get(i)), fetched.get(i));
+                    nextLevel.addAll(fetched.get(i));
+                }
             }
+            level = nextLevel;
         }
-        return combineParentAndChildStreams(parent,
-                childList.stream().flatMap(this::getFlatChildrenStream),
-                includeParent);
+        return children;
+    }
+
+    /**
+     * Gets the stream of direct children for given node.
+     *
+     * @param parent
+     *            the parent node
+     * @param range
+     * @return the stream of direct children
+     */
+    private Stream<T> getDirectChildren(T parent, Range range) {
+        return getChildrenStream(parent, range, false);
     }
 
     /**
@@ -617,6 +800,7 @@ public class HierarchyMapper<T, F> implements Serializable {
         childMap.clear();
         parentIdMap.clear();
         expandedItems.clear();
+        clearPrefetchedData();
     }
 
     /**
@@ -21,6 +21,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -72,6 +73,35 @@ public class BeanPropertySetTest {
         }
     }
 
+    public static class ThrowingBean implements Serializable {
+        public String getValue() {
+            throw new IllegalStateException("No value");
+        }
+
+        public void setValue(String value) {
+            throw new IllegalStateException("Read only");
+        }
+
+        public int getCount() {
+            return 0;
+        }
+
+        public void setCount(int count) {
+        }
+    }
+
+    public static class PrimitiveBean implements Serializable {
+        private long total;
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+    }
+
     interface Iface3 extends Iface2, Iface {
     }
 
@@ -306,4 +336,93 @@ public class BeanPropertySetTest {
         Assert.assertEquals(1, defs.size());
         Assert.assertEquals("name", defs.get(0).getName());
     }
+
+    @Test
+    public void propertyDefinition_getterAndSetterAccessValues() {
+        PropertySet<Person> propertySet = BeanPropertySet.get(Person.class);
+        PropertyDefinition<Person, String> definition = (PropertyDefinition<Person, String>) propertySet
+                .getProperty("name").get();
+        Person person = new Person("Jon", 1970);
+
+        definition.getSetter().get().accept(person, "John");
+
+        Assert.assertEquals("John", person.getName());
+        Assert.assertEquals("John", definition.getGetter().apply(person));
+        Assert.assertEquals(1970,
+                propertySet.getProperty("born").get().getGetter().apply(person));
+    }
+
+    @Test
+    public void propertyDefinition_accessorUsed_getterAndSetterSerializable()
+            throws Exception {
+        PropertyDefinition<Person, String> definition = (PropertyDefinition<Person, String>) BeanPropertySet
+                .get(Person.class).getProperty("name").get();
+        Person person = new Person("Jon", 1970);
+        // Creates the accessor of the definition
+        Assert.assertEquals("Jon", definition.getGetter().apply(person));
+
+        ValueProvider<Person, String> getter = ClassesSerializableUtils
+                .serializeAndDeserialize(definition.getGetter());
+        Setter<Person, String> setter = ClassesSerializableUtils
+                .serializeAndDeserialize(definition.getSetter().get());
+
+        setter.accept(person, "John");
+        Assert.assertEquals("John", getter.apply(person));
+    }
+
+    @Test
+    public void propertyDefinition_accessorThrows_exceptionWrapped() {
+        PropertyDefinition<ThrowingBean, ?> definition = BeanPropertySet
+                .get(ThrowingBean.class).getProperty("value").get();
+
+        try {
+            definition.getGetter().apply(new ThrowingBean());
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals(InvocationTargetException.class,
+                    e.getCause().getClass());
+            Assert.assertEquals(IllegalStateException.class,
+                    e.getCause().getCause().getClass());
+        }
+
+        try {
+            ((Setter<ThrowingBean, Object>) definition.getSetter().get())
+                    .accept(new ThrowingBean(), "foo");
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals(InvocationTargetException.class,
+                    e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void propertyDefinition_setNarrowerPrimitive_valueWidened() {
+        PropertyDefinition<PrimitiveBean, ?> definition = BeanPropertySet
+                .get(PrimitiveBean.class).getProperty("total").get();
+        PrimitiveBean bean = new PrimitiveBean();
+
+        ((Setter<PrimitiveBean, Object>) definition.getSetter().get())
+                .accept(bean, 42);
+
+        Assert.assertEquals(42L, bean.getTotal());
+        Assert.assertEquals(42L, definition.getGetter().apply(bean));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void propertyDefinition_setWiderPrimitive_throws() {
+        PropertyDefinition<PrimitiveBean, ?> definition = BeanPropertySet
+                .get(PrimitiveBean.class).getProperty("total").get();
+
+        ((Setter<PrimitiveBean, Object>) definition.getSetter().get())
+                .accept(new PrimitiveBean(), 4.2d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void propertyDefinition_setNullToPrimitive_throws() {
+        PropertyDefinition<ThrowingBean, ?> definition = BeanPropertySet
+                .get(ThrowingBean.class).getProperty("count").get();
+
+        ((Setter<ThrowingBean, Object>) definition.getSetter().get())
+                .accept(new ThrowingBean(), null);
+    }
 }
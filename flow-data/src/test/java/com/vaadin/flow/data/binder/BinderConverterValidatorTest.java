@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.vaadin.flow.data.binder.testcomponents.TestLabel;
 import org.junit.Assert;
@@ -752,4 +753,60 @@ public class BinderConverterValidatorTest
             Assert.assertEquals(0, person.getAge());
         }
     }
+
+    @Test
+    public void beanValidatorWithDependencies_runOnlyWhenDependencyWritten() {
+        AtomicInteger ageValidations = new AtomicInteger();
+        AtomicInteger allValidations = new AtomicInteger();
+        binder.bind(nameField, Person::getFirstName, Person::setFirstName);
+        binder.forField(ageField).withConverter(stringToInteger)
+                .bind(Person::getAge, Person::setAge);
+        binder.withValidator((person, context) -> {
+            ageValidations.incrementAndGet();
+            return ValidationResult.ok();
+        }, ageField);
+        binder.withValidator((person, context) -> {
+            allValidations.incrementAndGet();
+            return ValidationResult.ok();
+        });
+        binder.setBean(item);
+
+        nameField.setValue("foo");
+        nameField.setValue("bar");
+        assertEquals(1, ageValidations.get());
+        assertEquals(2, allValidations.get());
+
+        ageField.setValue("12");
+        assertEquals(2, ageValidations.get());
+        assertEquals(3, allValidations.get());
+
+        binder.validate();
+        assertEquals(3, ageValidations.get());
+        assertEquals(4, allValidations.get());
+    }
+
+    @Test
+    public void beanValidatorWithDependencies_previousErrorKeptForUnrelatedChange() {
+        binder.bind(nameField, Person::getFirstName, Person::setFirstName);
+        binder.forField(ageField).withConverter(stringToInteger)
+                .bind(Person::getAge, Person::setAge);
+        binder.withValidator(Validator.from(person -> person.getAge() < 150,
+                "Too old"), ageField);
+        binder.setBean(item);
+        int initialAge = item.getAge();
+
+        ageField.setValue("200");
+        assertEquals(initialAge, item.getAge());
+        assertTrue(binder.hasChanges());
+
+        nameField.setValue("foo");
+        assertEquals("Too old", binder.validate().getBeanValidationErrors()
+                .get(0).getErrorMessage());
+        assertEquals("Johannes", item.getFirstName());
+
+        ageField.setValue("20");
+        assertEquals(20, item.getAge());
+        assertEquals("foo", item.getFirstName());
+        assertFalse(binder.hasChanges());
+    }
 }
@@ -21,6 +21,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.data.binder.Binder.Binding;
 import com.vaadin.flow.data.binder.Binder.BindingBuilder;
 import com.vaadin.flow.data.converter.StringToIntegerConverter;
@@ -410,6 +411,49 @@ public class BinderStatusChangeTest
         verifyEvent(true);
     }
 
+    @Test
+    public void batchStatusChangeEvents_singleEventBeforeClientResponse() {
+        UI ui = new UI();
+        UI.setCurrent(ui);
+        try {
+            binder.setBatchStatusChangeEvents(true);
+            binder.forField(nameField).withValidator(notEmpty)
+                    .bind(Person::getFirstName, Person::setFirstName);
+            binder.forField(ageField)
+                    .withConverter(new StringToIntegerConverter(""))
+                    .bind(Person::getAge, Person::setAge);
+            binder.setBean(item);
+            binder.addStatusChangeListener(this::statusChanged);
+
+            nameField.setValue("foo");
+            ageField.setValue("bar");
+            nameField.setValue("");
+            Assert.assertNull(event.get());
+
+            ui.getInternals().getStateTree()
+                    .runExecutionsBeforeClientResponse();
+            verifyEvent(true);
+
+            event.set(null);
+            ui.getInternals().getStateTree()
+                    .runExecutionsBeforeClientResponse();
+            Assert.assertNull(event.get());
+        } finally {
+            UI.setCurrent(null);
+        }
+    }
+
+    @Test
+    public void batchStatusChangeEvents_noCurrentUI_eventFiredImmediately() {
+        binder.setBatchStatusChangeEvents(true);
+        binder.forField(nameField).bind(Person::getFirstName,
+                Person::setFirstName);
+        binder.addStatusChangeListener(this::statusChanged);
+
+        binder.setBean(item);
+        verifyEvent();
+    }
+
     private void verifyEvent() {
         verifyEvent(false);
     }
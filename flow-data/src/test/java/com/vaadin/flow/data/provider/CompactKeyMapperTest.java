@@ -0,0 +1,174 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactKeyMapperTest {
+
+    private CompactKeyMapper<String> mapper = new CompactKeyMapper<>();
+
+    @Test
+    public void key_sameObject_sameKey() {
+        String key = mapper.key("foo");
+
+        Assert.assertEquals("1", key);
+        Assert.assertEquals(key, mapper.key("foo"));
+        Assert.assertEquals("2", mapper.key("bar"));
+        Assert.assertEquals("foo", mapper.get(key));
+        Assert.assertTrue(mapper.has("foo"));
+        Assert.assertTrue(mapper.containsKey(key));
+    }
+
+    @Test
+    public void key_null_nullKey() {
+        Assert.assertEquals("null", mapper.key(null));
+    }
+
+    @Test
+    public void get_invalidKeys_null() {
+        mapper.key("foo");
+
+        Assert.assertNull(mapper.get("0"));
+        Assert.assertNull(mapper.get("01"));
+        Assert.assertNull(mapper.get("2"));
+        Assert.assertNull(mapper.get("-1"));
+        Assert.assertNull(mapper.get("foo"));
+        Assert.assertNull(mapper.get("99999999999"));
+        Assert.assertNull(mapper.get(""));
+        Assert.assertNull(mapper.get(null));
+    }
+
+    @Test
+    public void remove_keyFreedAndReused() {
+        String fooKey = mapper.key("foo");
+        String barKey = mapper.key("bar");
+
+        mapper.remove("foo");
+
+        Assert.assertFalse(mapper.has("foo"));
+        Assert.assertNull(mapper.get(fooKey));
+        Assert.assertEquals("bar", mapper.get(barKey));
+        Assert.assertEquals(fooKey, mapper.key("baz"));
+    }
+
+    @Test
+    public void removeAll_nothingMapped() {
+        String key = mapper.key("foo");
+
+        mapper.removeAll();
+
+        Assert.assertFalse(mapper.has("foo"));
+        Assert.assertNull(mapper.get(key));
+    }
+
+    @Test
+    public void refresh_newInstanceReturnedForKey() {
+        CompactKeyMapper<StringBuilder> builderMapper = new CompactKeyMapper<>(
+                StringBuilder::toString);
+        String key = builderMapper.key(new StringBuilder("foo"));
+        StringBuilder refreshed = new StringBuilder("foo");
+
+        builderMapper.refresh(refreshed);
+
+        Assert.assertSame(refreshed, builderMapper.get(key));
+    }
+
+    @Test
+    public void setIdentifierGetter_existingKeysKept() {
+        String key = mapper.key("foo");
+
+        mapper.setIdentifierGetter(String::length);
+
+        Assert.assertEquals(key, mapper.key("bar"));
+        Assert.assertTrue(mapper.has("baz"));
+        Assert.assertEquals("foo", mapper.get(key));
+    }
+
+    @Test
+    public void nullIdentifier_mapped() {
+        CompactKeyMapper<String> nullIdMapper = new CompactKeyMapper<>(
+                item -> null);
+        String key = nullIdMapper.key("foo");
+
+        Assert.assertEquals(key, nullIdMapper.key("bar"));
+        nullIdMapper.remove("baz");
+        Assert.assertFalse(nullIdMapper.has("foo"));
+    }
+
+    @Test
+    public void randomOperations_sameResultsAsHashMaps() {
+        // Colliding hash codes stress the probing and removal logic
+        CompactKeyMapper<Integer> intMapper = new CompactKeyMapper<>(
+                item -> new CollidingId(item));
+        Map<Integer, String> expectedKeys = new HashMap<>();
+        Set<String> usedKeys = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            Integer item = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                intMapper.remove(item);
+                String removedKey = expectedKeys.remove(item);
+                if (removedKey != null) {
+                    usedKeys.remove(removedKey);
+                    Assert.assertNull(intMapper.get(removedKey));
+                }
+            } else {
+                String key = intMapper.key(item);
+                String expectedKey = expectedKeys.get(item);
+                if (expectedKey == null) {
+                    Assert.assertTrue("Key in use returned for a new item",
+                            usedKeys.add(key));
+                    expectedKeys.put(item, key);
+                } else {
+                    Assert.assertEquals(expectedKey, key);
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, String> entry : expectedKeys.entrySet()) {
+            Assert.assertTrue(intMapper.has(entry.getKey()));
+            Assert.assertEquals(entry.getKey(), intMapper.get(entry.getValue()));
+        }
+    }
+
+    private static class CollidingId {
+        private final int value;
+
+        private CollidingId(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 7;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CollidingId
+                    && ((CollidingId) obj).value == value;
+        }
+    }
+}
@@ -15,8 +15,10 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -32,13 +34,18 @@ import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.internal.Range;
+import com.vaadin.flow.internal.SizeEstimator;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.router.Location;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.metrics.StateTreeProfile;
+import com.vaadin.flow.server.metrics.StateTreeProfiler;
 import org.hamcrest.CoreMatchers;
 import org.junit.Assert;
 import org.junit.Before;
@@ -241,6 +248,137 @@ public class DataCommunicatorTest {
                 dataCommunicator.getKeyMapper().get("1"));
     }
 
+    @Test
+    public void generatedDataCacheEnabled_scrollBackBeforePassivation_dataNotGeneratedAgain() {
+        dataCommunicator.setGeneratedDataCacheSize(200);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+
+        scrollAwayAndBack();
+
+        Mockito.verify(dataGenerator, Mockito.times(1))
+                .generateData(Mockito.eq(new Item(0)), Mockito.any());
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+    }
+
+    @Test
+    public void estimateRetainedSize_growsWithActiveItems() {
+        long initialSize = dataCommunicator.estimateRetainedSize();
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        long activeSize = dataCommunicator.estimateRetainedSize();
+        long keyMapperSize = ((KeyMapper<?>) dataCommunicator.getKeyMapper())
+                .estimateRetainedSize();
+
+        // Two map entries per mapped item
+        Assert.assertTrue(keyMapperSize > 50 * 2 * SizeEstimator.MAP_ENTRY);
+        Assert.assertTrue(activeSize > initialSize + keyMapperSize);
+    }
+
+    @Test
+    public void stateTreeProfiler_componentWithDataCommunicator_sizeIncluded() {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(Mockito.mock(DeploymentConfiguration.class));
+        ui = new MockUI(new AlwaysLockedVaadinSession(service));
+        GridLikeComponent grid = new GridLikeComponent();
+        dataCommunicator = new DataCommunicator<>(dataGenerator, arrayUpdater,
+                data -> {
+                }, grid.getElement().getNode());
+        grid.dataCommunicator = dataCommunicator;
+        TestComponent view = new TestComponent();
+        view.getElement().appendChild(grid.getElement());
+        ui.getInternals().showRouteTarget(new Location("grid"), view,
+                Collections.emptyList());
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        StateTreeProfile profile = StateTreeProfiler.profile(ui,
+                Duration.ofMinutes(1));
+
+        Assert.assertEquals(TestComponent.class.getName(), profile.getRoute());
+        Assert.assertEquals(dataCommunicator.estimateRetainedSize(),
+                profile.getContributorBytes());
+        Assert.assertTrue(profile.getBytesByComponent()
+                .get(GridLikeComponent.class) > dataCommunicator
+                        .estimateRetainedSize());
+        Assert.assertEquals(profile.getTotalBytes(),
+                StateTreeProfile.aggregateByRoute(
+                        Collections.singletonList(profile))
+                        .get(TestComponent.class.getName()).longValue());
+    }
+
+    @Test
+    public void generatedDataCacheDisabled_scrollBack_dataGeneratedAgain() {
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+
+        scrollAwayAndBack();
+
+        Mockito.verify(dataGenerator, Mockito.times(2))
+                .generateData(Mockito.eq(new Item(0)), Mockito.any());
+    }
+
+    @Test
+    public void generatedDataCacheEnabled_itemRefreshed_dataGeneratedAgain() {
+        dataCommunicator.setGeneratedDataCacheSize(200);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        dataCommunicator.refresh(new Item(0));
+        fakeClientCommunication();
+
+        Mockito.verify(dataGenerator, Mockito.times(2))
+                .generateData(Mockito.eq(new Item(0)), Mockito.any());
+        Mockito.verify(dataGenerator, Mockito.times(1))
+                .generateData(Mockito.eq(new Item(1)), Mockito.any());
+    }
+
+    @Test
+    public void generatedDataCacheEnabled_reset_dataGeneratedAgain() {
+        dataCommunicator.setGeneratedDataCacheSize(200);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        dataCommunicator.reset();
+        fakeClientCommunication();
+
+        Mockito.verify(dataGenerator, Mockito.times(2))
+                .generateData(Mockito.eq(new Item(0)), Mockito.any());
+    }
+
+    @Test
+    public void generatedDataCacheEnabled_passivationConfirmed_dataGeneratedAgain() {
+        dataCommunicator.setGeneratedDataCacheSize(200);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        dataCommunicator.setRequestedRange(100, 50);
+        fakeClientCommunication();
+        dataCommunicator.confirmUpdate(lastUpdateId);
+        // Unregistration of the confirmed update is done on the next flush
+        dataCommunicator.setRequestedRange(100, 60);
+        fakeClientCommunication();
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        Mockito.verify(dataGenerator, Mockito.times(2))
+                .generateData(Mockito.eq(new Item(0)), Mockito.any());
+    }
+
+    private void scrollAwayAndBack() {
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        dataCommunicator.setRequestedRange(100, 50);
+        fakeClientCommunication();
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+    }
+
     @Test
     public void dataProviderBreaksContract_limitOrPageSizeAreNotCalled_throw() {
         List<Item> items = new ArrayList<>();
@@ -1496,6 +1634,12 @@ public class DataCommunicatorTest {
         }
     }
 
+    @Tag("grid-like")
+    private static class GridLikeComponent extends Component {
+
+        private DataCommunicator<Item> dataCommunicator;
+    }
+
     private int getPageSizeIncrease() {
         return dataCommunicator.getPageSize() * 4;
     }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -34,6 +35,8 @@ import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.data.provider.CompositeDataGenerator;
 import com.vaadin.flow.data.provider.hierarchy.HierarchicalArrayUpdater.HierarchicalUpdate;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.internal.ExecutionContext;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
@@ -290,6 +293,121 @@ public class HierarchicalCommunicatorTest {
                 root.getString("key"));
     }
 
+    @Test
+    public void setParentRequestedRange_severalParents_childrenFetchedInBatches() {
+        TreeData<String> batchTreeData = new TreeData<>();
+        List<String> parents = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String parent = "parent-" + i;
+            parents.add(parent);
+            batchTreeData.addItem(null, parent);
+            for (int j = 0; j < 4; j++) {
+                batchTreeData.addItem(parent, parent + "-child-" + j);
+            }
+        }
+        BatchCountingTreeDataProvider countingProvider = new BatchCountingTreeDataProvider(
+                batchTreeData);
+        HierarchicalDataCommunicator<String> batchCommunicator = new HierarchicalDataCommunicator<String>(
+                Mockito.mock(CompositeDataGenerator.class), arrayUpdater,
+                json -> {
+                }, stateNode, () -> item -> item);
+        batchCommunicator.setDataProvider(countingProvider, null);
+        for (String parent : parents) {
+            batchCommunicator.expand(parent);
+            batchCommunicator.getKeyMapper().key(parent);
+        }
+        flushBeforeClientResponse();
+        Mockito.clearInvocations(stateNode, stateTree);
+        countingProvider.singleFetches = 0;
+        countingProvider.singleCounts = 0;
+
+        parents.forEach(
+                parent -> batchCommunicator.setParentRequestedRange(0, 2, parent));
+        flushBeforeClientResponse();
+
+        Assert.assertEquals(1, countingProvider.batchCounts);
+        Assert.assertEquals(1, countingProvider.batchFetches);
+        Assert.assertEquals(0, countingProvider.singleCounts);
+        Assert.assertEquals(0, countingProvider.singleFetches);
+        parents.forEach(parent -> Assert.assertTrue(batchCommunicator
+                .getKeyMapper().has(parent + "-child-1")));
+        Assert.assertFalse(
+                batchCommunicator.getKeyMapper().has("parent-0-child-2"));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void flushBeforeClientResponse() {
+        ArgumentCaptor<SerializableConsumer> attachCaptor = ArgumentCaptor
+                .forClass(SerializableConsumer.class);
+        Mockito.verify(stateNode, Mockito.atLeastOnce())
+                .runWhenAttached(attachCaptor.capture());
+        attachCaptor.getAllValues().forEach(consumer -> consumer.accept(ui));
+
+        ArgumentCaptor<SerializableConsumer> flushCaptor = ArgumentCaptor
+                .forClass(SerializableConsumer.class);
+        Mockito.verify(stateTree, Mockito.atLeastOnce())
+                .beforeClientResponse(Mockito.any(), flushCaptor.capture());
+        flushCaptor.getAllValues()
+                .forEach(consumer -> consumer
+                        .accept(new ExecutionContext(ui, true)));
+    }
+
+    private static class BatchCountingTreeDataProvider
+            extends TreeDataProvider<String> {
+        private int singleFetches;
+        private int singleCounts;
+        private int batchFetches;
+        private int batchCounts;
+        private boolean inBatch;
+
+        private BatchCountingTreeDataProvider(TreeData<String> treeData) {
+            super(treeData);
+        }
+
+        @Override
+        public Stream<String> fetchChildren(
+                HierarchicalQuery<String, SerializablePredicate<String>> query) {
+            if (!inBatch && query.getParent() != null) {
+                singleFetches++;
+            }
+            return super.fetchChildren(query);
+        }
+
+        @Override
+        public int getChildCount(
+                HierarchicalQuery<String, SerializablePredicate<String>> query) {
+            // Root size queries are not per parent and cannot be batched
+            if (!inBatch && query.getParent() != null) {
+                singleCounts++;
+            }
+            return super.getChildCount(query);
+        }
+
+        @Override
+        public List<List<String>> fetchChildren(List<String> parents,
+                HierarchicalQuery<String, SerializablePredicate<String>> query) {
+            batchFetches++;
+            inBatch = true;
+            try {
+                return super.fetchChildren(parents, query);
+            } finally {
+                inBatch = false;
+            }
+        }
+
+        @Override
+        public List<Integer> getChildCounts(List<String> parents,
+                HierarchicalQuery<String, SerializablePredicate<String>> query) {
+            batchCounts++;
+            inBatch = true;
+            try {
+                return super.getChildCounts(parents, query);
+            } finally {
+                inBatch = false;
+            }
+        }
+    }
+
     @Tag("test")
     public static class TestComponent extends Component {
     }
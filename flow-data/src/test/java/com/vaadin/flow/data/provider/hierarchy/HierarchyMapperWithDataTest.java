@@ -18,6 +18,7 @@ package com.vaadin.flow.data.provider.hierarchy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -288,6 +289,84 @@ public class HierarchyMapperWithDataTest {
         expandedItems.add(new TreeNode("third-1"));
     }
 
+    @Test
+    public void getTreeSize_expandedNodes_childrenFetchedOncePerLevel() {
+        BatchCountingTreeDataProvider countingProvider = new BatchCountingTreeDataProvider(
+                data);
+        mapper = new HierarchyMapper<>(countingProvider);
+        roots.forEach(mapper::expand);
+        testData.stream().filter(node -> roots.contains(node.getParent()))
+                .forEach(mapper::expand);
+        countingProvider.singleFetches = 0;
+
+        assertEquals(ROOT_COUNT + ROOT_COUNT * PARENT_COUNT
+                + ROOT_COUNT * PARENT_COUNT * LEAF_COUNT, mapper.getTreeSize());
+
+        // Roots are fetched separately, then one batch per level
+        assertEquals(1, countingProvider.singleFetches);
+        assertEquals(2, countingProvider.batchFetches);
+    }
+
+    @Test
+    public void fetchHierarchyItems_expandedNodes_onlyChildrenWithinRangeFetched() {
+        BatchCountingTreeDataProvider countingProvider = new BatchCountingTreeDataProvider(
+                data);
+        mapper = new HierarchyMapper<>(countingProvider);
+        roots.forEach(mapper::expand);
+        testData.stream().filter(node -> roots.contains(node.getParent()))
+                .forEach(mapper::expand);
+        List<Node> allItems = mapper.fetchHierarchyItems(
+                Range.withLength(0, Integer.MAX_VALUE))
+                .collect(Collectors.toList());
+        countingProvider.singleFetches = 0;
+        countingProvider.batchFetches = 0;
+        countingProvider.batchFetchedParents = 0;
+
+        List<Node> items = mapper.fetchHierarchyItems(Range.withLength(1, 2))
+                .collect(Collectors.toList());
+
+        assertEquals(allItems.subList(1, 3), items);
+        // The roots, then the children of the first three roots and of the
+        // first two parents of the first root, which may be within the range
+        assertEquals(1, countingProvider.singleFetches);
+        assertEquals(2, countingProvider.batchFetches);
+        assertEquals(3 + 2, countingProvider.batchFetchedParents);
+    }
+
+    @Test
+    public void prefetchChildren_fetchChildItemsWithinRange_prefetchedChildrenUsed() {
+        BatchCountingTreeDataProvider countingProvider = new BatchCountingTreeDataProvider(
+                data);
+        mapper = new HierarchyMapper<>(countingProvider);
+        roots.forEach(mapper::expand);
+
+        mapper.prefetchChildCounts(roots);
+        mapper.prefetchChildren(roots, Range.withLength(0, 3));
+        countingProvider.singleFetches = 0;
+        countingProvider.singleCounts = 0;
+
+        for (Node root : roots) {
+            assertEquals(PARENT_COUNT, mapper.countChildItems(root));
+            List<Node> children = mapper
+                    .fetchChildItems(root, Range.withLength(1, 2))
+                    .collect(Collectors.toList());
+            assertEquals(provider
+                    .fetchChildren(new HierarchicalQuery<>(1, 2,
+                            Collections.emptyList(), null, null, root))
+                    .collect(Collectors.toList()), children);
+        }
+        assertEquals(0, countingProvider.singleFetches);
+        assertEquals(0, countingProvider.singleCounts);
+        assertEquals(1, countingProvider.batchFetches);
+        assertEquals(1, countingProvider.batchCounts);
+
+        mapper.clearPrefetchedData();
+        mapper.countChildItems(roots.get(0));
+        mapper.fetchChildItems(roots.get(0), Range.withLength(1, 2)).count();
+        assertEquals(1, countingProvider.singleFetches);
+        assertEquals(1, countingProvider.singleCounts);
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
@@ -424,4 +503,60 @@ public class HierarchyMapperWithDataTest {
         }
     }
 
+    private static class BatchCountingTreeDataProvider
+            extends TreeDataProvider<Node> {
+        private int singleFetches;
+        private int singleCounts;
+        private int batchFetches;
+        private int batchCounts;
+        private int batchFetchedParents;
+        private boolean inBatch;
+
+        private BatchCountingTreeDataProvider(TreeData<Node> treeData) {
+            super(treeData);
+        }
+
+        @Override
+        public Stream<Node> fetchChildren(
+                HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+            if (!inBatch) {
+                singleFetches++;
+            }
+            return super.fetchChildren(query);
+        }
+
+        @Override
+        public int getChildCount(
+                HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+            if (!inBatch) {
+                singleCounts++;
+            }
+            return super.getChildCount(query);
+        }
+
+        @Override
+        public List<List<Node>> fetchChildren(List<Node> parents,
+                HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+            batchFetches++;
+            batchFetchedParents += parents.size();
+            inBatch = true;
+            try {
+                return super.fetchChildren(parents, query);
+            } finally {
+                inBatch = false;
+            }
+        }
+
+        @Override
+        public List<Integer> getChildCounts(List<Node> parents,
+                HierarchicalQuery<Node, SerializablePredicate<Node>> query) {
+            batchCounts++;
+            inBatch = true;
+            try {
+                return super.getChildCounts(parents, query);
+            } finally {
+                inBatch = false;
+            }
+        }
+    }
 }
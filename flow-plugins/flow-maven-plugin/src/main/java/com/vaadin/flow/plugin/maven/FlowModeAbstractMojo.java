@@ -55,6 +55,12 @@ public abstract class FlowModeAbstractMojo extends AbstractMojo
      */
     public static final String INCLUDE_FROM_COMPILE_DEPS_REGEX = ".*(/|\\\\)(portlet-api|javax\\.servlet-api)-.+jar$";
 
+    /**
+     * Name of the file in the build directory where the class index used for
+     * scanning the project classes is kept between builds.
+     */
+    private static final String CLASS_INDEX_FILE = "flow-class-index.bin";
+
     /**
      * Application properties file in Spring project.
      */
@@ -243,8 +249,11 @@ public abstract class FlowModeAbstractMojo extends AbstractMojo
     public ClassFinder getClassFinder() {
 
         List<String> classpathElements = getClasspathElements(project);
+        File indexFile = projectBuildDir == null ? null
+                : projectBaseDirectory().resolve(projectBuildDir)
+                        .resolve(CLASS_INDEX_FILE).toFile();
 
-        return BuildFrontendUtil.getClassFinder(classpathElements);
+        return BuildFrontendUtil.getClassFinder(classpathElements, indexFile);
 
     }
 
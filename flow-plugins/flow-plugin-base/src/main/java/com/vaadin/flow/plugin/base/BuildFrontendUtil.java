@@ -40,7 +40,7 @@ import com.vaadin.flow.server.frontend.FrontendTools;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 import com.vaadin.flow.server.frontend.NodeTasks;
 import com.vaadin.flow.server.frontend.scanner.ClassFinder;
-import com.vaadin.flow.server.scanner.ReflectionsClassFinder;
+import com.vaadin.flow.server.scanner.ByteCodeClassFinder;
 import com.vaadin.flow.utils.FlowFileUtils;
 
 import elemental.json.Json;
@@ -82,11 +82,27 @@ public class BuildFrontendUtil {
      * @return the {@link ClassFinder} that uses the classpathElements
      */
     public static ClassFinder getClassFinder(List<String> classpathElements) {
+        return getClassFinder(classpathElements, null);
+    }
+
+    /**
+     * creates a {@link ClassFinder} from a List of classpathElements, which
+     * keeps its class index in the given file between builds.
+     *
+     * @param classpathElements
+     *            the list of classpath elements
+     * @param indexFile
+     *            the file where the class index is stored, may be
+     *            {@code null} for not storing it
+     * @return the {@link ClassFinder} that uses the classpathElements
+     */
+    public static ClassFinder getClassFinder(List<String> classpathElements,
+            File indexFile) {
 
         URL[] urls = classpathElements.stream().distinct().map(File::new)
                 .map(FlowFileUtils::convertToUrl).toArray(URL[]::new);
 
-        return new ReflectionsClassFinder(urls);
+        return new ByteCodeClassFinder(indexFile, urls);
     }
 
     /**
@@ -275,6 +291,7 @@ public class BuildFrontendUtil {
                             .useV14Bootstrap(
                                     adapter.isUseDeprecatedV14Bootstrapping())
                             .enablePackagesUpdate(true)
+                            .enablePwaIconsGeneration(true)
                             .useByteCodeScanner(adapter.optimizeBundle())
                             .withFlowResourcesFolder(flowResourcesFolder)
                             .copyResources(jarFiles)
@@ -297,7 +314,8 @@ public class BuildFrontendUtil {
                             .withHomeNodeExecRequired(
                                     adapter.requireHomeNodeExec())
                             .withNodeVersion(adapter.nodeVersion())
-                            .withNodeDownloadRoot(nodeDownloadRootURI).build()
+                            .withNodeDownloadRoot(nodeDownloadRootURI)
+                            .enableParallelExecution(true).build()
                             .execute();
         } catch (ExecutionFailedException exception) {
             throw exception;
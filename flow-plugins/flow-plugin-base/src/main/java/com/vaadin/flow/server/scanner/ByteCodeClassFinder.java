@@ -0,0 +1,123 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.scanner;
+
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+/**
+ * A class finder which indexes the class files of the given jars and
+ * directories by reading their byte code, in parallel and without loading any
+ * class. Only the classes returned by the queries are loaded.
+ * <p>
+ * The index can be kept in a file between builds, in which case only jars and
+ * class files changed since the previous build are read again.
+ *
+ * @since
+ */
+public class ByteCodeClassFinder implements ClassFinder {
+    private final transient ClassLoader classLoader;
+
+    private final transient ClassIndex index;
+
+    /**
+     * Constructor.
+     *
+     * @param urls
+     *            the list of urls for finding classes.
+     */
+    public ByteCodeClassFinder(URL... urls) {
+        this(null, urls);
+    }
+
+    /**
+     * Constructor which keeps the class index in the given file.
+     *
+     * @param indexFile
+     *            the file where the class index is stored between builds, may
+     *            be {@code null} for not storing it
+     * @param urls
+     *            the list of urls for finding classes.
+     */
+    public ByteCodeClassFinder(File indexFile, URL... urls) {
+        classLoader = new URLClassLoader(urls, null); // NOSONAR
+        index = ClassIndex.build(indexFile, urls);
+    }
+
+    @Override
+    public Set<Class<?>> getAnnotatedClasses(
+            Class<? extends Annotation> clazz) {
+        Set<String> names = getAnnotatedWith(clazz);
+        Repeatable repeatableAnnotation = clazz.getAnnotation(Repeatable.class);
+        if (repeatableAnnotation != null) {
+            names.addAll(getAnnotatedWith(repeatableAnnotation.value()));
+        }
+        return loadClasses(names);
+    }
+
+    private Set<String> getAnnotatedWith(Class<? extends Annotation> clazz) {
+        return index.getAnnotatedWith(clazz.getName(),
+                clazz.isAnnotationPresent(Inherited.class));
+    }
+
+    @Override
+    public URL getResource(String name) {
+        return classLoader.getResource(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Class<T> loadClass(String name) throws ClassNotFoundException {
+        return (Class<T>) classLoader.loadClass(name);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type) {
+        return (Set) loadClasses(index.getSubTypesOf(type.getName()));
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    private Set<Class<?>> loadClasses(Set<String> names) {
+        Set<Class<?>> classes = new HashSet<>();
+        for (String name : names) {
+            try {
+                classes.add(Class.forName(name, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Same as for class path scanning, classes which cannot be
+                // loaded, e.g. due to missing optional dependencies, are
+                // skipped
+                LoggerFactory.getLogger(ByteCodeClassFinder.class)
+                        .debug("Could not load class {}", name, e);
+            }
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import net.bytebuddy.jar.asm.AnnotationVisitor;
+import net.bytebuddy.jar.asm.ClassReader;
+import net.bytebuddy.jar.asm.ClassVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of the type hierarchy and the class level annotations of the class
+ * files found in a set of jars and directories.
+ * <p>
+ * Class files are read with ASM without loading them. Jars and directories
+ * are indexed in parallel using the common fork-join pool. When an index file
+ * is given, the index of each jar is reused as long as the names and CRCs of
+ * its entries have not changed, and for directories the index of each class
+ * file is reused as long as the CRC of its content has not changed.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @since
+ */
+final class ClassIndex {
+
+    // Increase when the format of the stored index changes
+    private static final int VERSION = 2;
+
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String MODULE_INFO = "module-info.class";
+    private static final String META_INF = "META-INF/";
+
+    private static final int PARSING_FLAGS = ClassReader.SKIP_CODE
+            | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    /**
+     * Type hierarchy and annotation information of a single class.
+     */
+    static final class ClassEntry implements Serializable {
+        private final String name;
+        private final String superName;
+        private final String[] interfaces;
+        private final String[] annotations;
+        private final boolean isInterface;
+        private final long stamp;
+
+        private ClassEntry(String name, String superName, String[] interfaces,
+                String[] annotations, boolean isInterface, long stamp) {
+            this.name = name;
+            this.superName = superName;
+            this.interfaces = interfaces;
+            this.annotations = annotations;
+            this.isInterface = isInterface;
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * The classes of one classpath element.
+     */
+    private static final class SourceIndex implements Serializable {
+        private final String fingerprint;
+        // class file path -> entry
+        private final Map<String, ClassEntry> entries;
+
+        private SourceIndex(String fingerprint,
+                Map<String, ClassEntry> entries) {
+            this.fingerprint = fingerprint;
+            this.entries = entries;
+        }
+    }
+
+    private final Map<String, ClassEntry> classes = new HashMap<>();
+    private final Map<String, Set<String>> subTypes = new HashMap<>();
+    private final Map<String, Set<String>> annotated = new HashMap<>();
+
+    private ClassIndex(Map<String, SourceIndex> sources, List<String> order) {
+        // earlier classpath elements win, as in class loading
+        for (String source : order) {
+            SourceIndex index = sources.get(source);
+            if (index == null) {
+                continue;
+            }
+            for (ClassEntry entry : index.entries.values()) {
+                if (classes.putIfAbsent(entry.name, entry) == null) {
+                    addRelations(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the index for the given classpath elements.
+     *
+     * @param indexFile
+     *            the file to reuse a previous index from and store the new
+     *            one to, may be {@code null}
+     * @param urls
+     *            the jars and directories to index
+     * @return the index
+     */
+    static ClassIndex build(File indexFile, URL... urls) {
+        long start = System.nanoTime();
+        Map<String, SourceIndex> previous = load(indexFile);
+        List<String> order = Arrays.stream(urls).map(URL::toExternalForm)
+                .collect(Collectors.toList());
+
+        Map<String, SourceIndex> sources = new ConcurrentHashMap<>();
+        Arrays.stream(urls).parallel().forEach(url -> {
+            String key = url.toExternalForm();
+            SourceIndex index = indexSource(url, previous.get(key));
+            if (index != null) {
+                sources.put(key, index);
+            }
+        });
+
+        ClassIndex classIndex = new ClassIndex(sources, order);
+        if (indexFile != null && !isUnchanged(sources, previous)) {
+            store(indexFile, new HashMap<>(sources));
+        }
+        getLogger().debug(
+                "Indexed {} classes from {} classpath elements in {} ms",
+                classIndex.classes.size(), urls.length,
+                (System.nanoTime() - start) / 1_000_000);
+        return classIndex;
+    }
+
+    /**
+     * Gets the names of the classes annotated with the given annotation. When
+     * the annotation is inherited, subtypes of annotated classes (but not of
+     * annotated interfaces) are included.
+     *
+     * @param annotation
+     *            the annotation class name
+     * @param inherited
+     *            whether the annotation is
+     *            {@link java.lang.annotation.Inherited}
+     * @return the names of the annotated classes
+     */
+    Set<String> getAnnotatedWith(String annotation, boolean inherited) {
+        Set<String> result = new HashSet<>(
+                annotated.getOrDefault(annotation, Collections.emptySet()));
+        if (inherited) {
+            for (String name : new HashSet<>(result)) {
+                ClassEntry entry = classes.get(name);
+                if (entry != null && !entry.isInterface) {
+                    result.addAll(getSubTypesOf(name));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the names of all the direct and indirect subtypes of the given
+     * type.
+     *
+     * @param type
+     *            the type class name
+     * @return the names of the subtypes
+     */
+    Set<String> getSubTypesOf(String type) {
+        Set<String> result = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            for (String subType : subTypes.getOrDefault(queue.poll(),
+                    Collections.emptySet())) {
+                if (result.add(subType)) {
+                    queue.add(subType);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addRelations(ClassEntry entry) {
+        if (entry.superName != null) {
+            subTypes.computeIfAbsent(entry.superName, key -> new HashSet<>())
+                    .add(entry.name);
+        }
+        for (String implemented : entry.interfaces) {
+            subTypes.computeIfAbsent(implemented, key -> new HashSet<>())
+                    .add(entry.name);
+        }
+        for (String annotation : entry.annotations) {
+            annotated.computeIfAbsent(annotation, key -> new HashSet<>())
+                    .add(entry.name);
+        }
+    }
+
+    private static SourceIndex indexSource(URL url, SourceIndex previous) {
+        File file;
+        try {
+            file = new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            getLogger().debug("Skipping classpath element {}", url, e);
+            return null;
+        }
+        try {
+            if (file.isDirectory()) {
+                return indexDirectory(file.toPath(), previous);
+            } else if (file.isFile()) {
+                return indexJar(file, previous);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            getLogger().warn("Unable to index classpath element {}", url, e);
+        }
+        return null;
+    }
+
+    private static SourceIndex indexJar(File jar, SourceIndex previous)
+            throws IOException {
+        Map<String, ClassEntry> entries = new HashMap<>();
+        try (ZipFile zip = new ZipFile(jar)) {
+            String fingerprint = getFingerprint(zip);
+            if (previous != null
+                    && fingerprint.equals(previous.fingerprint)) {
+                return previous;
+            }
+            Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry zipEntry = zipEntries.nextElement();
+                String path = zipEntry.getName();
+                if (!isIndexed(path)) {
+                    continue;
+                }
+                ClassEntry entry = previous == null ? null
+                        : previous.entries.get(path);
+                if (entry == null || entry.stamp != zipEntry.getCrc()) {
+                    try (InputStream stream = zip.getInputStream(zipEntry)) {
+                        entry = parse(IOUtils.toByteArray(stream),
+                                zipEntry.getCrc());
+                    }
+                }
+                if (entry != null) {
+                    entries.put(path, entry);
+                }
+            }
+            return new SourceIndex(fingerprint, entries);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of a jar from the names, sizes and CRCs of its
+     * entries, which are read from the central directory without
+     * decompressing anything.
+     */
+    private static String getFingerprint(ZipFile zip) {
+        CRC32 crc = new CRC32();
+        Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+        int count = 0;
+        while (zipEntries.hasMoreElements()) {
+            ZipEntry zipEntry = zipEntries.nextElement();
+            crc.update(zipEntry.getName().getBytes(StandardCharsets.UTF_8));
+            crc.update(ByteBuffer.allocate(2 * Long.BYTES)
+                    .putLong(zipEntry.getSize()).putLong(zipEntry.getCrc())
+                    .array());
+            count++;
+        }
+        return count + ":" + crc.getValue();
+    }
+
+    private static SourceIndex indexDirectory(Path directory,
+            SourceIndex previous) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> isIndexed(path.getFileName().toString()))
+                    .collect(Collectors.toList());
+        }
+        Map<String, ClassEntry> entries = new ConcurrentHashMap<>();
+        files.parallelStream().forEach(path -> {
+            String relative = directory.relativize(path).toString()
+                    .replace(File.separatorChar, '/');
+            if (relative.startsWith(META_INF)) {
+                return;
+            }
+            try {
+                byte[] bytes = Files.readAllBytes(path);
+                CRC32 crc = new CRC32();
+                crc.update(bytes);
+                long stamp = crc.getValue();
+                ClassEntry entry = previous == null ? null
+                        : previous.entries.get(relative);
+                if (entry == null || entry.stamp != stamp) {
+                    entry = parse(bytes, stamp);
+                }
+                if (entry != null) {
+                    entries.put(relative, entry);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (previous != null && isUnchanged(entries, previous.entries)) {
+            return previous;
+        }
+        return new SourceIndex(null, new HashMap<>(entries));
+    }
+
+    private static <T> boolean isUnchanged(Map<String, T> current,
+            Map<String, T> previous) {
+        return current.size() == previous.size() && current.entrySet()
+                .stream().allMatch(entry -> previous
+                        .get(entry.getKey()) == entry.getValue());
+    }
+
+    private static boolean isIndexed(String path) {
+        return path.endsWith(CLASS_EXTENSION) && !path.endsWith(MODULE_INFO)
+                && !path.startsWith(META_INF);
+    }
+
+    private static ClassEntry parse(byte[] bytes, long stamp) {
+        ClassReader reader;
+        try {
+            reader = new ClassReader(bytes);
+        } catch (IllegalArgumentException e) {
+            // Unsupported class file version or corrupted file
+            getLogger().debug("Unable to read class file", e);
+            return null;
+        }
+        Set<String> annotations = new HashSet<>();
+        reader.accept(new ClassVisitor(Opcodes.ASM8) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor,
+                    boolean visible) {
+                // Only annotations available at runtime are of interest
+                if (visible) {
+                    annotations.add(Type.getType(descriptor).getClassName());
+                }
+                return null;
+            }
+        }, PARSING_FLAGS);
+        String superName = reader.getSuperName();
+        return new ClassEntry(toClassName(reader.getClassName()),
+                superName == null ? null : toClassName(superName),
+                Arrays.stream(reader.getInterfaces())
+                        .map(ClassIndex::toClassName).toArray(String[]::new),
+                annotations.toArray(new String[0]),
+                (reader.getAccess() & Opcodes.ACC_INTERFACE) != 0, stamp);
+    }
+
+    private static String toClassName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, SourceIndex> load(File indexFile) {
+        if (indexFile == null || !indexFile.isFile()) {
+            return Collections.emptyMap();
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(
+                        indexFile.toPath())))) {
+            if (in.readInt() != VERSION) {
+                return Collections.emptyMap();
+            }
+            return (Map<String, SourceIndex>) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            getLogger().debug("Ignoring unreadable class index {}", indexFile,
+                    e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void store(File indexFile,
+            Map<String, SourceIndex> sources) {
+        try {
+            Files.createDirectories(indexFile.getParentFile().toPath());
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(
+                            indexFile.toPath())))) {
+                out.writeInt(VERSION);
+                out.writeObject(sources);
+            }
+        } catch (IOException e) {
+            getLogger().warn("Unable to store the class index to {}",
+                    indexFile, e);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(ClassIndex.class);
+    }
+}
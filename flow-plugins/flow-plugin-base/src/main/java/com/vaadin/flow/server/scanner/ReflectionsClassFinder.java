@@ -33,7 +33,10 @@ import com.vaadin.flow.server.frontend.scanner.ClassFinder;
  * A class finder using org.reflections.
  *
  * @since 2.0
+ * @deprecated use {@link ByteCodeClassFinder} instead, which indexes the
+ *             classes in parallel and can keep the index between builds
  */
+@Deprecated
 public class ReflectionsClassFinder implements ClassFinder {
     private final transient ClassLoader classLoader;
 
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.scanner;
+
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.AnnotatedInterface;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.AnnotatedInterfaceImpl;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.BaseInterface;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.InheritedAnnotated;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.InheritedAnnotatedChild;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.InheritedAnnotatedGrandChild;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.InheritedMarker;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.Label;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.Marked;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.MarkedChild;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.Marker;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.MultipleLabels;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.SingleLabel;
+import com.vaadin.flow.server.scanner.ClassFinderTestTypes.SubInterface;
+
+@SuppressWarnings("deprecation")
+public class ByteCodeClassFinderTest {
+
+    private ClassFinder byteCodeFinder;
+    private ClassFinder reflectionsFinder;
+
+    @Before
+    public void setUp() {
+        URL testClasses = ClassFinderTestTypes.class.getProtectionDomain()
+                .getCodeSource().getLocation();
+        byteCodeFinder = new ByteCodeClassFinder(testClasses);
+        reflectionsFinder = new ReflectionsClassFinder(testClasses);
+    }
+
+    @Test
+    public void getAnnotatedClasses_inheritedAnnotation_sameAsReflections() {
+        Set<String> classes = assertSameAnnotatedClasses(
+                InheritedMarker.class);
+
+        Assert.assertEquals(names(InheritedAnnotated.class,
+                InheritedAnnotatedChild.class,
+                InheritedAnnotatedGrandChild.class, AnnotatedInterface.class),
+                classes);
+    }
+
+    @Test
+    public void getAnnotatedClasses_notInheritedAnnotation_sameAsReflections() {
+        Set<String> classes = assertSameAnnotatedClasses(Marker.class);
+
+        Assert.assertEquals(names(Marked.class, AnnotatedInterface.class),
+                classes);
+        Assert.assertFalse(classes.contains(MarkedChild.class.getName()));
+        Assert.assertFalse(
+                classes.contains(AnnotatedInterfaceImpl.class.getName()));
+    }
+
+    @Test
+    public void getAnnotatedClasses_repeatableAnnotation_sameAsReflections() {
+        Set<String> classes = assertSameAnnotatedClasses(Label.class);
+
+        Assert.assertEquals(names(SingleLabel.class, MultipleLabels.class),
+                classes);
+    }
+
+    @Test
+    public void getSubTypesOf_interface_sameAsReflections() {
+        Set<String> classes = assertSameSubTypes(BaseInterface.class);
+
+        Assert.assertEquals(names(SubInterface.class, InheritedAnnotated.class,
+                InheritedAnnotatedChild.class,
+                InheritedAnnotatedGrandChild.class), classes);
+        assertSameSubTypes(AnnotatedInterface.class);
+    }
+
+    @Test
+    public void getSubTypesOf_class_sameAsReflections() {
+        Set<String> classes = assertSameSubTypes(InheritedAnnotated.class);
+
+        Assert.assertEquals(names(InheritedAnnotatedChild.class,
+                InheritedAnnotatedGrandChild.class), classes);
+    }
+
+    @Test
+    public void loadClass_usesOwnClassLoader() throws Exception {
+        Class<?> loaded = byteCodeFinder
+                .loadClass(InheritedAnnotated.class.getName());
+
+        Assert.assertEquals(InheritedAnnotated.class.getName(),
+                loaded.getName());
+        Assert.assertSame(byteCodeFinder.getClassLoader(),
+                loaded.getClassLoader());
+        Assert.assertNotNull(byteCodeFinder.getResource(
+                InheritedAnnotated.class.getName().replace('.', '/')
+                        + ".class"));
+    }
+
+    @Test
+    public void indexFile_sameResultsWhenReused() throws Exception {
+        File indexFile = File.createTempFile("class-index", ".bin");
+        indexFile.deleteOnExit();
+        Assert.assertTrue(indexFile.delete());
+        URL testClasses = ClassFinderTestTypes.class.getProtectionDomain()
+                .getCodeSource().getLocation();
+
+        new ByteCodeClassFinder(indexFile, testClasses);
+        Assert.assertTrue(indexFile.isFile());
+        ClassFinder reused = new ByteCodeClassFinder(indexFile, testClasses);
+
+        Assert.assertEquals(
+                toNames(byteCodeFinder.getAnnotatedClasses(
+                        InheritedMarker.class)),
+                toNames(reused.getAnnotatedClasses(InheritedMarker.class)));
+        Assert.assertEquals(
+                toNames(byteCodeFinder.getSubTypesOf(BaseInterface.class)),
+                toNames(reused.getSubTypesOf(BaseInterface.class)));
+    }
+
+    private Set<String> assertSameAnnotatedClasses(
+            Class<? extends Annotation> annotation) {
+        Set<String> expected = filter(
+                toNames(reflectionsFinder.getAnnotatedClasses(annotation)));
+        Set<String> actual = filter(
+                toNames(byteCodeFinder.getAnnotatedClasses(annotation)));
+        Assert.assertEquals(expected, actual);
+        return actual;
+    }
+
+    private Set<String> assertSameSubTypes(Class<?> type) {
+        Set<String> expected = filter(
+                toNames(reflectionsFinder.getSubTypesOf(type)));
+        Set<String> actual = filter(
+                toNames(byteCodeFinder.getSubTypesOf(type)));
+        Assert.assertEquals(expected, actual);
+        return actual;
+    }
+
+    private static Set<String> filter(Set<String> names) {
+        return names.stream()
+                .filter(name -> name
+                        .startsWith(ClassFinderTestTypes.class.getName()))
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> toNames(Set<? extends Class<?>> classes) {
+        return classes.stream().map(Class::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> names(Class<?>... classes) {
+        return Arrays.stream(classes).map(Class::getName)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
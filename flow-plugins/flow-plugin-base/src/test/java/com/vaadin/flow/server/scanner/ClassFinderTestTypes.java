@@ -0,0 +1,90 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.scanner;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Types scanned by the class finder tests. They must not refer to any class
+ * outside of the JDK, since the finders load them without a parent class
+ * loader.
+ */
+public class ClassFinderTestTypes {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Inherited
+    public @interface InheritedMarker {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Marker {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Repeatable(Labels.class)
+    public @interface Label {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Labels {
+        Label[] value();
+    }
+
+    public interface BaseInterface {
+    }
+
+    public interface SubInterface extends BaseInterface {
+    }
+
+    @InheritedMarker
+    public static class InheritedAnnotated implements SubInterface {
+    }
+
+    public static class InheritedAnnotatedChild extends InheritedAnnotated {
+    }
+
+    public static class InheritedAnnotatedGrandChild
+            extends InheritedAnnotatedChild {
+    }
+
+    @Marker
+    @InheritedMarker
+    public interface AnnotatedInterface {
+    }
+
+    public static class AnnotatedInterfaceImpl implements AnnotatedInterface {
+    }
+
+    @Marker
+    public static class Marked {
+    }
+
+    public static class MarkedChild extends Marked {
+    }
+
+    @Label("single")
+    public static class SingleLabel {
+    }
+
+    @Label("first")
+    @Label("second")
+    public static class MultipleLabels {
+    }
+}
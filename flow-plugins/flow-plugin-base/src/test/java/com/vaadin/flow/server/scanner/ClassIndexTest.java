@@ -0,0 +1,195 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import net.bytebuddy.jar.asm.ClassWriter;
+import net.bytebuddy.jar.asm.Opcodes;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassIndexTest {
+
+    private static final String SAMPLE = "gen.Sample";
+    private static final String ANNOTATION_A = "gen.AnnA";
+    private static final String ANNOTATION_B = "gen.AnnB";
+    private static final long TIMESTAMP = 1_600_000_000_000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File indexFile;
+
+    @Before
+    public void setUp() throws IOException {
+        indexFile = new File(temporaryFolder.newFolder(), "class-index.bin");
+    }
+
+    @Test
+    public void directory_classAnnotationsAndTypesIndexed() throws IOException {
+        File directory = temporaryFolder.newFolder("classes");
+        writeClass(directory, ANNOTATION_A);
+
+        ClassIndex index = ClassIndex.build(indexFile, url(directory));
+
+        Assert.assertEquals(Collections.singleton(SAMPLE),
+                index.getAnnotatedWith(ANNOTATION_A, false));
+        Assert.assertTrue(index.getSubTypesOf(Object.class.getName())
+                .contains(SAMPLE));
+    }
+
+    @Test
+    public void directory_unchanged_indexReusedAndNotRewritten()
+            throws IOException {
+        File directory = temporaryFolder.newFolder("classes");
+        writeClass(directory, ANNOTATION_A);
+        ClassIndex.build(indexFile, url(directory));
+        byte[] stored = Files.readAllBytes(indexFile.toPath());
+        Assert.assertTrue(indexFile.setLastModified(TIMESTAMP));
+
+        ClassIndex index = ClassIndex.build(indexFile, url(directory));
+
+        Assert.assertEquals(TIMESTAMP, indexFile.lastModified());
+        Assert.assertArrayEquals(stored,
+                Files.readAllBytes(indexFile.toPath()));
+        Assert.assertEquals(Collections.singleton(SAMPLE),
+                index.getAnnotatedWith(ANNOTATION_A, false));
+    }
+
+    @Test
+    public void directory_sameSizeAndTimestampRewrite_changeDetected()
+            throws IOException {
+        File directory = temporaryFolder.newFolder("classes");
+        File classFile = writeClass(directory, ANNOTATION_A);
+        long size = classFile.length();
+        ClassIndex.build(indexFile, url(directory));
+
+        writeClass(directory, ANNOTATION_B);
+        Assert.assertEquals(size, classFile.length());
+        Assert.assertEquals(TIMESTAMP, classFile.lastModified());
+
+        ClassIndex index = ClassIndex.build(indexFile, url(directory));
+
+        Assert.assertTrue(
+                index.getAnnotatedWith(ANNOTATION_A, false).isEmpty());
+        Assert.assertEquals(Collections.singleton(SAMPLE),
+                index.getAnnotatedWith(ANNOTATION_B, false));
+    }
+
+    @Test
+    public void directory_classRemoved_removedFromIndex() throws IOException {
+        File directory = temporaryFolder.newFolder("classes");
+        File classFile = writeClass(directory, ANNOTATION_A);
+        ClassIndex.build(indexFile, url(directory));
+
+        Assert.assertTrue(classFile.delete());
+        ClassIndex index = ClassIndex.build(indexFile, url(directory));
+
+        Assert.assertTrue(
+                index.getAnnotatedWith(ANNOTATION_A, false).isEmpty());
+    }
+
+    @Test
+    public void jar_sameSizeAndTimestampRewrite_changeDetected()
+            throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), "sample.jar");
+        writeJar(jar, ANNOTATION_A);
+        long size = jar.length();
+        ClassIndex first = ClassIndex.build(indexFile, url(jar));
+        Assert.assertEquals(Collections.singleton(SAMPLE),
+                first.getAnnotatedWith(ANNOTATION_A, false));
+
+        writeJar(jar, ANNOTATION_B);
+        Assert.assertEquals(size, jar.length());
+        Assert.assertEquals(TIMESTAMP, jar.lastModified());
+
+        ClassIndex index = ClassIndex.build(indexFile, url(jar));
+
+        Assert.assertTrue(
+                index.getAnnotatedWith(ANNOTATION_A, false).isEmpty());
+        Assert.assertEquals(Collections.singleton(SAMPLE),
+                index.getAnnotatedWith(ANNOTATION_B, false));
+    }
+
+    @Test
+    public void corruptedIndexFile_ignored() throws IOException {
+        File directory = temporaryFolder.newFolder("classes");
+        writeClass(directory, ANNOTATION_A);
+        Files.write(indexFile.toPath(),
+                "not an index".getBytes(StandardCharsets.UTF_8));
+
+        ClassIndex index = ClassIndex.build(indexFile, url(directory));
+
+        Assert.assertEquals(Collections.singleton(SAMPLE),
+                index.getAnnotatedWith(ANNOTATION_A, false));
+    }
+
+    private static File writeClass(File directory, String annotation)
+            throws IOException {
+        File classFile = new File(directory,
+                SAMPLE.replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParentFile().toPath());
+        Files.write(classFile.toPath(), generateClass(annotation));
+        Assert.assertTrue(classFile.setLastModified(TIMESTAMP));
+        return classFile;
+    }
+
+    private static void writeJar(File jar, String annotation)
+            throws IOException {
+        byte[] bytes = generateClass(annotation);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ZipEntry entry = new ZipEntry(SAMPLE.replace('.', '/') + ".class");
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(bytes.length);
+        entry.setCrc(crc.getValue());
+        entry.setTime(TIMESTAMP);
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(entry);
+            zip.write(bytes);
+            zip.closeEntry();
+        }
+        Assert.assertTrue(jar.setLastModified(TIMESTAMP));
+    }
+
+    private static byte[] generateClass(String annotation) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC,
+                SAMPLE.replace('.', '/'), null, "java/lang/Object", null);
+        writer.visitAnnotation("L" + annotation.replace('.', '/') + ";", true)
+                .visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static URL url(File file) throws IOException {
+        return file.toURI().toURL();
+    }
+}
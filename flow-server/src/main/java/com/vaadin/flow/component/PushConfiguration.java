@@ -169,6 +169,75 @@ public interface PushConfiguration extends Serializable {
      */
     void setPushConnectionFactory(PushConnectionFactory factory);
 
+    /**
+     * Sets the minimum time between two automatic pushes. Changes made before
+     * the interval since the previous push has passed are collected and pushed
+     * together when the interval has passed, instead of being pushed
+     * immediately when the session is unlocked.
+     * <p>
+     * This reduces the number of messages for a UI which is updated very
+     * frequently in the background, e.g. from a data feed. It only affects
+     * the {@link PushMode#AUTOMATIC automatic} push mode.
+     *
+     * @param minimumPushInterval
+     *            the minimum interval in milliseconds, or <code>0</code> (the
+     *            default) to push changes whenever the session is unlocked
+     * @throws UnsupportedOperationException
+     *             if the implementation does not support a minimum push
+     *             interval and the interval is not <code>0</code>
+     */
+    default void setMinimumPushInterval(int minimumPushInterval) {
+        if (minimumPushInterval != 0) {
+            throw new UnsupportedOperationException(
+                    "Minimum push interval is not supported by "
+                            + getClass().getName());
+        }
+    }
+
+    /**
+     * Returns the minimum time between two automatic pushes.
+     *
+     * @return the minimum interval in milliseconds, or <code>0</code> if
+     *         changes are pushed whenever the session is unlocked
+     * @see #setMinimumPushInterval(int)
+     */
+    default int getMinimumPushInterval() {
+        return 0;
+    }
+
+    /**
+     * Sets the maximum time changes are held back by the
+     * {@link #setMinimumPushInterval(int) minimum push interval}, counted from
+     * the first change which has not been pushed. If the latency is shorter
+     * than the interval, the changes are pushed when the latency is reached.
+     *
+     * @param maximumPushLatency
+     *            the maximum latency in milliseconds, or <code>0</code> (the
+     *            default) to only use the minimum push interval
+     * @throws UnsupportedOperationException
+     *             if the implementation does not support a maximum push
+     *             latency and the latency is not <code>0</code>
+     */
+    default void setMaximumPushLatency(int maximumPushLatency) {
+        if (maximumPushLatency != 0) {
+            throw new UnsupportedOperationException(
+                    "Maximum push latency is not supported by "
+                            + getClass().getName());
+        }
+    }
+
+    /**
+     * Returns the maximum time changes are held back by the minimum push
+     * interval.
+     *
+     * @return the maximum latency in milliseconds, or <code>0</code> if only
+     *         the minimum push interval is used
+     * @see #setMaximumPushLatency(int)
+     */
+    default int getMaximumPushLatency() {
+        return 0;
+    }
+
 }
 
 /**
@@ -180,6 +249,8 @@ public interface PushConfiguration extends Serializable {
 class PushConfigurationImpl implements PushConfiguration {
     private UI ui;
     private PushConnectionFactory pushConnectionFactory;
+    private int minimumPushInterval;
+    private int maximumPushLatency;
 
     PushConfigurationImpl(UI ui) {
         this.ui = ui;
@@ -288,4 +359,32 @@ class PushConfigurationImpl implements PushConfiguration {
                 pushConnectionFactory,
                 "Push connection factory must not be null");
     }
+
+    @Override
+    public void setMinimumPushInterval(int minimumPushInterval) {
+        if (minimumPushInterval < 0) {
+            throw new IllegalArgumentException(
+                    "Minimum push interval cannot be negative");
+        }
+        this.minimumPushInterval = minimumPushInterval;
+    }
+
+    @Override
+    public int getMinimumPushInterval() {
+        return minimumPushInterval;
+    }
+
+    @Override
+    public void setMaximumPushLatency(int maximumPushLatency) {
+        if (maximumPushLatency < 0) {
+            throw new IllegalArgumentException(
+                    "Maximum push latency cannot be negative");
+        }
+        this.maximumPushLatency = maximumPushLatency;
+    }
+
+    @Override
+    public int getMaximumPushLatency() {
+        return maximumPushLatency;
+    }
 }
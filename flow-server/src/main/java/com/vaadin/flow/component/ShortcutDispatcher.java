@@ -0,0 +1,218 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.dom.DomListenerRegistration;
+import com.vaadin.flow.shared.Registration;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+/**
+ * Dispatches the keyboard shortcuts listening on a component through a single
+ * <code>keydown</code> DOM listener.
+ * <p>
+ * The dispatcher keeps a table of all the shortcuts of the component, keyed
+ * by key and modifier state. The table is sent to the client as a property
+ * of the element, which the constant filter of the DOM listener reads, so
+ * that the client matches a key event to the shortcuts with one table lookup
+ * instead of evaluating a filter of each shortcut. Changing the shortcuts only
+ * changes the property, which is sent once per round trip, instead of a new
+ * filter expression. Matched events are sent in one round trip, and
+ * dispatched to the matching shortcuts with the same lookup on the server.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class ShortcutDispatcher implements Serializable {
+
+    // Flags of the table entries, an entry is never 0
+    private static final int MATCH = 1;
+    private static final int PREVENT_DEFAULT = 2;
+    private static final int STOP_PROPAGATION = 4;
+
+    private static final String KEY_DATA = "event.key";
+    private static final String CODE_DATA = "event.code";
+
+    // The state of each modifier as a string of 0s and 1s, in the order of
+    // KeyModifier.values()
+    private static final String MODIFIERS_DATA = Arrays
+            .stream(KeyModifier.values())
+            .map(modifier -> "(event.getModifierState('"
+                    + modifier.getKeys().get(0) + "')?1:0)")
+            .collect(Collectors.joining("+''+", "(''+", ")"));
+
+    // The element property holding the table of the client side
+    static final String TABLE_PROPERTY = "__vaadinShortcuts";
+
+    private static final String FILTER = "(function(t,m){" // table, modifiers
+            + "var f=(t[event.code+'|'+m]|0)|(t[event.key+'|'+m]|0);"
+            + "if(f&" + PREVENT_DEFAULT + "){event.preventDefault();}"
+            + "if(f&" + STOP_PROPAGATION + "){event.stopPropagation();}"
+            + "return f!==0;})(element." + TABLE_PROPERTY + "||{},"
+            + MODIFIERS_DATA + ")";
+
+    private final Component listenOn;
+
+    private final List<ShortcutRegistration> shortcuts = new ArrayList<>();
+
+    private Map<String, List<ShortcutRegistration>> table = Collections
+            .emptyMap();
+
+    private DomListenerRegistration listenerRegistration;
+
+    private ShortcutDispatcher(Component listenOn) {
+        this.listenOn = listenOn;
+    }
+
+    /**
+     * Gets the dispatcher of the given component, creating it if needed.
+     *
+     * @param listenOn
+     *            the component the shortcuts listen on
+     * @return the dispatcher of the component
+     */
+    static ShortcutDispatcher get(Component listenOn) {
+        ShortcutDispatcher dispatcher = ComponentUtil.getData(listenOn,
+                ShortcutDispatcher.class);
+        if (dispatcher == null) {
+            dispatcher = new ShortcutDispatcher(listenOn);
+            ComponentUtil.setData(listenOn, ShortcutDispatcher.class,
+                    dispatcher);
+        }
+        return dispatcher;
+    }
+
+    /**
+     * Adds a shortcut to the dispatcher.
+     *
+     * @param shortcut
+     *            the shortcut to add
+     * @return a registration for removing the shortcut
+     */
+    Registration add(ShortcutRegistration shortcut) {
+        if (listenerRegistration == null) {
+            listenerRegistration = listenOn.getElement()
+                    .addEventListener("keydown", this::dispatch)
+                    .addEventData(KEY_DATA).addEventData(CODE_DATA)
+                    .addEventData(MODIFIERS_DATA).setFilter(FILTER);
+        }
+        shortcuts.add(shortcut);
+        update();
+        return () -> remove(shortcut);
+    }
+
+    /**
+     * Updates the shortcut table after the key, modifiers or the allowed
+     * browser behavior of a shortcut have changed.
+     */
+    void update() {
+        Map<String, List<ShortcutRegistration>> newTable = new HashMap<>();
+        JsonObject flags = Json.createObject();
+        for (ShortcutRegistration shortcut : shortcuts) {
+            int shortcutFlags = MATCH;
+            if (!shortcut.isBrowserDefaultAllowed()) {
+                shortcutFlags |= PREVENT_DEFAULT;
+            }
+            if (!shortcut.isEventPropagationAllowed()) {
+                shortcutFlags |= STOP_PROPAGATION;
+            }
+            String modifiers = getModifierState(shortcut.getModifiers());
+            for (String key : shortcut.getKey().getKeys()) {
+                String entry = key + "|" + modifiers;
+                newTable.computeIfAbsent(entry, ignore -> new ArrayList<>())
+                        .add(shortcut);
+                int entryFlags = flags.hasKey(entry)
+                        ? (int) flags.getNumber(entry)
+                        : 0;
+                flags.put(entry, entryFlags | shortcutFlags);
+            }
+        }
+        table = newTable;
+        listenOn.getElement().setPropertyJson(TABLE_PROPERTY, flags);
+    }
+
+    /**
+     * Gets the expression of the DOM listener filter. Used for testing
+     * purposes.
+     *
+     * @return the filter expression, or <code>null</code> if no shortcuts
+     *         have been added
+     */
+    String getFilter() {
+        return listenerRegistration == null ? null
+                : listenerRegistration.getFilter();
+    }
+
+    private void remove(ShortcutRegistration shortcut) {
+        if (!shortcuts.remove(shortcut)) {
+            return;
+        }
+        if (shortcuts.isEmpty()) {
+            listenerRegistration.remove();
+            listenerRegistration = null;
+            table = Collections.emptyMap();
+            listenOn.getElement().removeProperty(TABLE_PROPERTY);
+            ComponentUtil.setData(listenOn, ShortcutDispatcher.class, null);
+        } else {
+            update();
+        }
+    }
+
+    private void dispatch(DomEvent event) {
+        JsonObject data = event.getEventData();
+        String modifiers = data.hasKey(MODIFIERS_DATA)
+                ? data.getString(MODIFIERS_DATA)
+                : "";
+        Set<ShortcutRegistration> matches = new LinkedHashSet<>();
+        for (String key : Arrays.asList(CODE_DATA, KEY_DATA)) {
+            if (data.hasKey(key)) {
+                matches.addAll(table.getOrDefault(
+                        data.getString(key) + "|" + modifiers,
+                        Collections.emptyList()));
+            }
+        }
+        // Handlers may add or remove shortcuts
+        new ArrayList<>(matches).stream()
+                .filter(shortcuts::contains)
+                .forEach(shortcut -> shortcut.fireShortcutEvent(listenOn));
+    }
+
+    private static String getModifierState(Collection<Key> modifiers) {
+        StringBuilder state = new StringBuilder();
+        for (KeyModifier modifier : KeyModifier.values()) {
+            boolean pressed = modifiers.stream()
+                    .anyMatch(key -> key.matches(modifier.getKeys().get(0)));
+            state.append(pressed ? '1' : '0');
+        }
+        return state.toString();
+    }
+}
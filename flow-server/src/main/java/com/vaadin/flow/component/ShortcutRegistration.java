@@ -24,12 +24,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
-import com.vaadin.flow.dom.DomListenerRegistration;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.internal.ExecutionContext;
@@ -535,56 +533,30 @@ public class ShortcutRegistration implements Registration, Serializable {
 
         if (shortcutListenerRegistrations[listenOnIndex] == null) {
             if (component.getUI().isPresent()) {
-                shortcutListenerRegistrations[listenOnIndex] = new CompoundRegistration();
-                Registration keyDownRegistration = ComponentUtil
-                        .addListener(component, KeyDownEvent.class, e -> {
-                            if (lifecycleOwner.isVisible() && lifecycleOwner
-                                    .getElement().isEnabled()) {
-                                invokeShortcutEventListener(component);
-                            }
-                        }, domRegistration -> {
-                            shortcutListenerRegistrations[listenOnIndex]
-                                    .addRegistration(domRegistration);
-                            configureHandlerListenerRegistration(listenOnIndex);
-                        });
-                shortcutListenerRegistrations[listenOnIndex]
-                        .addRegistration(keyDownRegistration);
+                // All shortcuts listening on the component share a single
+                // keydown listener of the component's dispatcher
+                shortcutListenerRegistrations[listenOnIndex] = new CompoundRegistration(
+                        ShortcutDispatcher.get(component).add(this));
                 setupKeydownEventDelegateIfNeeded(component);
+                shortcutActive = true;
             }
         } else {
-            configureHandlerListenerRegistration(listenOnIndex);
+            ShortcutDispatcher.get(component).update();
         }
     }
 
-    private void configureHandlerListenerRegistration(int listenOnIndex) {
-        if (shortcutListenerRegistrations[listenOnIndex] != null) {
-            Optional<Registration> registration = shortcutListenerRegistrations[listenOnIndex].registrations
-                    .stream().filter(r -> r instanceof DomListenerRegistration)
-                    .findFirst();
-
-            registration.ifPresent(r -> {
-                DomListenerRegistration listenerRegistration = (DomListenerRegistration) r;
-
-                String filterText = filterText();
-                /*
-                 * Due to https://github.com/vaadin/flow/issues/4871 we are not
-                 * able to use setEventData for these values, so we hack the
-                 * filter.
-                 */
-                if (!allowDefaultBehavior) {
-                    filterText += " && (event.preventDefault() || true)";
-                }
-                if (!allowEventPropagation) {
-                    filterText += " && (event.stopPropagation() || true)";
-                }
-                listenerRegistration.setFilter(filterText);
-
-                shortcutActive = true;
-            });
+    /**
+     * Invokes the shortcut listener for a shortcut event on the given
+     * component, if the shortcut is currently active.
+     *
+     * @param component
+     *            the component on which the shortcut event occurred
+     */
+    void fireShortcutEvent(Component component) {
+        if (eventListener == null || !lifecycleOwner.isVisible()
+                || !lifecycleOwner.getElement().isEnabled()) {
+            return;
         }
-    }
-
-    private void invokeShortcutEventListener(Component component) {
         // construct the event
         final ShortcutEvent event = new ShortcutEvent(component, lifecycleOwner,
                 primaryKey,
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.internal;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.PushConfiguration;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Handles the automatic pushes of a UI, taking the
+ * {@link PushConfiguration#getMinimumPushInterval() minimum push interval} and
+ * {@link PushConfiguration#getMaximumPushLatency() maximum push latency} into
+ * account.
+ * <p>
+ * Changes made while the previous push is too recent are not pushed
+ * immediately. They are kept in the UI and pushed by a push which is scheduled
+ * for when the interval has passed, so that the changes of several updates are
+ * sent in one message.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @since
+ */
+public class PushThrottler implements Serializable {
+
+    private final UI ui;
+    private final Clock clock;
+    private final transient ScheduledExecutorService executor;
+
+    private long lastPushTime;
+    private long firstPendingTime;
+    private int pendingUpdates;
+    private transient Future<?> scheduledPush;
+
+    private long pushCount;
+    private long coalescedUpdateCount;
+
+    /**
+     * Creates a new instance for the given UI.
+     *
+     * @param ui
+     *            the UI to push, not <code>null</code>
+     */
+    public PushThrottler(UI ui) {
+        this(ui, Clock.systemUTC(), null);
+    }
+
+    /**
+     * Creates a new instance for the given UI using the given clock and
+     * executor. Intended for tests which need to control time.
+     *
+     * @param ui
+     *            the UI to push, not <code>null</code>
+     * @param clock
+     *            the clock to get the current time from, not
+     *            <code>null</code>
+     * @param executor
+     *            the executor to schedule pushes with, or <code>null</code> to
+     *            use an executor shared by the UIs of the service
+     */
+    PushThrottler(UI ui, Clock clock, ScheduledExecutorService executor) {
+        this.ui = ui;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    /**
+     * Pushes the pending changes of the UI, or schedules a push for later if
+     * the previous push was done less than the minimum push interval ago.
+     * <p>
+     * The session of the UI must be locked.
+     */
+    public void push() {
+        PushConfiguration pushConfiguration = ui.getPushConfiguration();
+        int minimumInterval = pushConfiguration.getMinimumPushInterval();
+        if (minimumInterval <= 0) {
+            ui.push();
+            return;
+        }
+
+        VaadinSession session = ui.getSession();
+        session.checkHasLock();
+        session.getService().runPendingAccessTasks(session);
+        if (!ui.getInternals().isDirty()) {
+            return;
+        }
+
+        long now = clock.millis();
+        if (pendingUpdates == 0) {
+            firstPendingTime = now;
+        }
+        pendingUpdates++;
+
+        long pushTime = lastPushTime + minimumInterval;
+        int maximumLatency = pushConfiguration.getMaximumPushLatency();
+        if (maximumLatency > 0) {
+            pushTime = Math.min(pushTime, firstPendingTime + maximumLatency);
+        }
+
+        if (now >= pushTime) {
+            pushPending(now);
+        } else if (scheduledPush == null) {
+            schedulePush(session.getService(), pushTime - now);
+        }
+    }
+
+    /**
+     * Gets the number of pushes done by this throttler.
+     *
+     * @return the number of pushes
+     */
+    public long getPushCount() {
+        return pushCount;
+    }
+
+    /**
+     * Gets the number of updates which did not cause a push of their own, as
+     * their changes were sent together with the changes of another update.
+     *
+     * @return the number of coalesced updates
+     */
+    public long getCoalescedUpdateCount() {
+        return coalescedUpdateCount;
+    }
+
+    private void pushPending(long now) {
+        if (scheduledPush != null) {
+            scheduledPush.cancel(false);
+            scheduledPush = null;
+        }
+        if (pendingUpdates > 1) {
+            getLogger().debug("Pushing {} coalesced updates of UI {}",
+                    pendingUpdates, ui.getUIId());
+        }
+        coalescedUpdateCount += pendingUpdates - 1;
+        pushCount++;
+        pendingUpdates = 0;
+        lastPushTime = now;
+
+        ui.push();
+    }
+
+    private void schedulePush(VaadinService service, long delay) {
+        ScheduledExecutorService pushExecutor = executor != null ? executor
+                : Scheduler.get(service).executor;
+        scheduledPush = pushExecutor.schedule(this::pushScheduled, delay,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void pushScheduled() {
+        try {
+            ui.access(() -> {
+                scheduledPush = null;
+                if (pendingUpdates > 0 && ui.getPushConfiguration()
+                        .getPushMode().isEnabled()) {
+                    pushPending(clock.millis());
+                }
+            });
+        } catch (UIDetachedException e) {
+            // Nothing to push to
+            getLogger().debug("Discarding scheduled push of a detached UI",
+                    e);
+        }
+    }
+
+    /**
+     * Runs the scheduled pushes of the UIs of a service.
+     */
+    private static final class Scheduler implements Serializable {
+        private final transient ScheduledExecutorService executor;
+
+        private Scheduler(VaadinService service, VaadinContext context) {
+            ScheduledThreadPoolExecutor threadPool = new ScheduledThreadPoolExecutor(
+                    1, runnable -> {
+                        Thread thread = new Thread(runnable,
+                                "vaadin-push-throttler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            threadPool.setRemoveOnCancelPolicy(true);
+            executor = threadPool;
+            service.addServiceDestroyListener(event -> {
+                context.removeAttribute(Scheduler.class);
+                executor.shutdownNow();
+            });
+        }
+
+        private static Scheduler get(VaadinService service) {
+            VaadinContext context = service.getContext();
+            return context.getAttribute(Scheduler.class,
+                    () -> new Scheduler(service, context));
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(PushThrottler.class);
+    }
+}
@@ -50,6 +50,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.SizeEstimator;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.UrlUtil;
 import com.vaadin.flow.internal.nodefeature.LoadingIndicatorConfigurationMap;
@@ -77,6 +78,10 @@ import com.vaadin.flow.server.frontend.FallbackChunk.CssImportData;
 import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.shared.communication.PushMode;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
 /**
  * Holds UI-specific methods and data which are intended for internal use by the
  * framework.
@@ -195,6 +200,14 @@ public class UIInternals implements Serializable {
 
     private byte[] lastProcessedMessageHash = null;
 
+    /**
+     * Messages from the client which arrived before an earlier message, by
+     * client to server id.
+     */
+    private Map<Integer, String> pendingClientToServerMessages;
+
+    private final PushThrottler pushThrottler;
+
     private String contextRootRelativePath;
 
     private String appId;
@@ -205,6 +218,8 @@ public class UIInternals implements Serializable {
 
     private boolean isFallbackChunkLoaded;
 
+    private final Set<Class<? extends Component>> preloadedComponentDependencies = new HashSet<>();
+
     /**
      * Creates a new instance for the given UI.
      *
@@ -228,6 +243,7 @@ public class UIInternals implements Serializable {
         this.internalsHandler = internalsHandler;
         this.ui = ui;
         stateTree = new StateTree(this, getRootNodeFeatures());
+        pushThrottler = new PushThrottler(ui);
     }
 
     /**
@@ -283,6 +299,57 @@ public class UIInternals implements Serializable {
         this.lastProcessedMessageHash = lastProcessedMessageHash;
     }
 
+    /**
+     * Stores a message from the client which cannot be processed yet because
+     * an earlier message has not been received.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @param clientToServerId
+     *            the id of the message
+     * @param message
+     *            the message as received from the client
+     */
+    public void addPendingClientToServerMessage(int clientToServerId,
+            String message) {
+        if (pendingClientToServerMessages == null) {
+            pendingClientToServerMessages = new HashMap<>();
+        }
+        pendingClientToServerMessages.put(clientToServerId, message);
+    }
+
+    /**
+     * Removes and returns a message stored with
+     * {@link #addPendingClientToServerMessage(int, String)}.
+     * <p>
+     * Used internally for communication tracking.
+     *
+     * @param clientToServerId
+     *            the id of the message
+     * @return the message, or <code>null</code> if no message with the given
+     *         id has been stored
+     */
+    public String removePendingClientToServerMessage(int clientToServerId) {
+        if (pendingClientToServerMessages == null) {
+            return null;
+        }
+        String message = pendingClientToServerMessages
+                .remove(clientToServerId);
+        if (pendingClientToServerMessages.isEmpty()) {
+            pendingClientToServerMessages = null;
+        }
+        return message;
+    }
+
+    /**
+     * Gets the handler of the automatic pushes of the UI.
+     *
+     * @return the push throttler, not <code>null</code>
+     */
+    public PushThrottler getPushThrottler() {
+        return pushThrottler;
+    }
+
     /**
      * Gets the server sync id.
      * <p>
@@ -591,6 +658,24 @@ public class UIInternals implements Serializable {
                 .filter(invocation -> !invocation.isCanceled());
     }
 
+    /**
+     * Estimates the heap memory retained by the pending javascript invocations
+     * which have not yet been sent to the client.
+     *
+     * @see SizeEstimator
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimatePendingJavaScriptSize() {
+        return getPendingJavaScriptInvocations().mapToLong(pending -> {
+            JavaScriptInvocation invocation = pending.getInvocation();
+            return SizeEstimator.OBJECT_HEADER * 2L
+                    + SizeEstimator.REFERENCE * 6L
+                    + SizeEstimator.estimateString(invocation.getExpression())
+                    + SizeEstimator.estimate(invocation.getParameters());
+        }).sum();
+    }
+
     /**
      * Records the page title set with {@link Page#setTitle(String)}.
      * <p>
@@ -834,6 +919,64 @@ public class UIInternals implements Serializable {
                 .addStyleSheet(styleSheet.value(), styleSheet.loadMode()));
     }
 
+    /**
+     * Hints the browser to preload the external dependencies defined using
+     * {@link StyleSheet}, {@link JavaScript} or {@link JsModule} on the given
+     * Component class, without adding them to the page.
+     * <p>
+     * The dependencies are added to the page as usual by
+     * {@link #addComponentDependencies(Class)} once a component of the class
+     * is attached, at which point the browser can use the preloaded content.
+     * Dependencies included in the frontend bundle are not preloaded. Each
+     * class is handled only once per UI.
+     *
+     * @param componentClass
+     *            the component class to read annotations from
+     */
+    public void preloadComponentDependencies(
+            Class<? extends Component> componentClass) {
+        if (!preloadedComponentDependencies.add(componentClass)) {
+            return;
+        }
+        VaadinService service = session.getService();
+        DependencyInfo dependencies = ComponentUtil.getDependencies(service,
+                componentClass);
+
+        JsonArray preloads = Json.createArray();
+        dependencies.getJavaScripts().stream().map(JavaScript::value)
+                .filter(UrlUtil::isExternal)
+                .forEach(url -> addPreload(preloads, "preload", "script", url));
+        dependencies.getJsModules().stream().map(JsModule::value)
+                .filter(UrlUtil::isExternal).forEach(
+                        url -> addPreload(preloads, "modulepreload", "", url));
+        dependencies.getStyleSheets().stream().map(StyleSheet::value)
+                .forEach(url -> addPreload(preloads, "preload", "style",
+                        service.resolveResource(url)));
+
+        if (preloads.length() > 0) {
+            // The URLs are compared as is rather than put in a selector,
+            // which would need them to be escaped
+            ui.getPage().executeJs("$0.forEach(function(d) {"
+                    + "var links = document.head.querySelectorAll('link');"
+                    + "for (var i = 0; i < links.length; i++) {"
+                    + "if (links[i].getAttribute('href') === d.href) {"
+                    + "return; }}"
+                    + "var link = document.createElement('link');"
+                    + "link.rel = d.rel; if (d.as) { link.as = d.as; }"
+                    + "link.href = d.href; document.head.appendChild(link);"
+                    + "});", preloads);
+        }
+    }
+
+    private static void addPreload(JsonArray preloads, String rel, String as,
+            String href) {
+        JsonObject preload = Json.createObject();
+        preload.put("rel", rel);
+        preload.put("as", as);
+        preload.put("href", href);
+        preloads.set(preloads.length(), preload);
+    }
+
     private void addFallbackDependencies(DependencyInfo dependency) {
         if (isFallbackChunkLoaded) {
             return;
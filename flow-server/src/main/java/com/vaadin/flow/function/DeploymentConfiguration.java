@@ -79,6 +79,43 @@ public interface DeploymentConfiguration
      */
     int getMaxMessageSuspendTimeout();
 
+    /**
+     * Returns the maximum number of messages the client may send to the server
+     * before it has received the responses to the previous messages. The
+     * server handles the messages strictly in the order they were sent, even
+     * if they are received out of order.
+     * <p>
+     * The default value {@code 1} means that the client always waits for the
+     * response before sending the next message. Higher values reduce the
+     * delay caused by the network round trip on high latency connections.
+     *
+     * @return the maximum number of messages in flight, at least {@code 1}
+     */
+    default int getMaxPipelinedMessages() {
+        return Math.max(1, getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_MAX_PIPELINED_MESSAGES, 1));
+    }
+
+    /**
+     * Returns the time budget, in milliseconds, the client uses for updating
+     * the DOM based on the changes of a server message before letting the
+     * browser render and handle user input. The changes are always applied to
+     * the client side state tree at once, but updating the DOM may be split
+     * into several steps. Messages received meanwhile are handled only after
+     * the DOM has been fully updated.
+     * <p>
+     * The default value {@code 0} means that the DOM is always updated at
+     * once.
+     *
+     * @return the time budget in milliseconds, or {@code 0} to update the DOM
+     *         at once
+     */
+    default int getChangeProcessingFrameBudget() {
+        return Math.max(0, getIntegerProperty(
+                InitParameters.SERVLET_PARAMETER_CHANGE_PROCESSING_FRAME_BUDGET,
+                0));
+    }
+
     /**
      * Returns the number of seconds that a WebComponent will wait for a
      * reconnect before removing the server-side component from memory.
@@ -204,6 +241,38 @@ public interface DeploymentConfiguration
         }
     }
 
+    /**
+     * A shorthand of
+     * {@link DeploymentConfiguration#getStringProperty(String, String)} for
+     * integer properties.
+     *
+     * @param propertyName
+     *            The simple of the property, in some contexts, lookup might be
+     *            performed using variations of the provided name.
+     * @param defaultValue
+     *            the default value that should be used if no value has been
+     *            defined
+     * @return the property value, or the passed default value if no property
+     *         value is found
+     *
+     * @throws IllegalArgumentException
+     *             if property value string is not an integer value
+     */
+    default int getIntegerProperty(String propertyName, int defaultValue)
+            throws IllegalArgumentException {
+        String value = getStringProperty(propertyName, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Property named '%s' is an integer, but contains incorrect value '%s'",
+                    propertyName, value), e);
+        }
+    }
+
     /**
      * Gets UI class configuration option value.
      *
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.VaadinService;
+
+/**
+ * I18N provider which reads translations from {@link ResourceBundle}s with the
+ * given base name, e.g. {@code translations_en.properties} and
+ * {@code translations_de.properties} on the classpath for the base name
+ * {@code translations}.
+ * <p>
+ * The translations of each locale are read once into an immutable snapshot.
+ * Translations without parameters are returned as is, and translations with
+ * parameters are formatted with a {@link MessageFormat} which is compiled on
+ * first use and then reused for the same key and locale.
+ * <p>
+ * In development mode the resource bundle files are checked for changes at
+ * most once per {@link #getReloadCheckInterval()} and the snapshot of a locale
+ * is replaced when any of its files has changed.
+ * <p>
+ * Since the provider is instantiated by Flow using its no-argument
+ * constructor, it's typically used by extending it, e.g.
+ *
+ * <pre>
+ * <code>
+ * public class MyI18NProvider extends ResourceBundleI18NProvider {
+ *     public MyI18NProvider() {
+ *         super("translations", Locale.ENGLISH, Locale.GERMAN);
+ *     }
+ * }
+ * </code>
+ * </pre>
+ *
+ * and setting the {@link com.vaadin.flow.server.InitParameters#I18N_PROVIDER}
+ * property to the name of the subclass.
+ *
+ * @since
+ */
+public class ResourceBundleI18NProvider implements I18NProvider {
+
+    private static final ResourceBundle.Control CONTROL = ResourceBundle.Control
+            .getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
+
+    private static final String PROPERTIES = "properties";
+
+    private final String baseName;
+    private final List<Locale> providedLocales;
+
+    private transient Map<Locale, Translations> translations;
+
+    /**
+     * Translations of a single locale.
+     */
+    private static final class Translations implements Serializable {
+        private final Locale locale;
+        private final Map<String, String> patterns;
+        private final Map<String, CompiledFormat> formats = new ConcurrentHashMap<>();
+        // bundle files with their modification time, for reloading
+        private final Map<URL, Long> sources;
+        private volatile long nextReloadCheck;
+
+        private Translations(Locale locale, Map<String, String> patterns,
+                Map<URL, Long> sources, long nextReloadCheck) {
+            this.locale = locale;
+            this.patterns = patterns;
+            this.sources = sources;
+            this.nextReloadCheck = nextReloadCheck;
+        }
+
+        private String translate(String key, Object[] params) {
+            String pattern = patterns.get(key);
+            if (pattern == null || params == null || params.length == 0) {
+                return pattern;
+            }
+            CompiledFormat format = formats.get(key);
+            if (format == null) {
+                format = formats.computeIfAbsent(key,
+                        name -> new CompiledFormat(pattern, locale));
+            }
+            return format.format(params);
+        }
+
+        private boolean isModified(long now, long interval) {
+            if (now < nextReloadCheck) {
+                return false;
+            }
+            nextReloadCheck = now + interval;
+            return sources.entrySet().stream().anyMatch(
+                    entry -> getLastModified(entry.getKey()) != entry
+                            .getValue());
+        }
+    }
+
+    /**
+     * A message format which is parsed once.
+     */
+    private static final class CompiledFormat implements Serializable {
+        private final MessageFormat format;
+        // Formatting is thread safe only when there are no sub formats (such
+        // as number, date or choice formats) which keep state while formatting
+        private final boolean shared;
+
+        private CompiledFormat(String pattern, Locale locale) {
+            format = new MessageFormat(pattern, locale);
+            shared = Arrays.stream(format.getFormats())
+                    .allMatch(Objects::isNull);
+        }
+
+        private String format(Object[] params) {
+            if (shared) {
+                return format.format(params);
+            }
+            return ((Format) format.clone()).format(params);
+        }
+    }
+
+    /**
+     * Creates a new provider for the resource bundles with the given base
+     * name.
+     *
+     * @param baseName
+     *            the base name of the resource bundles, not {@code null}
+     * @param providedLocales
+     *            the locales to provide translations for, the first one is the
+     *            default locale
+     */
+    public ResourceBundleI18NProvider(String baseName,
+            Locale... providedLocales) {
+        this.baseName = Objects.requireNonNull(baseName,
+                "Base name may not be null");
+        this.providedLocales = Collections
+                .unmodifiableList(Arrays.asList(providedLocales.clone()));
+    }
+
+    @Override
+    public List<Locale> getProvidedLocales() {
+        return providedLocales;
+    }
+
+    @Override
+    public String getTranslation(String key, Locale locale, Object... params) {
+        if (key == null) {
+            return getMissingTranslation(null, locale);
+        }
+        Locale targetLocale = locale;
+        if (targetLocale == null) {
+            targetLocale = providedLocales.isEmpty() ? Locale.getDefault()
+                    : providedLocales.get(0);
+        }
+        String translation = getTranslations(targetLocale).translate(key,
+                params);
+        if (translation == null) {
+            return getMissingTranslation(key, targetLocale);
+        }
+        return translation;
+    }
+
+    /**
+     * Gets the base name of the resource bundles.
+     *
+     * @return the base name
+     */
+    public String getBaseName() {
+        return baseName;
+    }
+
+    /**
+     * Gets the string returned for a key which has no translation.
+     * <p>
+     * The default implementation returns the key in the '!{key}!' format.
+     *
+     * @param key
+     *            the translation key
+     * @param locale
+     *            the locale the translation was requested for
+     * @return the string to use for a missing translation, not {@code null}
+     */
+    protected String getMissingTranslation(String key, Locale locale) {
+        return "!{" + key + "}!";
+    }
+
+    /**
+     * Gets the class loader to load the resource bundles with.
+     * <p>
+     * The default implementation returns the class loader of the provider
+     * class.
+     *
+     * @return the class loader to use
+     */
+    protected ClassLoader getClassLoader() {
+        return getClass().getClassLoader();
+    }
+
+    /**
+     * Checks whether changes in the resource bundle files should be picked up
+     * without a restart.
+     * <p>
+     * The default implementation returns {@code true} in development mode.
+     *
+     * @return {@code true} to reload changed resource bundles, {@code false}
+     *         otherwise
+     */
+    protected boolean isReloadEnabled() {
+        VaadinService service = VaadinService.getCurrent();
+        return service != null && service.getDeploymentConfiguration() != null
+                && !service.getDeploymentConfiguration().isProductionMode();
+    }
+
+    /**
+     * Gets the minimum time between two checks for changes in the resource
+     * bundle files of a locale, when reloading is enabled.
+     *
+     * @return the interval in milliseconds
+     */
+    protected long getReloadCheckInterval() {
+        return 1000;
+    }
+
+    private Translations getTranslations(Locale locale) {
+        Map<Locale, Translations> cache = getCache();
+        Translations current = cache.get(locale);
+        if (current == null) {
+            return cache.computeIfAbsent(locale, this::load);
+        }
+        if (!current.sources.isEmpty() && current.isModified(
+                System.currentTimeMillis(), getReloadCheckInterval())) {
+            getLogger().debug("Reloading translations '{}' for locale '{}'",
+                    baseName, locale);
+            ResourceBundle.clearCache(getClassLoader());
+            current = load(locale);
+            cache.put(locale, current);
+        }
+        return current;
+    }
+
+    private Map<Locale, Translations> getCache() {
+        if (translations == null) {
+            translations = new ConcurrentHashMap<>();
+        }
+        return translations;
+    }
+
+    private Translations load(Locale locale) {
+        ClassLoader classLoader = getClassLoader();
+        Map<String, String> patterns = new HashMap<>();
+        try {
+            ResourceBundle bundle = ResourceBundle.getBundle(baseName, locale,
+                    classLoader, CONTROL);
+            for (String key : bundle.keySet()) {
+                Object value = bundle.getObject(key);
+                if (value instanceof String) {
+                    patterns.put(key, (String) value);
+                }
+            }
+        } catch (MissingResourceException e) {
+            getLogger().warn("No resource bundle '{}' found for locale '{}'",
+                    baseName, locale, e);
+        }
+        Map<URL, Long> sources = Collections.emptyMap();
+        if (isReloadEnabled()) {
+            sources = new LinkedHashMap<>();
+            for (Locale candidate : CONTROL.getCandidateLocales(baseName,
+                    locale)) {
+                URL url = classLoader.getResource(CONTROL.toResourceName(
+                        CONTROL.toBundleName(baseName, candidate), PROPERTIES));
+                if (url != null) {
+                    sources.put(url, getLastModified(url));
+                }
+            }
+        }
+        return new Translations(locale, patterns, sources,
+                System.currentTimeMillis() + getReloadCheckInterval());
+    }
+
+    private static long getLastModified(URL url) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return new File(url.toURI()).lastModified();
+            }
+            URLConnection connection = url.openConnection();
+            connection.setUseCaches(false);
+            return connection.getLastModified();
+        } catch (IOException | URISyntaxException e) {
+            getLogger().debug("Unable to check modification of {}", url, e);
+            return 0;
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(ResourceBundleI18NProvider.class);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.Collection;
+import java.util.Map;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonString;
+import elemental.json.JsonValue;
+
+/**
+ * Rough estimates of the heap size of values stored in the state tree, for
+ * finding out which parts of a UI retain the most memory without taking a heap
+ * dump.
+ * <p>
+ * The estimates assume a 64-bit JVM and are only meant for comparing
+ * different parts of an application with each other, not for exact
+ * accounting. {@link StateNode} values are not included since nodes are
+ * accounted for separately.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class SizeEstimator {
+
+    /**
+     * The estimated size of an object header.
+     */
+    public static final int OBJECT_HEADER = 16;
+
+    /**
+     * The estimated size of an object reference.
+     */
+    public static final int REFERENCE = 8;
+
+    /**
+     * The estimated size of one entry in a hash map, excluding the key and the
+     * value.
+     */
+    public static final int MAP_ENTRY = 48;
+
+    private static final int STRING_OVERHEAD = 40;
+
+    private static final int MAX_DEPTH = 8;
+
+    private SizeEstimator() {
+        // Only static methods
+    }
+
+    /**
+     * Estimates the number of bytes retained by the given value.
+     * <p>
+     * Strings, boxed primitives, JSON values, collections and maps are
+     * estimated based on their contents. Nested collections are only followed
+     * to a limited depth. Other objects are estimated as one object header
+     * since their contents cannot be inspected without reflection.
+     *
+     * @param value
+     *            the value to estimate, may be <code>null</code>
+     * @return the estimated size in bytes
+     */
+    public static long estimate(Object value) {
+        return estimate(value, 0);
+    }
+
+    /**
+     * Estimates the number of bytes retained by a string.
+     *
+     * @param value
+     *            the string, may be <code>null</code>
+     * @return the estimated size in bytes
+     */
+    public static long estimateString(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null || value instanceof StateNode
+                || value instanceof Enum || value instanceof Class) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return estimateString((String) value);
+        }
+        if (value instanceof Number || value instanceof Boolean
+                || value instanceof Character) {
+            return OBJECT_HEADER + REFERENCE;
+        }
+        if (depth >= MAX_DEPTH) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof JsonValue) {
+            return estimateJson((JsonValue) value, depth);
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            long size = OBJECT_HEADER * 2L + REFERENCE * collection.size();
+            for (Object item : collection) {
+                size += estimate(item, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            long size = OBJECT_HEADER * 3L;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += MAP_ENTRY + estimate(entry.getKey(), depth + 1)
+                        + estimate(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        return OBJECT_HEADER;
+    }
+
+    private static long estimateJson(JsonValue value, int depth) {
+        if (value instanceof JsonString) {
+            return OBJECT_HEADER + estimateString(value.asString());
+        }
+        if (value instanceof JsonArray) {
+            JsonArray array = (JsonArray) value;
+            long size = OBJECT_HEADER * 3L + REFERENCE * array.length();
+            for (int i = 0; i < array.length(); i++) {
+                size += estimate(array.get(i), depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof JsonObject) {
+            JsonObject object = (JsonObject) value;
+            long size = OBJECT_HEADER * 3L;
+            for (String key : object.keys()) {
+                size += MAP_ENTRY + estimateString(key)
+                        + estimate(object.get(key), depth + 1);
+            }
+            return size;
+        }
+        // Numbers, booleans and null
+        return OBJECT_HEADER + REFERENCE;
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -674,6 +675,59 @@ public class StateNode implements Serializable {
         }
     }
 
+    /**
+     * Estimates the number of heap bytes retained by this node, not including
+     * its child nodes.
+     * <p>
+     * The estimate includes the initialized features, pending changes,
+     * attach and detach listeners and before client response entries of this
+     * node.
+     *
+     * @see SizeEstimator
+     *
+     * @param featureConsumer
+     *            a consumer which receives each initialized feature together
+     *            with its estimated size, or <code>null</code>
+     * @return the estimated size in bytes
+     */
+    public long estimateRetainedSize(
+            ObjLongConsumer<NodeFeature> featureConsumer) {
+        long size = SizeEstimator.OBJECT_HEADER + SizeEstimator.REFERENCE * 9L;
+        if (features instanceof NodeFeature[]) {
+            size += SizeEstimator.OBJECT_HEADER + (long) SizeEstimator.REFERENCE
+                    * ((NodeFeature[]) features).length;
+        }
+        size += getInitializedFeatures().mapToLong(feature -> {
+            long featureSize = feature.estimateRetainedSize();
+            if (featureConsumer != null) {
+                featureConsumer.accept(feature, featureSize);
+            }
+            return featureSize;
+        }).sum();
+        if (changes != null) {
+            size += SizeEstimator.OBJECT_HEADER * 3L
+                    + (long) SizeEstimator.MAP_ENTRY * changes.size();
+        }
+        size += estimateListSize(attachListeners);
+        size += estimateListSize(detachListeners);
+        if (beforeClientResponseEntries != null) {
+            size += SizeEstimator.OBJECT_HEADER * 2L
+                    + beforeClientResponseEntries.size()
+                            * (SizeEstimator.OBJECT_HEADER * 3L
+                                    + SizeEstimator.REFERENCE * 4L);
+        }
+        return size;
+    }
+
+    private static long estimateListSize(List<?> list) {
+        if (list == null) {
+            return 0;
+        }
+        // Each item is estimated as a lambda without captured state
+        return SizeEstimator.OBJECT_HEADER * 2L + list.size()
+                * (long) (SizeEstimator.REFERENCE + SizeEstimator.OBJECT_HEADER);
+    }
+
     /**
      * Applies the {@code visitor} to this node and all its descendants.
      * <p>
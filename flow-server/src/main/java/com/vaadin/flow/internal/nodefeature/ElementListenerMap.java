@@ -37,6 +37,7 @@ import com.vaadin.flow.dom.DomListenerRegistration;
 import com.vaadin.flow.function.SerializableRunnable;
 import com.vaadin.flow.internal.ConstantPoolKey;
 import com.vaadin.flow.internal.JsonUtils;
+import com.vaadin.flow.internal.SizeEstimator;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.shared.JsonConstants;
 
@@ -480,4 +481,25 @@ public class ElementListenerMap extends NodeMap {
                 .reduce(DisabledUpdateMode::mostPermissive).orElse(null);
     }
 
+    @Override
+    public long estimateRetainedSize() {
+        long size = super.estimateRetainedSize() + SizeEstimator.REFERENCE;
+        if (listeners == null) {
+            return size;
+        }
+        size += SizeEstimator.OBJECT_HEADER * 3L;
+        for (List<DomEventListenerWrapper> wrappers : listeners.values()) {
+            size += SizeEstimator.MAP_ENTRY + SizeEstimator.OBJECT_HEADER * 2L;
+            for (DomEventListenerWrapper wrapper : wrappers) {
+                size += SizeEstimator.OBJECT_HEADER
+                        + SizeEstimator.REFERENCE * 9L
+                        // The listener itself, typically a lambda
+                        + SizeEstimator.OBJECT_HEADER
+                        + SizeEstimator.estimate(wrapper.eventDataExpressions)
+                        + SizeEstimator.estimateString(wrapper.filter)
+                        + SizeEstimator.estimate(wrapper.unregisterHandlers);
+            }
+        }
+        return size;
+    }
 }
@@ -19,6 +19,7 @@ package com.vaadin.flow.internal.nodefeature;
 import java.io.Serializable;
 import java.util.function.Consumer;
 
+import com.vaadin.flow.internal.SizeEstimator;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.change.NodeChange;
@@ -143,4 +144,19 @@ public abstract class NodeFeature implements Serializable {
     public boolean allowsChanges() {
         return true;
     }
+
+    /**
+     * Estimates the number of heap bytes retained by this feature, not
+     * including any child state nodes.
+     * <p>
+     * The default implementation only accounts for the feature instance
+     * itself. Features holding values should override this method.
+     *
+     * @see SizeEstimator
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateRetainedSize() {
+        return SizeEstimator.OBJECT_HEADER + SizeEstimator.REFERENCE;
+    }
 }
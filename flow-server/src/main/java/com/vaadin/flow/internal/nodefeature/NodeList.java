@@ -29,6 +29,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.vaadin.flow.internal.SizeEstimator;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.change.AbstractListChange;
 import com.vaadin.flow.internal.change.EmptyChange;
@@ -356,6 +357,20 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
     public void forEachChild(Consumer<StateNode> action) {
     }
 
+    @Override
+    public long estimateRetainedSize() {
+        long size = super.estimateRetainedSize() + SizeEstimator.REFERENCE;
+        if (values == null) {
+            return size;
+        }
+        size += SizeEstimator.OBJECT_HEADER * 2L
+                + (long) SizeEstimator.REFERENCE * values.size();
+        for (T value : values) {
+            size += SizeEstimator.estimate(value);
+        }
+        return size;
+    }
+
     @Override
     public void generateChangesFromEmpty() {
         if (isRemoveAllCalled) {
@@ -27,6 +27,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import com.vaadin.flow.internal.SizeEstimator;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.change.EmptyChange;
 import com.vaadin.flow.internal.change.MapPutChange;
@@ -464,6 +465,20 @@ public abstract class NodeMap extends NodeFeature {
                 .forEach(v -> action.accept((StateNode) v));
     }
 
+    @Override
+    public long estimateRetainedSize() {
+        long size = super.estimateRetainedSize() + SizeEstimator.REFERENCE;
+        if (values == null) {
+            return size;
+        }
+        size += SizeEstimator.OBJECT_HEADER;
+        for (String key : values.keySet()) {
+            size += SizeEstimator.MAP_ENTRY + SizeEstimator.estimateString(key)
+                    + SizeEstimator.estimate(values.get(key));
+        }
+        return size;
+    }
+
     /**
      * Receives a value update from the client. The map value is updated without
      * creating a change record since the client already knows the current
@@ -168,4 +168,28 @@ public class PushConfigurationMap extends NodeMap implements PushConfiguration {
         throw new UnsupportedOperationException(
                 "Setting push connection factory is not supported");
     }
+
+    @Override
+    public void setMinimumPushInterval(int minimumPushInterval) {
+        throw new UnsupportedOperationException(
+                "Setting minimum push interval is not supported");
+    }
+
+    @Override
+    public int getMinimumPushInterval() {
+        throw new UnsupportedOperationException(
+                "Getting minimum push interval is not supported");
+    }
+
+    @Override
+    public void setMaximumPushLatency(int maximumPushLatency) {
+        throw new UnsupportedOperationException(
+                "Setting maximum push latency is not supported");
+    }
+
+    @Override
+    public int getMaximumPushLatency() {
+        throw new UnsupportedOperationException(
+                "Getting maximum push latency is not supported");
+    }
 }
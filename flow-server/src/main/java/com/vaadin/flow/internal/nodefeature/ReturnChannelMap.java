@@ -22,6 +22,7 @@ import java.util.Objects;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.SizeEstimator;
 import com.vaadin.flow.internal.StateNode;
 
 import elemental.json.JsonArray;
@@ -164,4 +165,13 @@ public class ReturnChannelMap extends ServerSideFeature {
         return channels.get(Integer.valueOf(channelId));
     }
 
+    @Override
+    public long estimateRetainedSize() {
+        // Each channel holds its id, handler and update mode
+        return super.estimateRetainedSize() + SizeEstimator.REFERENCE
+                + SizeEstimator.OBJECT_HEADER * 3L
+                + (long) channels.size() * (SizeEstimator.MAP_ENTRY
+                        + SizeEstimator.OBJECT_HEADER * 4L
+                        + SizeEstimator.REFERENCE * 3L);
+    }
 }
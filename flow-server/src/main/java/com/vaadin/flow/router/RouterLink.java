@@ -26,10 +26,15 @@ import com.vaadin.flow.component.HasText;
 import com.vaadin.flow.component.PropertyDescriptor;
 import com.vaadin.flow.component.PropertyDescriptors;
 import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.router.internal.HasUrlParameterFormat;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
+import com.vaadin.flow.router.internal.RouteTarget;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.Registration;
 
 /**
  * A link that handles navigation internally using {@link Router} instead of
@@ -56,12 +61,23 @@ public class RouterLink extends Component implements HasText, HasComponents,
 
     private QueryParameters queryParameters;
 
+    // Delay of the prefetch events, so that passing over a link does not
+    // cause a round trip of its own
+    private static final int PREFETCH_DEBOUNCE_TIMEOUT = 100;
+
+    private boolean prefetchEnabled;
+
+    private Registration prefetchRegistration;
+
+    private String prefetchedHref;
+
     /**
      * Creates a new empty router link.
      */
     public RouterLink() {
         getElement().setAttribute(ApplicationConstants.ROUTER_LINK_ATTRIBUTE,
                 "");
+        addAttachListener(event -> resetPrefetch());
     }
 
     /**
@@ -318,6 +334,111 @@ public class RouterLink extends Component implements HasText, HasComponents,
         updateHref(getHref());
     }
 
+    /**
+     * Sets whether navigation to the target of this link is prepared as soon
+     * as the pointer enters the link or the link is focused, before it is
+     * clicked.
+     * <p>
+     * When enabled, the route of the link is resolved and the class level
+     * metadata of the navigation target and its parent layouts is read in
+     * advance, and the browser is told to preload their external
+     * dependencies. No navigation observers are run and no component
+     * instances are created, so the actual navigation still happens only when
+     * the link is clicked. The events are debounced, so that only the pointer
+     * resting on the link causes a round trip. The preparation is done once
+     * per link target: the event listeners are removed once the current
+     * target has been prepared and added again when the target of the link
+     * changes or the link is attached again.
+     * <p>
+     * Prefetching is disabled by default.
+     *
+     * @param prefetchEnabled
+     *            {@code true} to prepare navigation on hover and focus,
+     *            {@code false} to disable it
+     */
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+        if (prefetchEnabled == this.prefetchEnabled) {
+            return;
+        }
+        this.prefetchEnabled = prefetchEnabled;
+        prefetchedHref = null;
+        if (prefetchEnabled) {
+            addPrefetchListeners();
+        } else {
+            removePrefetchListeners();
+        }
+    }
+
+    /**
+     * Gets whether navigation to the target of this link is prepared on hover
+     * and focus.
+     *
+     * @return {@code true} if prefetching is enabled, {@code false} otherwise
+     * @see #setPrefetchEnabled(boolean)
+     */
+    public boolean isPrefetchEnabled() {
+        return prefetchEnabled;
+    }
+
+    private void addPrefetchListeners() {
+        if (prefetchRegistration == null) {
+            prefetchRegistration = Registration.combine(
+                    getElement()
+                            .addEventListener("mouseenter",
+                                    event -> prepareNavigation())
+                            .debounce(PREFETCH_DEBOUNCE_TIMEOUT),
+                    getElement()
+                            .addEventListener("focus",
+                                    event -> prepareNavigation())
+                            .debounce(PREFETCH_DEBOUNCE_TIMEOUT));
+        }
+    }
+
+    private void resetPrefetch() {
+        // The dependencies are preloaded per UI, so a link attached to
+        // another UI needs to be prepared again
+        if (prefetchEnabled) {
+            prefetchedHref = null;
+            addPrefetchListeners();
+        }
+    }
+
+    private void removePrefetchListeners() {
+        if (prefetchRegistration != null) {
+            prefetchRegistration.remove();
+            prefetchRegistration = null;
+        }
+    }
+
+    private void prepareNavigation() {
+        String href = getHref();
+        Optional<UI> ui = getUI();
+        if (!ui.isPresent()) {
+            return;
+        }
+        // The events are not needed until the target of the link changes
+        prefetchedHref = href;
+        removePrefetchListeners();
+
+        NavigationRouteTarget navigationTarget;
+        try {
+            navigationTarget = getRouter().getRegistry()
+                    .getNavigationRouteTarget(new Location(href).getPath());
+        } catch (InvalidLocationException exception) {
+            return;
+        }
+        if (navigationTarget == null || !navigationTarget.hasTarget()) {
+            return;
+        }
+        RouteTarget routeTarget = navigationTarget.getRouteTarget();
+        UIInternals internals = ui.get().getInternals();
+        routeTarget.getParentLayouts().stream()
+                .filter(Component.class::isAssignableFrom)
+                .forEach(layout -> internals.preloadComponentDependencies(
+                        layout.asSubclass(Component.class)));
+        internals.preloadComponentDependencies(routeTarget.getTarget());
+    }
+
     private void updateHref(String url) {
         int startOfQuery = url.indexOf('?');
         if (startOfQuery >= 0) {
@@ -327,6 +448,9 @@ public class RouterLink extends Component implements HasText, HasComponents,
             url += '?' + queryParameters.getQueryString();
         }
         HREF.set(this, url);
+        if (prefetchEnabled && !url.equals(prefetchedHref)) {
+            addPrefetchListeners();
+        }
     }
 
     private Router getRouter() {
@@ -1255,6 +1255,19 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             appConfig.put("maxMessageSuspendTimeout",
                     deploymentConfiguration.getMaxMessageSuspendTimeout());
 
+            int maxPipelinedMessages = deploymentConfiguration
+                    .getMaxPipelinedMessages();
+            if (maxPipelinedMessages > 1) {
+                appConfig.put("maxPipelinedMessages", maxPipelinedMessages);
+            }
+
+            int changeProcessingFrameBudget = deploymentConfiguration
+                    .getChangeProcessingFrameBudget();
+            if (changeProcessingFrameBudget > 0) {
+                appConfig.put("changeProcessingFrameBudget",
+                        changeProcessingFrameBudget);
+            }
+
             boolean sendUrlsAsParameters = deploymentConfiguration
                     .isSendUrlsAsParameters();
             if (!sendUrlsAsParameters) {
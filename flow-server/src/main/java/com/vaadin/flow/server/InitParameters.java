@@ -61,6 +61,21 @@ public class InitParameters implements Serializable {
     public static final String SERVLET_PARAMETER_SEND_URLS_AS_PARAMETERS = "sendUrlsAsParameters";
     public static final String SERVLET_PARAMETER_PUSH_SUSPEND_TIMEOUT_LONGPOLLING = "pushLongPollingSuspendTimeout";
     public static final String SERVLET_PARAMETER_MAX_MESSAGE_SUSPEND_TIMEOUT = "maxMessageSuspendTimeout";
+
+    /**
+     * Configuration name for the maximum number of messages the client may
+     * send to the server without waiting for the responses to the previous
+     * messages.
+     */
+    public static final String SERVLET_PARAMETER_MAX_PIPELINED_MESSAGES = "maxPipelinedMessages";
+
+    /**
+     * Configuration name for the time budget, in milliseconds, the client uses
+     * for updating the DOM based on the changes of a server message before
+     * letting the browser render and handle user input.
+     */
+    public static final String SERVLET_PARAMETER_CHANGE_PROCESSING_FRAME_BUDGET = "changeProcessingFrameBudget";
+
     public static final String SERVLET_PARAMETER_JSBUNDLE = "module.bundle";
     public static final String SERVLET_PARAMETER_POLYFILLS = "module.polyfills";
 
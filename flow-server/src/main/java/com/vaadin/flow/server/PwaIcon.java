@@ -15,17 +15,18 @@
  */
 package com.vaadin.flow.server;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
 import org.jsoup.nodes.Element;
 
 /**
@@ -59,6 +60,7 @@ public class PwaIcon implements Serializable {
     private String baseName;
     private Domain domain;
     private byte[] data;
+    private URL source;
 
     private final Map<String, String> attributes = new HashMap<>();
     private String tag = "link";
@@ -207,15 +209,37 @@ public class PwaIcon implements Serializable {
      *            the image in png format
      */
     public void setImage(BufferedImage image) {
-        try (ByteArrayOutputStream stream = new ByteArrayOutputStream()) {
-            ImageIO.write(image, "png", stream);
-            stream.flush();
-            data = stream.toByteArray();
-            fileHash = Arrays.hashCode(data);
-            setRelativeName();
-        } catch (IOException ioe) {
-            throw new UncheckedIOException("Failed to write an image ", ioe);
-        }
+        setData(PwaIconGenerator.encode(image));
+    }
+
+    /**
+     * Sets the PNG encoded image data of the icon, kept in memory.
+     *
+     * @param data
+     *            the image in png format
+     */
+    void setData(byte[] data) {
+        this.data = data;
+        source = null;
+        fileHash = Arrays.hashCode(data);
+        setRelativeName();
+    }
+
+    /**
+     * Sets a resource from which the PNG encoded image of the icon is read
+     * each time the icon is written, instead of keeping the image in memory.
+     *
+     * @param source
+     *            the URL of the image in png format
+     * @param fileHash
+     *            the hash of the image data, as computed by
+     *            {@link Arrays#hashCode(byte[])}
+     */
+    void setSource(URL source, long fileHash) {
+        this.source = source;
+        this.fileHash = fileHash;
+        data = null;
+        setRelativeName();
     }
 
     /**
@@ -226,7 +250,13 @@ public class PwaIcon implements Serializable {
      */
     public void write(OutputStream outputStream) {
         try {
-            outputStream.write(data);
+            if (source != null) {
+                try (InputStream stream = source.openStream()) {
+                    IOUtils.copy(stream, outputStream);
+                }
+            } else {
+                outputStream.write(data);
+            }
         } catch (IOException ioe) {
             throw new UncheckedIOException(
                     "Failed to store the icon image into the stream provided",
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import javax.imageio.ImageIO;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+
+import com.vaadin.flow.internal.MessageDigestUtil;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+/**
+ * Generates the PWA icons of an application from its logo, either at build
+ * time into the application resources or at runtime into memory.
+ * <p>
+ * The icons of a logo are stored in a directory named by the hash of the logo
+ * (see {@link #getLogoHash(byte[])}), with one PNG file per icon size and an
+ * index file containing the hashes of the icon files. The icons can thus be
+ * served without decoding, scaling and encoding the logo again, as long as
+ * the logo does not change.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class PwaIconGenerator {
+
+    /**
+     * The name of the folder containing the icons generated at build time
+     * within the servlet resources.
+     */
+    public static final String ICONS_FOLDER = "pwa-icons";
+
+    /**
+     * The classpath location of the icons generated at build time, each logo
+     * in its own directory named by the logo hash.
+     */
+    public static final String PRE_GENERATED_ICONS_PATH = Constants.VAADIN_SERVLET_RESOURCES
+            + ICONS_FOLDER + "/";
+
+    /**
+     * The name of the index file mapping the icon file names to the hashes of
+     * the icon data. It is written after all icons, so a directory with an
+     * index is complete.
+     */
+    public static final String INDEX_FILE = "icons.json";
+
+    private static final String HEADLESS_PROPERTY = "java.awt.headless";
+
+    private static final int LOGO_HASH_BYTES = 8;
+
+    private PwaIconGenerator() {
+        // Only static methods
+    }
+
+    /**
+     * Gets the hash identifying the icons generated from the given logo.
+     *
+     * @param logo
+     *            the logo image data, not <code>null</code>
+     * @return the hash as a hexadecimal string
+     */
+    public static String getLogoHash(byte[] logo) {
+        byte[] digest = MessageDigestUtil.sha256(logo);
+        StringBuilder hash = new StringBuilder();
+        for (int i = 0; i < LOGO_HASH_BYTES; i++) {
+            hash.append(String.format("%02x", digest[i]));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Generates the icons for the given logo into the given directory,
+     * replacing any previous content of the directory.
+     *
+     * @param logo
+     *            the logo image data, not <code>null</code>
+     * @param iconPath
+     *            the icon path configured for the application, see
+     *            {@link PwaConfiguration#getIconPath()}
+     * @param directory
+     *            the directory to write the icons to
+     * @throws IOException
+     *             if the logo cannot be decoded or the icons cannot be
+     *             written
+     */
+    public static void writeIcons(byte[] logo, String iconPath,
+            File directory) throws IOException {
+        List<PwaIcon> icons = PwaRegistry.getIconTemplates(iconPath);
+        Map<PwaIcon, byte[]> generated = generate(logo, icons);
+        if (generated.isEmpty()) {
+            throw new IOException("The PWA logo cannot be decoded");
+        }
+        writeIcons(generated, directory);
+    }
+
+    /**
+     * Generates PNG images for the given icons from the given logo. The icons
+     * are generated in parallel.
+     *
+     * @param logo
+     *            the logo image data
+     * @param icons
+     *            the icons to generate
+     * @return the PNG data of each icon, in the order of the given icons, or
+     *         an empty map if the logo cannot be decoded
+     * @throws IOException
+     *             if reading the logo fails
+     */
+    static Map<PwaIcon, byte[]> generate(byte[] logo, List<PwaIcon> icons)
+            throws IOException {
+        if (System.getProperty(HEADLESS_PROPERTY) == null) {
+            // set headless mode if the property is not explicitly set
+            System.setProperty(HEADLESS_PROPERTY, Boolean.TRUE.toString());
+        }
+
+        BufferedImage baseImage = ImageIO
+                .read(new ByteArrayInputStream(logo));
+        if (baseImage == null) {
+            return new LinkedHashMap<>();
+        }
+        // Pick top-left pixel as fill color if needed for image resizing
+        int bgColor = baseImage.getRGB(0, 0);
+
+        Map<PwaIcon, byte[]> data = icons.parallelStream()
+                .collect(Collectors.toMap(Function.identity(),
+                        icon -> encode(
+                                drawIconImage(baseImage, bgColor, icon))));
+
+        Map<PwaIcon, byte[]> ordered = new LinkedHashMap<>();
+        icons.forEach(icon -> ordered.put(icon, data.get(icon)));
+        return ordered;
+    }
+
+    /**
+     * Writes the given icon images and their index into the given directory,
+     * replacing any previous content of the directory.
+     *
+     * @param icons
+     *            the PNG data of each icon
+     * @param directory
+     *            the directory to write to
+     * @throws IOException
+     *             if writing fails
+     */
+    static void writeIcons(Map<PwaIcon, byte[]> icons, File directory)
+            throws IOException {
+        if (directory.exists()) {
+            FileUtils.deleteDirectory(directory);
+        }
+        FileUtils.forceMkdir(directory);
+
+        JsonObject index = Json.createObject();
+        for (Map.Entry<PwaIcon, byte[]> entry : icons.entrySet()) {
+            String fileName = getFileName(entry.getKey());
+            Files.write(new File(directory, fileName).toPath(),
+                    entry.getValue());
+            index.put(fileName, Arrays.hashCode(entry.getValue()));
+        }
+
+        // Write the index last and atomically so that a directory with an
+        // index always contains all the icons
+        File tempIndex = File.createTempFile(INDEX_FILE, null, directory);
+        Files.write(tempIndex.toPath(),
+                index.toJson().getBytes(StandardCharsets.UTF_8));
+        Files.move(tempIndex.toPath(), new File(directory, INDEX_FILE).toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets the name of the file of the given icon in an icon directory.
+     *
+     * @param icon
+     *            the icon
+     * @return the file name
+     */
+    static String getFileName(PwaIcon icon) {
+        return icon.getSizes() + ".png";
+    }
+
+    /**
+     * Encodes the given image in PNG format.
+     *
+     * @param image
+     *            the image to encode
+     * @return the PNG data
+     */
+    static byte[] encode(BufferedImage image) {
+        try (ByteArrayOutputStream stream = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", stream);
+            stream.flush();
+            return stream.toByteArray();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to write an image ", ioe);
+        }
+    }
+
+    private static BufferedImage drawIconImage(BufferedImage baseImage,
+            int bgColor, PwaIcon icon) {
+        BufferedImage bimage = new BufferedImage(icon.getWidth(),
+                icon.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        // Draw the image on to the buffered image
+        Graphics2D graphics = bimage.createGraphics();
+
+        // fill bg with fill-color
+        graphics.setBackground(new Color(bgColor, true));
+        graphics.clearRect(0, 0, icon.getWidth(), icon.getHeight());
+
+        // calculate ratio (bigger ratio) for resize
+        float ratio = (float) baseImage.getWidth()
+                / (float) icon.getWidth() > (float) baseImage.getHeight()
+                        / (float) icon.getHeight()
+                                ? (float) baseImage.getWidth()
+                                        / (float) icon.getWidth()
+                                : (float) baseImage.getHeight()
+                                        / (float) icon.getHeight();
+
+        // Forbid upscaling of image
+        ratio = ratio > 1.0f ? ratio : 1.0f;
+
+        // calculate sizes with ratio
+        int newWidth = Math.round(baseImage.getHeight() / ratio);
+        int newHeight = Math.round(baseImage.getWidth() / ratio);
+
+        // draw rescaled img in the center of created image
+        graphics.drawImage(
+                baseImage.getScaledInstance(newWidth, newHeight,
+                        Image.SCALE_SMOOTH),
+                (icon.getWidth() - newWidth) / 2,
+                (icon.getHeight() - newHeight) / 2, null);
+        graphics.dispose();
+        return bimage;
+    }
+}
@@ -15,14 +15,10 @@
  */
 package com.vaadin.flow.server;
 
-import javax.imageio.ImageIO;
 import javax.servlet.ServletContext;
 
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.Image;
-import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -36,8 +32,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.server.communication.PwaHandler;
@@ -46,6 +45,7 @@ import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
+import elemental.json.JsonException;
 import elemental.json.JsonObject;
 
 /**
@@ -66,7 +66,6 @@ import elemental.json.JsonObject;
 public class PwaRegistry implements Serializable {
 
     private static final String META_INF_RESOURCES = "/META-INF/resources";
-    private static final String HEADLESS_PROPERTY = "java.awt.headless";
     private static final String APPLE_STARTUP_IMAGE = "apple-touch-startup-image";
     private static final String APPLE_IMAGE_MEDIA = "(device-width: %dpx) and (device-height: %dpx) "
             + "and (-webkit-device-pixel-ratio: %d)";
@@ -91,11 +90,6 @@ public class PwaRegistry implements Serializable {
      */
     public PwaRegistry(PWA pwa, ServletContext servletContext)
             throws IOException {
-        if (System.getProperty(HEADLESS_PROPERTY) == null) {
-            // set headless mode if the property is not explicitly set
-            System.setProperty(HEADLESS_PROPERTY, Boolean.TRUE.toString());
-        }
-
         boolean useV14Bootstrap = false;
         ApplicationConfiguration applicationConfiguration = (ApplicationConfiguration) servletContext
                 .getAttribute(ApplicationConfiguration.class.getName());
@@ -120,18 +114,14 @@ public class PwaRegistry implements Serializable {
 
             // Load base logo from servlet context if available
             // fall back to local image if unavailable
-            BufferedImage baseImage = getBaseImage(logo);
+            byte[] logoData = getLogoData(logo);
 
-            if (baseImage == null) {
-                LoggerFactory.getLogger(PwaRegistry.class).error(
+            if (logoData == null) {
+                getLogger().error(
                         "Image is not found or can't be loaded: " + logo);
             } else {
-                // Pick top-left pixel as fill color if needed for image
-                // resizing
-                int bgColor = baseImage.getRGB(0, 0);
-
                 // initialize icons
-                icons = initializeIcons(baseImage, bgColor);
+                icons = initializeIcons(servletContext, logoData);
             }
 
             // Load offline page as string, from servlet context if
@@ -161,52 +151,59 @@ public class PwaRegistry implements Serializable {
         return resourceUrl;
     }
 
-    private List<PwaIcon> initializeIcons(BufferedImage baseImage,
-            int bgColor) {
-        for (PwaIcon icon : getIconTemplates(pwaConfiguration.getIconPath())) {
-            // New image with wanted size
-            icon.setImage(drawIconImage(baseImage, bgColor, icon));
-            // Store byte array and hashcode of image (GeneratedImage)
-            icons.add(icon);
+    private List<PwaIcon> initializeIcons(ServletContext servletContext,
+            byte[] logoData) throws IOException {
+        String logoHash = PwaIconGenerator.getLogoHash(logoData);
+        List<PwaIcon> iconTemplates = getIconTemplates(
+                pwaConfiguration.getIconPath());
+
+        // Use the icons generated by the build if available
+        ClassLoader classLoader = servletContext.getClassLoader() != null
+                ? servletContext.getClassLoader()
+                : PwaRegistry.class.getClassLoader();
+        URL preGeneratedIndex = classLoader
+                .getResource(PwaIconGenerator.PRE_GENERATED_ICONS_PATH
+                        + logoHash + "/" + PwaIconGenerator.INDEX_FILE);
+        if (preGeneratedIndex != null
+                && loadIcons(preGeneratedIndex, iconTemplates)) {
+            return iconTemplates;
         }
-        return icons;
+
+        // Otherwise generate the icons and keep them in memory
+        Map<PwaIcon, byte[]> generated = PwaIconGenerator
+                .generate(logoData, iconTemplates);
+        if (generated.isEmpty()) {
+            getLogger().error("Image can't be decoded: "
+                    + pwaConfiguration.getIconPath());
+            return icons;
+        }
+        generated.forEach(PwaIcon::setData);
+        return iconTemplates;
     }
 
-    private BufferedImage drawIconImage(BufferedImage baseImage, int bgColor,
-            PwaIcon icon) {
-        BufferedImage bimage = new BufferedImage(icon.getWidth(),
-                icon.getHeight(), BufferedImage.TYPE_INT_ARGB);
-        // Draw the image on to the buffered image
-        Graphics2D graphics = bimage.createGraphics();
-
-        // fill bg with fill-color
-        graphics.setBackground(new Color(bgColor, true));
-        graphics.clearRect(0, 0, icon.getWidth(), icon.getHeight());
-
-        // calculate ratio (bigger ratio) for resize
-        float ratio = (float) baseImage.getWidth()
-                / (float) icon.getWidth() > (float) baseImage.getHeight()
-                        / (float) icon.getHeight()
-                                ? (float) baseImage.getWidth()
-                                        / (float) icon.getWidth()
-                                : (float) baseImage.getHeight()
-                                        / (float) icon.getHeight();
-
-        // Forbid upscaling of image
-        ratio = ratio > 1.0f ? ratio : 1.0f;
-
-        // calculate sizes with ratio
-        int newWidth = Math.round(baseImage.getHeight() / ratio);
-        int newHeight = Math.round(baseImage.getWidth() / ratio);
-
-        // draw rescaled img in the center of created image
-        graphics.drawImage(
-                baseImage.getScaledInstance(newWidth, newHeight,
-                        Image.SCALE_SMOOTH),
-                (icon.getWidth() - newWidth) / 2,
-                (icon.getHeight() - newHeight) / 2, null);
-        graphics.dispose();
-        return bimage;
+    private boolean loadIcons(URL indexUrl, List<PwaIcon> iconTemplates) {
+        JsonObject index;
+        try (InputStream stream = indexUrl.openStream()) {
+            index = Json.parse(IOUtils.toString(stream, StandardCharsets.UTF_8));
+        } catch (IOException | JsonException e) {
+            getLogger().debug("Failed to read the PWA icon index {}", indexUrl,
+                    e);
+            return false;
+        }
+        for (PwaIcon icon : iconTemplates) {
+            String fileName = PwaIconGenerator.getFileName(icon);
+            if (!index.hasKey(fileName)) {
+                return false;
+            }
+            try {
+                icon.setSource(new URL(indexUrl, fileName),
+                        (long) index.getNumber(fileName));
+            } catch (MalformedURLException e) {
+                getLogger().debug("Invalid PWA icon URL", e);
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -384,11 +381,19 @@ public class PwaRegistry implements Serializable {
         }
     }
 
-    private BufferedImage getBaseImage(URL logo) throws IOException {
+    private byte[] getLogoData(URL logo) throws IOException {
         URLConnection logoResource = logo != null ? logo.openConnection()
                 : BootstrapHandler.class.getResource("default-logo.png")
                         .openConnection();
-        return ImageIO.read(logoResource.getInputStream());
+        try (InputStream stream = logoResource.getInputStream()) {
+            return IOUtils.toByteArray(stream);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(PwaRegistry.class);
     }
 
     /**
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream consumer which knows the length of its content and can write
+ * any part of it.
+ * <p>
+ * A {@link StreamResource} using a writer of this type supports byte range
+ * requests, so that e.g. a media player can seek in the content without
+ * downloading it completely, and conditional requests based on the
+ * {@link #getETag() entity tag} of the content.
+ *
+ * @since
+ */
+public interface RangeStreamResourceWriter extends StreamResourceWriter {
+
+    /**
+     * Gets the length of the content in bytes.
+     *
+     * @return the content length
+     * @throws IOException
+     *             if the length cannot be determined
+     */
+    long getLength() throws IOException;
+
+    /**
+     * Gets a strong entity tag for the current content. The entity tag must
+     * change whenever the content changes.
+     *
+     * @return the quoted entity tag, or <code>null</code> if the content has
+     *         no entity tag
+     * @throws IOException
+     *             if the entity tag cannot be determined
+     */
+    String getETag() throws IOException;
+
+    /**
+     * Writes the given byte range of the content to the {@code stream}.
+     * <p>
+     * Note that the method is not called under the session lock.
+     *
+     * @param stream
+     *            data output stream
+     * @param session
+     *            vaadin session
+     * @param start
+     *            the index of the first byte to write
+     * @param length
+     *            the number of bytes to write
+     * @throws IOException
+     *             if an IO error occurred
+     */
+    void accept(OutputStream stream, VaadinSession session, long start,
+            long length) throws IOException;
+
+    @Override
+    default void accept(OutputStream stream, VaadinSession session)
+            throws IOException {
+        accept(stream, session, 0, getLength());
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.vaadin.flow.internal.MessageDigestUtil;
+import com.vaadin.flow.server.communication.StreamRequestHandler;
+
+/**
+ * Application wide registry for immutable stream resources.
+ * <p>
+ * Unlike resources registered in the {@link StreamResourceRegistry} of a
+ * session, the resources of this registry are addressed by the hash of their
+ * content. Registering the same content with the same name from any number of
+ * sessions gives the same URI, so that only one copy is kept on the server and
+ * the browser can cache the resource across sessions. The resources are served
+ * without locking any session, with headers allowing the browser to cache them
+ * forever.
+ * <p>
+ * The registry holds at most {@link #getMaximumSize()} bytes of content. The
+ * least recently used resources are evicted when the limit is exceeded, so a
+ * resource should be registered again each time its URI is used for a new
+ * component rather than storing the URI.
+ *
+ * @since
+ */
+public class SharedStreamResourceRegistry implements Serializable {
+
+    /**
+     * The default maximum total size of the content in the registry, in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 32L * 1024 * 1024;
+
+    // Access ordered to be able to evict the least recently used resources
+    private final LinkedHashMap<String, StreamResource> resources = new LinkedHashMap<>(
+            16, 0.75f, true);
+
+    private long size;
+
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private static class SharedContent implements RangeStreamResourceWriter {
+
+        private final byte[] content;
+
+        private final String hash;
+
+        private SharedContent(byte[] content, String hash) {
+            this.content = content;
+            this.hash = hash;
+        }
+
+        @Override
+        public long getLength() {
+            return content.length;
+        }
+
+        @Override
+        public String getETag() {
+            return '"' + hash + '"';
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session,
+                long start, long length) throws IOException {
+            stream.write(content, (int) start, (int) length);
+        }
+    }
+
+    /**
+     * Creates a new registry. Use {@link #getInstance(VaadinContext)} to get
+     * the registry of an application.
+     */
+    protected SharedStreamResourceRegistry() {
+        // Only for getInstance and subclasses
+    }
+
+    /**
+     * Gets the registry of the given context, creating it if it does not
+     * exist yet.
+     *
+     * @param context
+     *            the context of the application, not <code>null</code>
+     * @return the registry instance
+     */
+    public static SharedStreamResourceRegistry getInstance(
+            VaadinContext context) {
+        return context.getAttribute(SharedStreamResourceRegistry.class,
+                SharedStreamResourceRegistry::new);
+    }
+
+    /**
+     * Registers immutable content and returns the URI where it is available.
+     * <p>
+     * The array is not copied, so it must not be modified after registering
+     * it.
+     *
+     * @param name
+     *            the file name of the resource, used as the last segment of the
+     *            URI and for determining the content type, not
+     *            <code>null</code>
+     * @param content
+     *            the content of the resource, not <code>null</code>
+     * @return the URI of the resource
+     */
+    public URI registerResource(String name, byte[] content) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name cannot be null");
+        }
+        if (content == null) {
+            throw new IllegalArgumentException("Content cannot be null");
+        }
+        String hash = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(MessageDigestUtil.sha256(content));
+        String key = hash + '/' + name;
+
+        synchronized (this) {
+            if (resources.get(key) == null) {
+                resources.put(key, new StreamResource(name,
+                        new SharedContent(content, hash)));
+                size += content.length;
+                evict();
+            }
+        }
+
+        try {
+            return new URI(StreamRequestHandler.generateSharedURI(name, hash));
+        } catch (URISyntaxException e) {
+            // this may not happen if implementation is correct
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the resource for the given path.
+     *
+     * @param path
+     *            the decoded path of the resource relative to the shared
+     *            resource prefix, i.e. <code>[HASH]/[NAME]</code>
+     * @return an optional resource, or an empty optional if there is no
+     *         resource for the path
+     */
+    public synchronized Optional<StreamResource> getResource(String path) {
+        return Optional.ofNullable(resources.get(path));
+    }
+
+    /**
+     * Sets the maximum total size of the content in the registry. The least
+     * recently used resources are evicted when the size is exceeded.
+     *
+     * @param maximumSize
+     *            the maximum size in bytes, not negative
+     */
+    public synchronized void setMaximumSize(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException(
+                    "Maximum size cannot be negative");
+        }
+        this.maximumSize = maximumSize;
+        evict();
+    }
+
+    /**
+     * Gets the maximum total size of the content in the registry.
+     *
+     * @return the maximum size in bytes
+     */
+    public synchronized long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the total size of the content currently in the registry.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, StreamResource>> iterator = resources
+                .entrySet().iterator();
+        // The most recently used resource is never evicted
+        while (size > maximumSize && resources.size() > 1) {
+            StreamResource evicted = iterator.next().getValue();
+            iterator.remove();
+            size -= ((SharedContent) evicted.getWriter()).content.length;
+        }
+    }
+}
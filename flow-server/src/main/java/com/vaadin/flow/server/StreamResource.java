@@ -17,13 +17,23 @@ package com.vaadin.flow.server;
 
 import javax.servlet.ServletContext;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.ContentTypeResolver;
+import com.vaadin.flow.internal.MessageDigestUtil;
 
 /**
  * Represents dynamically generated data.
@@ -62,7 +72,14 @@ public class StreamResource extends AbstractStreamResource {
 
     private static class Pipe implements StreamResourceWriter {
 
-        private static final int BUFFER_SIZE = 1024;
+        private static final int BUFFER_SIZE = 32 * 1024;
+
+        /**
+         * Buffers of finished downloads, reused to avoid allocating a new
+         * buffer for each download.
+         */
+        private static final Queue<byte[]> BUFFER_POOL = new ArrayBlockingQueue<>(
+                16);
 
         private InputStreamFactory factory;
 
@@ -89,10 +106,17 @@ public class StreamResource extends AbstractStreamResource {
 
         private void copy(VaadinSession session, InputStream source,
                 OutputStream out) throws IOException {
-            byte[] buf = new byte[BUFFER_SIZE];
-            int n;
-            while ((n = read(session, source, buf)) >= 0) {
-                out.write(buf, 0, n);
+            byte[] buf = BUFFER_POOL.poll();
+            if (buf == null) {
+                buf = new byte[BUFFER_SIZE];
+            }
+            try {
+                int n;
+                while ((n = read(session, source, buf)) >= 0) {
+                    out.write(buf, 0, n);
+                }
+            } finally {
+                BUFFER_POOL.offer(buf);
             }
         }
 
@@ -111,6 +135,80 @@ public class StreamResource extends AbstractStreamResource {
         }
     }
 
+    private static class FileContent implements RangeStreamResourceWriter {
+
+        private final File file;
+
+        private FileContent(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public long getLength() {
+            return file.length();
+        }
+
+        @Override
+        public String getETag() {
+            return '"' + Long.toHexString(file.length()) + '-'
+                    + Long.toHexString(file.lastModified()) + '"';
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session,
+                long start, long length) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.READ)) {
+                // Not closed since that would close the response stream
+                WritableByteChannel target = Channels.newChannel(stream);
+                long position = start;
+                long end = start + length;
+                while (position < end) {
+                    long transferred = channel.transferTo(position,
+                            end - position, target);
+                    if (transferred <= 0) {
+                        throw new IOException("File " + file
+                                + " was truncated while it was being read");
+                    }
+                    position += transferred;
+                }
+            }
+        }
+    }
+
+    private static class ByteArrayContent
+            implements RangeStreamResourceWriter {
+
+        private final byte[] content;
+
+        private String eTag;
+
+        private ByteArrayContent(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public long getLength() {
+            return content.length;
+        }
+
+        @Override
+        public synchronized String getETag() {
+            if (eTag == null) {
+                eTag = '"' + Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(MessageDigestUtil.sha256(content))
+                        + '"';
+            }
+            return eTag;
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session,
+                long start, long length) throws IOException {
+            stream.write(content, (int) start, (int) length);
+        }
+    }
+
     /**
      * Creates {@link StreamResource} instance using mandatory parameters
      * {@code name} as a resource file name and output stream {@code writer} as
@@ -158,6 +256,40 @@ public class StreamResource extends AbstractStreamResource {
         assert name != null;
     }
 
+    /**
+     * Creates {@link StreamResource} instance using mandatory parameters
+     * {@code name} as a resource file name and {@code file} as the content.
+     * <p>
+     * The file is read without locking the session, and the resource supports
+     * byte range and conditional requests. The file content is transferred
+     * using {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param file
+     *            the file with the content, must be in the default file
+     *            system. May not be null.
+     */
+    public StreamResource(String name, Path file) {
+        this(name, new FileContent(file.toFile()));
+    }
+
+    /**
+     * Creates {@link StreamResource} instance using mandatory parameters
+     * {@code name} as a resource file name and {@code content} as the data.
+     * <p>
+     * The resource supports byte range and conditional requests. The array is
+     * not copied, so it must not be modified after creating the resource.
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param content
+     *            the content of the resource. May not be null.
+     */
+    public StreamResource(String name, byte[] content) {
+        this(name, new ByteArrayContent(content));
+    }
+
     /**
      * Returns the stream resource writer.
      * <p>
@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
@@ -74,10 +75,12 @@ import com.vaadin.flow.server.communication.IndexHtmlResponse;
 import com.vaadin.flow.server.communication.JavaScriptBootstrapHandler;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
+import com.vaadin.flow.server.communication.SharedStreamResourceRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.UidlRequestHandler;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
 import com.vaadin.flow.server.communication.WebComponentProvider;
+import com.vaadin.flow.server.metrics.MetricsCollector;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.Registration;
@@ -164,6 +167,8 @@ public abstract class VaadinService implements Serializable {
 
     private Iterable<RequestHandler> requestHandlers;
 
+    private final SharedStreamResourceRequestHandler sharedResourceRequestHandler = new SharedStreamResourceRequestHandler();
+
     private Iterable<BootstrapListener> bootstrapListeners;
 
     private transient Iterable<IndexHtmlRequestListener> indexHtmlRequestListeners;
@@ -193,6 +198,8 @@ public abstract class VaadinService implements Serializable {
 
     private VaadinContext vaadinContext;
 
+    private MetricsCollector metricsCollector = MetricsCollector.noOp();
+
     /**
      * Creates a new vaadin service based on a deployment configuration.
      *
@@ -233,6 +240,11 @@ public abstract class VaadinService implements Serializable {
 
         List<RequestHandler> handlers = createRequestHandlers();
 
+        MetricsCollector collector = loadMetricsCollector();
+        if (collector != null) {
+            setMetricsCollector(collector);
+        }
+
         ServiceInitEvent event = new ServiceInitEvent(this);
 
         // allow service init listeners and DI to use thread local access to
@@ -416,6 +428,37 @@ public abstract class VaadinService implements Serializable {
         return instantiators.stream().findFirst();
     }
 
+    private MetricsCollector loadMetricsCollector() {
+        Lookup lookup = getContext().getAttribute(Lookup.class);
+        // lookup may be null in tests
+        return lookup == null ? null : lookup.lookup(MetricsCollector.class);
+    }
+
+    /**
+     * Gets the collector of performance measurements of this service.
+     *
+     * @return the metrics collector, not <code>null</code>
+     * @see #setMetricsCollector(MetricsCollector)
+     */
+    public MetricsCollector getMetricsCollector() {
+        return metricsCollector;
+    }
+
+    /**
+     * Sets the collector of performance measurements of this service.
+     * <p>
+     * By default, a collector found using {@link Lookup} is used, or a
+     * collector which ignores all measurements if there is none. The
+     * collector is typically set from a {@link VaadinServiceInitListener}.
+     *
+     * @param metricsCollector
+     *            the metrics collector to use, not <code>null</code>
+     */
+    public void setMetricsCollector(MetricsCollector metricsCollector) {
+        this.metricsCollector = Objects.requireNonNull(metricsCollector,
+                "Metrics collector cannot be null");
+    }
+
     /**
      * Gets the instantiator used by this service.
      *
@@ -787,7 +830,10 @@ public abstract class VaadinService implements Serializable {
                 }
             }
         }
+        MetricsCollector.Span lockWait = MetricsCollector.get(this)
+                .startSpan(MetricsCollector.SESSION_LOCK_WAIT);
         lock.lock();
+        lockWait.end();
 
         try {
             // Someone might have invalidated the session between fetching the
@@ -1525,6 +1571,12 @@ public abstract class VaadinService implements Serializable {
 
         VaadinSession vaadinSession = null;
         try {
+            // Shared resources are not bound to any session
+            if (sharedResourceRequestHandler.handleRequest(this, request,
+                    response)) {
+                return;
+            }
+
             // Find out the service session this request is related to
             vaadinSession = findVaadinSession(request);
             if (vaadinSession == null) {
@@ -2016,6 +2068,12 @@ public abstract class VaadinService implements Serializable {
             return;
         }
 
+        MetricsCollector metrics = MetricsCollector.get(this);
+        if (metrics.isEnabled()) {
+            metrics.recordValue(MetricsCollector.ACCESS_QUEUE_SIZE,
+                    session.getPendingAccessQueue().size());
+        }
+
         FutureAccess pendingAccess;
 
         // Dump all current instances, not only the ones dumped by setCurrent
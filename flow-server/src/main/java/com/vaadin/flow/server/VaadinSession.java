@@ -48,6 +48,7 @@ import com.vaadin.flow.component.page.Page;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.metrics.MetricsCollector;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 import com.vaadin.flow.shared.communication.PushMode;
 
@@ -117,6 +118,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     private transient Lock lock;
 
+    private transient MetricsCollector.Span lockHoldSpan;
+
     /*
      * Pending tasks can't be serialized and the queue should be empty when the
      * session is serialized as long as it doesn't happen while some other
@@ -677,7 +680,17 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #hasLock()
      */
     public void lock() {
-        getLockInstance().lock();
+        MetricsCollector metrics = MetricsCollector.get(getService());
+        MetricsCollector.Span lockWait = metrics
+                .startSpan(MetricsCollector.SESSION_LOCK_WAIT);
+        Lock sessionLock = getLockInstance();
+        sessionLock.lock();
+        lockWait.end();
+        if (sessionLock instanceof ReentrantLock
+                && ((ReentrantLock) sessionLock).getHoldCount() == 1) {
+            lockHoldSpan = metrics
+                    .startSpan(MetricsCollector.SESSION_LOCK_HOLD);
+        }
     }
 
     /**
@@ -709,7 +722,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                         Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
                                 .setCurrent(ui);
                         try {
-                            ui.push();
+                            ui.getInternals().getPushThrottler().push();
                         } finally {
                             CurrentInstance.restoreInstances(oldCurrent);
                         }
@@ -717,6 +730,10 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 }
             }
         } finally {
+            if (ultimateRelease && lockHoldSpan != null) {
+                lockHoldSpan.end();
+                lockHoldSpan = null;
+            }
             getLockInstance().unlock();
         }
 
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.File;
+import java.io.Serializable;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.shared.ui.LoadMode;
+
+/**
+ * Application wide cache for the contents of {@link LoadMode#INLINE}
+ * dependencies.
+ * <p>
+ * The contents are cached by the resolved URL of the dependency, so that a
+ * dependency used by many views and sessions is read only once. The cache
+ * holds at most {@link #getMaximumSize()} characters; the least recently used
+ * contents are evicted when the limit is exceeded.
+ * <p>
+ * In development mode, contents read from a file are read again once the
+ * modification time of the file changes.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class InlineDependencyCache implements Serializable {
+
+    /**
+     * The default maximum total size of the cached contents, in characters.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 4L * 1024 * 1024;
+
+    // Access ordered to be able to evict the least recently used contents
+    private final LinkedHashMap<String, CachedContents> contents = new LinkedHashMap<>(
+            16, 0.75f, true);
+
+    private long size;
+
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private static class CachedContents implements Serializable {
+        private final String contents;
+        private final File file;
+        private final long lastModified;
+
+        private CachedContents(String contents, File file) {
+            this.contents = contents;
+            this.file = file;
+            lastModified = file == null ? 0 : file.lastModified();
+        }
+
+        private boolean isUpToDate() {
+            return file == null || file.lastModified() == lastModified;
+        }
+    }
+
+    /**
+     * Creates a new cache. Use {@link #getInstance(VaadinContext)} to get the
+     * cache of an application.
+     */
+    protected InlineDependencyCache() {
+        // Only for getInstance and subclasses
+    }
+
+    /**
+     * Gets the cache of the given context, creating it if it does not exist
+     * yet.
+     *
+     * @param context
+     *            the context of the application, not <code>null</code>
+     * @return the cache instance
+     */
+    public static InlineDependencyCache getInstance(VaadinContext context) {
+        return context.getAttribute(InlineDependencyCache.class,
+                InlineDependencyCache::new);
+    }
+
+    /**
+     * Gets the contents of the inline dependency with the given URL, loading
+     * them with the given loader if they are not cached or are out of date.
+     *
+     * @param service
+     *            the service resolving the dependency, not <code>null</code>
+     * @param url
+     *            the URL of the dependency, not <code>null</code>
+     * @param loader
+     *            the loader reading the contents of the dependency, not
+     *            <code>null</code>
+     * @return the contents of the dependency
+     */
+    public String getContents(VaadinService service, String url,
+            Supplier<String> loader) {
+        String key = service.resolveResource(url);
+        boolean productionMode = service.getDeploymentConfiguration()
+                .isProductionMode();
+        CachedContents cached;
+        synchronized (this) {
+            cached = contents.get(key);
+        }
+        if (cached != null && (productionMode || cached.isUpToDate())) {
+            return cached.contents;
+        }
+
+        File file = productionMode ? null : getFile(service.getResource(url));
+        CachedContents loaded = new CachedContents(loader.get(), file);
+        synchronized (this) {
+            CachedContents previous = contents.put(key, loaded);
+            if (previous != null) {
+                size -= previous.contents.length();
+            }
+            size += loaded.contents.length();
+            evict();
+        }
+        return loaded.contents;
+    }
+
+    /**
+     * Removes all contents from the cache.
+     */
+    public synchronized void clear() {
+        contents.clear();
+        size = 0;
+    }
+
+    /**
+     * Sets the maximum total size of the cached contents. The least recently
+     * used contents are evicted when the size is exceeded.
+     *
+     * @param maximumSize
+     *            the maximum size in characters, not negative
+     */
+    public synchronized void setMaximumSize(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException(
+                    "Maximum size cannot be negative");
+        }
+        this.maximumSize = maximumSize;
+        evict();
+    }
+
+    /**
+     * Gets the maximum total size of the cached contents.
+     *
+     * @return the maximum size in characters
+     */
+    public synchronized long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the total size of the currently cached contents.
+     *
+     * @return the size in characters
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, CachedContents>> iterator = contents
+                .entrySet().iterator();
+        while (size > maximumSize && iterator.hasNext()) {
+            size -= iterator.next().getValue().contents.length();
+            iterator.remove();
+        }
+    }
+
+    private static File getFile(URL resource) {
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(resource.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -34,6 +34,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.VaadinRequest;
@@ -45,6 +47,7 @@ import com.vaadin.flow.server.communication.rpc.MapSyncRpcHandler;
 import com.vaadin.flow.server.communication.rpc.NavigationRpcHandler;
 import com.vaadin.flow.server.communication.rpc.PublishedServerEventHandlerRpcHandler;
 import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
+import com.vaadin.flow.server.metrics.MetricsCollector;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 
@@ -243,6 +246,18 @@ public class ServerRpcHandler implements Serializable {
      */
     public void handleRpc(UI ui, Reader reader, VaadinRequest request)
             throws IOException, InvalidUIDLSecurityKeyException {
+        MetricsCollector.Span span = MetricsCollector
+                .get(ui.getSession().getService())
+                .startSpan(MetricsCollector.RPC_HANDLING);
+        try {
+            doHandleRpc(ui, reader, request);
+        } finally {
+            span.end();
+        }
+    }
+
+    private void doHandleRpc(UI ui, Reader reader, VaadinRequest request)
+            throws IOException, InvalidUIDLSecurityKeyException {
         ui.getSession().setLastRequestTimestamp(System.currentTimeMillis());
 
         String changeMessage = getMessage(reader);
@@ -260,17 +275,26 @@ public class ServerRpcHandler implements Serializable {
             throw new InvalidUIDLSecurityKeyException();
         }
 
-        String hashMessage = changeMessage;
-        if (hashMessage.length() > 64 * 1024) {
-            hashMessage = changeMessage.substring(0, 64 * 1024);
-        }
-        byte[] messageHash = MessageDigestUtil.sha256(hashMessage);
+        byte[] messageHash = getMessageHash(changeMessage);
 
         int expectedId = ui.getInternals().getLastProcessedClientToServerId()
                 + 1;
         int requestId = rpcRequest.getClientToServerId();
 
-        if (requestId != -1 && requestId != expectedId) {
+        if (requestId > expectedId
+                && requestId - expectedId < getMaxPipelinedMessages(ui)) {
+            /*
+             * The client has several messages in flight and this one overtook
+             * an earlier one. Keep it until the earlier messages have arrived
+             * so that the invocations are always handled in the order they
+             * were sent.
+             */
+            getLogger().debug(
+                    "Postponing message {} from the client until message {} has been received",
+                    requestId, expectedId);
+            ui.getInternals().addPendingClientToServerMessage(requestId,
+                    changeMessage);
+        } else if (requestId != -1 && requestId != expectedId) {
             // Invalid message id, skip RPC processing but force a full
             // re-synchronization of the client as it might have not received
             // the previous response (e.g. due to a bad connection)
@@ -318,6 +342,9 @@ public class ServerRpcHandler implements Serializable {
             ui.getInternals().setLastProcessedClientToServerId(expectedId,
                     messageHash);
             handleInvocations(ui, rpcRequest.getRpcInvocationsData());
+            if (requestId != -1) {
+                handlePendingMessages(ui, request);
+            }
         }
 
         if (rpcRequest.isResynchronize()) {
@@ -342,6 +369,40 @@ public class ServerRpcHandler implements Serializable {
         }
     }
 
+    /**
+     * Handles the postponed messages which directly follow the last processed
+     * message, in the order they were sent by the client.
+     */
+    private void handlePendingMessages(UI ui, VaadinRequest request) {
+        UIInternals internals = ui.getInternals();
+        int nextId = internals.getLastProcessedClientToServerId() + 1;
+        String message = internals.removePendingClientToServerMessage(nextId);
+        while (message != null) {
+            RpcRequest pendingRequest = new RpcRequest(message, request);
+            internals.setLastProcessedClientToServerId(nextId,
+                    getMessageHash(message));
+            handleInvocations(ui, pendingRequest.getRpcInvocationsData());
+
+            nextId++;
+            message = internals.removePendingClientToServerMessage(nextId);
+        }
+    }
+
+    private static byte[] getMessageHash(String message) {
+        String hashMessage = message;
+        if (hashMessage.length() > 64 * 1024) {
+            hashMessage = message.substring(0, 64 * 1024);
+        }
+        return MessageDigestUtil.sha256(hashMessage);
+    }
+
+    private static int getMaxPipelinedMessages(UI ui) {
+        DeploymentConfiguration configuration = ui.getSession().getService()
+                .getDeploymentConfiguration();
+        return configuration == null ? 1
+                : configuration.getMaxPipelinedMessages();
+    }
+
     /**
      * Gets {@link RpcInvocationHandler}s map where the key is the type of the
      * handler gotten via {@link RpcInvocationHandler#getRpcType()}.
@@ -403,6 +464,8 @@ public class ServerRpcHandler implements Serializable {
 
     private void handleInvocationData(UI ui, JsonObject invocationJson) {
         String type = invocationJson.getString(JsonConstants.RPC_TYPE);
+        MetricsCollector.get(ui.getSession().getService())
+                .increment(MetricsCollector.RPC_INVOCATIONS, type, 1);
         RpcInvocationHandler handler = getInvocationHandlers().get(type);
         if (handler == null) {
             throw new IllegalArgumentException(
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Optional;
+
+import com.vaadin.flow.server.SharedStreamResourceRegistry;
+import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinService;
+
+/**
+ * Handles requests for the resources registered in
+ * {@link SharedStreamResourceRegistry}.
+ * <p>
+ * It's not a {@link com.vaadin.flow.server.RequestHandler} since shared
+ * resources are not bound to any session: the requests are handled by
+ * {@link VaadinService} before a session is looked up or created.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class SharedStreamResourceRequestHandler implements Serializable {
+
+    private final StreamResourceHandler resourceHandler = new StreamResourceHandler();
+
+    /**
+     * Handles the request if it is a request for a shared resource.
+     *
+     * @param service
+     *            the service handling the request
+     * @param request
+     *            the request to handle
+     * @param response
+     *            the response object to which a response can be written
+     * @return <code>true</code> if the request was a shared resource request
+     *         and has been handled, <code>false</code> otherwise
+     * @throws IOException
+     *             if an IO error occurred
+     */
+    public boolean handleRequest(VaadinService service, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        String pathInfo = request.getPathInfo();
+        if (pathInfo == null || !pathInfo
+                .startsWith("/" + StreamRequestHandler.SHARED_RES_PREFIX)) {
+            return false;
+        }
+        // remove leading '/'
+        pathInfo = pathInfo.substring(1);
+
+        Optional<StreamResource> resource = SharedStreamResourceRegistry
+                .getInstance(service.getContext())
+                .getResource(pathInfo.substring(
+                        StreamRequestHandler.SHARED_RES_PREFIX.length()));
+        if (resource.isPresent()) {
+            resourceHandler.handleSharedRequest(request, response,
+                    resource.get());
+        } else {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND,
+                    "Resource is not found for path=" + pathInfo);
+        }
+        return true;
+    }
+}
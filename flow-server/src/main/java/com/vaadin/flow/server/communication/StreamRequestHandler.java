@@ -31,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.server.AbstractStreamResource;
 import com.vaadin.flow.server.RequestHandler;
+import com.vaadin.flow.server.SharedStreamResourceRegistry;
 import com.vaadin.flow.server.StreamReceiver;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.VaadinRequest;
@@ -55,6 +56,13 @@ public class StreamRequestHandler implements RequestHandler {
      */
     public static final String DYN_RES_PREFIX = "VAADIN/dynamic/resource/";
 
+    /**
+     * Shared resource URI prefix.
+     *
+     * @see SharedStreamResourceRegistry
+     */
+    public static final String SHARED_RES_PREFIX = "VAADIN/dynamic/shared/";
+
     private final StreamResourceHandler resourceHandler = new StreamResourceHandler();
     private final StreamReceiverHandler receiverHandler;
 
@@ -159,6 +167,26 @@ public class StreamRequestHandler implements RequestHandler {
         return builder.toString();
     }
 
+    /**
+     * Generates URI string for a shared resource using the hash of its content
+     * and its {@code name}.
+     *
+     * @param name
+     *            file name to use in path
+     * @param hash
+     *            the hash of the resource content
+     * @return generated URI string
+     */
+    public static String generateSharedURI(String name, String hash) {
+        try {
+            return SHARED_RES_PREFIX + hash + PATH_SEPARATOR
+                    + encodeString(name);
+        } catch (UnsupportedEncodingException e) {
+            // UTF8 has to be supported
+            throw new RuntimeException(e);
+        }
+    }
+
     private static String encodeString(String name)
             throws UnsupportedEncodingException {
         return URLEncoder.encode(name, StandardCharsets.UTF_8.name())
@@ -21,12 +21,22 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import com.vaadin.flow.internal.Pair;
+import com.vaadin.flow.server.RangeStreamResourceWriter;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.flow.server.VaadinSession;
 
 /**
@@ -40,6 +50,15 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class StreamResourceHandler implements Serializable {
 
+    private static final Pattern BYTE_RANGE_PATTERN = Pattern
+            .compile("\\s*(\\d*)-(\\d*)\\s*");
+
+    /**
+     * Maximum number of ranges accepted in a single Range header. Remaining
+     * ranges will be ignored.
+     */
+    private static final int MAX_RANGE_COUNT = 16;
+
     /**
      * Handle sending for a stream resource request.
      *
@@ -60,12 +79,14 @@ public class StreamResourceHandler implements Serializable {
             throws IOException {
 
         StreamResourceWriter writer;
+        String contentType;
         session.lock();
         try {
             ServletContext context = ((VaadinServletRequest) request)
                     .getServletContext();
-            response.setContentType(streamResource.getContentTypeResolver()
-                    .apply(streamResource, context));
+            contentType = streamResource.getContentTypeResolver()
+                    .apply(streamResource, context);
+            response.setContentType(contentType);
             response.setCacheTime(streamResource.getCacheTime());
             writer = streamResource.getWriter();
             if (writer == null) {
@@ -79,14 +100,62 @@ public class StreamResourceHandler implements Serializable {
         } finally {
             session.unlock();
         }
+        writeContent(session, request, response, writer, contentType);
+    }
+
+    /**
+     * Handle sending for a request to a shared immutable stream resource.
+     * <p>
+     * The resource is not bound to any session, so the writer of the resource
+     * gets <code>null</code> as the session. The response allows the browser
+     * to cache the resource forever.
+     *
+     * @param request
+     *            request to handle
+     * @param response
+     *            response object to which a response can be written.
+     * @param streamResource
+     *            the shared stream resource
+     *
+     * @throws IOException
+     *             if an IO error occurred
+     */
+    public void handleSharedRequest(VaadinRequest request,
+            VaadinResponse response, StreamResource streamResource)
+            throws IOException {
+        ServletContext context = ((VaadinServletRequest) request)
+                .getServletContext();
+        String contentType = streamResource.getContentTypeResolver()
+                .apply(streamResource, context);
+        response.setContentType(contentType);
+        response.setHeader("Cache-Control",
+                "public, max-age=31536000, immutable");
+        writeContent(null, request, response, streamResource.getWriter(),
+                contentType);
+    }
+
+    private void writeContent(VaadinSession session, VaadinRequest request,
+            VaadinResponse response, StreamResourceWriter writer,
+            String contentType) throws IOException {
         // don't use here "try resource" syntax sugar because in case there is
         // an exception the {@code outputStream} will be closed before "catch"
         // block which sets the status code and this code will not have any
         // effect being called after closing the stream (see #8740).
         OutputStream outputStream = null;
         try {
-            outputStream = response.getOutputStream();
-            writer.accept(outputStream, session);
+            if (writer instanceof RangeStreamResourceWriter) {
+                RangeStreamResourceWriter rangeWriter = (RangeStreamResourceWriter) writer;
+                List<Pair<Long, Long>> ranges = prepareRangeResponse(request,
+                        response, rangeWriter);
+                if (!ranges.isEmpty()) {
+                    outputStream = response.getOutputStream();
+                    writeRanges(session, response, rangeWriter, ranges,
+                            contentType, outputStream);
+                }
+            } else {
+                outputStream = response.getOutputStream();
+                writer.accept(outputStream, session);
+            }
         } catch (Exception exception) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             throw exception;
@@ -97,4 +166,169 @@ public class StreamResourceHandler implements Serializable {
         }
     }
 
+    /**
+     * Sets the status and headers for a response from a writer supporting
+     * ranges, taking the conditional and range headers of the request into
+     * account.
+     *
+     * @return the ranges to write, or an empty list if the response has no
+     *         body
+     */
+    private List<Pair<Long, Long>> prepareRangeResponse(VaadinRequest request,
+            VaadinResponse response, RangeStreamResourceWriter writer)
+            throws IOException {
+        long length = writer.getLength();
+        String eTag = writer.getETag();
+
+        response.setHeader("Accept-Ranges", "bytes");
+        if (eTag != null) {
+            response.setHeader("ETag", eTag);
+            if (matchesETag(request.getHeader("If-None-Match"), eTag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return Collections.emptyList();
+            }
+        }
+
+        String range = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+            List<Pair<Long, Long>> ranges = parseRanges(range, length);
+            if (ranges == null) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                setContentLength(response, 0);
+                response.setStatus(
+                        HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return Collections.emptyList();
+            }
+            if (!ranges.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                if (ranges.size() == 1) {
+                    Pair<Long, Long> single = ranges.get(0);
+                    setContentLength(response,
+                            single.getSecond() - single.getFirst() + 1);
+                    response.setHeader("Content-Range",
+                            createContentRangeHeader(single, length));
+                }
+                return ranges;
+            }
+        }
+
+        setContentLength(response, length);
+        return Collections.singletonList(new Pair<>(0L, length - 1));
+    }
+
+    private void writeRanges(VaadinSession session, VaadinResponse response,
+            RangeStreamResourceWriter writer, List<Pair<Long, Long>> ranges,
+            String contentType, OutputStream outputStream) throws IOException {
+        if (ranges.size() == 1) {
+            Pair<Long, Long> range = ranges.get(0);
+            writer.accept(outputStream, session, range.getFirst(),
+                    range.getSecond() - range.getFirst() + 1);
+            return;
+        }
+
+        long length = writer.getLength();
+        String boundary = UUID.randomUUID().toString();
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        for (Pair<Long, Long> range : ranges) {
+            StringBuilder partHeader = new StringBuilder();
+            partHeader.append("\r\n--").append(boundary).append("\r\n");
+            if (contentType != null) {
+                partHeader.append("Content-Type: ").append(contentType)
+                        .append("\r\n");
+            }
+            partHeader.append("Content-Range: ")
+                    .append(createContentRangeHeader(range, length))
+                    .append("\r\n\r\n");
+            outputStream.write(partHeader.toString()
+                    .getBytes(StandardCharsets.US_ASCII));
+            writer.accept(outputStream, session, range.getFirst(),
+                    range.getSecond() - range.getFirst() + 1);
+        }
+        outputStream.write(("\r\n--" + boundary + "--\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parses the value of a Range header.
+     *
+     * @return the satisfiable ranges as inclusive start and end indices, an
+     *         empty list if the header should be ignored or <code>null</code>
+     *         if none of the ranges can be satisfied
+     */
+    private static List<Pair<Long, Long>> parseRanges(String header,
+            long length) {
+        if (!header.startsWith("bytes=")) {
+            return Collections.emptyList();
+        }
+        List<Pair<Long, Long>> ranges = new ArrayList<>();
+        for (String spec : header.substring("bytes=".length()).split(",")) {
+            Matcher matcher = BYTE_RANGE_PATTERN.matcher(spec);
+            if (!matcher.matches()) {
+                // Invalid syntax, the header must be ignored
+                return Collections.emptyList();
+            }
+            String startGroup = matcher.group(1);
+            String endGroup = matcher.group(2);
+            long start;
+            long end;
+            try {
+                if (startGroup.isEmpty()) {
+                    if (endGroup.isEmpty()) {
+                        return Collections.emptyList();
+                    }
+                    // Suffix range, i.e. the last bytes
+                    start = Math.max(0, length - Long.parseLong(endGroup));
+                    end = length - 1;
+                } else {
+                    start = Long.parseLong(startGroup);
+                    end = length - 1;
+                    if (!endGroup.isEmpty()) {
+                        long requestedEnd = Long.parseLong(endGroup);
+                        if (requestedEnd < start) {
+                            return Collections.emptyList();
+                        }
+                        end = Math.min(requestedEnd, end);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return Collections.emptyList();
+            }
+            if (start <= end && ranges.size() < MAX_RANGE_COUNT) {
+                ranges.add(new Pair<>(start, end));
+            }
+        }
+        return ranges.isEmpty() ? null : ranges;
+    }
+
+    private static boolean matchesETag(String header, String eTag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || eTag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String createContentRangeHeader(Pair<Long, Long> range,
+            long length) {
+        return "bytes " + range.getFirst() + "-" + range.getSecond() + "/"
+                + length;
+    }
+
+    private static void setContentLength(VaadinResponse response,
+            long length) {
+        if (response instanceof VaadinServletResponse) {
+            ((VaadinServletResponse) response).setContentLengthLong(length);
+        } else if (length <= Integer.MAX_VALUE) {
+            response.setContentLength((int) length);
+        }
+    }
 }
@@ -39,6 +39,7 @@ import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
 import com.vaadin.flow.server.communication.ServerRpcHandler.ResynchronizationRequiredException;
+import com.vaadin.flow.server.metrics.MetricsCollector;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
@@ -132,7 +133,10 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             stringWriter.close();
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        int responseBytes = writeJsonResponse(response,
+                stringWriter.toString());
+        MetricsCollector.get(session.getService())
+                .recordValue(MetricsCollector.RESPONSE_BYTES, responseBytes);
         return true;
     }
 
@@ -150,7 +154,15 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         }
 
         // some dirt to prevent cross site scripting
-        String responseString = "for(;;);[" + uidl.toJson() + "]";
+        MetricsCollector.Span span = MetricsCollector
+                .get(VaadinService.getCurrent())
+                .startSpan(MetricsCollector.UIDL_SERIALIZATION);
+        String responseString;
+        try {
+            responseString = "for(;;);[" + uidl.toJson() + "]";
+        } finally {
+            span.end();
+        }
         writer.write(responseString);
     }
 
@@ -206,6 +218,11 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
      */
     public static void commitJsonResponse(VaadinResponse response, String json)
             throws IOException {
+        writeJsonResponse(response, json);
+    }
+
+    private static int writeJsonResponse(VaadinResponse response, String json)
+            throws IOException {
         response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
 
         // Ensure that the browser does not cache UIDL responses.
@@ -219,6 +236,7 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         outputStream.write(b);
         // NOTE GateIn requires the buffers to be flushed to work
         outputStream.flush();
+        return b.length;
     }
 
     private void removeOffendingMprHashFragment(JsonObject uidl) {
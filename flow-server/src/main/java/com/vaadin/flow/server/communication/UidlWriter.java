@@ -57,6 +57,7 @@ import com.vaadin.flow.server.SystemMessages;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.WebBrowser;
+import com.vaadin.flow.server.metrics.MetricsCollector;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 import com.vaadin.flow.shared.ui.Dependency;
@@ -246,8 +247,13 @@ public class UidlWriter implements Serializable {
             ResolveContext context) {
         JsonObject dependencyJson = dependency.toJson();
         if (dependency.getLoadMode() == LoadMode.INLINE) {
+            String url = dependency.getUrl();
             dependencyJson.put(Dependency.KEY_CONTENTS,
-                    getDependencyContents(dependency.getUrl(), context));
+                    InlineDependencyCache
+                            .getInstance(context.getService().getContext())
+                            .getContents(context.getService(), url,
+                                    () -> getDependencyContents(url,
+                                            context)));
             dependencyJson.remove(Dependency.KEY_URL);
         }
         return dependencyJson;
@@ -387,21 +393,37 @@ public class UidlWriter implements Serializable {
     private void encodeChanges(UI ui, JsonArray stateChanges) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
+        MetricsCollector metrics = MetricsCollector
+                .get(ui.getSession().getService());
+
+        MetricsCollector.Span span = metrics
+                .startSpan(MetricsCollector.BEFORE_CLIENT_RESPONSE);
+        try {
+            stateTree.runExecutionsBeforeClientResponse();
+        } finally {
+            span.end();
+        }
 
-        stateTree.runExecutionsBeforeClientResponse();
-
+        span = metrics.startSpan(MetricsCollector.COLLECT_CHANGES);
+        int changesBefore = stateChanges.length();
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
-        stateTree.collectChanges(change -> {
-            if (attachesComponent(change)) {
-                ComponentMapping.getComponent(change.getNode())
-                        .ifPresent(component -> addComponentHierarchy(ui,
-                                componentsWithDependencies, component));
-            }
-
-            // Encode the actual change
-            stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
-        });
+        try {
+            stateTree.collectChanges(change -> {
+                if (attachesComponent(change)) {
+                    ComponentMapping.getComponent(change.getNode())
+                            .ifPresent(component -> addComponentHierarchy(ui,
+                                    componentsWithDependencies, component));
+                }
+
+                // Encode the actual change
+                stateChanges.set(stateChanges.length(),
+                        change.toJson(uiInternals.getConstantPool()));
+            });
+        } finally {
+            span.end();
+        }
+        metrics.increment(MetricsCollector.NODE_CHANGES, null,
+                stateChanges.length() - changesBefore);
 
         componentsWithDependencies
                 .forEach(uiInternals::addComponentDependencies);
@@ -242,6 +242,13 @@ public class FrontendUtils {
      */
     public static final String FALLBACK_IMPORTS_NAME = "generated-flow-imports-fallback.js";
 
+    /**
+     * Name of the file in the build directory where the byte code scanner
+     * keeps the result of visiting classes, so that unchanged classes are not
+     * visited again on the next run.
+     */
+    public static final String SCAN_CACHE_FILE = "flow-frontend-scan-cache.json";
+
     /**
      * A parameter for overriding the
      * {@link FrontendUtils#DEFAULT_GENERATED_DIR} folder.
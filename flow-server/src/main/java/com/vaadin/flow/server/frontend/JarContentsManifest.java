@@ -0,0 +1,459 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * Keeps track of the files extracted from jars into a target folder, so that
+ * subsequent runs only copy entries that have changed and remove entries that
+ * are no longer provided by any jar.
+ * <p>
+ * The manifest is stored next to the target folder and records a fingerprint
+ * and the copied entries, with their CRC and size, for every jar. For each
+ * file in the target folder, it records the jar the file was taken from and
+ * the size and last modification time of the file after the copy, including
+ * files overwritten by local resources afterwards. Files that are untouched
+ * keep their timestamps, which avoids triggering file watchers and rebuilds.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class JarContentsManifest {
+
+    private static final String JAR_PATH_SEPARATOR = "/";
+    private static final String JARS = "jars";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String ENTRIES = "entries";
+    private static final String FILES = "files";
+    private static final String JAR = "jar";
+    private static final String ENTRY = "entry";
+    private static final String CRC = "crc";
+    private static final String SIZE = "size";
+    private static final String LENGTH = "length";
+    private static final String MODIFIED = "modified";
+
+    private final File targetDirectory;
+    private final File manifestFile;
+
+    // Jars in scan order, a later jar overrides the entries of earlier ones
+    private final Map<String, JarRecord> jars = new LinkedHashMap<>();
+    private final Map<String, FileRecord> files = new HashMap<>();
+
+    private int copied;
+    private int removed;
+
+    private static class JarRecord {
+        private final String fingerprint;
+        private final Map<String, EntryRecord> entries = new HashMap<>();
+
+        private JarRecord(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static class EntryRecord {
+        private final String entry;
+        private final long crc;
+        private final long size;
+
+        private EntryRecord(String entry, long crc, long size) {
+            this.entry = entry;
+            this.crc = crc;
+            this.size = size;
+        }
+    }
+
+    private static class FileRecord {
+        private final String jar;
+        private final EntryRecord entry;
+        private long length;
+        private long modified;
+
+        private FileRecord(String jar, EntryRecord entry) {
+            this.jar = jar;
+            this.entry = entry;
+        }
+
+        private boolean isSameEntry(FileRecord other) {
+            return other != null && jar.equals(other.jar)
+                    && entry.entry.equals(other.entry.entry)
+                    && entry.crc == other.entry.crc
+                    && entry.size == other.entry.size;
+        }
+
+        private boolean isUpToDate(File target) {
+            return target.isFile() && target.length() == length
+                    && target.lastModified() == modified;
+        }
+
+        private void recordState(File target) {
+            length = target.length();
+            modified = target.lastModified();
+        }
+    }
+
+    private JarContentsManifest(File targetDirectory) {
+        this.targetDirectory = Objects.requireNonNull(targetDirectory);
+        manifestFile = getManifestFile(targetDirectory);
+    }
+
+    /**
+     * Reads the manifest stored for the given target directory. An empty
+     * manifest is returned if none has been stored yet or if it cannot be
+     * read.
+     *
+     * @param targetDirectory
+     *            the directory jar contents are copied to, not {@code null}
+     * @return the manifest of the previous copy, not {@code null}
+     */
+    static JarContentsManifest read(File targetDirectory) {
+        JarContentsManifest manifest = new JarContentsManifest(
+                targetDirectory);
+        if (!manifest.manifestFile.isFile()) {
+            return manifest;
+        }
+        try {
+            JsonObject json = JsonUtil.parse(FileUtils.readFileToString(
+                    manifest.manifestFile, StandardCharsets.UTF_8));
+            JsonObject jars = json.getObject(JARS);
+            for (String jar : jars.keys()) {
+                JsonObject jarJson = jars.getObject(jar);
+                JarRecord jarRecord = new JarRecord(
+                        jarJson.getString(FINGERPRINT));
+                JsonObject entries = jarJson.getObject(ENTRIES);
+                for (String path : entries.keys()) {
+                    JsonObject entry = entries.getObject(path);
+                    jarRecord.entries.put(path,
+                            new EntryRecord(entry.getString(ENTRY),
+                                    (long) entry.getNumber(CRC),
+                                    (long) entry.getNumber(SIZE)));
+                }
+                manifest.jars.put(jar, jarRecord);
+            }
+            JsonObject fileRecords = json.getObject(FILES);
+            for (String path : fileRecords.keys()) {
+                JsonObject record = fileRecords.getObject(path);
+                String jar = record.getString(JAR);
+                FileRecord fileRecord = new FileRecord(jar,
+                        Objects.requireNonNull(
+                                manifest.jars.get(jar).entries.get(path)));
+                fileRecord.length = (long) record.getNumber(LENGTH);
+                fileRecord.modified = (long) record.getNumber(MODIFIED);
+                manifest.files.put(path, fileRecord);
+            }
+        } catch (IOException | RuntimeException e) {
+            log().debug("Ignoring unreadable manifest '{}'",
+                    manifest.manifestFile, e);
+            manifest.jars.clear();
+            manifest.files.clear();
+        }
+        return manifest;
+    }
+
+    /**
+     * Creates an empty manifest for the given target directory.
+     *
+     * @param targetDirectory
+     *            the directory jar contents are copied to, not {@code null}
+     * @return an empty manifest, not {@code null}
+     */
+    static JarContentsManifest create(File targetDirectory) {
+        return new JarContentsManifest(targetDirectory);
+    }
+
+    /**
+     * Gets the file the manifest for the given target directory is stored in.
+     *
+     * @param targetDirectory
+     *            the directory jar contents are copied to
+     * @return the manifest file
+     */
+    static File getManifestFile(File targetDirectory) {
+        return new File(targetDirectory.getAbsoluteFile().getParentFile(),
+                "." + targetDirectory.getName() + "-jar-contents.json");
+    }
+
+    /**
+     * Records the entries of a jar that should be copied to the target
+     * directory. If the jar has not changed since the previous copy, the
+     * entries are taken from the previous manifest without opening the jar.
+     * <p>
+     * Once all jars have been scanned, {@link #resolveFiles()} picks the jar
+     * each file is taken from.
+     *
+     * @param jar
+     *            the jar file to scan, not {@code null}
+     * @param previous
+     *            the manifest of the previous copy, not {@code null}
+     * @param basePaths
+     *            map of paths in the jar to the wildcard inclusions to apply
+     *            for files under the path; the base path is trimmed from the
+     *            target file name
+     */
+    void scan(File jar, JarContentsManifest previous,
+            Map<String, String[]> basePaths) {
+        String jarPath = jar.getAbsolutePath();
+        String fingerprint = jar.length() + ":" + jar.lastModified();
+        JarRecord previousRecord = previous.jars.get(jarPath);
+        if (previousRecord != null
+                && fingerprint.equals(previousRecord.fingerprint)) {
+            // All entries provided by the jar are kept, also the ones
+            // overridden by other jars, which may be removed later
+            jars.put(jarPath, previousRecord);
+            return;
+        }
+
+        JarRecord jarRecord = new JarRecord(fingerprint);
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            jarFile.stream().filter(entry -> !entry.isDirectory())
+                    .forEach(entry -> basePaths.forEach(
+                            (basePath, inclusions) -> scanEntry(jarRecord,
+                                    entry, normalizeJarBasePath(basePath),
+                                    inclusions)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    String.format("Failed to read jar file '%s'", jar), e);
+        }
+        jars.put(jarPath, jarRecord);
+    }
+
+    /**
+     * Picks the jar each file is copied from, once all jars have been
+     * scanned. An entry of a jar scanned later overrides the entries of the
+     * jars scanned before it.
+     */
+    void resolveFiles() {
+        files.clear();
+        jars.forEach((jar, jarRecord) -> jarRecord.entries.forEach(
+                (path, entry) -> files.put(path, new FileRecord(jar, entry))));
+    }
+
+    /**
+     * Deletes the files recorded in this manifest that are not part of the
+     * given current manifest.
+     *
+     * @param current
+     *            the manifest of the ongoing copy, not {@code null}
+     */
+    void removeStaleFiles(JarContentsManifest current) {
+        files.keySet().stream().filter(path -> !current.files.containsKey(path))
+                .map(path -> new File(targetDirectory, path))
+                .filter(File::isFile).forEach(file -> {
+                    if (file.delete()) {
+                        current.removed++;
+                    } else {
+                        log().warn("Failed to remove stale file '{}'", file);
+                    }
+                });
+    }
+
+    /**
+     * Copies the recorded entries of the given jar that have changed since
+     * the previous copy or are missing from the target directory.
+     *
+     * @param jar
+     *            the jar file to copy entries from, not {@code null}
+     * @param previous
+     *            the manifest of the previous copy, not {@code null}
+     */
+    void copyChanged(File jar, JarContentsManifest previous) {
+        String jarPath = jar.getAbsolutePath();
+        JarFile jarFile = null;
+        try {
+            for (Map.Entry<String, FileRecord> file : files.entrySet()) {
+                FileRecord record = file.getValue();
+                if (!record.jar.equals(jarPath)) {
+                    continue;
+                }
+                File target = new File(targetDirectory, file.getKey());
+                FileRecord old = previous.files.get(file.getKey());
+                if (record.isSameEntry(old) && old.isUpToDate(target)) {
+                    record.length = old.length;
+                    record.modified = old.modified;
+                    continue;
+                }
+                if (jarFile == null) {
+                    jarFile = new JarFile(jar, false);
+                }
+                copyEntry(jarFile, jarFile.getEntry(record.entry.entry),
+                        target);
+                record.recordState(target);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format(
+                    "Failed to extract files from jarFile '%s' to directory '%s'",
+                    jar, targetDirectory), e);
+        } finally {
+            IOUtils.closeQuietly(jarFile);
+        }
+    }
+
+    /**
+     * Records the current state of the given files, which have been
+     * overwritten after they were copied from jars, so that the next copy
+     * does not restore and overwrite them again.
+     *
+     * @param paths
+     *            the overwritten paths, relative to the target directory
+     * @return {@code true} if any of the paths is recorded in this manifest
+     */
+    boolean recordOverwritten(Collection<String> paths) {
+        boolean recorded = false;
+        for (String path : paths) {
+            FileRecord record = files.get(path);
+            if (record != null) {
+                record.recordState(new File(targetDirectory, path));
+                recorded = true;
+            }
+        }
+        return recorded;
+    }
+
+    /**
+     * Stores the manifest next to the target directory.
+     */
+    void write() {
+        JsonObject jarsJson = Json.createObject();
+        jars.forEach((jar, jarRecord) -> {
+            JsonObject entries = Json.createObject();
+            jarRecord.entries.forEach((path, entry) -> {
+                JsonObject json = Json.createObject();
+                json.put(ENTRY, entry.entry);
+                json.put(CRC, entry.crc);
+                json.put(SIZE, entry.size);
+                entries.put(path, json);
+            });
+            JsonObject jarJson = Json.createObject();
+            jarJson.put(FINGERPRINT, jarRecord.fingerprint);
+            jarJson.put(ENTRIES, entries);
+            jarsJson.put(jar, jarJson);
+        });
+        JsonObject fileRecords = Json.createObject();
+        files.forEach((path, record) -> {
+            JsonObject json = Json.createObject();
+            json.put(JAR, record.jar);
+            json.put(LENGTH, record.length);
+            json.put(MODIFIED, record.modified);
+            fileRecords.put(path, json);
+        });
+        JsonObject json = Json.createObject();
+        json.put(JARS, jarsJson);
+        json.put(FILES, fileRecords);
+        try {
+            FileUtils.write(manifestFile, JsonUtil.stringify(json),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log().warn("Failed to write manifest '{}'", manifestFile, e);
+        }
+    }
+
+    /**
+     * Gets the number of files written to the target directory.
+     *
+     * @return the number of copied files
+     */
+    int getCopiedCount() {
+        return copied;
+    }
+
+    /**
+     * Gets the number of stale files removed from the target directory.
+     *
+     * @return the number of removed files
+     */
+    int getRemovedCount() {
+        return removed;
+    }
+
+    /**
+     * Gets the paths, relative to the target directory, of the recorded files.
+     *
+     * @return the recorded paths
+     */
+    Set<String> getFiles() {
+        return new HashSet<>(files.keySet());
+    }
+
+    private static void scanEntry(JarRecord jarRecord, ZipEntry entry,
+            String basePath, String[] inclusions) {
+        String name = entry.getName();
+        if (!name.toLowerCase(Locale.ENGLISH)
+                .startsWith(basePath.toLowerCase(Locale.ENGLISH))
+                || Stream.of(inclusions).noneMatch(
+                inclusion -> FilenameUtils.wildcardMatch(name, inclusion))) {
+            return;
+        }
+        jarRecord.entries.put(name.substring(basePath.length()),
+                new EntryRecord(name, entry.getCrc(), entry.getSize()));
+    }
+
+    private void copyEntry(JarFile jarFile, ZipEntry entry, File target)
+            throws IOException {
+        if (target.isFile()) {
+            try (InputStream jarContent = jarFile.getInputStream(entry);
+                    InputStream existing = new FileInputStream(target)) {
+                if (IOUtils.contentEquals(jarContent, existing)) {
+                    return;
+                }
+            }
+        }
+        try (InputStream jarContent = jarFile.getInputStream(entry)) {
+            FileUtils.copyInputStreamToFile(jarContent, target);
+        }
+        copied++;
+    }
+
+    private static String normalizeJarBasePath(String rawPath) {
+        if (rawPath == null || rawPath.isEmpty()) {
+            return "";
+        }
+        return rawPath.endsWith(JAR_PATH_SEPARATOR) ? rawPath
+                : rawPath + JAR_PATH_SEPARATOR;
+    }
+
+    private static Logger log() {
+        return LoggerFactory.getLogger(JarContentsManifest.class);
+    }
+}
@@ -23,9 +23,19 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.IntStream;
 
 import com.vaadin.flow.di.Lookup;
@@ -108,6 +118,10 @@ public class NodeTasks implements FallibleCommand {
 
         private boolean requireHomeNodeExec;
 
+        private boolean enablePwaIconsGeneration;
+
+        private boolean enableParallelExecution;
+
         /**
          * Directory for npm and folders and files.
          */
@@ -488,6 +502,40 @@ public class NodeTasks implements FallibleCommand {
             return this;
         }
 
+        /**
+         * Sets whether to generate the PWA icons of the application into the
+         * resource output directory set with
+         * {@link #withWebpack(File, File, String, String)}. Default is
+         * <code>false</code>.
+         *
+         * @param enablePwaIconsGeneration
+         *            <code>true</code> to generate the PWA icons, otherwise
+         *            <code>false</code>
+         * @return the builder, for chaining
+         */
+        public Builder enablePwaIconsGeneration(
+                boolean enablePwaIconsGeneration) {
+            this.enablePwaIconsGeneration = enablePwaIconsGeneration;
+            return this;
+        }
+
+        /**
+         * Sets whether to execute independent tasks concurrently. Tasks are
+         * still started in the predefined order, and a task is only started
+         * once the tasks producing its inputs have completed. Default is
+         * <code>false</code>.
+         *
+         * @param enableParallelExecution
+         *            <code>true</code> to execute independent tasks
+         *            concurrently, otherwise <code>false</code>
+         * @return the builder, for chaining
+         */
+        public Builder enableParallelExecution(
+                boolean enableParallelExecution) {
+            this.enableParallelExecution = enableParallelExecution;
+            return this;
+        }
+
         /**
          * Requires node executable to be installed in vaadin home folder.
          *
@@ -550,6 +598,8 @@ public class NodeTasks implements FallibleCommand {
 
     private final List<FallibleCommand> commands = new ArrayList<>();
 
+    private final boolean parallelExecution;
+
     // @formatter:off
     // This list keeps the tasks in order so that they are executed
     // without depending on when they are added.
@@ -561,6 +611,7 @@ public class NodeTasks implements FallibleCommand {
             TaskGenerateTsConfig.class,
             TaskGenerateTsDefinitions.class,
             TaskGenerateServiceWorker.class,
+            TaskGeneratePwaIcons.class,
             TaskGenerateOpenApi.class,
             TaskGenerateConnect.class,
             TaskGenerateBootstrap.class,
@@ -573,9 +624,17 @@ public class NodeTasks implements FallibleCommand {
             TaskUpdateImports.class,
             TaskUpdateThemeImport.class
         ));
+
+    // This map lists, for each task, the tasks that produce files it reads
+    // or that write the same files. A task is only started in parallel
+    // execution after all of its listed tasks that are present have
+    // completed.
+    private static final Map<Class<? extends FallibleCommand>, List<Class<? extends FallibleCommand>>> commandDependencies =
+        createCommandDependencies();
     // @formatter:on
 
     private NodeTasks(Builder builder) {
+        parallelExecution = builder.enableParallelExecution;
 
         ClassFinder classFinder = new ClassFinder.CachedClassFinder(
                 builder.classFinder);
@@ -589,7 +648,8 @@ public class NodeTasks implements FallibleCommand {
             frontendDependencies = new FrontendDependenciesScanner.FrontendDependenciesScannerFactory()
                     .createScanner(!builder.useByteCodeScanner, classFinder,
                             builder.generateEmbeddableWebComponents,
-                            builder.useDeprecatedV14Bootstrapping);
+                            builder.useDeprecatedV14Bootstrapping,
+                            getScanCacheFile(builder));
 
             if (builder.generateEmbeddableWebComponents) {
                 FrontendWebComponentGenerator generator = new FrontendWebComponentGenerator(
@@ -630,6 +690,8 @@ public class NodeTasks implements FallibleCommand {
         if (frontendDependencies != null) {
             addGenerateServiceWorkerTask(builder,
                     frontendDependencies.getPwaConfiguration());
+            addGeneratePwaIconsTask(builder, classFinder,
+                    frontendDependencies.getPwaConfiguration());
             addGenerateTsConfigTask(builder);
         }
 
@@ -686,6 +748,14 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
+    private File getScanCacheFile(Builder builder) {
+        if (builder.buildDirectory == null) {
+            return null;
+        }
+        return new File(new File(builder.npmFolder, builder.buildDirectory),
+                FrontendUtils.SCAN_CACHE_FILE);
+    }
+
     private void addBootstrapTasks(Builder builder) {
         File outputDirectory = new File(builder.npmFolder,
                 builder.buildDirectory);
@@ -720,6 +790,16 @@ public class NodeTasks implements FallibleCommand {
         }
     }
 
+    private void addGeneratePwaIconsTask(Builder builder,
+            ClassFinder classFinder, PwaConfiguration pwaConfiguration) {
+        if (builder.enablePwaIconsGeneration && pwaConfiguration.isEnabled()
+                && builder.resourceOutputDirectory != null) {
+            commands.add(new TaskGeneratePwaIcons(pwaConfiguration,
+                    classFinder, builder.npmFolder,
+                    builder.resourceOutputDirectory));
+        }
+    }
+
     private void addConnectServicesTasks(Builder builder) {
         Lookup lookup = builder.lookup;
         EndpointGeneratorTaskFactory endpointGeneratorTaskFactory = lookup
@@ -762,11 +842,179 @@ public class NodeTasks implements FallibleCommand {
     public void execute() throws ExecutionFailedException {
         sortCommands(commands);
 
+        if (parallelExecution && commands.size() > 1) {
+            executeInParallel();
+            return;
+        }
         for (FallibleCommand command : commands) {
             command.execute();
         }
     }
 
+    /**
+     * Executes the sorted commands on a bounded pool, starting each command
+     * in order once its dependencies have completed. If commands fail, no
+     * more commands are started and the failure of the first failed command
+     * in the predefined order is thrown once the running commands have
+     * completed.
+     */
+    private void executeInParallel() throws ExecutionFailedException {
+        List<Set<Integer>> pending = getDependencies(commands);
+        // Tasks mostly wait for I/O and external processes, so use at least
+        // two threads
+        int poolSize = Math.min(commands.size(),
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "NodeTasks");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(
+                executor);
+        boolean[] started = new boolean[commands.size()];
+        Map<Integer, Throwable> failures = new TreeMap<>();
+        int running = 0;
+        try {
+            while (true) {
+                if (failures.isEmpty()) {
+                    running += startReadyCommands(completionService, pending,
+                            started);
+                }
+                if (running == 0) {
+                    break;
+                }
+                Future<Integer> done = completionService.take();
+                running--;
+                try {
+                    int completed = done.get();
+                    pending.forEach(dependencies -> dependencies
+                            .remove(completed));
+                } catch (ExecutionException e) {
+                    failures.put(((IndexedFailure) e.getCause()).index,
+                            e.getCause().getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionFailedException(
+                    "Interrupted while executing node tasks", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!failures.isEmpty()) {
+            rethrow(failures.values().iterator().next());
+        }
+    }
+
+    private int startReadyCommands(CompletionService<Integer> service,
+            List<Set<Integer>> pending, boolean[] started) {
+        int count = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            if (!started[i] && pending.get(i).isEmpty()) {
+                started[i] = true;
+                count++;
+                FallibleCommand command = commands.get(i);
+                int index = i;
+                service.submit(() -> {
+                    try {
+                        command.execute();
+                    } catch (ExecutionFailedException | RuntimeException
+                            | Error e) {
+                        throw new IndexedFailure(index, e);
+                    }
+                    return index;
+                });
+            }
+        }
+        return count;
+    }
+
+    private static void rethrow(Throwable failure)
+            throws ExecutionFailedException {
+        if (failure instanceof ExecutionFailedException) {
+            throw (ExecutionFailedException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else {
+            throw (Error) failure;
+        }
+    }
+
+    /**
+     * Gets the indices of the commands each sorted command depends on. Each
+     * command also depends on the preceding commands of the same type.
+     *
+     * @param sortedCommands
+     *            the sorted commands
+     * @return modifiable sets of the indices of the commands each command
+     *         depends on
+     */
+    private List<Set<Integer>> getDependencies(
+            List<FallibleCommand> sortedCommands) {
+        List<Set<Integer>> dependencies = new ArrayList<>();
+        for (int i = 0; i < sortedCommands.size(); i++) {
+            Class<? extends FallibleCommand> type = commandOrder
+                    .get(getIndex(sortedCommands.get(i)));
+            List<Class<? extends FallibleCommand>> requiredTypes = commandDependencies
+                    .getOrDefault(type, Collections.emptyList());
+            Set<Integer> required = new HashSet<>();
+            for (int j = 0; j < i; j++) {
+                Class<? extends FallibleCommand> otherType = commandOrder
+                        .get(getIndex(sortedCommands.get(j)));
+                if (otherType == type || requiredTypes.contains(otherType)) {
+                    required.add(j);
+                }
+            }
+            dependencies.add(required);
+        }
+        return dependencies;
+    }
+
+    private static Map<Class<? extends FallibleCommand>, List<Class<? extends FallibleCommand>>> createCommandDependencies() {
+        Map<Class<? extends FallibleCommand>, List<Class<? extends FallibleCommand>>> dependencies = new HashMap<>();
+        // tsconfig.json is checked before generating types.d.ts
+        dependencies.put(TaskGenerateTsDefinitions.class,
+                Arrays.asList(TaskGenerateTsConfig.class));
+        // The OpenAPI spec is the input of the TypeScript generator
+        dependencies.put(TaskGenerateConnect.class,
+                Arrays.asList(TaskGenerateOpenApi.class));
+        // The TypeScript generator cleans the frontend generated folder
+        dependencies.put(TaskGenerateBootstrap.class,
+                Arrays.asList(TaskGenerateConnect.class));
+        // Themes packaged in jars are looked up in the flow resources, which
+        // the package cleanup removes and the following tasks recreate
+        dependencies.put(TaskUpdateThemeImport.class,
+                Arrays.asList(TaskGenerateConnect.class,
+                        TaskUpdatePackages.class, TaskRunNpmInstall.class,
+                        TaskCopyFrontendFiles.class,
+                        TaskCopyLocalFrontendFiles.class));
+        // Both write package.json
+        dependencies.put(TaskUpdatePackages.class,
+                Arrays.asList(TaskGeneratePackageJson.class));
+        // npm install reads package.json and the installed webpack plugins
+        dependencies.put(TaskRunNpmInstall.class,
+                Arrays.asList(TaskGeneratePackageJson.class,
+                        TaskUpdatePackages.class,
+                        TaskInstallWebpackPlugins.class));
+        // The package cleanup and npm install may remove the flow resources
+        dependencies.put(TaskCopyFrontendFiles.class,
+                Arrays.asList(TaskGeneratePackageJson.class,
+                        TaskUpdatePackages.class, TaskRunNpmInstall.class));
+        // Local resources override the resources copied from jars
+        dependencies.put(TaskCopyLocalFrontendFiles.class,
+                Arrays.asList(TaskGeneratePackageJson.class,
+                        TaskUpdatePackages.class, TaskRunNpmInstall.class,
+                        TaskCopyFrontendFiles.class));
+        // Imports are resolved against the installed and copied resources
+        dependencies.put(TaskUpdateImports.class,
+                Arrays.asList(TaskUpdatePackages.class,
+                        TaskRunNpmInstall.class, TaskCopyFrontendFiles.class,
+                        TaskCopyLocalFrontendFiles.class));
+        return Collections.unmodifiableMap(dependencies);
+    }
+
     /**
      * Sort command list so we always execute commands in a pre-defined order.
      *
@@ -798,4 +1046,17 @@ public class NodeTasks implements FallibleCommand {
                 .findFirst()
                 .orElseThrow(() -> new UnknownTaskException(command));
     }
+
+    /**
+     * Wraps the failure of a command executed in parallel together with the
+     * index of the command.
+     */
+    private static class IndexedFailure extends RuntimeException {
+        private final int index;
+
+        private IndexedFailure(int index, Throwable cause) {
+            super(cause);
+            this.index = index;
+        }
+    }
 }
@@ -522,9 +522,16 @@ public abstract class NodeUpdater implements FallibleCommand {
 
     String writePackageFile(JsonObject json, File packageFile)
             throws IOException {
+        String content = stringify(json, 2) + "\n";
+        if (packageFile.exists() && content.equals(
+                FileUtils.readFileToString(packageFile, UTF_8.name()))) {
+            // Keep the timestamp so that file watchers are not triggered
+            log().debug("file {} is up to date.",
+                    packageFile.getAbsolutePath());
+            return content;
+        }
         log().debug("writing file {}.", packageFile.getAbsolutePath());
         FileUtils.forceMkdirParent(packageFile);
-        String content = stringify(json, 2) + "\n";
         FileUtils.writeStringToFile(packageFile, content, UTF_8.name());
         return content;
     }
@@ -16,6 +16,10 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,6 +34,9 @@ import static com.vaadin.flow.server.Constants.RESOURCES_JAR_DEFAULT;
 /**
  * Copies JavaScript and CSS files from JAR files into a given folder.
  * <p>
+ * Only entries that changed since the previous run are extracted and entries
+ * no longer provided by any JAR are removed, see {@link JarContentsManifest}.
+ * <p>
  * For internal use only. May be renamed or removed in a future release.
  *
  * @since 2.0
@@ -64,31 +71,51 @@ public class TaskCopyFrontendFiles implements FallibleCommand {
         long start = System.nanoTime();
         log().info("Copying frontend resources from jar files ...");
         TaskCopyLocalFrontendFiles.createTargetFolder(targetDirectory);
-        JarContentsManager jarContentsManager = new JarContentsManager();
+        Map<String, String[]> jarBasePaths = new LinkedHashMap<>();
+        jarBasePaths.put(RESOURCES_FRONTEND_DEFAULT, WILDCARD_INCLUSIONS);
+        jarBasePaths.put(COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT,
+                WILDCARD_INCLUSIONS);
+        jarBasePaths.put(RESOURCES_JAR_DEFAULT,
+                new String[] { WILDCARD_INCLUSION_APP_THEME_JAR });
+
+        JarContentsManifest previous = JarContentsManifest
+                .read(targetDirectory);
+        JarContentsManifest current = JarContentsManifest
+                .create(targetDirectory);
+        for (File location : resourceLocations) {
+            if (!location.isDirectory()) {
+                current.scan(location, previous, jarBasePaths);
+            }
+        }
+        current.resolveFiles();
+        previous.removeStaleFiles(current);
+
+        for (File location : resourceLocations) {
+            if (!location.isDirectory()) {
+                current.copyChanged(location, previous);
+            }
+        }
+        // Resources in directories override the ones in jars
+        List<String> overwritten = new ArrayList<>();
         for (File location : resourceLocations) {
             if (location.isDirectory()) {
-                TaskCopyLocalFrontendFiles.copyLocalResources(
-                        new File(location, RESOURCES_FRONTEND_DEFAULT),
-                        targetDirectory);
-                TaskCopyLocalFrontendFiles.copyLocalResources(
-                        new File(location,
+                overwritten.addAll(TaskCopyLocalFrontendFiles
+                        .copyLocalResources(
+                                new File(location, RESOURCES_FRONTEND_DEFAULT),
+                                targetDirectory));
+                overwritten.addAll(TaskCopyLocalFrontendFiles
+                        .copyLocalResources(new File(location,
                                 COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT),
-                        targetDirectory);
-            } else {
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, RESOURCES_FRONTEND_DEFAULT, targetDirectory,
-                        WILDCARD_INCLUSIONS);
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT,
-                        targetDirectory, WILDCARD_INCLUSIONS);
-                jarContentsManager.copyIncludedFilesFromJarTrimmingBasePath(
-                        location, RESOURCES_JAR_DEFAULT, targetDirectory,
-                        WILDCARD_INCLUSION_APP_THEME_JAR);
+                                targetDirectory));
             }
         }
+        current.recordOverwritten(overwritten);
+        current.write();
         long ms = (System.nanoTime() - start) / 1000000;
-        log().info("Visited {} resources. Took {} ms.",
-                resourceLocations.size(), ms);
+        log().info(
+                "Visited {} resources, copied {} and removed {} files. Took {} ms.",
+                resourceLocations.size(), current.getCopiedCount(),
+                current.getRemovedCount(), ms);
     }
 
     private Logger log() {
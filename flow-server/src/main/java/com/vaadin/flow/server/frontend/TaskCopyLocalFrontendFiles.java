@@ -18,6 +18,8 @@ package com.vaadin.flow.server.frontend;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.apache.commons.io.FileUtils;
@@ -59,19 +61,53 @@ public class TaskCopyLocalFrontendFiles implements FallibleCommand {
         if (localResourcesFolder != null
                 && localResourcesFolder.isDirectory()) {
             log().info("Copying project local frontend resources.");
-            copyLocalResources(localResourcesFolder, flowResourcesFolder);
+            List<String> copied = copyLocalResources(localResourcesFolder,
+                    flowResourcesFolder);
+            // Keeps the copied files from being restored from jars and then
+            // copied again on every run
+            JarContentsManifest manifest = JarContentsManifest
+                    .read(flowResourcesFolder);
+            if (manifest.recordOverwritten(copied)) {
+                manifest.write();
+            }
             log().info("Copying frontend directory completed.");
         } else {
             log().debug("Found no local frontend resources for the project");
         }
     }
 
-    static void copyLocalResources(File source, File target) {
+    /**
+     * Copies the contents of the source folder to the target folder. Files
+     * that have the same size and modification time in the target folder are
+     * not rewritten, so that they keep their timestamps and do not trigger
+     * file watchers.
+     *
+     * @param source
+     *            the folder to copy from
+     * @param target
+     *            the folder to copy to
+     * @return the paths of the copied files, relative to the target folder
+     *         and separated with {@code /}
+     */
+    static List<String> copyLocalResources(File source, File target) {
+        List<String> copied = new ArrayList<>();
         if (!source.isDirectory() || !target.isDirectory()) {
-            return;
+            return copied;
         }
         try {
-            FileUtils.copyDirectory(source, target);
+            FileUtils.copyDirectory(source, target, file -> {
+                if (file.isDirectory()) {
+                    return true;
+                }
+                String path = source.toPath().relativize(file.toPath())
+                        .toString();
+                if (!isModified(file, new File(target, path))) {
+                    return false;
+                }
+                copied.add(path.replace(File.separatorChar, '/'));
+                return true;
+            }, true);
+            return copied;
         } catch (IOException e) {
             throw new UncheckedIOException(String.format(
                     "Failed to copy project frontend resources from '%s' to '%s'",
@@ -79,6 +115,11 @@ public class TaskCopyLocalFrontendFiles implements FallibleCommand {
         }
     }
 
+    private static boolean isModified(File source, File target) {
+        return !target.isFile() || target.length() != source.length()
+                || target.lastModified() != source.lastModified();
+    }
+
     static void createTargetFolder(File target) {
         try {
             FileUtils.forceMkdir(Objects.requireNonNull(target));
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.BootstrapHandler;
+import com.vaadin.flow.server.ExecutionFailedException;
+import com.vaadin.flow.server.PwaConfiguration;
+import com.vaadin.flow.server.PwaIconGenerator;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+/**
+ * Generates the PWA icons of the application from its logo into the servlet
+ * resources, so that they don't need to be generated when the application
+ * starts.
+ * <p>
+ * The icons are written to a directory named by the hash of the logo, which
+ * is skipped if it already exists. Directories of previous logos are removed.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class TaskGeneratePwaIcons implements FallibleCommand {
+
+    private static final String[] LOGO_LOCATIONS = { "src/main/webapp",
+            "src/main/resources/META-INF/resources",
+            "src/main/resources/static", "src/main/resources/public" };
+
+    private final PwaConfiguration pwaConfiguration;
+    private final ClassFinder classFinder;
+    private final File npmFolder;
+    private final File resourceOutputDirectory;
+
+    /**
+     * Create a task to generate the PWA icons.
+     *
+     * @param pwaConfiguration
+     *            the PWA configuration of the application
+     * @param classFinder
+     *            the class finder used to look up the logo from the
+     *            dependencies
+     * @param npmFolder
+     *            the project root folder, used to look up the logo from the
+     *            project sources
+     * @param resourceOutputDirectory
+     *            the directory to output the servlet resources to
+     */
+    TaskGeneratePwaIcons(PwaConfiguration pwaConfiguration,
+            ClassFinder classFinder, File npmFolder,
+            File resourceOutputDirectory) {
+        this.pwaConfiguration = pwaConfiguration;
+        this.classFinder = classFinder;
+        this.npmFolder = npmFolder;
+        this.resourceOutputDirectory = resourceOutputDirectory;
+    }
+
+    @Override
+    public void execute() throws ExecutionFailedException {
+        File iconsFolder = new File(resourceOutputDirectory,
+                PwaIconGenerator.ICONS_FOLDER);
+        try {
+            byte[] logo = readLogo();
+            String logoHash = PwaIconGenerator.getLogoHash(logo);
+            File logoFolder = new File(iconsFolder, logoHash);
+
+            removeOtherLogos(iconsFolder, logoHash);
+            if (new File(logoFolder, PwaIconGenerator.INDEX_FILE).exists()) {
+                log().debug("PWA icons are up to date in {}", logoFolder);
+                return;
+            }
+            log().info("Generating PWA icons to {}", logoFolder);
+            PwaIconGenerator.writeIcons(logo, pwaConfiguration.getIconPath(),
+                    logoFolder);
+        } catch (IOException e) {
+            throw new ExecutionFailedException(
+                    "Failed to generate the PWA icons", e);
+        }
+    }
+
+    private byte[] readLogo() throws IOException {
+        String iconPath = pwaConfiguration.getIconPath();
+        for (String location : LOGO_LOCATIONS) {
+            File logo = new File(new File(npmFolder, location), iconPath);
+            if (logo.isFile()) {
+                return FileUtils.readFileToByteArray(logo);
+            }
+        }
+        URL logo = classFinder.getResource("META-INF/resources/" + iconPath);
+        if (logo == null) {
+            // The application falls back to the default logo as well
+            logo = BootstrapHandler.class.getResource("default-logo.png");
+        }
+        try (InputStream stream = logo.openStream()) {
+            return IOUtils.toByteArray(stream);
+        }
+    }
+
+    private static void removeOtherLogos(File iconsFolder, String logoHash)
+            throws IOException {
+        File[] folders = iconsFolder.listFiles(File::isDirectory);
+        if (folders == null) {
+            return;
+        }
+        for (File folder : folders) {
+            if (!folder.getName().equals(logoHash)) {
+                FileUtils.deleteDirectory(folder);
+            }
+        }
+    }
+
+    private static Logger log() {
+        return LoggerFactory.getLogger(TaskGeneratePwaIcons.class);
+    }
+}
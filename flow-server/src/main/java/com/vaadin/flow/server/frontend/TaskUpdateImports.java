@@ -410,8 +410,11 @@ public class TaskUpdateImports extends NodeUpdater {
                 JsonObject buildInfo = json.isEmpty() ? Json.createObject()
                         : JsonUtil.parse(json);
                 populateFallbackData(buildInfo, updater);
-                FileUtils.write(tokenFile, JsonUtil.stringify(buildInfo, 2),
-                        StandardCharsets.UTF_8);
+                String content = JsonUtil.stringify(buildInfo, 2);
+                if (!content.equals(json)) {
+                    FileUtils.write(tokenFile, content,
+                            StandardCharsets.UTF_8);
+                }
             }
 
         } catch (IOException e) {
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A container with the information found when visiting the byte code of a
+ * single class. Unlike {@link EndPointData} it does not depend on the entry
+ * point the class is reached from, so it can be computed once per class file
+ * and reused (see {@link ClassDataCache}).
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @since
+ */
+final class ClassData implements Serializable {
+    final String name;
+    final Set<String> children = new HashSet<>();
+    final List<String> modules = new ArrayList<>();
+    final List<String> scripts = new ArrayList<>();
+    final List<CssData> css = new ArrayList<>();
+    boolean route;
+    String routeValue;
+    String routeLayout;
+    boolean theme;
+    String themeName;
+    String themeClass;
+    String themeVariant;
+    boolean notheme;
+
+    ClassData(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Updates the given end-point with the information of this class, the
+     * same way as if the class was visited in the context of the end-point.
+     *
+     * @param endPoint
+     *            the end-point to update
+     * @param themeScope
+     *            whether we are visiting from Theme
+     */
+    void applyTo(EndPointData endPoint, boolean themeScope) {
+        boolean isEndPoint = name.equals(endPoint.name);
+        if (route && isEndPoint) {
+            if (routeLayout != null) {
+                endPoint.layout = routeLayout;
+            }
+            if (routeValue != null) {
+                endPoint.route = routeValue;
+            }
+        }
+        if (themeScope) {
+            endPoint.themeModules.addAll(modules);
+        } else {
+            endPoint.modules.addAll(modules);
+        }
+        endPoint.scripts.addAll(scripts);
+        if (notheme && isEndPoint) {
+            endPoint.theme.notheme = true;
+        }
+        if (theme) {
+            if (isEndPoint) {
+                applyTheme(endPoint, true);
+            } else if (name.equals(endPoint.layout)) {
+                applyTheme(endPoint, false);
+            }
+        }
+        endPoint.css.addAll(css);
+    }
+
+    private void applyTheme(EndPointData endPoint, boolean override) {
+        ThemeData data = endPoint.theme;
+        if (themeName != null) {
+            data.themeName = themeName;
+        }
+        if (themeClass != null && (override || data.themeClass == null)) {
+            data.themeClass = themeClass;
+        }
+        if (themeVariant != null && (override || data.variant.isEmpty())) {
+            data.variant = themeVariant;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+import net.bytebuddy.jar.asm.ClassReader;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * Keeps the result of visiting class files with {@link FrontendClassVisitor}
+ * keyed by a fingerprint of the class file contents, so that unchanged classes
+ * do not need to be parsed again.
+ * <p>
+ * The fingerprint of a class packaged in a jar is the CRC and size stored in
+ * the jar directory, which does not require inflating the entry. For other
+ * class files it is a CRC of the file contents.
+ * <p>
+ * When created with a file, the cache is loaded from it and {@link #store()}
+ * writes back the entries used in the current scan. A missing, unreadable or
+ * outdated cache file just results in an empty cache.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @since
+ */
+final class ClassDataCache implements Serializable {
+
+    // Increase when the information collected by the visitor changes
+    static final int VERSION = 1;
+
+    private static final String KEY_VERSION = "version";
+    private static final String KEY_CLASSES = "classes";
+    private static final String KEY_FINGERPRINT = "fingerprint";
+    private static final String KEY_CHILDREN = "children";
+    private static final String KEY_MODULES = "modules";
+    private static final String KEY_SCRIPTS = "scripts";
+    private static final String KEY_CSS = "css";
+    private static final String KEY_ROUTE = "route";
+    private static final String KEY_ROUTE_VALUE = "routeValue";
+    private static final String KEY_ROUTE_LAYOUT = "routeLayout";
+    private static final String KEY_THEME = "theme";
+    private static final String KEY_THEME_NAME = "themeName";
+    private static final String KEY_THEME_CLASS = "themeClass";
+    private static final String KEY_THEME_VARIANT = "themeVariant";
+    private static final String KEY_NOTHEME = "notheme";
+
+    private static final class Entry implements Serializable {
+        private final String fingerprint;
+        private final ClassData data;
+
+        private Entry(String fingerprint, ClassData data) {
+            this.fingerprint = fingerprint;
+            this.data = data;
+        }
+    }
+
+    private final File cacheFile;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Set<String> used = new HashSet<>();
+    private int loaded;
+    private int visits;
+    private int hits;
+    private boolean modified;
+
+    /**
+     * Creates a cache which is kept in memory only.
+     */
+    ClassDataCache() {
+        this(null);
+    }
+
+    /**
+     * Creates a cache backed by the given file.
+     *
+     * @param cacheFile
+     *            the file to load the cache from and store it to, may be
+     *            {@code null} for an in-memory cache
+     */
+    ClassDataCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+        if (cacheFile != null && cacheFile.isFile()) {
+            load();
+        }
+    }
+
+    /**
+     * Gets the information of the class with the given name, visiting the
+     * class file only if it's not in the cache or has changed.
+     *
+     * @param className
+     *            the class name
+     * @param url
+     *            the class file URL
+     * @return the class information
+     * @throws IOException
+     *             if the class file cannot be read
+     */
+    ClassData getClassData(String className, URL url) throws IOException {
+        used.add(className);
+        visits++;
+        byte[] bytes = null;
+        String fingerprint = getJarEntryFingerprint(url);
+        if (fingerprint == null) {
+            bytes = readBytes(url);
+            fingerprint = getFingerprint(bytes);
+        }
+        Entry entry = entries.get(className);
+        if (entry != null && entry.fingerprint.equals(fingerprint)) {
+            hits++;
+            return entry.data;
+        }
+        if (bytes == null) {
+            bytes = readBytes(url);
+        }
+        FrontendClassVisitor visitor = new FrontendClassVisitor(className);
+        ClassReader cr = new ClassReader(bytes);
+        cr.accept(visitor, ClassReader.EXPAND_FRAMES);
+
+        entries.put(className, new Entry(fingerprint, visitor.getClassData()));
+        modified = true;
+        return visitor.getClassData();
+    }
+
+    /**
+     * Writes the entries used since the cache was created to the cache file,
+     * if there is one and its contents would change.
+     */
+    void store() {
+        log().debug("Scan cache: {} class visits, {} served from cache.",
+                visits, hits);
+        entries.keySet().retainAll(used);
+        if (cacheFile == null || !modified && entries.size() == loaded) {
+            return;
+        }
+        JsonObject classes = Json.createObject();
+        entries.forEach((name, entry) -> classes.put(name, toJson(entry)));
+        JsonObject json = Json.createObject();
+        json.put(KEY_VERSION, VERSION);
+        json.put(KEY_CLASSES, classes);
+        try {
+            FileUtils.forceMkdirParent(cacheFile);
+            FileUtils.writeStringToFile(cacheFile, JsonUtil.stringify(json),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log().warn("Unable to write the frontend scan cache '{}'",
+                    cacheFile, e);
+        }
+    }
+
+    private void load() {
+        try {
+            JsonObject json = JsonUtil.parse(FileUtils
+                    .readFileToString(cacheFile, StandardCharsets.UTF_8));
+            if (!json.hasKey(KEY_VERSION)
+                    || (int) json.getNumber(KEY_VERSION) != VERSION) {
+                return;
+            }
+            JsonObject classes = json.getObject(KEY_CLASSES);
+            for (String name : classes.keys()) {
+                entries.put(name, fromJson(name, classes.getObject(name)));
+            }
+            loaded = entries.size();
+        } catch (IOException | RuntimeException e) { // NOSONAR
+            entries.clear();
+            log().debug("Ignoring unreadable frontend scan cache '{}'",
+                    cacheFile, e);
+        }
+    }
+
+    private static JsonObject toJson(Entry entry) {
+        ClassData data = entry.data;
+        JsonObject json = Json.createObject();
+        json.put(KEY_FINGERPRINT, entry.fingerprint);
+        json.put(KEY_CHILDREN, toJson(data.children));
+        json.put(KEY_MODULES, toJson(data.modules));
+        json.put(KEY_SCRIPTS, toJson(data.scripts));
+        JsonArray css = Json.createArray();
+        for (CssData cssData : data.css) {
+            JsonObject item = Json.createObject();
+            putIfNotNull(item, FrontendClassVisitor.VALUE, cssData.value);
+            putIfNotNull(item, FrontendClassVisitor.ID, cssData.id);
+            putIfNotNull(item, FrontendClassVisitor.INCLUDE, cssData.include);
+            putIfNotNull(item, FrontendClassVisitor.THEME_FOR,
+                    cssData.themefor);
+            css.set(css.length(), item);
+        }
+        json.put(KEY_CSS, css);
+        json.put(KEY_ROUTE, data.route);
+        putIfNotNull(json, KEY_ROUTE_VALUE, data.routeValue);
+        putIfNotNull(json, KEY_ROUTE_LAYOUT, data.routeLayout);
+        json.put(KEY_THEME, data.theme);
+        putIfNotNull(json, KEY_THEME_NAME, data.themeName);
+        putIfNotNull(json, KEY_THEME_CLASS, data.themeClass);
+        putIfNotNull(json, KEY_THEME_VARIANT, data.themeVariant);
+        json.put(KEY_NOTHEME, data.notheme);
+        return json;
+    }
+
+    private static Entry fromJson(String name, JsonObject json) {
+        ClassData data = new ClassData(name);
+        fromJson(json.getArray(KEY_CHILDREN), data.children);
+        fromJson(json.getArray(KEY_MODULES), data.modules);
+        fromJson(json.getArray(KEY_SCRIPTS), data.scripts);
+        JsonArray css = json.getArray(KEY_CSS);
+        for (int i = 0; i < css.length(); i++) {
+            JsonObject item = css.getObject(i);
+            CssData cssData = new CssData();
+            cssData.value = getOrNull(item, FrontendClassVisitor.VALUE);
+            cssData.id = getOrNull(item, FrontendClassVisitor.ID);
+            cssData.include = getOrNull(item, FrontendClassVisitor.INCLUDE);
+            cssData.themefor = getOrNull(item,
+                    FrontendClassVisitor.THEME_FOR);
+            data.css.add(cssData);
+        }
+        data.route = json.getBoolean(KEY_ROUTE);
+        data.routeValue = getOrNull(json, KEY_ROUTE_VALUE);
+        data.routeLayout = getOrNull(json, KEY_ROUTE_LAYOUT);
+        data.theme = json.getBoolean(KEY_THEME);
+        data.themeName = getOrNull(json, KEY_THEME_NAME);
+        data.themeClass = getOrNull(json, KEY_THEME_CLASS);
+        data.themeVariant = getOrNull(json, KEY_THEME_VARIANT);
+        data.notheme = json.getBoolean(KEY_NOTHEME);
+        return new Entry(json.getString(KEY_FINGERPRINT), data);
+    }
+
+    private static JsonArray toJson(Collection<String> values) {
+        JsonArray array = Json.createArray();
+        for (String value : values) {
+            array.set(array.length(), value);
+        }
+        return array;
+    }
+
+    private static void fromJson(JsonArray array, Collection<String> values) {
+        for (int i = 0; i < array.length(); i++) {
+            values.add(array.getString(i));
+        }
+    }
+
+    private static void putIfNotNull(JsonObject json, String key,
+            String value) {
+        if (value != null) {
+            json.put(key, value);
+        }
+    }
+
+    private static String getOrNull(JsonObject json, String key) {
+        return json.hasKey(key) && json.get(key).getType() == JsonType.STRING
+                ? json.getString(key)
+                : null;
+    }
+
+    private static String getJarEntryFingerprint(URL url) throws IOException {
+        if (!"jar".equals(url.getProtocol())) {
+            return null;
+        }
+        URLConnection connection = url.openConnection();
+        if (!(connection instanceof JarURLConnection)) {
+            return null;
+        }
+        JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+        if (entry == null || entry.getCrc() < 0) {
+            return null;
+        }
+        return Long.toHexString(entry.getCrc()) + ":" + entry.getSize();
+    }
+
+    private static byte[] readBytes(URL url) throws IOException {
+        try (InputStream is = url.openStream()) {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
+    private static String getFingerprint(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return Long.toHexString(crc.getValue()) + ":" + bytes.length;
+    }
+
+    private static Logger log() {
+        return LoggerFactory.getLogger(ClassDataCache.class);
+    }
+}
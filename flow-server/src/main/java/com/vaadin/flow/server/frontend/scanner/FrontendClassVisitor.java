@@ -16,7 +16,6 @@
 package com.vaadin.flow.server.frontend.scanner;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Set;
 
 import net.bytebuddy.jar.asm.AnnotationVisitor;
@@ -54,16 +53,14 @@ final class FrontendClassVisitor extends ClassVisitor {
     static final String INCLUDE = "include";
     static final String THEME_FOR = "themeFor";
 
-    private final String className;
-    private final EndPointData endPoint;
+    private final ClassData classData;
     private final MethodVisitor methodVisitor;
     private final AnnotationVisitor annotationVisitor;
     private final AnnotationVisitor routeVisitor;
-    private final AnnotationVisitor themeRouteVisitor;
-    private final AnnotationVisitor themeLayoutVisitor;
+    private final AnnotationVisitor themeVisitor;
     private final AnnotationVisitor jsModuleVisitor;
     private final AnnotationVisitor jScriptVisitor;
-    private final Set<String> children = new HashSet<>();
+    private final Set<String> children;
 
     private final class FrontendMethodVisitor extends MethodVisitor {
         public FrontendMethodVisitor() {
@@ -136,58 +133,40 @@ final class FrontendClassVisitor extends ClassVisitor {
      *
      * @param className
      *            the class to visit
-     * @param endPoint
-     *            the end-point object that will be updated during the visit
-     * @param themeScope
-     *            whether we are visiting from Theme
      */
-    FrontendClassVisitor(String className, EndPointData endPoint,
-            boolean themeScope) { // NOSONAR
+    FrontendClassVisitor(String className) { // NOSONAR
         super(Opcodes.ASM8);
-        this.className = className;
-        this.endPoint = endPoint;
+        this.classData = new ClassData(className);
+        this.children = classData.children;
 
         // Visitor for each method in the class.
         methodVisitor = new FrontendMethodVisitor();
-        // Visitor for each annotation in the class.
+        // Visitor for @Route annotations, only used when the class is visited
+        // as an end-point
         routeVisitor = new RepeatedAnnotationVisitor() {
             @Override
             public void visit(String name, Object value) {
                 if (LAYOUT.equals(name)) {
-                    endPoint.layout = ((Type) value).getClassName();
-                    children.add(endPoint.layout);
+                    classData.routeLayout = ((Type) value).getClassName();
+                    children.add(classData.routeLayout);
                 }
                 if (VALUE.equals(name)) {
-                    endPoint.route = value.toString();
+                    classData.routeValue = value.toString();
                 }
             }
         };
-        // Visitor for @Theme annotations in classes annotated with @Route
-        themeRouteVisitor = new RepeatedAnnotationVisitor() {
+        // Visitor for @Theme annotations, only used when the class is visited
+        // as an end-point or as the layout of an end-point
+        themeVisitor = new RepeatedAnnotationVisitor() {
             @Override
             public void visit(String name, Object value) {
                 if (VALUE.equals(name)) {
-                    endPoint.theme.themeName = (String) value;
+                    classData.themeName = (String) value;
                 } else if (THEME_CLASS.equals(name)) {
-                    endPoint.theme.themeClass = ((Type) value).getClassName();
-                    children.add(endPoint.theme.themeClass);
+                    classData.themeClass = ((Type) value).getClassName();
+                    children.add(classData.themeClass);
                 } else if (VARIANT.equals(name)) {
-                    endPoint.theme.variant = value.toString();
-                }
-            }
-        };
-        // Visitor for @Theme annotations in classes extending RouterLayout
-        themeLayoutVisitor = new RepeatedAnnotationVisitor() {
-            @Override
-            public void visit(String name, Object value) {
-                if (VALUE.equals(name)) {
-                    themeRouteVisitor.visit(name, value);
-                } else if (THEME_CLASS.equals(name)
-                        && endPoint.theme.themeClass == null) {
-                    themeRouteVisitor.visit(name, value);
-                } else if (VARIANT.equals(name)
-                        && endPoint.theme.variant.isEmpty()) {
-                    themeRouteVisitor.visit(name, value);
+                    classData.themeVariant = value.toString();
                 }
             }
         };
@@ -195,18 +174,14 @@ final class FrontendClassVisitor extends ClassVisitor {
         jsModuleVisitor = new RepeatedAnnotationVisitor() {
             @Override
             public void visit(String name, Object value) {
-                if (themeScope) {
-                    endPoint.themeModules.add(value.toString());
-                } else {
-                    endPoint.modules.add(value.toString());
-                }
+                classData.modules.add(value.toString());
             }
         };
         // Visitor for @JavaScript annotations
         jScriptVisitor = new RepeatedAnnotationVisitor() {
             @Override
             public void visit(String name, Object value) {
-                endPoint.scripts.add(value.toString());
+                classData.scripts.add(value.toString());
             }
         };
         // Visitor all other annotations
@@ -249,8 +224,8 @@ final class FrontendClassVisitor extends ClassVisitor {
         // We return different visitor implementations depending on the
         // annotation
         String cname = descriptor.replace("/", ".");
-        if (className.equals(endPoint.name)
-                && cname.contains(Route.class.getName())) {
+        if (cname.contains(Route.class.getName())) {
+            classData.route = true;
             return routeVisitor;
         }
         if (cname.contains(JsModule.class.getName())) {
@@ -260,21 +235,15 @@ final class FrontendClassVisitor extends ClassVisitor {
             return jScriptVisitor;
         }
         if (cname.contains(NoTheme.class.getName())) {
-            if (className.equals(endPoint.name)) {
-                endPoint.theme.notheme = true;
-            }
+            classData.notheme = true;
             return null;
         }
         if (cname.contains(Theme.class.getName())) {
-            if (className.equals(endPoint.name)) {
-                return themeRouteVisitor;
-            }
-            if (className.equals(endPoint.layout)) {
-                return themeLayoutVisitor;
-            }
+            classData.theme = true;
+            return themeVisitor;
         }
         if (cname.contains(CssImport.class.getName())) {
-            return new CssAnnotationVisitor(endPoint.css);
+            return new CssAnnotationVisitor(classData.css);
         }
         // default visitor
         return annotationVisitor;
@@ -297,6 +266,15 @@ final class FrontendClassVisitor extends ClassVisitor {
         return children;
     }
 
+    /**
+     * Return the information collected in the visit.
+     *
+     * @return the class data
+     */
+    ClassData getClassData() {
+        return classData;
+    }
+
     /**
      * Inspects the type description of a java field or a method type visited by
      * the class visitor. It extracts all class names referenced in the
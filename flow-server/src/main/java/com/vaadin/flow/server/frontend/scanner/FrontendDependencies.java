@@ -15,8 +15,8 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
 import java.net.URL;
@@ -32,7 +32,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import net.bytebuddy.jar.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +69,7 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     private final HashMap<String, String> packages = new HashMap<>();
     private final Set<String> visited = new HashSet<>();
     private final boolean useV14Bootstrap;
+    private final ClassDataCache classDataCache;
     private PwaConfiguration pwaConfiguration;
 
     /**
@@ -115,8 +115,33 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
      */
     public FrontendDependencies(ClassFinder finder,
             boolean generateEmbeddableWebComponents, boolean useV14Bootstrap) {
+        this(finder, generateEmbeddableWebComponents, useV14Bootstrap, null);
+    }
+
+    /**
+     * Constructor which additionally allows keeping the result of visiting
+     * class files in a persistent cache, so that classes which have not
+     * changed since the previous scan are not parsed again.
+     *
+     * @param finder
+     *            the class finder
+     * @param generateEmbeddableWebComponents
+     *            {@code true} checks the
+     *            {@link com.vaadin.flow.component.WebComponentExporter} classes
+     *            for dependencies. {@code true} is default for
+     *            {@link FrontendDependencies#FrontendDependencies(ClassFinder)}
+     * @param useV14Bootstrap
+     *            whether we are in legacy V14 bootstrap mode
+     * @param scanCacheFile
+     *            the file used to store the scan cache between runs, or
+     *            {@code null} to not persist it
+     */
+    public FrontendDependencies(ClassFinder finder,
+            boolean generateEmbeddableWebComponents, boolean useV14Bootstrap,
+            File scanCacheFile) {
         super(finder);
         this.useV14Bootstrap = useV14Bootstrap;
+        this.classDataCache = new ClassDataCache(scanCacheFile);
         log().info(
                 "Scanning classes to find frontend configurations and dependencies...");
         long start = System.nanoTime();
@@ -129,6 +154,7 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             computeApplicationTheme();
             computePackages();
             computePwaConfiguration();
+            classDataCache.store();
             long ms = (System.nanoTime() - start) / 1000000;
             log().info("Visited {} classes. Took {} ms.", visited.size(), ms);
         } catch (ClassNotFoundException | InstantiationException
@@ -571,17 +597,13 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
             return endPoint;
         }
 
-        FrontendClassVisitor visitor = new FrontendClassVisitor(className,
-                endPoint, themeScope);
-        try (InputStream is = url.openStream()) {
-            ClassReader cr = new ClassReader(is);
-            cr.accept(visitor, ClassReader.EXPAND_FRAMES);
-        }
+        ClassData classData = classDataCache.getClassData(className, url);
+        classData.applyTo(endPoint, themeScope);
 
         // all classes visited by the scanner, used for performance (#5933)
         visited.add(className);
 
-        for (String clazz : visitor.getChildren()) {
+        for (String clazz : classData.children) {
             // Since we only have an entry point for the app, it is all right to
             // skip the visit to the the same class in other end-points, because
             // we output all dependencies at once. When we implement
@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -85,13 +86,43 @@ public interface FrontendDependenciesScanner extends Serializable {
                 boolean allDependenciesScan, ClassFinder finder,
                 boolean generateEmbeddableWebComponents,
                 boolean useV14Bootstrap) {
+            return createScanner(allDependenciesScan, finder,
+                    generateEmbeddableWebComponents, useV14Bootstrap, null);
+        }
+
+        /**
+         * Produces scanner implementation based on {@code allDependenciesScan}
+         * value.
+         * <p>
+         *
+         * @param allDependenciesScan
+         *            if {@code true} then full classpath scanning strategy is
+         *            used, otherwise byte scanning strategy is produced
+         * @param finder
+         *            a class finder
+         * @param generateEmbeddableWebComponents
+         *            checks {@code WebComponentExporter} classes for
+         *            dependencies if {@code true}, doesn't check otherwise
+         * @param useV14Bootstrap
+         *            whether we are in legacy V14 bootstrap mode
+         * @param scanCacheFile
+         *            the file where the byte code scanner keeps the result of
+         *            visiting classes between runs, may be {@code null}. Not
+         *            used by the full classpath scanning strategy
+         * @return a scanner implementation strategy
+         */
+        public FrontendDependenciesScanner createScanner(
+                boolean allDependenciesScan, ClassFinder finder,
+                boolean generateEmbeddableWebComponents,
+                boolean useV14Bootstrap, File scanCacheFile) {
             if (allDependenciesScan) {
                 // this dep scanner can't distinguish embeddable web component
                 // frontend related annotations
                 return new FullDependenciesScanner(finder, useV14Bootstrap);
             } else {
                 return new FrontendDependencies(finder,
-                        generateEmbeddableWebComponents, useV14Bootstrap);
+                        generateEmbeddableWebComponents, useV14Bootstrap,
+                        scanCacheFile);
             }
         }
     }
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metrics collector which keeps the measurements in memory, collecting
+ * durations and recorded values into histograms, summing up counters and
+ * keeping the latest value of gauges.
+ * <p>
+ * Intended for tests and for simple diagnostics, e.g. for exposing the
+ * measurements through a custom request handler.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class InMemoryMetricsCollector implements MetricsCollector {
+
+    private static final String UNTAGGED = "";
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Long>> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * A distribution of recorded values. The values are counted in buckets of
+     * powers of two, so percentiles are approximations with a relative error
+     * of at most a factor of two.
+     */
+    public static class Histogram implements Serializable {
+        private final long[] buckets = new long[Long.SIZE + 1];
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        private synchronized void record(long value) {
+            long bucketValue = Math.max(0, value);
+            buckets[Long.SIZE - Long.numberOfLeadingZeros(bucketValue)]++;
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        /**
+         * Gets the number of recorded values.
+         *
+         * @return the number of values
+         */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the sum of the recorded values.
+         *
+         * @return the sum of the values
+         */
+        public synchronized long getSum() {
+            return sum;
+        }
+
+        /**
+         * Gets the smallest recorded value.
+         *
+         * @return the smallest value, or 0 if no values have been recorded
+         */
+        public synchronized long getMin() {
+            return count == 0 ? 0 : min;
+        }
+
+        /**
+         * Gets the largest recorded value.
+         *
+         * @return the largest value, or 0 if no values have been recorded
+         */
+        public synchronized long getMax() {
+            return count == 0 ? 0 : max;
+        }
+
+        /**
+         * Gets the mean of the recorded values.
+         *
+         * @return the mean value, or 0 if no values have been recorded
+         */
+        public synchronized double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Gets an upper bound for the given percentile of the recorded values.
+         *
+         * @param percentile
+         *            the percentile, between 0 and 100
+         * @return a value which at least the given percentage of the recorded
+         *         values do not exceed, or 0 if no values have been recorded
+         */
+        public synchronized long getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException(
+                        "Percentile must be between 0 and 100");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long target = Math.max(1,
+                    (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    long upperBound = i == 0 ? 0
+                            : i == Long.SIZE ? Long.MAX_VALUE
+                                    : (1L << i) - 1;
+                    return Math.max(min, Math.min(max, upperBound));
+                }
+            }
+            return max;
+        }
+    }
+
+    @Override
+    public void recordDuration(String name, long nanos) {
+        getOrCreateHistogram(name).record(nanos);
+    }
+
+    @Override
+    public void increment(String name, String tag, long amount) {
+        counters.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(tag == null ? UNTAGGED : tag,
+                        key -> new LongAdder())
+                .add(amount);
+    }
+
+    @Override
+    public void recordValue(String name, long value) {
+        getOrCreateHistogram(name).record(value);
+    }
+
+    @Override
+    public void setGauge(String name, String tag, long value) {
+        gauges.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .put(tag == null ? UNTAGGED : tag, value);
+    }
+
+    /**
+     * Gets the histogram of the durations or values recorded with the given
+     * name. Durations are in nanoseconds.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @return the histogram, or an empty optional if nothing has been recorded
+     *         with the name
+     */
+    public Optional<Histogram> getHistogram(String name) {
+        return Optional.ofNullable(histograms.get(name));
+    }
+
+    /**
+     * Gets the value of a counter.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @param tag
+     *            the tag of the counter, or <code>null</code> for the untagged
+     *            counter
+     * @return the value of the counter
+     */
+    public long getCount(String name, String tag) {
+        Map<String, LongAdder> tagged = counters.get(name);
+        if (tagged == null) {
+            return 0;
+        }
+        LongAdder counter = tagged.get(tag == null ? UNTAGGED : tag);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Gets the sum of all counters with the given name, regardless of their
+     * tags.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @return the total value of the counters
+     */
+    public long getTotalCount(String name) {
+        return getCounts(name).values().stream().mapToLong(Long::longValue)
+                .sum();
+    }
+
+    /**
+     * Gets the values of the counters with the given name by their tag. The
+     * untagged counter uses an empty string as the tag.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @return a map from tag to counter value, not <code>null</code>
+     */
+    public Map<String, Long> getCounts(String name) {
+        Map<String, LongAdder> tagged = counters.get(name);
+        if (tagged == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> counts = new HashMap<>();
+        tagged.forEach((tag, counter) -> counts.put(tag, counter.sum()));
+        return counts;
+    }
+
+    /**
+     * Gets the latest value of a gauge.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @param tag
+     *            the tag of the gauge, or <code>null</code> for the untagged
+     *            gauge
+     * @return the value of the gauge, or an empty optional if it has not been
+     *         set
+     */
+    public Optional<Long> getGauge(String name, String tag) {
+        Map<String, Long> tagged = gauges.get(name);
+        if (tagged == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(tagged.get(tag == null ? UNTAGGED : tag));
+    }
+
+    /**
+     * Discards all measurements collected so far.
+     */
+    public void reset() {
+        histograms.clear();
+        counters.clear();
+        gauges.clear();
+    }
+
+    private Histogram getOrCreateHistogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+}
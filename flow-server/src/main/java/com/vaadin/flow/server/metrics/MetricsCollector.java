@@ -0,0 +1,228 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.di.Lookup;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinService;
+
+/**
+ * Receives performance measurements from the request, RPC and UIDL handling
+ * of a {@link VaadinService}.
+ * <p>
+ * The measurements are reported using the metric names defined in this
+ * interface as durations, tagged counters and recorded values. An
+ * implementation can forward them to any metrics or tracing system.
+ * Implementations may also override {@link #startSpan(String)} to create
+ * spans of a tracing system instead of only recording the durations.
+ * <p>
+ * A collector is found using {@link Lookup} when the service is initialized,
+ * or it can be set from a
+ * {@link com.vaadin.flow.server.VaadinServiceInitListener} using
+ * {@link VaadinService#setMetricsCollector(MetricsCollector)} on
+ * {@link ServiceInitEvent#getSource()}. When no collector is available,
+ * {@link #noOp()} is used, which does not measure anything.
+ * <p>
+ * The methods are called from request threads concurrently, so
+ * implementations must be thread safe.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public interface MetricsCollector extends Serializable {
+
+    /**
+     * Duration of waiting for a session lock.
+     */
+    String SESSION_LOCK_WAIT = "vaadin.session.lock.wait";
+
+    /**
+     * Duration of holding a session lock, from acquiring it until it is
+     * finally released.
+     */
+    String SESSION_LOCK_HOLD = "vaadin.session.lock.hold";
+
+    /**
+     * Number of pending access tasks of a session when they are run.
+     */
+    String ACCESS_QUEUE_SIZE = "vaadin.session.access.queue";
+
+    /**
+     * Duration of handling a message with RPC invocations from the client.
+     */
+    String RPC_HANDLING = "vaadin.rpc.handling";
+
+    /**
+     * Count of RPC invocations, tagged with the invocation type.
+     */
+    String RPC_INVOCATIONS = "vaadin.rpc.invocations";
+
+    /**
+     * Duration of running the tasks registered to be run before a client
+     * response.
+     */
+    String BEFORE_CLIENT_RESPONSE = "vaadin.uidl.before.response";
+
+    /**
+     * Duration of collecting the node changes of a UI for a response.
+     */
+    String COLLECT_CHANGES = "vaadin.uidl.changes.collect";
+
+    /**
+     * Count of node changes sent to the client.
+     */
+    String NODE_CHANGES = "vaadin.uidl.changes";
+
+    /**
+     * Duration of serializing a UIDL response to JSON.
+     */
+    String UIDL_SERIALIZATION = "vaadin.uidl.serialization";
+
+    /**
+     * Size in bytes of the UIDL responses.
+     */
+    String RESPONSE_BYTES = "vaadin.uidl.response.bytes";
+
+    /**
+     * Estimated heap bytes retained by the state tree of a UI, recorded for
+     * each UI profiled by {@link StateTreeProfiler}.
+     */
+    String UI_RETAINED_BYTES = "vaadin.ui.retained.bytes";
+
+    /**
+     * Gauge of the estimated heap bytes retained by the UIs showing a route,
+     * tagged with the class name of the route target. Set to the total of the
+     * UIs profiled together by {@link StateTreeProfiler}.
+     */
+    String ROUTE_RETAINED_BYTES = "vaadin.route.retained.bytes";
+
+    /**
+     * Duration of estimating the retained size of a UI.
+     */
+    String UI_PROFILING = "vaadin.ui.profiling";
+
+    /**
+     * A started measurement of an operation, which is ended when the operation
+     * is completed.
+     */
+    @FunctionalInterface
+    interface Span extends Serializable {
+        /**
+         * Ends this span.
+         */
+        void end();
+    }
+
+    /**
+     * Starts measuring the duration of an operation. The returned span must be
+     * ended when the operation is completed.
+     * <p>
+     * The default implementation records the elapsed time using
+     * {@link #recordDuration(String, long)} when the span is ended.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @return the started span, not <code>null</code>
+     */
+    default Span startSpan(String name) {
+        long start = System.nanoTime();
+        return () -> recordDuration(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Records the duration of an operation.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @param nanos
+     *            the duration in nanoseconds
+     */
+    void recordDuration(String name, long nanos);
+
+    /**
+     * Increments a counter.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @param tag
+     *            the tag identifying the counter among the counters of the
+     *            same name, or <code>null</code> for an untagged counter
+     * @param amount
+     *            the amount to add to the counter
+     */
+    void increment(String name, String tag, long amount);
+
+    /**
+     * Records a value, such as a size, of which a distribution is collected.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @param value
+     *            the value to record
+     */
+    void recordValue(String name, long value);
+
+    /**
+     * Sets the current value of a gauge, replacing the value previously set
+     * for the same name and tag.
+     *
+     * @param name
+     *            the name of the metric, not <code>null</code>
+     * @param tag
+     *            the tag identifying the gauge among the gauges of the same
+     *            name, or <code>null</code> for an untagged gauge
+     * @param value
+     *            the current value
+     */
+    void setGauge(String name, String tag, long value);
+
+    /**
+     * Gets whether this collector uses the measurements. Call sites may skip
+     * measurements which would be costly to compute when the collector is not
+     * enabled.
+     *
+     * @return <code>true</code> if measurements are used, <code>false</code>
+     *         if they are ignored
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Gets the collector of the given service.
+     *
+     * @param service
+     *            the service to get the collector for, or <code>null</code>
+     * @return the collector of the service, or a no-op collector if there is
+     *         no service or it has no collector, not <code>null</code>
+     */
+    static MetricsCollector get(VaadinService service) {
+        MetricsCollector collector = service == null ? null
+                : service.getMetricsCollector();
+        return collector == null ? noOp() : collector;
+    }
+
+    /**
+     * Gets a collector which ignores all measurements.
+     *
+     * @return a no-op collector, not <code>null</code>
+     */
+    static MetricsCollector noOp() {
+        return NoOpMetricsCollector.INSTANCE;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+/**
+ * A metrics collector which ignores all measurements.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+enum NoOpMetricsCollector implements MetricsCollector {
+    INSTANCE;
+
+    private static final Span NO_OP_SPAN = () -> {
+    };
+
+    @Override
+    public Span startSpan(String name) {
+        return NO_OP_SPAN;
+    }
+
+    @Override
+    public void recordDuration(String name, long nanos) {
+        // ignored
+    }
+
+    @Override
+    public void increment(String name, String tag, long amount) {
+        // ignored
+    }
+
+    @Override
+    public void recordValue(String name, long value) {
+        // ignored
+    }
+
+    @Override
+    public void setGauge(String name, String tag, long value) {
+        // ignored
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.internal.SizeEstimator;
+
+/**
+ * An object which retains heap memory outside of the state tree and can
+ * estimate its size for {@link StateTreeProfiler}.
+ * <p>
+ * Components which keep e.g. caches or key mappings on the server side can
+ * implement this interface to have them included in the estimated size of
+ * their UI.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+@FunctionalInterface
+public interface RetainedSizeContributor extends Serializable {
+
+    /**
+     * Estimates the number of heap bytes retained by this object, excluding
+     * anything stored in the state tree.
+     *
+     * @see SizeEstimator
+     *
+     * @return the estimated size in bytes
+     */
+    long estimateRetainedSize();
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.internal.nodefeature.NodeFeature;
+
+/**
+ * The estimated heap usage of one UI, as computed by
+ * {@link StateTreeProfiler}.
+ * <p>
+ * The size of each state node is attributed to the component mapped to the
+ * node, or to the closest ancestor component for nodes without a component,
+ * e.g. style or class list nodes.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class StateTreeProfile implements Serializable {
+
+    /**
+     * The route used for UIs which do not show any route target.
+     */
+    public static final String NO_ROUTE = "";
+
+    private final int uiId;
+    private final String route;
+
+    private int nodeCount;
+    private long treeBytes;
+    private long contributorBytes;
+    private long pendingJavaScriptBytes;
+    private boolean complete = true;
+
+    private final Map<Class<? extends NodeFeature>, Long> featureBytes = new HashMap<>();
+    private final Map<Class<? extends Component>, Long> componentBytes = new HashMap<>();
+
+    StateTreeProfile(int uiId, String route) {
+        this.uiId = uiId;
+        this.route = route;
+    }
+
+    void addNode(Class<? extends Component> owner, long bytes) {
+        nodeCount++;
+        treeBytes += bytes;
+        addComponentBytes(owner, bytes);
+    }
+
+    void addFeature(Class<? extends NodeFeature> featureType, long bytes) {
+        featureBytes.merge(featureType, bytes, Long::sum);
+    }
+
+    void addContributor(Class<? extends Component> owner, long bytes) {
+        contributorBytes += bytes;
+        addComponentBytes(owner, bytes);
+    }
+
+    void setPendingJavaScriptBytes(long pendingJavaScriptBytes) {
+        this.pendingJavaScriptBytes = pendingJavaScriptBytes;
+    }
+
+    void setIncomplete() {
+        complete = false;
+    }
+
+    private void addComponentBytes(Class<? extends Component> owner,
+            long bytes) {
+        if (owner != null) {
+            componentBytes.merge(owner, bytes, Long::sum);
+        }
+    }
+
+    /**
+     * Gets the id of the profiled UI.
+     *
+     * @return the UI id
+     */
+    public int getUiId() {
+        return uiId;
+    }
+
+    /**
+     * Gets the fully qualified class name of the route target shown in the
+     * UI.
+     *
+     * @return the route target class name, or {@link #NO_ROUTE} if no route
+     *         target is shown
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Gets the number of state nodes which were visited.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the estimated total number of bytes retained by the UI, i.e. the
+     * sum of {@link #getStateTreeBytes()}, {@link #getContributorBytes()} and
+     * {@link #getPendingJavaScriptBytes()}.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getTotalBytes() {
+        return treeBytes + contributorBytes + pendingJavaScriptBytes;
+    }
+
+    /**
+     * Gets the estimated number of bytes retained by the state nodes and their
+     * features.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getStateTreeBytes() {
+        return treeBytes;
+    }
+
+    /**
+     * Gets the estimated number of bytes reported by components implementing
+     * {@link RetainedSizeContributor}.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getContributorBytes() {
+        return contributorBytes;
+    }
+
+    /**
+     * Gets the estimated number of bytes retained by JavaScript invocations
+     * which have not yet been sent to the client.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getPendingJavaScriptBytes() {
+        return pendingJavaScriptBytes;
+    }
+
+    /**
+     * Gets the estimated number of bytes retained by each node feature type.
+     *
+     * @return an unmodifiable map from feature type to bytes
+     */
+    public Map<Class<? extends NodeFeature>, Long> getBytesByFeature() {
+        return Collections.unmodifiableMap(featureBytes);
+    }
+
+    /**
+     * Gets the estimated number of bytes retained by each component class,
+     * including the nodes without a component of their own below the
+     * component and the size reported by {@link RetainedSizeContributor}s.
+     *
+     * @return an unmodifiable map from component class to bytes
+     */
+    public Map<Class<? extends Component>, Long> getBytesByComponent() {
+        return Collections.unmodifiableMap(componentBytes);
+    }
+
+    /**
+     * Checks whether the whole state tree was visited. The profiling is
+     * stopped when its time budget runs out, in which case the sizes only
+     * cover part of the tree.
+     *
+     * @return <code>true</code> if all nodes were visited,
+     *         <code>false</code> if the profiling was stopped early
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Records the given profiles to the given collector. The total of each
+     * profile is recorded as {@link MetricsCollector#UI_RETAINED_BYTES}, and
+     * the {@link MetricsCollector#ROUTE_RETAINED_BYTES} gauge of each route is
+     * set to the total of the profiles showing the route.
+     * <p>
+     * Recording the profiles of the same UIs again replaces the route gauges
+     * instead of adding to them, so the profiles of all UIs of interest should
+     * be recorded together, e.g. the result of
+     * {@link StateTreeProfiler#profile(com.vaadin.flow.server.VaadinSession, java.time.Duration)}.
+     *
+     * @param collector
+     *            the collector to record to, not <code>null</code>
+     * @param profiles
+     *            the profiles to record, not <code>null</code>
+     */
+    public static void recordTo(MetricsCollector collector,
+            Collection<StateTreeProfile> profiles) {
+        if (!collector.isEnabled()) {
+            return;
+        }
+        profiles.forEach(profile -> collector.recordValue(
+                MetricsCollector.UI_RETAINED_BYTES, profile.getTotalBytes()));
+        aggregateByRoute(profiles).forEach((route, bytes) -> collector
+                .setGauge(MetricsCollector.ROUTE_RETAINED_BYTES, route, bytes));
+    }
+
+    /**
+     * Sums the total sizes of the given profiles per route.
+     *
+     * @param profiles
+     *            the profiles to aggregate, not <code>null</code>
+     * @return a map from route to the estimated bytes, ordered from the
+     *         largest to the smallest
+     */
+    public static Map<String, Long> aggregateByRoute(
+            Collection<StateTreeProfile> profiles) {
+        Map<String, Long> bytes = new HashMap<>();
+        profiles.forEach(profile -> bytes.merge(profile.getRoute(),
+                profile.getTotalBytes(), Long::sum));
+
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        bytes.entrySet().stream()
+                .sorted(Entry.<String, Long> comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(),
+                        entry.getValue()));
+        return sorted;
+    }
+
+    @Override
+    public String toString() {
+        return "UI " + uiId + (route.isEmpty() ? "" : " (" + route + ")")
+                + ": " + getTotalBytes() + " bytes in " + nodeCount
+                + " nodes" + (complete ? "" : " (incomplete)");
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasElement;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.ReflectionCache;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.nodefeature.ComponentMapping;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Estimates the heap memory retained by UIs by walking their state trees,
+ * without having to take a heap dump.
+ * <p>
+ * The size of each state node and its features is estimated using
+ * {@link StateNode#estimateRetainedSize(java.util.function.ObjLongConsumer)}
+ * and attributed to node feature types and component classes. Components
+ * implementing {@link RetainedSizeContributor} add the size of their server
+ * side data. For other components, the {@link RetainedSizeContributor} instances
+ * referenced from their fields, such as the data communicator of a grid, are
+ * counted instead. The JavaScript invocations not yet sent to the client are
+ * included as well.
+ * <p>
+ * Profiling must be done while holding the session lock, e.g. from
+ * {@link UI#access(com.vaadin.flow.server.Command)}. Since the lock blocks all
+ * other requests of the session, the profiling is stopped when the given time
+ * budget runs out and the result is then marked as incomplete.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class StateTreeProfiler {
+
+    // Check the clock only every now and then since it's not free either
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+
+    private static final ReflectionCache<Component, List<Field>> contributorFields = new ReflectionCache<>(
+            StateTreeProfiler::findContributorFields);
+
+    private StateTreeProfiler() {
+        // Only static methods
+    }
+
+    /**
+     * Estimates the retained size of the given UI.
+     *
+     * @param ui
+     *            the UI to profile, not <code>null</code>
+     * @param timeBudget
+     *            the maximum time to spend, not <code>null</code>
+     * @return the profile of the UI, not <code>null</code>
+     * @throws IllegalStateException
+     *             if the session of the UI is not locked by the current thread
+     */
+    public static StateTreeProfile profile(UI ui, Duration timeBudget) {
+        Objects.requireNonNull(ui, "UI cannot be null");
+        Objects.requireNonNull(timeBudget, "Time budget cannot be null");
+        checkHasLock(ui.getSession());
+
+        return profile(ui, System.nanoTime() + timeBudget.toNanos());
+    }
+
+    /**
+     * Estimates the retained size of each UI of the given session.
+     *
+     * @param session
+     *            the session to profile, not <code>null</code>
+     * @param timeBudget
+     *            the maximum time to spend on all the UIs, not
+     *            <code>null</code>
+     * @return the profiles of the UIs, not <code>null</code>
+     * @throws IllegalStateException
+     *             if the session is not locked by the current thread
+     */
+    public static List<StateTreeProfile> profile(VaadinSession session,
+            Duration timeBudget) {
+        Objects.requireNonNull(session, "Session cannot be null");
+        Objects.requireNonNull(timeBudget, "Time budget cannot be null");
+        checkHasLock(session);
+
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        List<StateTreeProfile> profiles = new ArrayList<>();
+        for (UI ui : session.getUIs()) {
+            profiles.add(profile(ui, deadline));
+        }
+        return profiles;
+    }
+
+    private static void checkHasLock(VaadinSession session) {
+        if (session != null) {
+            session.checkHasLock();
+        }
+    }
+
+    private static StateTreeProfile profile(UI ui, long deadline) {
+        MetricsCollector collector = MetricsCollector
+                .get(ui.getSession() == null ? null
+                        : ui.getSession().getService());
+        MetricsCollector.Span span = collector
+                .startSpan(MetricsCollector.UI_PROFILING);
+        try {
+            StateTreeProfile profile = new StateTreeProfile(ui.getUIId(),
+                    getRoute(ui));
+            walkTree(ui, profile, deadline);
+            profile.setPendingJavaScriptBytes(
+                    ui.getInternals().estimatePendingJavaScriptSize());
+            return profile;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static void walkTree(UI ui, StateTreeProfile profile,
+            long deadline) {
+        Deque<NodeEntry> stack = new ArrayDeque<>();
+        // A contributor may be shared between components, count it only once
+        Set<RetainedSizeContributor> counted = Collections
+                .newSetFromMap(new IdentityHashMap<>());
+        stack.push(new NodeEntry(
+                ui.getInternals().getStateTree().getRootNode(), null));
+
+        int visited = 0;
+        while (!stack.isEmpty()) {
+            if (++visited % CLOCK_CHECK_INTERVAL == 0
+                    && System.nanoTime() - deadline > 0) {
+                profile.setIncomplete();
+                return;
+            }
+
+            NodeEntry entry = stack.pop();
+            Component component = null;
+            if (entry.node.hasFeature(ComponentMapping.class)) {
+                component = entry.node
+                        .getFeatureIfInitialized(ComponentMapping.class)
+                        .flatMap(ComponentMapping::getComponent).orElse(null);
+            }
+            Class<? extends Component> owner = component == null
+                    ? entry.owner
+                    : component.getClass();
+
+            long size = entry.node
+                    .estimateRetainedSize((feature, featureSize) -> {
+                        profile.addFeature(feature.getClass(), featureSize);
+                        feature.forEachChild(child -> stack
+                                .push(new NodeEntry(child, owner)));
+                    });
+            profile.addNode(owner, size);
+
+            if (component != null) {
+                addContributors(component, owner, profile, counted);
+            }
+        }
+    }
+
+    private static void addContributors(Component component,
+            Class<? extends Component> owner, StateTreeProfile profile,
+            Set<RetainedSizeContributor> counted) {
+        if (component instanceof RetainedSizeContributor) {
+            // The component's own estimate covers its fields
+            addContributor((RetainedSizeContributor) component, owner,
+                    profile, counted);
+            return;
+        }
+        for (Field field : contributorFields.get(component.getClass())) {
+            try {
+                Object value = field.get(component);
+                if (value != null) {
+                    addContributor((RetainedSizeContributor) value, owner,
+                            profile, counted);
+                }
+            } catch (IllegalAccessException e) {
+                // Cannot happen since the field has been made accessible
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static void addContributor(RetainedSizeContributor contributor,
+            Class<? extends Component> owner, StateTreeProfile profile,
+            Set<RetainedSizeContributor> counted) {
+        if (counted.add(contributor)) {
+            profile.addContributor(owner, contributor.estimateRetainedSize());
+        }
+    }
+
+    private static List<Field> findContributorFields(
+            Class<? extends Component> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null
+                && current != Component.class; current = current
+                        .getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())
+                        && RetainedSizeContributor.class
+                                .isAssignableFrom(field.getType())) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    private static String getRoute(UI ui) {
+        List<HasElement> chain = ui.getInternals()
+                .getActiveRouterTargetsChain();
+        if (chain.isEmpty()) {
+            return StateTreeProfile.NO_ROUTE;
+        }
+        return chain.get(0).getClass().getName();
+    }
+
+    private static class NodeEntry {
+        private final StateNode node;
+        private final Class<? extends Component> owner;
+
+        private NodeEntry(StateNode node, Class<? extends Component> owner) {
+            this.node = node;
+            this.owner = owner;
+        }
+    }
+}
@@ -42,6 +42,7 @@ import com.vaadin.flow.server.StaticFileHandlerFactory;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinServletContext;
 import com.vaadin.flow.server.frontend.EndpointGeneratorTaskFactory;
+import com.vaadin.flow.server.metrics.MetricsCollector;
 
 /**
  * Standard servlet initializer for collecting all SPI implementations.
@@ -57,7 +58,8 @@ import com.vaadin.flow.server.frontend.EndpointGeneratorTaskFactory;
         EndpointGeneratorTaskFactory.class,
         ApplicationConfigurationFactory.class, AbstractLookupInitializer.class,
         AppShellPredicate.class, StaticFileHandlerFactory.class,
-        DevModeHandlerManager.class, BrowserLiveReloadAccessor.class })
+        DevModeHandlerManager.class, BrowserLiveReloadAccessor.class,
+        MetricsCollector.class })
 public class LookupServletContainerInitializer
         implements ClassLoaderAwareServletContainerInitializer {
 
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+
+public class ShortcutDispatcherTest {
+
+    private static final String NO_MODIFIERS = "00000";
+    private static final String CONTROL = "01000";
+
+    private UI ui;
+    private Component owner;
+    private List<String> fired = new ArrayList<>();
+
+    @Tag("div")
+    private static class FakeComponent extends Component {
+    }
+
+    @Before
+    public void setUp() {
+        ui = new UI();
+        owner = new FakeComponent();
+        ui.add(owner);
+    }
+
+    @Test
+    public void multipleShortcuts_singleKeydownListenerWithTable() {
+        register(Key.KEY_A, "a");
+        register(Key.KEY_B, "ctrl-b").withCtrl().allowBrowserDefault();
+        clientResponse();
+
+        JsonObject table = getTable();
+        Assert.assertEquals(7, table.getNumber("KeyA|" + NO_MODIFIERS), 0);
+        Assert.assertEquals(5, table.getNumber("KeyB|" + CONTROL), 0);
+        Assert.assertEquals(1, getKeydownFilterCount());
+    }
+
+    @Test
+    public void keydown_onlyMatchingShortcutFired() {
+        register(Key.KEY_A, "a");
+        register(Key.KEY_A, "ctrl-a").withCtrl();
+        register(Key.KEY_B, "b");
+        clientResponse();
+
+        fireKeydown("KeyA", "a", CONTROL);
+        Assert.assertEquals(1, fired.size());
+        Assert.assertEquals("ctrl-a", fired.get(0));
+
+        fireKeydown("KeyB", "b", NO_MODIFIERS);
+        Assert.assertEquals("b", fired.get(1));
+        Assert.assertEquals(2, fired.size());
+    }
+
+    @Test
+    public void keydown_ownerInvisible_shortcutNotFired() {
+        register(Key.KEY_A, "a");
+        clientResponse();
+        owner.setVisible(false);
+
+        fireKeydown("KeyA", "a", NO_MODIFIERS);
+        Assert.assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    public void removeShortcuts_tableUpdated_listenerRemovedWhenEmpty() {
+        ShortcutRegistration a = register(Key.KEY_A, "a");
+        ShortcutRegistration b = register(Key.KEY_B, "b");
+        clientResponse();
+
+        a.remove();
+        Assert.assertFalse(getTable().hasKey("KeyA|" + NO_MODIFIERS));
+        Assert.assertTrue(getTable().hasKey("KeyB|" + NO_MODIFIERS));
+        fireKeydown("KeyA", "a", NO_MODIFIERS);
+        Assert.assertTrue(fired.isEmpty());
+
+        b.remove();
+        Assert.assertEquals(0, getKeydownFilterCount());
+        Assert.assertFalse(ui.getElement()
+                .hasProperty(ShortcutDispatcher.TABLE_PROPERTY));
+    }
+
+    @Test
+    public void modifiersChanged_tableUpdatedBeforeClientResponse() {
+        ShortcutRegistration a = register(Key.KEY_A, "a");
+        clientResponse();
+
+        a.withShift();
+        clientResponse();
+
+        Assert.assertTrue(getTable().hasKey("KeyA|10000"));
+        fireKeydown("KeyA", "A", "10000");
+        Assert.assertEquals(1, fired.size());
+    }
+
+    @Test
+    public void shortcutsChanged_filterUnchanged() {
+        ShortcutRegistration a = register(Key.KEY_A, "a");
+        clientResponse();
+        String filter = ShortcutDispatcher.get(ui).getFilter();
+
+        register(Key.KEY_B, "b");
+        a.withAlt().allowEventPropagation();
+        clientResponse();
+
+        Assert.assertEquals(filter, ShortcutDispatcher.get(ui).getFilter());
+        Assert.assertEquals(1, getKeydownFilterCount());
+        Assert.assertEquals(3, getTable().getNumber("KeyA|00100"), 0);
+        Assert.assertTrue(getTable().hasKey("KeyB|" + NO_MODIFIERS));
+    }
+
+    private ShortcutRegistration register(Key key, String name) {
+        return new ShortcutRegistration(owner, () -> new Component[] { ui },
+                event -> fired.add(name), key);
+    }
+
+    private JsonObject getTable() {
+        return (JsonObject) ui.getElement()
+                .getPropertyRaw(ShortcutDispatcher.TABLE_PROPERTY);
+    }
+
+    private void clientResponse() {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+    }
+
+    private long getKeydownFilterCount() {
+        return ui.getElement().getNode().getFeature(ElementListenerMap.class)
+                .getExpressions("keydown").stream()
+                .filter(expression -> expression.startsWith("(function(t,m)"))
+                .count();
+    }
+
+    private void fireKeydown(String code, String key, String modifiers) {
+        JsonObject data = Json.createObject();
+        data.put("event.code", code);
+        data.put("event.key", key);
+        ShortcutDispatcher dispatcher = ShortcutDispatcher.get(ui);
+        data.put(dispatcher.getFilter(), true);
+        // the modifier state expression is the only other event data
+        ui.getElement().getNode().getFeature(ElementListenerMap.class)
+                .getExpressions("keydown").stream()
+                .filter(expression -> expression.startsWith("(''+"))
+                .forEach(expression -> data.put(expression, modifiers));
+        ui.getElement().getNode().getFeature(ElementListenerMap.class)
+                .fireEvent(new DomEvent(ui.getElement(), "keydown", data));
+    }
+}
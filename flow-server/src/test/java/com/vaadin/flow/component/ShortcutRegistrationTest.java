@@ -36,6 +36,8 @@ import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.Registration;
 
+import elemental.json.JsonValue;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -499,15 +501,15 @@ public class ShortcutRegistrationTest {
         ElementListenerMap map = component.getElement().getNode()
                 .getFeature(ElementListenerMap.class);
 
-        // Once the shortcut listener is registered the expression should
-        // contain KeyA
-        boolean hasKeyA = false;
-        for (String expression : map.getExpressions("keydown")) {
-            if (expression.contains(Key.KEY_A.getKeys().get(0))) {
-                hasKeyA = true;
-            }
+        // Once the shortcut listener is registered the shortcut table of the
+        // keydown listener should contain KeyA
+        if (map.getExpressions("keydown").isEmpty()) {
+            return false;
         }
-        return hasKeyA;
+        JsonValue table = (JsonValue) component.getElement()
+                .getPropertyRaw(ShortcutDispatcher.TABLE_PROPERTY);
+        return table != null
+                && table.toJson().contains(Key.KEY_A.getKeys().get(0));
     }
 
     @Tag("imaginary-tag")
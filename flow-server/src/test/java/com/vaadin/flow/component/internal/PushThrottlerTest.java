@@ -0,0 +1,258 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.internal;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.communication.PushConnection;
+import com.vaadin.flow.shared.communication.PushMode;
+import com.vaadin.tests.util.MockUI;
+
+public class PushThrottlerTest {
+
+    private MockVaadinServletService service;
+    private MockVaadinSession session;
+    private UI ui;
+    private PushConnection pushConnection;
+
+    private ManualClock clock = new ManualClock();
+    private List<ScheduledTask> scheduledTasks = new ArrayList<>();
+    private PushThrottler throttler;
+
+    private static class ManualClock extends Clock {
+        private long millis = 1_000_000;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        private void advance(long delta) {
+            millis += delta;
+        }
+    }
+
+    private static class ScheduledTask {
+        private final Runnable command;
+        private final long delay;
+        private final ScheduledFuture<?> future = Mockito
+                .mock(ScheduledFuture.class);
+
+        private ScheduledTask(Runnable command, long delay) {
+            this.command = command;
+            this.delay = delay;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        service = new MockVaadinServletService();
+        session = new MockVaadinSession(service);
+        session.lock();
+        ui = new MockUI(session);
+        ui.doInit(Mockito.mock(VaadinServletRequest.class),
+                session.getNextUIid());
+        session.addUI(ui);
+
+        pushConnection = Mockito.mock(PushConnection.class);
+        // A push sends all changes
+        Mockito.doAnswer(invocation -> {
+            ui.getInternals().getStateTree().collectChanges(change -> {
+            });
+            return null;
+        }).when(pushConnection).push();
+        ui.getPushConfiguration().setPushConnectionFactory(ui -> pushConnection);
+        // Pushes are triggered by the test instead of by unlocking the session
+        ui.getPushConfiguration().setPushMode(PushMode.MANUAL);
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+        session.unlock();
+
+        ScheduledExecutorService executor = Mockito
+                .mock(ScheduledExecutorService.class);
+        Mockito.when(executor.schedule(Mockito.any(Runnable.class),
+                Mockito.anyLong(), Mockito.eq(TimeUnit.MILLISECONDS)))
+                .thenAnswer(invocation -> {
+                    ScheduledTask task = new ScheduledTask(
+                            invocation.getArgument(0),
+                            invocation.getArgument(1));
+                    scheduledTasks.add(task);
+                    return task.future;
+                });
+        throttler = new PushThrottler(ui, clock, executor);
+    }
+
+    @After
+    public void tearDown() {
+        service.destroy();
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void noInterval_everyUpdatePushed() {
+        update(1);
+        update(2);
+        update(3);
+
+        Mockito.verify(pushConnection, Mockito.times(3)).push();
+        Assert.assertTrue(scheduledTasks.isEmpty());
+    }
+
+    @Test
+    public void minimumInterval_updatesCoalesced() {
+        ui.getPushConfiguration().setMinimumPushInterval(200);
+
+        update(1);
+        clock.advance(50);
+        update(2);
+        clock.advance(50);
+        update(3);
+
+        Mockito.verify(pushConnection, Mockito.times(1)).push();
+        Assert.assertEquals(1, scheduledTasks.size());
+        Assert.assertEquals(150, scheduledTasks.get(0).delay);
+        Assert.assertTrue(ui.getInternals().isDirty());
+
+        clock.advance(100);
+        scheduledTasks.get(0).command.run();
+
+        Mockito.verify(pushConnection, Mockito.times(2)).push();
+        Assert.assertEquals(2, throttler.getPushCount());
+        Assert.assertEquals(1, throttler.getCoalescedUpdateCount());
+        Assert.assertFalse(ui.getInternals().isDirty());
+    }
+
+    @Test
+    public void minimumIntervalPassed_updatePushedImmediately() {
+        ui.getPushConfiguration().setMinimumPushInterval(200);
+
+        update(1);
+        clock.advance(200);
+        update(2);
+
+        Mockito.verify(pushConnection, Mockito.times(2)).push();
+        Assert.assertTrue(scheduledTasks.isEmpty());
+        Assert.assertEquals(0, throttler.getCoalescedUpdateCount());
+    }
+
+    @Test
+    public void intervalPassedBeforeScheduledPush_scheduledPushCancelled() {
+        ui.getPushConfiguration().setMinimumPushInterval(200);
+
+        update(1);
+        update(2);
+        Assert.assertEquals(1, scheduledTasks.size());
+
+        clock.advance(200);
+        update(3);
+
+        Mockito.verify(pushConnection, Mockito.times(2)).push();
+        Mockito.verify(scheduledTasks.get(0).future).cancel(false);
+        Assert.assertEquals(1, throttler.getCoalescedUpdateCount());
+    }
+
+    @Test
+    public void maximumLatencyShorterThanInterval_pushedWhenLatencyReached() {
+        ui.getPushConfiguration().setMinimumPushInterval(60000);
+        ui.getPushConfiguration().setMaximumPushLatency(50);
+
+        update(1);
+        update(2);
+
+        Assert.assertEquals(1, scheduledTasks.size());
+        Assert.assertEquals(50, scheduledTasks.get(0).delay);
+
+        clock.advance(50);
+        scheduledTasks.get(0).command.run();
+
+        Mockito.verify(pushConnection, Mockito.times(2)).push();
+    }
+
+    @Test
+    public void noChanges_nothingScheduled() {
+        ui.getPushConfiguration().setMinimumPushInterval(50);
+
+        update(1);
+        session.lock();
+        try {
+            throttler.push();
+        } finally {
+            session.unlock();
+        }
+
+        Assert.assertTrue(scheduledTasks.isEmpty());
+        Mockito.verify(pushConnection, Mockito.times(1)).push();
+        Assert.assertEquals(0, throttler.getCoalescedUpdateCount());
+    }
+
+    @Test
+    public void pushDisabledBeforeScheduledPush_nothingPushed() {
+        ui.getPushConfiguration().setMinimumPushInterval(200);
+
+        update(1);
+        update(2);
+        session.lock();
+        try {
+            ui.getPushConfiguration().setPushMode(PushMode.DISABLED);
+        } finally {
+            session.unlock();
+        }
+
+        clock.advance(200);
+        scheduledTasks.get(0).command.run();
+
+        Mockito.verify(pushConnection, Mockito.times(1)).push();
+    }
+
+    private void update(int value) {
+        session.lock();
+        try {
+            ui.getElement().setProperty("value", value);
+            throttler.push();
+        } finally {
+            session.unlock();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResourceBundleI18NProviderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ResourceBundleI18NProvider provider = new ResourceBundleI18NProvider(
+            "i18n.translations", Locale.ENGLISH, Locale.GERMAN);
+
+    @Test
+    public void getProvidedLocales_constructorLocales() {
+        Assert.assertEquals(Arrays.asList(Locale.ENGLISH, Locale.GERMAN),
+                provider.getProvidedLocales());
+    }
+
+    @Test
+    public void getTranslation_noParams_patternReturnedAsIs() {
+        Assert.assertEquals("Hello",
+                provider.getTranslation("greeting", Locale.ENGLISH));
+        Assert.assertEquals("It''s {0}",
+                provider.getTranslation("quote", Locale.ENGLISH));
+    }
+
+    @Test
+    public void getTranslation_params_formatted() {
+        Assert.assertEquals("3 items",
+                provider.getTranslation("items", Locale.ENGLISH, 3));
+        Assert.assertEquals("It's me",
+                provider.getTranslation("quote", Locale.ENGLISH, "me"));
+    }
+
+    @Test
+    public void getTranslation_choiceFormat_formattedRepeatedly() {
+        Assert.assertEquals("There are no files.",
+                provider.getTranslation("count", Locale.ENGLISH, 0));
+        Assert.assertEquals("There is one file.",
+                provider.getTranslation("count", Locale.ENGLISH, 1));
+        Assert.assertEquals("There are 42 files.",
+                provider.getTranslation("count", Locale.ENGLISH, 42));
+    }
+
+    @Test
+    public void getTranslation_otherLocale_localizedWithBaseFallback() {
+        Assert.assertEquals("Hallo",
+                provider.getTranslation("greeting", Locale.GERMAN));
+        Assert.assertEquals("5 Elemente",
+                provider.getTranslation("items", Locale.GERMAN, 5));
+        Assert.assertEquals("Base",
+                provider.getTranslation("base.only", Locale.GERMAN));
+    }
+
+    @Test
+    public void getTranslation_nullLocale_firstProvidedLocaleUsed() {
+        Assert.assertEquals("Hello", provider.getTranslation("greeting", null));
+    }
+
+    @Test
+    public void getTranslation_missingKey_keyMarked() {
+        Assert.assertEquals("!{missing}!",
+                provider.getTranslation("missing", Locale.ENGLISH));
+    }
+
+    @Test
+    public void getTranslation_missingBundle_keyMarked() {
+        ResourceBundleI18NProvider missing = new ResourceBundleI18NProvider(
+                "i18n.missing", Locale.ENGLISH);
+        Assert.assertEquals("!{greeting}!",
+                missing.getTranslation("greeting", Locale.ENGLISH));
+    }
+
+    @Test
+    public void getTranslation_fileChanged_reloadedWhenEnabled()
+            throws IOException {
+        File folder = temporaryFolder.newFolder();
+        File file = new File(folder, "reload.properties");
+        FileUtils.write(file, "greeting=Hello", StandardCharsets.UTF_8);
+        ClassLoader loader = new URLClassLoader(
+                new URL[] { folder.toURI().toURL() }, null);
+
+        ResourceBundleI18NProvider reloading = new ResourceBundleI18NProvider(
+                "reload", Locale.ROOT) {
+            @Override
+            protected ClassLoader getClassLoader() {
+                return loader;
+            }
+
+            @Override
+            protected boolean isReloadEnabled() {
+                return true;
+            }
+
+            @Override
+            protected long getReloadCheckInterval() {
+                return 0;
+            }
+        };
+        Assert.assertEquals("Hello",
+                reloading.getTranslation("greeting", Locale.ROOT));
+
+        FileUtils.write(file, "greeting=Hi", StandardCharsets.UTF_8);
+        file.setLastModified(file.lastModified() + 10000);
+
+        Assert.assertEquals("Hi",
+                reloading.getTranslation("greeting", Locale.ROOT));
+    }
+
+    @Test
+    public void getTranslation_reloadDisabled_fileChangeIgnored()
+            throws IOException {
+        File folder = temporaryFolder.newFolder();
+        File file = new File(folder, "noreload.properties");
+        FileUtils.write(file, "greeting=Hello", StandardCharsets.UTF_8);
+        ClassLoader loader = new URLClassLoader(
+                new URL[] { folder.toURI().toURL() }, null);
+
+        ResourceBundleI18NProvider cached = new ResourceBundleI18NProvider(
+                "noreload", Locale.ROOT) {
+            @Override
+            protected ClassLoader getClassLoader() {
+                return loader;
+            }
+        };
+        Assert.assertEquals("Hello",
+                cached.getTranslation("greeting", Locale.ROOT));
+
+        FileUtils.write(file, "greeting=Hi", StandardCharsets.UTF_8);
+        file.setLastModified(file.lastModified() + 10000);
+
+        Assert.assertEquals("Hello",
+                cached.getTranslation("greeting", Locale.ROOT));
+    }
+}
@@ -5,7 +5,9 @@ import java.util.Collection;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
+import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.internal.nodefeature.PushConfigurationMap;
 import com.vaadin.flow.shared.ui.Transport;
 
@@ -85,4 +87,24 @@ public class PushConfigurationMapTest
         Assert.assertArrayEquals(expected, actual);
     }
 
+    @Test
+    public void pushConfigurationDefaults_noThrottling() {
+        PushConfiguration configuration = Mockito
+                .mock(PushConfiguration.class, Mockito.CALLS_REAL_METHODS);
+
+        configuration.setMinimumPushInterval(0);
+        configuration.setMaximumPushLatency(0);
+
+        Assert.assertEquals(0, configuration.getMinimumPushInterval());
+        Assert.assertEquals(0, configuration.getMaximumPushLatency());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void pushConfigurationDefaults_setMinimumPushInterval_throws() {
+        PushConfiguration configuration = Mockito
+                .mock(PushConfiguration.class, Mockito.CALLS_REAL_METHODS);
+
+        configuration.setMinimumPushInterval(100);
+    }
+
 }
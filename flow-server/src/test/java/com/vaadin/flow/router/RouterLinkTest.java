@@ -15,9 +15,11 @@
  */
 package com.vaadin.flow.router;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import net.jcip.annotations.NotThreadSafe;
@@ -31,11 +33,26 @@ import org.mockito.Mockito;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.dependency.JavaScript;
+import com.vaadin.flow.component.dependency.StyleSheet;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.dom.DebouncePhase;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.ConstantPoolKey;
 import com.vaadin.flow.internal.HasCurrentService;
+import com.vaadin.flow.internal.change.MapPutChange;
+import com.vaadin.flow.internal.change.MapRemoveChange;
+import com.vaadin.flow.internal.change.NodeChange;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
 import com.vaadin.flow.server.InvalidRouteConfigurationException;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 @NotThreadSafe
 public class RouterLinkTest extends HasCurrentService {
@@ -385,6 +402,169 @@ public class RouterLinkTest extends HasCurrentService {
         new RouterLink("", Foo.class);
     }
 
+    @Test
+    public void prefetchEnabled_mouseEnter_dependenciesPreloadedOnce() {
+        RouteConfiguration.forRegistry(registry)
+                .setAnnotatedRoute(PrefetchedNavigationTarget.class);
+        Mockito.when(ui.getSession().getService()
+                .resolveResource(Mockito.anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        RouterLink link = new RouterLink(router, "prefetched",
+                PrefetchedNavigationTarget.class);
+        ui.add(link);
+        Assert.assertFalse(link.isPrefetchEnabled());
+
+        link.setPrefetchEnabled(true);
+        fireEvent(link, "mouseenter");
+
+        List<PendingJavaScriptInvocation> invocations = ui.getInternals()
+                .dumpPendingJavaScriptInvocations();
+        Assert.assertEquals(1, invocations.size());
+        String parameters = ((JsonValue) invocations.get(0).getInvocation()
+                .getParameters().get(0)).toJson();
+        Assert.assertTrue(parameters.contains("https://example.com/lib.js"));
+        Assert.assertTrue(parameters.contains("context://prefetched.css"));
+        Assert.assertFalse("No view should be created",
+                ui.getInternals().getActiveRouterTargetsChain().stream()
+                        .anyMatch(PrefetchedNavigationTarget.class::isInstance));
+
+        fireEvent(link, "focus");
+        Assert.assertTrue(
+                ui.getInternals().dumpPendingJavaScriptInvocations().isEmpty());
+    }
+
+    @Test
+    public void prefetchEnabled_targetPrepared_listenersRemovedUntilTargetChanges() {
+        RouteConfiguration.forRegistry(registry)
+                .setAnnotatedRoute(PrefetchedNavigationTarget.class);
+        RouteConfiguration.forRegistry(registry)
+                .setAnnotatedRoute(OtherPrefetchedNavigationTarget.class);
+        Mockito.when(ui.getSession().getService()
+                .resolveResource(Mockito.anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        RouterLink link = new RouterLink(router, "prefetched",
+                PrefetchedNavigationTarget.class);
+        ui.add(link);
+        link.setPrefetchEnabled(true);
+        collectListenerChanges(link);
+
+        fireEvent(link, "mouseenter");
+        ui.getInternals().dumpPendingJavaScriptInvocations();
+
+        Assert.assertEquals(Arrays.asList("focus", "mouseenter"),
+                collectListenerChanges(link).get(MapRemoveChange.class));
+        Assert.assertTrue(link.isPrefetchEnabled());
+
+        link.setRoute(router, OtherPrefetchedNavigationTarget.class);
+
+        Assert.assertEquals(Arrays.asList("focus", "mouseenter"),
+                collectListenerChanges(link).get(MapPutChange.class));
+
+        fireEvent(link, "focus");
+
+        List<PendingJavaScriptInvocation> invocations = ui.getInternals()
+                .dumpPendingJavaScriptInvocations();
+        Assert.assertEquals(1, invocations.size());
+        String parameters = ((JsonValue) invocations.get(0).getInvocation()
+                .getParameters().get(0)).toJson();
+        Assert.assertTrue(parameters.contains("https://example.com/other.js"));
+    }
+
+    @Test
+    public void prefetchEnabled_preparedLinkMovedToAnotherUI_preparedAgain() {
+        RouteConfiguration.forRegistry(registry)
+                .setAnnotatedRoute(PrefetchedNavigationTarget.class);
+        UI otherUI = new RoutingTestBase.RouterTestUI(router);
+        for (UI target : Arrays.asList(ui, otherUI)) {
+            Mockito.when(target.getSession().getService()
+                    .resolveResource(Mockito.anyString()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+        }
+        RouterLink link = new RouterLink(router, "prefetched",
+                PrefetchedNavigationTarget.class);
+        ui.add(link);
+        link.setPrefetchEnabled(true);
+        fireEvent(link, "mouseenter");
+        Assert.assertEquals(1,
+                ui.getInternals().dumpPendingJavaScriptInvocations().size());
+
+        link.getElement().removeFromTree();
+        otherUI.add(link);
+        fireEvent(link, "mouseenter");
+
+        Assert.assertEquals(1, otherUI.getInternals()
+                .dumpPendingJavaScriptInvocations().size());
+    }
+
+    @Test
+    public void prefetchEnabled_listenersDebounced() {
+        RouterLink link = new RouterLink(router, "foo",
+                FooNavigationTarget.class);
+        link.setPrefetchEnabled(true);
+
+        List<NodeChange> changes = new ArrayList<>();
+        link.getElement().getNode().getFeature(ElementListenerMap.class)
+                .collectChanges(changes::add);
+
+        Assert.assertEquals(2, changes.size());
+        for (NodeChange change : changes) {
+            JsonObject constantPoolUpdate = Json.createObject();
+            ((ConstantPoolKey) ((MapPutChange) change).getValue())
+                    .export(constantPoolUpdate);
+            JsonObject settings = constantPoolUpdate
+                    .getObject(constantPoolUpdate.keys()[0]);
+            Assert.assertEquals("[[100,\"trailing\"]]",
+                    settings.get(settings.keys()[0]).toJson());
+        }
+    }
+
+    @Test
+    public void prefetchDisabled_mouseEnter_nothingPreloaded() {
+        RouteConfiguration.forRegistry(registry)
+                .setAnnotatedRoute(PrefetchedNavigationTarget.class);
+        RouterLink link = new RouterLink(router, "prefetched",
+                PrefetchedNavigationTarget.class);
+        ui.add(link);
+
+        link.setPrefetchEnabled(true);
+        link.setPrefetchEnabled(false);
+        fireEvent(link, "mouseenter");
+
+        Assert.assertFalse(link.isPrefetchEnabled());
+        Assert.assertTrue(
+                ui.getInternals().dumpPendingJavaScriptInvocations().isEmpty());
+    }
+
+    private static void fireEvent(RouterLink link, String type) {
+        // The prefetch events are debounced
+        JsonObject data = Json.createObject();
+        data.put(JsonConstants.EVENT_DATA_PHASE,
+                DebouncePhase.TRAILING.getIdentifier());
+        link.getElement().getNode().getFeature(ElementListenerMap.class)
+                .fireEvent(new DomEvent(link.getElement(), type, data));
+    }
+
+    private static Map<Class<?>, List<String>> collectListenerChanges(
+            RouterLink link) {
+        Map<Class<?>, List<String>> changes = new HashMap<>();
+        link.getElement().getNode().collectChanges(change -> {
+            if (change instanceof MapRemoveChange && ElementListenerMap.class
+                    .equals(((MapRemoveChange) change).getFeature())) {
+                changes.computeIfAbsent(MapRemoveChange.class,
+                        key -> new ArrayList<>())
+                        .add(((MapRemoveChange) change).getKey());
+            } else if (change instanceof MapPutChange
+                    && ElementListenerMap.class.equals(
+                            ((MapPutChange) change).getFeature())) {
+                changes.computeIfAbsent(MapPutChange.class,
+                        key -> new ArrayList<>())
+                        .add(((MapPutChange) change).getKey());
+            }
+        });
+        changes.values().forEach(Collections::sort);
+        return changes;
+    }
+
     @Rule
     public ExpectedException expectedEx = ExpectedException.none();
 
@@ -410,6 +590,19 @@ public class RouterLinkTest extends HasCurrentService {
         }
     }
 
+    @Route("prefetched")
+    @JavaScript("https://example.com/lib.js")
+    @StyleSheet("context://prefetched.css")
+    @Tag(Tag.DIV)
+    public static class PrefetchedNavigationTarget extends Component {
+    }
+
+    @Route("other-prefetched")
+    @JavaScript("https://example.com/other.js")
+    @Tag(Tag.DIV)
+    public static class OtherPrefetchedNavigationTarget extends Component {
+    }
+
     @Tag(Tag.DIV)
     public static class Foo extends Component {
 
@@ -18,11 +18,20 @@ package com.vaadin.flow.server;
 import javax.servlet.ServletContext;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 @PWA(name = "foo", shortName = "bar")
@@ -50,4 +59,77 @@ public class PwaRegistryTest {
         // the default image has 47 on the position 36
         Assert.assertEquals(26, stream.toByteArray()[36]);
     }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void preGeneratedIconsAvailable_iconsServedFromResources()
+            throws IOException {
+        File resources = temporaryFolder.newFolder();
+        byte[] logo = readLogo();
+        File logoFolder = new File(resources,
+                PwaIconGenerator.PRE_GENERATED_ICONS_PATH
+                        + PwaIconGenerator.getLogoHash(logo));
+        PwaIconGenerator.writeIcons(logo, "icons/icon.png", logoFolder);
+        // Replace an icon to check that it's not generated again
+        Files.write(new File(logoFolder, "32x32.png").toPath(),
+                "pre-generated".getBytes(StandardCharsets.UTF_8));
+
+        ServletContext context = Mockito.mock(ServletContext.class);
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] { resources.toURI().toURL() }, null)) {
+            Mockito.when(context.getClassLoader()).thenReturn(classLoader);
+
+            PwaRegistry registry = new PwaRegistry(
+                    PwaRegistryTest.class.getAnnotation(PWA.class), context);
+
+            PwaIcon pwaIcon = registry.getIcons().stream()
+                    .filter(icon -> icon.getWidth() == 32).findFirst().get();
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            pwaIcon.write(stream);
+            Assert.assertEquals("pre-generated",
+                    new String(stream.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void noPreGeneratedIcons_generatedIconsMatchBuildTimeIcons()
+            throws IOException {
+        File resources = temporaryFolder.newFolder();
+        byte[] logo = readLogo();
+        PwaIconGenerator.writeIcons(logo, "icons/icon.png", resources);
+
+        File tempDirectory = temporaryFolder.newFolder();
+        String originalTempDirectory = System.getProperty("java.io.tmpdir");
+        System.setProperty("java.io.tmpdir", tempDirectory.getPath());
+        List<PwaIcon> icons;
+        try {
+            ServletContext context = Mockito.mock(ServletContext.class);
+            icons = new PwaRegistry(
+                    PwaRegistryTest.class.getAnnotation(PWA.class), context)
+                            .getIcons();
+        } finally {
+            System.setProperty("java.io.tmpdir", originalTempDirectory);
+        }
+
+        Assert.assertFalse(icons.isEmpty());
+        for (PwaIcon icon : icons) {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            icon.write(stream);
+            Assert.assertArrayEquals(
+                    Files.readAllBytes(new File(resources,
+                            PwaIconGenerator.getFileName(icon)).toPath()),
+                    stream.toByteArray());
+        }
+        // Generated icons are kept in memory, not in a shared directory
+        Assert.assertArrayEquals(new String[0], tempDirectory.list());
+    }
+
+    private static byte[] readLogo() throws IOException {
+        try (InputStream stream = PwaRegistryTest.class
+                .getResourceAsStream("/META-INF/resources/icons/icon.png")) {
+            return IOUtils.toByteArray(stream);
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.server.communication.StreamRequestHandler;
+
+public class SharedStreamResourceRegistryTest {
+
+    private SharedStreamResourceRegistry registry = new SharedStreamResourceRegistry();
+
+    @Test
+    public void sameContent_sameUri() {
+        URI first = registry.registerResource("logo.png", bytes("logo"));
+        URI second = registry.registerResource("logo.png", bytes("logo"));
+
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(4, registry.getSize());
+        Assert.assertTrue(first.toString()
+                .startsWith(StreamRequestHandler.SHARED_RES_PREFIX));
+        Assert.assertTrue(first.toString().endsWith("/logo.png"));
+    }
+
+    @Test
+    public void differentContent_differentUri() {
+        URI first = registry.registerResource("logo.png", bytes("logo"));
+        URI second = registry.registerResource("logo.png", bytes("logo2"));
+
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(9, registry.getSize());
+    }
+
+    @Test
+    public void getResource_registeredResourceFound() {
+        URI uri = registry.registerResource("report file.pdf", bytes("pdf"));
+
+        StreamResource resource = registry.getResource(path(uri)).get();
+        Assert.assertEquals("report file.pdf", resource.getName());
+        Assert.assertFalse(registry.getResource("foo/bar.pdf").isPresent());
+    }
+
+    @Test
+    public void maximumSizeExceeded_leastRecentlyUsedEvicted() {
+        registry.setMaximumSize(10);
+        String first = path(registry.registerResource("a", bytes("aaaa")));
+        String second = path(registry.registerResource("b", bytes("bbbb")));
+        // Use the first one so that the second one is the least recently used
+        registry.getResource(first);
+
+        String third = path(registry.registerResource("c", bytes("cccc")));
+
+        Assert.assertTrue(registry.getResource(first).isPresent());
+        Assert.assertFalse(registry.getResource(second).isPresent());
+        Assert.assertTrue(registry.getResource(third).isPresent());
+        Assert.assertEquals(8, registry.getSize());
+    }
+
+    @Test
+    public void getInstance_sameInstanceForContext() {
+        VaadinContext context = new MockVaadinServletService().getContext();
+
+        Assert.assertSame(SharedStreamResourceRegistry.getInstance(context),
+                SharedStreamResourceRegistry.getInstance(context));
+    }
+
+    private static String path(URI uri) {
+        return uri.getPath()
+                .substring(StreamRequestHandler.SHARED_RES_PREFIX.length());
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.VaadinService;
+
+public class InlineDependencyCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private InlineDependencyCache cache = new InlineDependencyCache();
+
+    private VaadinService service = Mockito.mock(VaadinService.class);
+    private DeploymentConfiguration configuration = Mockito
+            .mock(DeploymentConfiguration.class);
+
+    private AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        Mockito.when(service.getDeploymentConfiguration())
+                .thenReturn(configuration);
+        Mockito.when(service.resolveResource(Mockito.anyString()))
+                .thenAnswer(invocation -> "resolved/"
+                        + invocation.getArgument(0));
+    }
+
+    @Test
+    public void sameUrl_loadedOnce() {
+        Mockito.when(configuration.isProductionMode()).thenReturn(true);
+
+        Assert.assertEquals("a", cache.getContents(service, "a.css", load("a")));
+        Assert.assertEquals("a", cache.getContents(service, "a.css", load("b")));
+
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void maximumSizeExceeded_leastRecentlyUsedEvicted() {
+        Mockito.when(configuration.isProductionMode()).thenReturn(true);
+        cache.setMaximumSize(8);
+
+        cache.getContents(service, "a.css", load("aaaa"));
+        cache.getContents(service, "b.css", load("bbbb"));
+        // Use the first one so that the second one is the least recently used
+        cache.getContents(service, "a.css", load("aaaa"));
+        cache.getContents(service, "c.css", load("cccc"));
+        Assert.assertEquals(3, loads.get());
+        Assert.assertEquals(8, cache.getSize());
+
+        cache.getContents(service, "a.css", load("aaaa"));
+        Assert.assertEquals(3, loads.get());
+        cache.getContents(service, "b.css", load("bbbb"));
+        Assert.assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void developmentMode_fileChanged_contentsReloaded()
+            throws IOException {
+        Mockito.when(configuration.isProductionMode()).thenReturn(false);
+        File file = temporaryFolder.newFile("inline.css");
+        FileUtils.write(file, "old", StandardCharsets.UTF_8);
+        Mockito.when(service.getResource("inline.css"))
+                .thenReturn(file.toURI().toURL());
+
+        Assert.assertEquals("old",
+                cache.getContents(service, "inline.css", load("old")));
+        Assert.assertEquals("old",
+                cache.getContents(service, "inline.css", load("new")));
+        Assert.assertEquals(1, loads.get());
+
+        Assert.assertTrue(file.setLastModified(file.lastModified() + 10000));
+
+        Assert.assertEquals("new",
+                cache.getContents(service, "inline.css", load("new")));
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(3, cache.getSize());
+    }
+
+    @Test
+    public void productionMode_fileChanged_cachedContentsUsed()
+            throws IOException {
+        Mockito.when(configuration.isProductionMode()).thenReturn(true);
+        File file = temporaryFolder.newFile("inline.css");
+        Mockito.when(service.getResource("inline.css"))
+                .thenReturn(file.toURI().toURL());
+
+        cache.getContents(service, "inline.css", load("old"));
+        Assert.assertTrue(file.setLastModified(file.lastModified() + 10000));
+
+        Assert.assertEquals("old",
+                cache.getContents(service, "inline.css", load("new")));
+        Assert.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void clear_contentsLoadedAgain() {
+        Mockito.when(configuration.isProductionMode()).thenReturn(true);
+        cache.getContents(service, "a.css", load("a"));
+
+        cache.clear();
+
+        Assert.assertEquals(0, cache.getSize());
+        cache.getContents(service, "a.css", load("a"));
+        Assert.assertEquals(2, loads.get());
+    }
+
+    private Supplier<String> load(String contents) {
+        return () -> {
+            loads.incrementAndGet();
+            return contents;
+        };
+    }
+}
@@ -31,6 +31,8 @@ public class ServerRpcHandlerTest {
     private UIInternals uiInternals;
     private DependencyList dependencyList;
 
+    private DeploymentConfiguration deploymentConfiguration;
+
     private StateTree uiTree;
     final private String csrfToken = "";
 
@@ -55,8 +57,7 @@ public class ServerRpcHandlerTest {
         Mockito.when(ui.getSession()).thenReturn(session);
         Mockito.when(ui.getCsrfToken()).thenReturn(csrfToken);
 
-        DeploymentConfiguration deploymentConfiguration = Mockito
-                .mock(DeploymentConfiguration.class);
+        deploymentConfiguration = Mockito.mock(DeploymentConfiguration.class);
         Mockito.when(service.getDeploymentConfiguration())
                 .thenReturn(deploymentConfiguration);
 
@@ -126,4 +127,65 @@ public class ServerRpcHandlerTest {
 
         handler.handleRpc(ui, Mockito.mock(Reader.class), request);
     }
+
+    @Test
+    public void handleRpc_pipelinedMessagesOutOfOrder_handledInOrder()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        Mockito.when(deploymentConfiguration.getMaxPipelinedMessages())
+                .thenReturn(3);
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return ((StringReader) reader).toString();
+            };
+        };
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        handler.handleRpc(ui, message(2), request);
+        handler.handleRpc(ui, message(1), request);
+        Assert.assertEquals(
+                "Messages should wait for the first message to arrive", -1,
+                ui.getInternals().getLastProcessedClientToServerId());
+
+        handler.handleRpc(ui, message(0), request);
+        Assert.assertEquals(2,
+                ui.getInternals().getLastProcessedClientToServerId());
+        Assert.assertArrayEquals(
+                MessageDigestUtil.sha256(message(2).toString()),
+                ui.getInternals().getLastProcessedMessageHash());
+        Assert.assertNull(
+                ui.getInternals().removePendingClientToServerMessage(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void handleRpc_pipelinedMessageOutsideWindow_throw()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        Mockito.when(deploymentConfiguration.getMaxPipelinedMessages())
+                .thenReturn(3);
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return ((StringReader) reader).toString();
+            };
+        };
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        handler.handleRpc(ui, message(3), request);
+    }
+
+    private static StringReader message(int clientToServerId) {
+        String json = "{\"" + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":"
+                + clientToServerId + ", \""
+                + ApplicationConstants.RPC_INVOCATIONS + "\":[]}";
+        return new StringReader(json) {
+            @Override
+            public String toString() {
+                return json;
+            }
+        };
+    }
 }
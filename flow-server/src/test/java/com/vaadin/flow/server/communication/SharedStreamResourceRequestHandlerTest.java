@@ -0,0 +1,110 @@
+package com.vaadin.flow.server.communication;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.ServiceException;
+import com.vaadin.flow.server.SharedStreamResourceRegistry;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
+
+public class SharedStreamResourceRequestHandlerTest {
+
+    private SharedStreamResourceRequestHandler handler = new SharedStreamResourceRequestHandler();
+    private MockVaadinServletService service;
+    private VaadinServletRequest request;
+    private VaadinResponse response;
+    private ServletOutputStream outputStream;
+
+    @Before
+    public void setUp() throws IOException {
+        service = new MockVaadinServletService();
+        request = Mockito.mock(VaadinServletRequest.class);
+        ServletContext servletContext = Mockito.mock(ServletContext.class);
+        Mockito.when(request.getServletContext()).thenReturn(servletContext);
+        response = Mockito.mock(VaadinResponse.class);
+        outputStream = Mockito.mock(ServletOutputStream.class);
+        Mockito.when(response.getOutputStream()).thenReturn(outputStream);
+    }
+
+    @After
+    public void cleanup() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void sharedResource_served() throws IOException {
+        Mockito.when(request.getPathInfo()).thenReturn(registerLogo());
+
+        Assert.assertTrue(handler.handleRequest(service, request, response));
+
+        Mockito.verify(outputStream).write("logo".getBytes(), 0, 4);
+        Mockito.verify(response).setHeader("Cache-Control",
+                "public, max-age=31536000, immutable");
+    }
+
+    @Test
+    public void sharedResourceNotRegistered_notFound() throws IOException {
+        Mockito.when(request.getPathInfo())
+                .thenReturn("/" + StreamRequestHandler.SHARED_RES_PREFIX
+                        + "abc/logo.png");
+
+        Assert.assertTrue(handler.handleRequest(service, request, response));
+
+        Mockito.verify(response).sendError(
+                Mockito.eq(HttpServletResponse.SC_NOT_FOUND),
+                Mockito.anyString());
+    }
+
+    @Test
+    public void otherRequest_notHandled() throws IOException {
+        Mockito.when(request.getPathInfo())
+                .thenReturn("/" + StreamRequestHandler.DYN_RES_PREFIX
+                        + "1/abc/logo.png");
+
+        Assert.assertFalse(handler.handleRequest(service, request, response));
+        Mockito.when(request.getPathInfo()).thenReturn(null);
+        Assert.assertFalse(handler.handleRequest(service, request, response));
+
+        Mockito.verifyNoInteractions(response);
+    }
+
+    @Test
+    public void serviceHandlesSharedResource_noSessionCreatedOrLocked()
+            throws ServiceException, IOException {
+        AtomicInteger sessionInits = new AtomicInteger();
+        service.addSessionInitListener(
+                event -> sessionInits.incrementAndGet());
+        Mockito.when(request.getPathInfo()).thenReturn(registerLogo());
+        Mockito.when(request.getService()).thenReturn(service);
+
+        service.handleRequest(request, response);
+
+        Mockito.verify(outputStream).write("logo".getBytes(), 0, 4);
+        Mockito.verify(request, Mockito.never())
+                .getWrappedSession(Mockito.anyBoolean());
+        Mockito.verify(request, Mockito.never()).getWrappedSession();
+        Assert.assertEquals(0, sessionInits.get());
+        Assert.assertNull(VaadinSession.getCurrent());
+    }
+
+    private String registerLogo() {
+        URI uri = SharedStreamResourceRegistry.getInstance(service.getContext())
+                .registerResource("logo.png", "logo".getBytes());
+        return "/" + uri.getPath();
+    }
+}
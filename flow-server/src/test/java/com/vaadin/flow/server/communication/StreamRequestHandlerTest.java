@@ -6,6 +6,7 @@ import javax.servlet.ServletOutputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Arrays;
 
 import net.jcip.annotations.NotThreadSafe;
 import org.junit.After;
@@ -155,15 +156,11 @@ public class StreamRequestHandlerTest {
         Mockito.verify(response).getOutputStream();
 
         ArgumentCaptor<byte[]> argument = ArgumentCaptor.forClass(byte[].class);
-        Mockito.verify(outputStream).write(argument.capture(), Mockito.anyInt(),
-                Mockito.anyInt());
-
-        byte[] buf = new byte[1024];
-        for (int i = 0; i < testBytes.length; i++) {
-            buf[i] = testBytes[i];
-        }
-        Assert.assertArrayEquals("Output differed from expected", buf,
-                argument.getValue());
+        Mockito.verify(outputStream).write(argument.capture(), Mockito.eq(0),
+                Mockito.eq(testBytes.length));
+
+        Assert.assertArrayEquals("Output differed from expected", testBytes,
+                Arrays.copyOf(argument.getValue(), testBytes.length));
         Mockito.verify(response).setCacheTime(Mockito.anyLong());
         Mockito.verify(response).setContentType("application/octet-stream");
     }
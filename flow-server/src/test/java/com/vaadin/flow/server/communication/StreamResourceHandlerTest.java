@@ -17,13 +17,23 @@ package com.vaadin.flow.server.communication;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.server.InputStreamFactory;
@@ -43,16 +53,41 @@ public class StreamResourceHandlerTest {
     private MockVaadinSession session;
     private VaadinServletRequest request;
     private VaadinServletResponse response;
+    private ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Before
-    public void setUp() throws ServletException, ServiceException {
+    public void setUp()
+            throws ServletException, ServiceException, IOException {
         VaadinService service = new MockVaadinServletService();
 
         session = new AlwaysLockedVaadinSession(service);
         request = Mockito.mock(VaadinServletRequest.class);
         ServletContext context = Mockito.mock(ServletContext.class);
         Mockito.when(request.getServletContext()).thenReturn(context);
+        mockResponse();
+    }
+
+    private void mockResponse() throws IOException {
         response = Mockito.mock(VaadinServletResponse.class);
+        Mockito.when(response.getOutputStream())
+                .thenReturn(new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        output.write(b);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                    }
+                });
     }
 
     @Test
@@ -106,4 +141,152 @@ public class StreamResourceHandlerTest {
         Mockito.verify(response)
                 .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
+
+    @Test
+    public void byteArrayResource_noRange_fullContentWritten()
+            throws IOException {
+        handler.handleRequest(session, request, response, createResource());
+
+        Assert.assertEquals("0123456789", getOutput());
+        Mockito.verify(response).setContentLengthLong(10);
+        Mockito.verify(response).setHeader("Accept-Ranges", "bytes");
+        Mockito.verify(response).setHeader(Mockito.eq("ETag"),
+                Mockito.anyString());
+        Mockito.verify(response, Mockito.never()).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void byteArrayResource_singleRange_partialContentWritten()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-4");
+
+        handler.handleRequest(session, request, response, createResource());
+
+        Assert.assertEquals("234", getOutput());
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        Mockito.verify(response).setContentLengthLong(3);
+        Mockito.verify(response).setHeader("Content-Range", "bytes 2-4/10");
+    }
+
+    @Test
+    public void byteArrayResource_suffixRange_lastBytesWritten()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=-3");
+
+        handler.handleRequest(session, request, response, createResource());
+
+        Assert.assertEquals("789", getOutput());
+        Mockito.verify(response).setHeader("Content-Range", "bytes 7-9/10");
+    }
+
+    @Test
+    public void byteArrayResource_multipleRanges_multipartContentWritten()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=0-1, 8-");
+
+        handler.handleRequest(session, request, response, createResource());
+
+        String content = getOutput();
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        Mockito.verify(response).setContentType(
+                Mockito.startsWith("multipart/byteranges; boundary="));
+        Assert.assertTrue(content
+                .contains("Content-Range: bytes 0-1/10\r\n\r\n01\r\n"));
+        Assert.assertTrue(content
+                .contains("Content-Range: bytes 8-9/10\r\n\r\n89\r\n"));
+        Assert.assertTrue(content.endsWith("--\r\n"));
+    }
+
+    @Test
+    public void byteArrayResource_unsatisfiableRange_status416()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=10-");
+
+        handler.handleRequest(session, request, response, createResource());
+
+        Assert.assertEquals("", getOutput());
+        Mockito.verify(response).setStatus(
+                HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        Mockito.verify(response).setHeader("Content-Range", "bytes */10");
+    }
+
+    @Test
+    public void byteArrayResource_matchingIfNoneMatch_status304()
+            throws IOException {
+        StreamResource resource = createResource();
+        handler.handleRequest(session, request, response, resource);
+        String eTag = getETag();
+
+        output.reset();
+        mockResponse();
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(eTag);
+        handler.handleRequest(session, request, response, resource);
+
+        Assert.assertEquals("", getOutput());
+        Mockito.verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    public void byteArrayResource_outdatedIfRange_fullContentWritten()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-4");
+        Mockito.when(request.getHeader("If-Range")).thenReturn("\"outdated\"");
+
+        handler.handleRequest(session, request, response, createResource());
+
+        Assert.assertEquals("0123456789", getOutput());
+        Mockito.verify(response, Mockito.never()).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void fileResource_range_partialContentWritten() throws IOException {
+        File file = temporaryFolder.newFile("video.mp4");
+        Files.write(file.toPath(),
+                "0123456789".getBytes(StandardCharsets.UTF_8));
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=5-");
+
+        handler.handleRequest(session, request, response,
+                new StreamResource("video.mp4", file.toPath()));
+
+        Assert.assertEquals("56789", getOutput());
+        Mockito.verify(response).setHeader("Content-Range", "bytes 5-9/10");
+    }
+
+    @Test
+    public void fileResource_modified_eTagChanged() throws IOException {
+        File file = temporaryFolder.newFile("video.mp4");
+        Files.write(file.toPath(),
+                "0123456789".getBytes(StandardCharsets.UTF_8));
+        StreamResource resource = new StreamResource("video.mp4",
+                file.toPath());
+        handler.handleRequest(session, request, response, resource);
+        String eTag = getETag();
+
+        Files.write(file.toPath(), "012".getBytes(StandardCharsets.UTF_8));
+        output.reset();
+        mockResponse();
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(eTag);
+        handler.handleRequest(session, request, response, resource);
+
+        Assert.assertEquals("012", getOutput());
+        Assert.assertNotEquals(eTag, getETag());
+    }
+
+    private StreamResource createResource() {
+        return new StreamResource("data.bin",
+                "0123456789".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String getOutput() {
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String getETag() {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(response).setHeader(Mockito.eq("ETag"),
+                captor.capture());
+        return captor.getValue();
+    }
 }
@@ -47,6 +47,8 @@ import com.vaadin.flow.server.BootstrapHandlerTest;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.metrics.InMemoryMetricsCollector;
+import com.vaadin.flow.server.metrics.MetricsCollector;
 import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
@@ -194,6 +196,25 @@ public class UidlWriterTest {
         assertFalse(response.hasKey(LoadMode.LAZY.name()));
     }
 
+    @Test
+    public void createUidl_metricsRecorded() throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        mocks.getService().setMetricsCollector(collector);
+
+        ui.add(new ActualComponent());
+        new UidlWriter().createUidl(ui, false);
+
+        assertTrue(collector.getCount(MetricsCollector.NODE_CHANGES,
+                null) > 0);
+        assertEquals(1,
+                collector.getHistogram(MetricsCollector.COLLECT_CHANGES)
+                        .get().getCount());
+        assertEquals(1, collector
+                .getHistogram(MetricsCollector.BEFORE_CLIENT_RESPONSE).get()
+                .getCount());
+    }
+
     @Test
     public void testComponentInterfaceDependencies_npmMode() throws Exception {
         UI ui = initializeUIForDependenciesTest(new TestUI());
@@ -1,9 +1,15 @@
 package com.vaadin.flow.server.frontend;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -83,6 +89,174 @@ public class NodeTasksExecutionTest {
                 UnknownTaskException.class, nodeTasks::execute);
     }
 
+    @Test
+    public void parallelExecution_tasksExecutedAfterTheirDependencies()
+            throws Exception {
+        NodeTasks parallelTasks = createParallelNodeTasks();
+        List<Class<? extends FallibleCommand>> completionOrder = Collections
+                .synchronizedList(new ArrayList<>());
+        getCommands(parallelTasks).addAll(
+                mockCommandsRandomOrder(commandsOrder, completionOrder));
+
+        parallelTasks.execute();
+
+        Assert.assertEquals(commandsOrder.size(), completionOrder.size());
+        assertExecutedBefore(completionOrder, TaskGeneratePackageJson.class,
+                TaskUpdatePackages.class);
+        assertExecutedBefore(completionOrder, TaskUpdatePackages.class,
+                TaskRunNpmInstall.class);
+        assertExecutedBefore(completionOrder, TaskInstallWebpackPlugins.class,
+                TaskRunNpmInstall.class);
+        assertExecutedBefore(completionOrder, TaskRunNpmInstall.class,
+                TaskCopyFrontendFiles.class);
+        assertExecutedBefore(completionOrder, TaskCopyFrontendFiles.class,
+                TaskCopyLocalFrontendFiles.class);
+        assertExecutedBefore(completionOrder,
+                TaskCopyLocalFrontendFiles.class, TaskUpdateImports.class);
+        assertExecutedBefore(completionOrder, TaskGenerateOpenApi.class,
+                TaskGenerateConnect.class);
+        assertExecutedBefore(completionOrder, TaskGenerateConnect.class,
+                TaskGenerateBootstrap.class);
+        assertExecutedBefore(completionOrder, TaskGenerateConnect.class,
+                TaskUpdateThemeImport.class);
+        assertExecutedBefore(completionOrder,
+                TaskCopyLocalFrontendFiles.class, TaskUpdateThemeImport.class);
+        assertExecutedBefore(completionOrder, TaskGenerateTsConfig.class,
+                TaskGenerateTsDefinitions.class);
+    }
+
+    @Test
+    public void themeImport_themeInJar_dependsOnTasksRecreatingFlowResources()
+            throws Exception {
+        NodeTasks parallelTasks = createParallelNodeTasks();
+        List<Class<? extends FallibleCommand>> flowResourceTasks = Arrays
+                .asList(TaskUpdatePackages.class, TaskRunNpmInstall.class,
+                        TaskCopyFrontendFiles.class,
+                        TaskCopyLocalFrontendFiles.class);
+        List<FallibleCommand> tasks = getCommands(parallelTasks);
+        tasks.add(Mockito.mock(TaskUpdateThemeImport.class));
+        flowResourceTasks.forEach(type -> tasks.add(Mockito.mock(type)));
+        tasks.add(Mockito.mock(TaskGenerateConnect.class));
+
+        Method sortCommands = NodeTasks.class.getDeclaredMethod("sortCommands",
+                List.class);
+        sortCommands.setAccessible(true);
+        sortCommands.invoke(parallelTasks, tasks);
+        Method getDependencies = NodeTasks.class
+                .getDeclaredMethod("getDependencies", List.class);
+        getDependencies.setAccessible(true);
+        List<Set<Integer>> dependencies = (List<Set<Integer>>) getDependencies
+                .invoke(parallelTasks, tasks);
+
+        Set<Integer> themeImportDependencies = dependencies
+                .get(tasks.size() - 1);
+        Assert.assertTrue(tasks
+                .get(tasks.size() - 1) instanceof TaskUpdateThemeImport);
+        for (Class<? extends FallibleCommand> type : flowResourceTasks) {
+            int index = indexOf(tasks, type);
+            Assert.assertTrue(
+                    "Theme import should wait for " + type.getSimpleName(),
+                    themeImportDependencies.contains(index));
+        }
+        Assert.assertTrue(themeImportDependencies
+                .contains(indexOf(tasks, TaskGenerateConnect.class)));
+    }
+
+    @Test
+    public void parallelExecution_independentTasksExecutedConcurrently()
+            throws Exception {
+        NodeTasks parallelTasks = createParallelNodeTasks();
+        CountDownLatch latch = new CountDownLatch(2);
+        for (Class<? extends FallibleCommand> type : Arrays.asList(
+                TaskGenerateIndexHtml.class, TaskGenerateServiceWorker.class)) {
+            FallibleCommand command = Mockito.mock(type);
+            Mockito.doAnswer(invocation -> {
+                latch.countDown();
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new ExecutionFailedException("Not concurrent");
+                }
+                return null;
+            }).when(command).execute();
+            getCommands(parallelTasks).add(command);
+        }
+
+        parallelTasks.execute();
+    }
+
+    @Test
+    public void parallelExecution_tasksFail_firstFailureInOrderThrown_dependentsNotExecuted()
+            throws Exception {
+        NodeTasks parallelTasks = createParallelNodeTasks();
+        FallibleCommand packageJson = Mockito
+                .mock(TaskGeneratePackageJson.class);
+        FallibleCommand webpackPlugins = Mockito
+                .mock(TaskInstallWebpackPlugins.class);
+        FallibleCommand npmInstall = Mockito.mock(TaskRunNpmInstall.class);
+        IllegalStateException packageJsonFailure = new IllegalStateException(
+                "package.json");
+        Mockito.doThrow(packageJsonFailure).when(packageJson).execute();
+        Mockito.doThrow(new IllegalStateException("plugins"))
+                .when(webpackPlugins).execute();
+        getCommands(parallelTasks)
+                .addAll(Arrays.asList(npmInstall, webpackPlugins, packageJson));
+
+        try {
+            parallelTasks.execute();
+            Assert.fail("Execution should fail");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(packageJsonFailure, e);
+        }
+        Mockito.verify(npmInstall, Mockito.never()).execute();
+    }
+
+    @Test
+    public void commandDependencies_dependenciesPrecedeTasksInOrder()
+            throws Exception {
+        final Field dependenciesField = NodeTasks.class
+                .getDeclaredField("commandDependencies");
+        dependenciesField.setAccessible(true);
+        Map<Class<? extends FallibleCommand>, List<Class<? extends FallibleCommand>>> dependencies = (Map<Class<? extends FallibleCommand>, List<Class<? extends FallibleCommand>>>) dependenciesField
+                .get(null);
+
+        dependencies.forEach((task, required) -> required
+                .forEach(dependency -> Assert.assertTrue(
+                        dependency + " should precede " + task,
+                        commandsOrder.indexOf(dependency) < commandsOrder
+                                .indexOf(task))));
+    }
+
+    private void assertExecutedBefore(
+            List<Class<? extends FallibleCommand>> executionOrder,
+            Class<? extends FallibleCommand> first,
+            Class<? extends FallibleCommand> second) {
+        Assert.assertTrue(first + " should be executed before " + second,
+                executionOrder.indexOf(first) < executionOrder
+                        .indexOf(second));
+    }
+
+    private int indexOf(List<FallibleCommand> tasks,
+            Class<? extends FallibleCommand> type) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (type.isInstance(tasks.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private NodeTasks createParallelNodeTasks() {
+        return new NodeTasks.Builder(Mockito.mock(Lookup.class), null, TARGET)
+                .useV14Bootstrap(true).enableParallelExecution(true).build();
+    }
+
+    private List<FallibleCommand> getCommands(NodeTasks tasks)
+            throws Exception {
+        final Field commandsField = NodeTasks.class
+                .getDeclaredField("commands");
+        commandsField.setAccessible(true);
+        return (List<FallibleCommand>) commandsField.get(tasks);
+    }
+
     private class NewTask implements FallibleCommand {
         @Override
         public void execute() throws ExecutionFailedException {
@@ -18,12 +18,19 @@
 package com.vaadin.flow.server.frontend;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -34,6 +41,7 @@ import com.vaadin.flow.testutil.TestUtils;
 
 import elemental.json.JsonObject;
 
+import static com.vaadin.flow.server.Constants.COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT;
 import static com.vaadin.flow.server.Constants.PACKAGE_JSON;
 import static com.vaadin.flow.server.Constants.TARGET;
 
@@ -80,6 +88,132 @@ public class TaskCopyFrontendFilesTest extends NodeUpdateTestUtil {
         Assert.assertFalse(deps.hasKey("@vaadin/flow-deps"));
     }
 
+    @Test
+    public void executeTwice_unchangedFilesNotRewritten() throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-frontend-resources.jar");
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar)).execute();
+
+        File connector = new File(frontendDepsFolder, "ExampleConnector.js");
+        long timestamp = connector.lastModified() - 10000;
+        Assert.assertTrue(connector.setLastModified(timestamp));
+        JarContentsManifest.read(frontendDepsFolder).write();
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar)).execute();
+
+        Assert.assertEquals(timestamp, connector.lastModified());
+        Assert.assertFalse("Manifest should be stored outside target folder",
+                TestUtils.listFilesRecursively(frontendDepsFolder).stream()
+                        .anyMatch(file -> file.endsWith(".json")));
+        Assert.assertTrue(
+                JarContentsManifest.getManifestFile(frontendDepsFolder)
+                        .isFile());
+    }
+
+    @Test
+    public void executeTwice_externallyModifiedFileRestored()
+            throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-frontend-resources.jar");
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar)).execute();
+
+        File connector = new File(frontendDepsFolder, "ExampleConnector.js");
+        String content = FileUtils.readFileToString(connector,
+                StandardCharsets.UTF_8);
+        FileUtils.write(connector, "modified", StandardCharsets.UTF_8);
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar)).execute();
+
+        Assert.assertEquals(content, FileUtils.readFileToString(connector,
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void jarRemoved_staleFilesDeleted() throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-frontend-resources.jar");
+        File dir = TestUtils.getTestFolder("dir-with-frontend-resources/");
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar, dir))
+                .execute();
+        Assert.assertTrue(
+                new File(frontendDepsFolder, "ExampleConnector.js").exists());
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(dir)).execute();
+
+        List<String> files = TestUtils.listFilesRecursively(frontendDepsFolder);
+        Assert.assertEquals(1, files.size());
+        Assert.assertTrue(files.contains("resourceInFolder.js"));
+        Assert.assertTrue(
+                JarContentsManifest.read(frontendDepsFolder).getFiles()
+                        .isEmpty());
+    }
+
+    @Test
+    public void overridingJarRemoved_overriddenFileRestored()
+            throws IOException {
+        File first = createJar("first.jar", "first");
+        File second = createJar("second.jar", "second");
+        File shared = new File(frontendDepsFolder, "shared.js");
+
+        // Whichever jar provides the file, removing either jar keeps the file
+        // provided by the remaining one
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(first, second))
+                .execute();
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(first)).execute();
+        Assert.assertEquals("first",
+                FileUtils.readFileToString(shared, StandardCharsets.UTF_8));
+
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(first, second))
+                .execute();
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(second)).execute();
+        Assert.assertEquals("second",
+                FileUtils.readFileToString(shared, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void localResourceOverridesJarFile_notExtractedAgain()
+            throws IOException {
+        File jar = TestUtils.getTestJar("jar-with-frontend-resources.jar");
+        File localFolder = temporaryFolder.newFolder("local");
+        File local = new File(localFolder, "ExampleConnector.js");
+        FileUtils.write(local, "local", StandardCharsets.UTF_8);
+        new TaskCopyFrontendFiles(frontendDepsFolder, jars(jar)).execute();
+        new TaskCopyLocalFrontendFiles(frontendDepsFolder, localFolder)
+                .execute();
+
+        Map<String, String[]> basePaths = Collections.singletonMap(
+                COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT,
+                new String[] { "**/*.js" });
+        JarContentsManifest previous = JarContentsManifest
+                .read(frontendDepsFolder);
+        JarContentsManifest current = JarContentsManifest
+                .create(frontendDepsFolder);
+        current.scan(jar, previous, basePaths);
+        current.resolveFiles();
+        current.copyChanged(jar, previous);
+
+        Assert.assertEquals(0, current.getCopiedCount());
+        Assert.assertEquals("local",
+                FileUtils.readFileToString(
+                        new File(frontendDepsFolder, "ExampleConnector.js"),
+                        StandardCharsets.UTF_8));
+    }
+
+    private File createJar(String name, String sharedContent)
+            throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), name);
+        try (JarOutputStream out = new JarOutputStream(
+                new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry(
+                    COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT + "/shared.js"));
+            out.write(sharedContent.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry(
+                    COMPATIBILITY_RESOURCES_FRONTEND_DEFAULT + "/" + name
+                            + ".js"));
+            out.write(name.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return jar;
+    }
+
     private void should_collectJsAndCssFilesFromJars(String jarFile,
             String fsDir) throws IOException {
 
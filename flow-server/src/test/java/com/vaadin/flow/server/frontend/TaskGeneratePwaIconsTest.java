@@ -0,0 +1,104 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.PwaConfiguration;
+import com.vaadin.flow.server.PwaIconGenerator;
+import com.vaadin.flow.server.frontend.scanner.ClassFinder;
+
+public class TaskGeneratePwaIconsTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File npmFolder;
+    private File resourceOutputFolder;
+    private ClassFinder classFinder;
+    private TaskGeneratePwaIcons task;
+
+    @Before
+    public void setUp() throws IOException {
+        npmFolder = temporaryFolder.newFolder();
+        resourceOutputFolder = temporaryFolder.newFolder();
+        classFinder = Mockito.mock(ClassFinder.class);
+        Mockito.when(classFinder.getResource(Mockito.anyString()))
+                .thenAnswer(invocation -> getClass().getClassLoader()
+                        .getResource(invocation.getArgument(0)));
+        task = new TaskGeneratePwaIcons(new PwaConfiguration(false),
+                classFinder, npmFolder, resourceOutputFolder);
+    }
+
+    @Test
+    public void execute_logoInDependency_iconsGeneratedInLogoHashFolder()
+            throws Exception {
+        task.execute();
+
+        File[] logoFolders = getIconsFolder().listFiles();
+        Assert.assertEquals(1, logoFolders.length);
+        Assert.assertTrue(
+                new File(logoFolders[0], PwaIconGenerator.INDEX_FILE).exists());
+        Assert.assertTrue(new File(logoFolders[0], "32x32.png").exists());
+    }
+
+    @Test
+    public void execute_iconsUpToDate_iconsNotGeneratedAgain()
+            throws Exception {
+        task.execute();
+        File icon = new File(getIconsFolder().listFiles()[0], "32x32.png");
+        Files.write(icon.toPath(), new byte[] { 1 });
+
+        task.execute();
+
+        Assert.assertArrayEquals(new byte[] { 1 },
+                Files.readAllBytes(icon.toPath()));
+    }
+
+    @Test
+    public void execute_logoChanged_previousIconsRemoved() throws Exception {
+        task.execute();
+        File previous = getIconsFolder().listFiles()[0];
+
+        File webapp = new File(npmFolder, "src/main/webapp");
+        File logo = new File(webapp, PwaConfiguration.DEFAULT_ICON);
+        logo.getParentFile().mkdirs();
+        try (InputStream stream = getClass().getClassLoader()
+                .getResourceAsStream("com/vaadin/flow/server/default-logo.png")) {
+            Files.copy(stream, logo.toPath());
+        }
+        task.execute();
+
+        File[] logoFolders = getIconsFolder().listFiles();
+        Assert.assertEquals(1, logoFolders.length);
+        Assert.assertNotEquals(previous.getName(), logoFolders[0].getName());
+        Assert.assertEquals(PwaIconGenerator.getLogoHash(
+                Files.readAllBytes(logo.toPath())), logoFolders[0].getName());
+    }
+
+    private File getIconsFolder() {
+        return new File(resourceOutputFolder, PwaIconGenerator.ICONS_FOLDER);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.server.frontend.scanner.ScannerTestComponents.RootViewWithoutTheme;
+
+public class ClassDataCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFile = new File(temporaryFolder.newFolder(), "cache.json");
+    }
+
+    @Test
+    public void getClassData_storedAndLoaded_sameData() throws IOException {
+        ClassDataCache cache = new ClassDataCache(cacheFile);
+        ClassData visited = cache.getClassData(
+                RootViewWithoutTheme.class.getName(),
+                getUrl(RootViewWithoutTheme.class));
+        cache.store();
+        Assert.assertTrue(cacheFile.exists());
+
+        ClassData loaded = new ClassDataCache(cacheFile).getClassData(
+                RootViewWithoutTheme.class.getName(),
+                getUrl(RootViewWithoutTheme.class));
+        Assert.assertEquals(visited.modules, loaded.modules);
+        Assert.assertEquals(visited.scripts, loaded.scripts);
+        Assert.assertEquals(visited.css, loaded.css);
+        Assert.assertEquals(visited.children, loaded.children);
+        Assert.assertEquals(visited.route, loaded.route);
+        Assert.assertEquals(visited.themeName, loaded.themeName);
+        Assert.assertEquals(visited.themeVariant, loaded.themeVariant);
+    }
+
+    @Test
+    public void getClassData_unchangedClass_notVisitedAgain()
+            throws IOException {
+        ClassDataCache cache = new ClassDataCache(cacheFile);
+        cache.getClassData(RootViewWithoutTheme.class.getName(),
+                getUrl(RootViewWithoutTheme.class));
+        cache.store();
+
+        // tamper the stored data, it should be returned as is
+        String json = FileUtils.readFileToString(cacheFile,
+                StandardCharsets.UTF_8);
+        FileUtils.write(cacheFile, json.replace("./view-3.js", "cached.js"),
+                StandardCharsets.UTF_8);
+
+        ClassData loaded = new ClassDataCache(cacheFile).getClassData(
+                RootViewWithoutTheme.class.getName(),
+                getUrl(RootViewWithoutTheme.class));
+        Assert.assertTrue(loaded.modules.contains("cached.js"));
+    }
+
+    @Test
+    public void getClassData_changedClass_visitedAgain() throws IOException {
+        ClassDataCache cache = new ClassDataCache(cacheFile);
+        ClassData visited = cache.getClassData(
+                RootViewWithoutTheme.class.getName(),
+                getUrl(RootViewWithoutTheme.class));
+        cache.store();
+
+        // the fingerprint of a different class is stored for the route
+        String json = FileUtils.readFileToString(cacheFile,
+                StandardCharsets.UTF_8);
+        FileUtils.write(cacheFile,
+                json.replace("./view-3.js", "cached.js")
+                        .replaceAll("\"fingerprint\":\"[^\"]*\"",
+                                "\"fingerprint\":\"0:0\""),
+                StandardCharsets.UTF_8);
+
+        ClassData loaded = new ClassDataCache(cacheFile).getClassData(
+                RootViewWithoutTheme.class.getName(),
+                getUrl(RootViewWithoutTheme.class));
+        Assert.assertEquals(visited.modules, loaded.modules);
+        Assert.assertFalse(loaded.modules.contains("cached.js"));
+    }
+
+    @Test
+    public void load_corruptedFile_cacheIsEmpty() throws IOException {
+        FileUtils.write(cacheFile, "{ not json", StandardCharsets.UTF_8);
+
+        ClassData data = new ClassDataCache(cacheFile).getClassData(
+                RootViewWithoutTheme.class.getName(),
+                getUrl(RootViewWithoutTheme.class));
+        Assert.assertFalse(data.modules.isEmpty());
+    }
+
+    @Test
+    public void frontendDependencies_withCacheFile_sameResultOnRescan() {
+        ClassFinder finder = new ClassFinder.DefaultClassFinder(
+                new HashSet<>(Arrays.asList(RootViewWithoutTheme.class)));
+
+        FrontendDependencies first = new FrontendDependencies(finder, false,
+                false, cacheFile);
+        Assert.assertTrue(cacheFile.exists());
+        long lastModified = cacheFile.lastModified();
+
+        FrontendDependencies second = new FrontendDependencies(finder, false,
+                false, cacheFile);
+        Assert.assertEquals(first.getModules(), second.getModules());
+        Assert.assertEquals(first.getScripts(), second.getScripts());
+        Assert.assertEquals(first.getCss(), second.getCss());
+        Assert.assertEquals(first.getClasses(), second.getClasses());
+        Assert.assertEquals("Unchanged cache should not be rewritten",
+                lastModified, cacheFile.lastModified());
+    }
+
+    private URL getUrl(Class<?> clazz) {
+        return clazz.getClassLoader()
+                .getResource(clazz.getName().replace(".", "/") + ".class");
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.metrics.InMemoryMetricsCollector.Histogram;
+
+public class InMemoryMetricsCollectorTest {
+
+    private InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+
+    private MockVaadinServletService service;
+
+    @Before
+    public void setUp() {
+        service = new MockVaadinServletService();
+        service.setMetricsCollector(collector);
+    }
+
+    @After
+    public void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    public void recordValue_histogramStatistics() {
+        for (int i = 1; i <= 100; i++) {
+            collector.recordValue("size", i);
+        }
+
+        Histogram histogram = collector.getHistogram("size").get();
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(5050, histogram.getSum());
+        Assert.assertEquals(1, histogram.getMin());
+        Assert.assertEquals(100, histogram.getMax());
+        Assert.assertEquals(50.5, histogram.getMean(), 0);
+
+        long median = histogram.getPercentile(50);
+        Assert.assertTrue(median >= 50 && median < 100);
+        Assert.assertEquals(100, histogram.getPercentile(100));
+        Assert.assertEquals(1, histogram.getPercentile(0));
+    }
+
+    @Test
+    public void increment_countersSummedPerTag() {
+        collector.increment("rpc", "event", 2);
+        collector.increment("rpc", "event", 1);
+        collector.increment("rpc", "mSync", 4);
+        collector.increment("changes", null, 5);
+
+        Assert.assertEquals(3, collector.getCount("rpc", "event"));
+        Assert.assertEquals(4, collector.getCount("rpc", "mSync"));
+        Assert.assertEquals(0, collector.getCount("rpc", "navigation"));
+        Assert.assertEquals(7, collector.getTotalCount("rpc"));
+        Assert.assertEquals(5, collector.getCount("changes", null));
+        Assert.assertEquals(0, collector.getTotalCount("unknown"));
+    }
+
+    @Test
+    public void setGauge_latestValueKeptPerTag() {
+        collector.setGauge("bytes", "route", 100);
+        collector.setGauge("bytes", "route", 40);
+        collector.setGauge("bytes", null, 7);
+
+        Assert.assertEquals(Optional.of(40L),
+                collector.getGauge("bytes", "route"));
+        Assert.assertEquals(Optional.of(7L), collector.getGauge("bytes", null));
+        Assert.assertFalse(collector.getGauge("bytes", "other").isPresent());
+        Assert.assertFalse(collector.getGauge("unknown", null).isPresent());
+    }
+
+    @Test
+    public void startSpan_durationRecordedWhenEnded() {
+        MetricsCollector.Span span = collector.startSpan("span");
+        Assert.assertFalse(collector.getHistogram("span").isPresent());
+
+        span.end();
+
+        Histogram histogram = collector.getHistogram("span").get();
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertTrue(histogram.getMin() >= 0);
+    }
+
+    @Test
+    public void reset_measurementsDiscarded() {
+        collector.recordValue("size", 1);
+        collector.increment("rpc", null, 1);
+        collector.setGauge("bytes", null, 1);
+
+        collector.reset();
+
+        Assert.assertFalse(collector.getHistogram("size").isPresent());
+        Assert.assertEquals(0, collector.getTotalCount("rpc"));
+        Assert.assertFalse(collector.getGauge("bytes", null).isPresent());
+    }
+
+    @Test
+    public void sessionLockAndUnlock_waitAndHoldRecorded() {
+        MockVaadinSession session = new MockVaadinSession(service);
+
+        session.lock();
+        session.lock();
+        session.unlock();
+        Assert.assertFalse(collector
+                .getHistogram(MetricsCollector.SESSION_LOCK_HOLD).isPresent());
+        session.unlock();
+
+        Assert.assertEquals(2, collector
+                .getHistogram(MetricsCollector.SESSION_LOCK_WAIT).get()
+                .getCount());
+        Assert.assertEquals(1, collector
+                .getHistogram(MetricsCollector.SESSION_LOCK_HOLD).get()
+                .getCount());
+    }
+
+    @Test
+    public void pendingAccessTasks_queueSizeRecorded() {
+        MockVaadinSession session = new MockVaadinSession(service);
+
+        session.lock();
+        session.access(() -> {
+        });
+        session.access(() -> {
+        });
+        session.unlock();
+
+        Histogram histogram = collector
+                .getHistogram(MetricsCollector.ACCESS_QUEUE_SIZE).get();
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals(2, histogram.getMax());
+    }
+
+    @Test
+    public void noOp_notEnabledAndServiceDefault() {
+        Assert.assertFalse(MetricsCollector.noOp().isEnabled());
+        Assert.assertSame(MetricsCollector.noOp(),
+                new MockVaadinServletService().getMetricsCollector());
+        Assert.assertSame(MetricsCollector.noOp(), MetricsCollector.get(null));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.metrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.nodefeature.ElementAttributeMap;
+import com.vaadin.flow.internal.nodefeature.ElementChildrenList;
+import com.vaadin.flow.internal.nodefeature.NodeFeature;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.tests.util.MockUI;
+
+public class StateTreeProfilerTest {
+
+    @Tag("div")
+    public static class TestComponent extends Component {
+    }
+
+    @Tag("span")
+    public static class ContributingComponent extends Component
+            implements RetainedSizeContributor {
+        @Override
+        public long estimateRetainedSize() {
+            return 100000;
+        }
+    }
+
+    @Tag("div")
+    public static class DataComponent extends Component {
+        private final RetainedSizeContributor data = () -> 5000;
+        // Shared contributors are only counted once
+        private final RetainedSizeContributor sameData = data;
+        private final RetainedSizeContributor noData = null;
+    }
+
+    private final MockUI ui = new MockUI();
+
+    @After
+    public void tearDown() {
+        UI.setCurrent(null);
+    }
+
+    @Test
+    public void profile_sizesAttributedToComponentsAndFeatures() {
+        TestComponent small = new TestComponent();
+        TestComponent large = new TestComponent();
+        char[] value = new char[10000];
+        Arrays.fill(value, 'x');
+        large.getElement().setAttribute("title", new String(value));
+        ui.getElement().appendChild(small.getElement(), large.getElement());
+
+        StateTreeProfile profile = StateTreeProfiler.profile(ui,
+                Duration.ofMinutes(1));
+
+        Assert.assertTrue(profile.isComplete());
+        Assert.assertEquals(ui.getUIId(), profile.getUiId());
+        Assert.assertEquals(StateTreeProfile.NO_ROUTE, profile.getRoute());
+        Assert.assertTrue(profile.getNodeCount() >= 3);
+
+        Map<Class<? extends Component>, Long> byComponent = profile
+                .getBytesByComponent();
+        Assert.assertTrue(byComponent.get(TestComponent.class) > 10000);
+        Assert.assertTrue(byComponent.containsKey(MockUI.class));
+
+        Map<Class<? extends NodeFeature>, Long> byFeature = profile
+                .getBytesByFeature();
+        Assert.assertTrue(byFeature.get(ElementAttributeMap.class) > 10000);
+        Assert.assertTrue(byFeature.containsKey(ElementChildrenList.class));
+
+        Assert.assertTrue(profile.getStateTreeBytes() > 10000);
+        Assert.assertEquals(profile.getStateTreeBytes(),
+                profile.getTotalBytes());
+    }
+
+    @Test
+    public void profile_contributorAndPendingJavaScriptIncluded() {
+        ContributingComponent component = new ContributingComponent();
+        ui.getElement().appendChild(component.getElement());
+        ui.getPage().executeJs("window.foo($0)", "bar");
+
+        StateTreeProfile profile = StateTreeProfiler.profile(ui,
+                Duration.ofMinutes(1));
+
+        Assert.assertEquals(100000, profile.getContributorBytes());
+        Assert.assertTrue(profile.getBytesByComponent()
+                .get(ContributingComponent.class) > 100000);
+        Assert.assertTrue(profile.getPendingJavaScriptBytes() > 0);
+        Assert.assertEquals(
+                profile.getStateTreeBytes() + profile.getContributorBytes()
+                        + profile.getPendingJavaScriptBytes(),
+                profile.getTotalBytes());
+    }
+
+    @Test
+    public void profile_contributorFieldsIncluded() {
+        ui.getElement().appendChild(new DataComponent().getElement());
+
+        StateTreeProfile profile = StateTreeProfiler.profile(ui,
+                Duration.ofMinutes(1));
+
+        Assert.assertEquals(5000, profile.getContributorBytes());
+        Assert.assertTrue(
+                profile.getBytesByComponent().get(DataComponent.class) > 5000);
+    }
+
+    @Test
+    public void profile_timeBudgetExceeded_incomplete() {
+        for (int i = 0; i < 200; i++) {
+            ui.getElement().appendChild(new TestComponent().getElement());
+        }
+
+        StateTreeProfile profile = StateTreeProfiler.profile(ui,
+                Duration.ZERO);
+
+        Assert.assertFalse(profile.isComplete());
+        Assert.assertTrue(profile.getNodeCount() < 200);
+    }
+
+    @Test
+    public void profileSession_allUisProfiled() {
+        MockVaadinSession session = new MockVaadinSession(
+                new MockVaadinServletService());
+        session.lock();
+        for (int i = 0; i < 2; i++) {
+            MockUI sessionUi = new MockUI(session);
+            sessionUi.doInit(Mockito.mock(VaadinServletRequest.class),
+                    session.getNextUIid());
+            session.addUI(sessionUi);
+        }
+
+        List<StateTreeProfile> profiles = StateTreeProfiler
+                .profile(session, Duration.ofMinutes(1));
+        session.unlock();
+
+        Assert.assertEquals(2, profiles.size());
+        Map<String, Long> byRoute = StateTreeProfile
+                .aggregateByRoute(profiles);
+        Assert.assertEquals(1, byRoute.size());
+        Assert.assertEquals(
+                profiles.get(0).getTotalBytes()
+                        + profiles.get(1).getTotalBytes(),
+                byRoute.get(StateTreeProfile.NO_ROUTE).longValue());
+    }
+
+    @Test
+    public void recordTo_valuesRecorded() {
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        StateTreeProfile profile = StateTreeProfiler.profile(ui,
+                Duration.ofMinutes(1));
+
+        StateTreeProfile.recordTo(collector,
+                Collections.singletonList(profile));
+
+        Assert.assertEquals(profile.getTotalBytes(),
+                collector.getHistogram(MetricsCollector.UI_RETAINED_BYTES)
+                        .get().getMax());
+        Assert.assertEquals(Optional.of(profile.getTotalBytes()),
+                collector.getGauge(MetricsCollector.ROUTE_RETAINED_BYTES,
+                        StateTreeProfile.NO_ROUTE));
+    }
+
+    @Test
+    public void recordTo_recordedAgain_routeGaugeReplaced() {
+        InMemoryMetricsCollector collector = new InMemoryMetricsCollector();
+        ui.getElement().appendChild(new TestComponent().getElement());
+        StateTreeProfile.recordTo(collector, Collections.singletonList(
+                StateTreeProfiler.profile(ui, Duration.ofMinutes(1))));
+
+        ui.getElement().removeAllChildren();
+        StateTreeProfile profile = StateTreeProfiler.profile(ui,
+                Duration.ofMinutes(1));
+        StateTreeProfile.recordTo(collector,
+                Collections.singletonList(profile));
+
+        Assert.assertEquals(Optional.of(profile.getTotalBytes()),
+                collector.getGauge(MetricsCollector.ROUTE_RETAINED_BYTES,
+                        StateTreeProfile.NO_ROUTE));
+    }
+}
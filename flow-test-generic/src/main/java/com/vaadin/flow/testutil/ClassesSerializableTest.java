@@ -62,6 +62,7 @@ public abstract class ClassesSerializableTest extends ClassFinder {
     protected Stream<String> getExcludedPatterns() {
         return Stream.of(
                 "com\\.vaadin\\.flow\\.data\\.validator\\.BeanValidator\\$LazyFactoryInitializer",
+                "com\\.vaadin\\.flow\\.data\\.binder\\.BeanPropertySet\\$PropertyAccessor",
                 "com\\.vaadin\\.flow\\.internal\\.BeanUtil\\$LazyValidationAvailability",
                 ".*\\.slf4j\\..*", ".*\\.testbench\\..*", ".*\\.testutil\\..*",
                 // Various utils with inner classes
@@ -107,6 +108,9 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.router\\.NavigationStateBuilder",
                 "com\\.vaadin\\.flow\\.router\\.RouteNotFoundError$LazyInit",
                 "com\\.vaadin\\.flow\\.internal\\.JavaScriptSemantics",
+                "com\\.vaadin\\.flow\\.internal\\.SizeEstimator",
+                "com\\.vaadin\\.flow\\.server\\.metrics\\.StateTreeProfiler(\\$.*)?",
+                "com\\.vaadin\\.flow\\.server\\.PwaIconGenerator",
                 "com\\.vaadin\\.flow\\.internal\\.nodefeature\\.NodeProperties",
                 "com\\.vaadin\\.flow\\.internal\\.AnnotationReader",
                 "com\\.vaadin\\.flow\\.server\\.StaticFileHandlerFactory",
@@ -187,6 +191,7 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.scanner\\..*",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.FrontendTools",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.JarContentsManager",
+                "com\\.vaadin\\.flow\\.server\\.frontend\\.JarContentsManifest(\\$.*)?",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.VersionsJsonConverter",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.VersionsJsonFilter",
 
@@ -211,6 +216,7 @@ public abstract class ClassesSerializableTest extends ClassFinder {
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskGenerateBootstrap",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskGenerateTsDefinitions",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskGenerateServiceWorker",
+                "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskGeneratePwaIcons",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskInstallWebpackPlugins",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.TaskUpdateThemeImport",
                 "com\\.vaadin\\.flow\\.server\\.frontend\\.EndpointGeneratorTaskFactory",
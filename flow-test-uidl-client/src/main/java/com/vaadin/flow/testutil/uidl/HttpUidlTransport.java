@@ -0,0 +1,151 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.vaadin.flow.shared.JsonConstants;
+
+/**
+ * A {@link UidlTransport} which sends the requests over HTTP to a running
+ * server, e.g. an embedded servlet container started by a test.
+ * <p>
+ * The cookies set by the server are stored in the transport instance and sent
+ * with the following requests, so that each instance has its own HTTP session.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class HttpUidlTransport implements UidlTransport {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String servletUrl;
+
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    private int timeout = 30000;
+
+    /**
+     * Creates a new transport for the Vaadin servlet at the given URL.
+     *
+     * @param servletUrl
+     *            the URL the Vaadin servlet is mapped to, e.g.
+     *            <code>http://localhost:8080/</code>, not <code>null</code>
+     */
+    public HttpUidlTransport(String servletUrl) {
+        this.servletUrl = Objects.requireNonNull(servletUrl,
+                "Servlet URL cannot be null");
+    }
+
+    /**
+     * Sets the connect and read timeout of the requests.
+     *
+     * @param timeout
+     *            the timeout in milliseconds
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String get(String query) throws IOException {
+        return send("GET", query, null);
+    }
+
+    @Override
+    public String post(String query, String body) throws IOException {
+        return send("POST", query, body);
+    }
+
+    private String send(String method, String query, String body)
+            throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                servletUrl + "?" + query).openConnection();
+        try {
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setInstanceFollowRedirects(false);
+            connection.setUseCaches(false);
+            String cookieHeader = getCookieHeader();
+            if (!cookieHeader.isEmpty()) {
+                connection.setRequestProperty("Cookie", cookieHeader);
+            }
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type",
+                        JsonConstants.JSON_CONTENT_TYPE);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            int status = connection.getResponseCode();
+            storeCookies(connection.getHeaderFields().get("Set-Cookie"));
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected response status " + status
+                        + " for " + method + " ?" + query);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return read(in);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private synchronized String getCookieHeader() {
+        return cookies.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("; "));
+    }
+
+    private synchronized void storeCookies(List<String> setCookieHeaders) {
+        if (setCookieHeaders == null) {
+            return;
+        }
+        for (String header : setCookieHeaders) {
+            String cookie = header.split(";", 2)[0];
+            int separator = cookie.indexOf('=');
+            if (separator > 0) {
+                cookies.put(cookie.substring(0, separator).trim(),
+                        cookie.substring(separator + 1).trim());
+            }
+        }
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
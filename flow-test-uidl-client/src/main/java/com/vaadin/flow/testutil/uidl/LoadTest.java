@@ -0,0 +1,164 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a scenario concurrently for a number of virtual users, each with its
+ * own {@link UidlClient} and {@link UidlTransport}, and collects the request
+ * latencies.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * LoadTest test = new LoadTest(
+ *         () -&gt; new HttpUidlTransport("http://localhost:8080/"),
+ *         client -&gt; {
+ *             client.bootstrap("");
+ *             MirrorNode button = client.getStateTree()
+ *                     .findByTag("vaadin-button").get(0);
+ *             client.fireEvent(button, "click", null);
+ *         });
+ * LoadTestResult result = test.run(500, 5, TimeUnit.MINUTES);
+ * </pre>
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class LoadTest {
+
+    /**
+     * The actions of one virtual user.
+     */
+    @FunctionalInterface
+    public interface Scenario {
+        /**
+         * Runs the scenario using the given client.
+         *
+         * @param client
+         *            the client of the virtual user, not bootstrapped
+         * @throws Exception
+         *             if the scenario fails, the user is then counted as
+         *             failed
+         */
+        void run(UidlClient client) throws Exception;
+    }
+
+    private final Supplier<UidlTransport> transportFactory;
+
+    private final Scenario scenario;
+
+    /**
+     * Creates a new load test.
+     *
+     * @param transportFactory
+     *            a factory creating a new transport, i.e. a new browser
+     *            session, for each virtual user, not <code>null</code>
+     * @param scenario
+     *            the scenario to run for each virtual user, not
+     *            <code>null</code>
+     */
+    public LoadTest(Supplier<UidlTransport> transportFactory,
+            Scenario scenario) {
+        this.transportFactory = Objects.requireNonNull(transportFactory,
+                "Transport factory cannot be null");
+        this.scenario = Objects.requireNonNull(scenario,
+                "Scenario cannot be null");
+    }
+
+    /**
+     * Runs the scenario for the given number of concurrent virtual users and
+     * waits for all of them to finish.
+     *
+     * @param users
+     *            the number of virtual users, each run in its own thread
+     * @param timeout
+     *            the maximum time to wait for the users to finish
+     * @param unit
+     *            the unit of the timeout
+     * @return the result of the test
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     * @throws IllegalStateException
+     *             if the users do not finish within the timeout
+     */
+    public LoadTestResult run(int users, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (users <= 0) {
+            throw new IllegalArgumentException(
+                    "The number of users must be positive");
+        }
+        List<UserRun> runs = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            runs.add(new UserRun());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(users);
+            for (UserRun run : runs) {
+                futures.add(executor.submit(run));
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout, unit)) {
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException(
+                        "The load test did not finish within " + timeout
+                                + " " + unit);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long duration = System.nanoTime() - start;
+
+        List<Long> latencies = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (UserRun run : runs) {
+            latencies.addAll(run.latencies);
+            if (run.error != null) {
+                errors.add(run.error);
+            }
+        }
+        Collections.sort(latencies);
+        return new LoadTestResult(users, duration, latencies, errors);
+    }
+
+    private class UserRun implements Runnable {
+        private final List<Long> latencies = new ArrayList<>();
+        private volatile Throwable error;
+
+        @Override
+        public void run() {
+            UidlClient client = new UidlClient(transportFactory.get());
+            client.setLatencyListener(latencies::add);
+            try {
+                scenario.run(client);
+            } catch (Exception | AssertionError e) {
+                error = e;
+            }
+        }
+    }
+}
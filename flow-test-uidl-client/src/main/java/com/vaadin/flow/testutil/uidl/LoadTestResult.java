@@ -0,0 +1,160 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result of a {@link LoadTest} run.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class LoadTestResult {
+
+    private final int users;
+
+    private final long durationNanos;
+
+    private final List<Long> sortedLatencies;
+
+    private final List<Throwable> errors;
+
+    LoadTestResult(int users, long durationNanos, List<Long> sortedLatencies,
+            List<Throwable> errors) {
+        this.users = users;
+        this.durationNanos = durationNanos;
+        this.sortedLatencies = Collections.unmodifiableList(sortedLatencies);
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Gets the number of virtual users of the run.
+     *
+     * @return the number of users
+     */
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Gets the number of virtual users whose scenario failed.
+     *
+     * @return the number of failed users
+     */
+    public int getFailedUsers() {
+        return errors.size();
+    }
+
+    /**
+     * Gets the errors thrown by the failed scenarios.
+     *
+     * @return the errors, not <code>null</code>
+     */
+    public List<Throwable> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the number of completed requests of all users.
+     *
+     * @return the number of requests
+     */
+    public int getRequestCount() {
+        return sortedLatencies.size();
+    }
+
+    /**
+     * Gets the wall clock duration of the run.
+     *
+     * @param unit
+     *            the unit of the returned value
+     * @return the duration in the given unit
+     */
+    public long getDuration(TimeUnit unit) {
+        return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of completed requests per second over the whole run.
+     *
+     * @return the throughput in requests per second
+     */
+    public double getThroughput() {
+        if (durationNanos == 0) {
+            return 0;
+        }
+        return sortedLatencies.size() * 1e9 / durationNanos;
+    }
+
+    /**
+     * Gets a request latency percentile using the nearest rank method.
+     *
+     * @param percentile
+     *            the percentile, between 0 and 100
+     * @param unit
+     *            the unit of the returned value
+     * @return the latency in the given unit, or <code>0</code> if there were
+     *         no requests
+     */
+    public long getLatencyPercentile(double percentile, TimeUnit unit) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException(
+                    "Percentile must be between 0 and 100");
+        }
+        if (sortedLatencies.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.size());
+        long latency = sortedLatencies.get(Math.max(rank, 1) - 1);
+        return unit.convert(latency, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the mean request latency.
+     *
+     * @param unit
+     *            the unit of the returned value
+     * @return the mean latency in the given unit, or <code>0</code> if there
+     *         were no requests
+     */
+    public double getMeanLatency(TimeUnit unit) {
+        if (sortedLatencies.isEmpty()) {
+            return 0;
+        }
+        double sum = 0;
+        for (long latency : sortedLatencies) {
+            sum += latency;
+        }
+        return sum / sortedLatencies.size() / unit.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%d users, %d failed, %d requests in %d ms (%.1f req/s), "
+                        + "latency mean %.1f ms, p50 %d ms, p95 %d ms, "
+                        + "p99 %d ms",
+                users, getFailedUsers(), getRequestCount(),
+                getDuration(TimeUnit.MILLISECONDS), getThroughput(),
+                getMeanLatency(TimeUnit.MILLISECONDS),
+                getLatencyPercentile(50, TimeUnit.MILLISECONDS),
+                getLatencyPercentile(95, TimeUnit.MILLISECONDS),
+                getLatencyPercentile(99, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+import com.vaadin.flow.internal.nodefeature.NodeProperties;
+
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+/**
+ * The client side mirror of a server side state node, as reconstructed from
+ * the changes sent by the server.
+ * <p>
+ * The values of the map and list features are either {@link JsonValue}s or
+ * other {@link MirrorNode}s.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class MirrorNode {
+
+    private final int id;
+
+    private final Map<Integer, Map<String, Object>> maps = new HashMap<>();
+
+    private final Map<Integer, List<Object>> lists = new HashMap<>();
+
+    /**
+     * Creates a new node with the given id.
+     *
+     * @param id
+     *            the id of the node
+     */
+    public MirrorNode(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the id of this node.
+     *
+     * @return the node id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the values of a map feature of this node.
+     *
+     * @param featureId
+     *            the id of the feature, see {@link NodeFeatures}
+     * @return an unmodifiable map of the feature values, empty if the node
+     *         has no such feature
+     */
+    public Map<String, Object> getMap(int featureId) {
+        Map<String, Object> map = maps.get(featureId);
+        return map == null ? Collections.emptyMap()
+                : Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Gets the values of a list feature of this node.
+     *
+     * @param featureId
+     *            the id of the feature, see {@link NodeFeatures}
+     * @return an unmodifiable list of the feature values, empty if the node
+     *         has no such feature
+     */
+    public List<Object> getList(int featureId) {
+        List<Object> list = lists.get(featureId);
+        return list == null ? Collections.emptyList()
+                : Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Gets the tag name of the element represented by this node.
+     *
+     * @return the tag name, or an empty optional if this node is not an
+     *         element
+     */
+    public Optional<String> getTag() {
+        return Optional.ofNullable(asString(
+                getMap(NodeFeatures.ELEMENT_DATA).get(NodeProperties.TAG)));
+    }
+
+    /**
+     * Gets the value of an element property.
+     *
+     * @param name
+     *            the property name
+     * @return the property value, either a {@link JsonValue} or a
+     *         {@link MirrorNode}, or <code>null</code> if not set
+     */
+    public Object getProperty(String name) {
+        return getMap(NodeFeatures.ELEMENT_PROPERTIES).get(name);
+    }
+
+    /**
+     * Gets the value of an element property as a string.
+     *
+     * @param name
+     *            the property name
+     * @return the property value as a string, or <code>null</code> if not set
+     *         or not a JSON value
+     */
+    public String getPropertyAsString(String name) {
+        return asString(getProperty(name));
+    }
+
+    /**
+     * Gets the value of an element attribute.
+     *
+     * @param name
+     *            the attribute name
+     * @return the attribute value, or <code>null</code> if not set
+     */
+    public String getAttribute(String name) {
+        return asString(getMap(NodeFeatures.ELEMENT_ATTRIBUTES).get(name));
+    }
+
+    /**
+     * Gets the text of a text node.
+     *
+     * @return the text, or <code>null</code> if this is not a text node
+     */
+    public String getText() {
+        return asString(getMap(NodeFeatures.TEXT_NODE)
+                .get(NodeProperties.TEXT));
+    }
+
+    /**
+     * Gets the child element nodes of this node.
+     *
+     * @return the child nodes, not <code>null</code>
+     */
+    public List<MirrorNode> getChildren() {
+        return getList(NodeFeatures.ELEMENT_CHILDREN).stream()
+                .filter(MirrorNode.class::isInstance)
+                .map(MirrorNode.class::cast).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the DOM event types the server listens to on this element.
+     *
+     * @return the event types, not <code>null</code>
+     */
+    public Set<String> getEventTypes() {
+        return getMap(NodeFeatures.ELEMENT_LISTENERS).keySet();
+    }
+
+    void put(int featureId, String key, Object value) {
+        maps.computeIfAbsent(featureId, feature -> new LinkedHashMap<>())
+                .put(key, value);
+    }
+
+    void remove(int featureId, String key) {
+        Map<String, Object> map = maps.get(featureId);
+        if (map != null) {
+            map.remove(key);
+        }
+    }
+
+    void splice(int featureId, int index, int removeCount,
+            List<Object> added) {
+        List<Object> list = lists.computeIfAbsent(featureId,
+                feature -> new ArrayList<>());
+        list.subList(index, index + removeCount).clear();
+        list.addAll(index, added);
+    }
+
+    void clear(int featureId) {
+        List<Object> list = lists.get(featureId);
+        if (list != null) {
+            list.clear();
+        }
+    }
+
+    private static String asString(Object value) {
+        if (!(value instanceof JsonValue)) {
+            return null;
+        }
+        JsonValue json = (JsonValue) value;
+        return json.getType() == JsonType.NULL ? null : json.asString();
+    }
+
+    @Override
+    public String toString() {
+        return "MirrorNode " + id + getTag().map(tag -> " <" + tag + ">")
+                .orElse("");
+    }
+}
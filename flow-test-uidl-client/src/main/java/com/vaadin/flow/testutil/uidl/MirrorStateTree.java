@@ -0,0 +1,235 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * A client side mirror of the state tree of a UI, kept up to date by applying
+ * the changes sent by the server in the same way as the browser client does.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class MirrorStateTree {
+
+    /**
+     * The id of the root node, i.e. the node of the UI.
+     */
+    public static final int ROOT_NODE_ID = 1;
+
+    private final Map<Integer, MirrorNode> nodes = new HashMap<>();
+
+    private final Map<String, JsonValue> constants = new HashMap<>();
+
+    /**
+     * Stores the constants of a response in the constant pool.
+     *
+     * @param newConstants
+     *            the constants from the <code>constants</code> key of a
+     *            response
+     */
+    public void addConstants(JsonObject newConstants) {
+        for (String key : newConstants.keys()) {
+            constants.put(key, newConstants.get(key));
+        }
+    }
+
+    /**
+     * Gets a value from the constant pool.
+     *
+     * @param key
+     *            the constant key
+     * @return the constant value, or <code>null</code> if there is no such
+     *         constant
+     */
+    public JsonValue getConstant(String key) {
+        return constants.get(key);
+    }
+
+    /**
+     * Applies the changes from the <code>changes</code> key of a response to
+     * the tree.
+     *
+     * @param changes
+     *            the changes to apply
+     */
+    public void applyChanges(JsonArray changes) {
+        for (int i = 0; i < changes.length(); i++) {
+            applyChange(changes.getObject(i));
+        }
+    }
+
+    private void applyChange(JsonObject change) {
+        int nodeId = (int) change.getNumber(JsonConstants.CHANGE_NODE);
+        String type = change.getString(JsonConstants.CHANGE_TYPE);
+
+        if (JsonConstants.CHANGE_TYPE_ATTACH.equals(type)) {
+            nodes.computeIfAbsent(nodeId, MirrorNode::new);
+            return;
+        }
+        if (JsonConstants.CHANGE_TYPE_DETACH.equals(type)) {
+            nodes.remove(nodeId);
+            return;
+        }
+
+        MirrorNode node = getExistingNode(nodeId);
+        int featureId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
+        switch (type) {
+        case JsonConstants.CHANGE_TYPE_NOOP:
+            break;
+        case JsonConstants.CHANGE_TYPE_PUT:
+            node.put(featureId,
+                    change.getString(JsonConstants.CHANGE_MAP_KEY),
+                    getPutValue(change));
+            break;
+        case JsonConstants.CHANGE_TYPE_REMOVE:
+            node.remove(featureId,
+                    change.getString(JsonConstants.CHANGE_MAP_KEY));
+            break;
+        case JsonConstants.CHANGE_TYPE_SPLICE:
+            node.splice(featureId,
+                    (int) change.getNumber(JsonConstants.CHANGE_SPLICE_INDEX),
+                    change.hasKey(JsonConstants.CHANGE_SPLICE_REMOVE)
+                            ? (int) change.getNumber(
+                                    JsonConstants.CHANGE_SPLICE_REMOVE)
+                            : 0,
+                    getAddedValues(change));
+            break;
+        case JsonConstants.CHANGE_TYPE_CLEAR:
+            node.clear(featureId);
+            break;
+        default:
+            throw new IllegalArgumentException(
+                    "Unsupported change type: " + type);
+        }
+    }
+
+    private Object getPutValue(JsonObject change) {
+        if (change.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)) {
+            return getExistingNode((int) change
+                    .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE));
+        }
+        return change.get(JsonConstants.CHANGE_PUT_VALUE);
+    }
+
+    private List<Object> getAddedValues(JsonObject change) {
+        List<Object> added = new ArrayList<>();
+        if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
+            JsonArray addedNodes = change
+                    .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
+            for (int i = 0; i < addedNodes.length(); i++) {
+                added.add(getExistingNode((int) addedNodes.getNumber(i)));
+            }
+        } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD)) {
+            JsonArray addedValues = change
+                    .getArray(JsonConstants.CHANGE_SPLICE_ADD);
+            for (int i = 0; i < addedValues.length(); i++) {
+                added.add(addedValues.get(i));
+            }
+        }
+        return added;
+    }
+
+    private MirrorNode getExistingNode(int nodeId) {
+        MirrorNode node = nodes.get(nodeId);
+        if (node == null) {
+            throw new IllegalStateException(
+                    "Change for node " + nodeId + " which is not attached");
+        }
+        return node;
+    }
+
+    /**
+     * Gets the node with the given id.
+     *
+     * @param nodeId
+     *            the node id
+     * @return the node, or an empty optional if there is no such node
+     */
+    public Optional<MirrorNode> getNode(int nodeId) {
+        return Optional.ofNullable(nodes.get(nodeId));
+    }
+
+    /**
+     * Gets the root node of the tree, i.e. the node of the UI.
+     *
+     * @return the root node
+     * @throws IllegalStateException
+     *             if the root node has not been received
+     */
+    public MirrorNode getRootNode() {
+        return getExistingNode(ROOT_NODE_ID);
+    }
+
+    /**
+     * Gets all the nodes of the tree.
+     *
+     * @return a stream of the nodes
+     */
+    public Stream<MirrorNode> getNodes() {
+        return nodes.values().stream();
+    }
+
+    /**
+     * Finds the element nodes with the given tag name.
+     *
+     * @param tag
+     *            the tag name
+     * @return the matching nodes, in node id order
+     */
+    public List<MirrorNode> findByTag(String tag) {
+        return getNodes()
+                .filter(node -> node.getTag().filter(tag::equals).isPresent())
+                .sorted((node1, node2) -> Integer.compare(node1.getId(),
+                        node2.getId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the element node with the given <code>id</code> attribute.
+     *
+     * @param elementId
+     *            the element id
+     * @return the node, or an empty optional if there is no such element
+     */
+    public Optional<MirrorNode> findById(String elementId) {
+        return getNodes()
+                .filter(node -> elementId.equals(node.getAttribute("id")))
+                .findFirst();
+    }
+
+    /**
+     * Removes all nodes and constants, e.g. before the server resends the
+     * whole state when resynchronizing.
+     */
+    public void clear() {
+        nodes.clear();
+        constants.clear();
+    }
+}
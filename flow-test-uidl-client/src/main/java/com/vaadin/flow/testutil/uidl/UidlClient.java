@@ -0,0 +1,329 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import elemental.json.impl.JsonUtil;
+
+/**
+ * A headless client which speaks the UIDL protocol of Flow without a browser,
+ * for driving many concurrent virtual users against a server in load tests.
+ * <p>
+ * The client bootstraps a UI the same way as the client side engine of a
+ * server side routed application, keeps a {@link MirrorStateTree} of the UI
+ * up to date and tracks the CSRF token, sync id and client id needed to send
+ * RPC invocations. An instance represents one browser tab and is not thread
+ * safe.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class UidlClient {
+
+    private static final String UIDL_RESPONSE_PREFIX = "for(;;);";
+
+    private final UidlTransport transport;
+
+    private final MirrorStateTree stateTree = new MirrorStateTree();
+
+    private int uiId = -1;
+
+    private String csrfToken = ApplicationConstants.CSRF_TOKEN_DEFAULT_VALUE;
+
+    private int syncId = -1;
+
+    private int clientId;
+
+    private JsonObject lastResponse;
+
+    private LongConsumer latencyListener;
+
+    /**
+     * Creates a new client which sends its requests using the given
+     * transport.
+     *
+     * @param transport
+     *            the transport to use, not <code>null</code>
+     */
+    public UidlClient(UidlTransport transport) {
+        this.transport = Objects.requireNonNull(transport,
+                "Transport cannot be null");
+    }
+
+    /**
+     * Sets a listener which is notified of the duration of each request in
+     * nanoseconds, including the time to apply the response.
+     *
+     * @param latencyListener
+     *            the listener, or <code>null</code> to remove the listener
+     */
+    public void setLatencyListener(LongConsumer latencyListener) {
+        this.latencyListener = latencyListener;
+    }
+
+    /**
+     * Creates a new UI on the server and navigates it to the given location.
+     *
+     * @param location
+     *            the location to navigate to, relative to the servlet, e.g.
+     *            <code>""</code> or <code>"about"</code>
+     * @throws IOException
+     *             if the request fails
+     */
+    public void bootstrap(String location) throws IOException {
+        String query = ApplicationConstants.REQUEST_TYPE_PARAMETER + "="
+                + ApplicationConstants.REQUEST_TYPE_INIT + "&location="
+                + encode(location) + "&serverSideRouting";
+
+        long start = System.nanoTime();
+        JsonObject initial = Json.parse(transport.get(query));
+        JsonObject appConfig = initial.getObject("appConfig");
+        uiId = (int) appConfig
+                .getNumber(ApplicationConstants.UI_ID_PARAMETER);
+        stateTree.clear();
+        handleUidl(appConfig.getObject("uidl"));
+        reportLatency(start);
+    }
+
+    /**
+     * Sends a DOM event for an element to the server.
+     *
+     * @param node
+     *            the element node, not <code>null</code>
+     * @param eventType
+     *            the event type, e.g. <code>"click"</code>
+     * @param eventData
+     *            the event data expressions expected by the server side
+     *            listeners, or <code>null</code> to send no data
+     * @throws IOException
+     *             if the request fails
+     */
+    public void fireEvent(MirrorNode node, String eventType,
+            JsonObject eventData) throws IOException {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        invocation.put(JsonConstants.RPC_NODE, node.getId());
+        invocation.put(JsonConstants.RPC_EVENT_TYPE, eventType);
+        if (eventData != null) {
+            invocation.put(JsonConstants.RPC_EVENT_DATA, eventData);
+        }
+        send(invocation);
+    }
+
+    /**
+     * Sends an element property change to the server, as done by the client
+     * when a synchronized property changes.
+     *
+     * @param node
+     *            the element node, not <code>null</code>
+     * @param property
+     *            the property name
+     * @param value
+     *            the new property value
+     * @throws IOException
+     *             if the request fails
+     */
+    public void setProperty(MirrorNode node, String property, JsonValue value)
+            throws IOException {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE,
+                JsonConstants.RPC_TYPE_MAP_SYNC);
+        invocation.put(JsonConstants.RPC_NODE, node.getId());
+        invocation.put(JsonConstants.RPC_FEATURE,
+                NodeFeatures.ELEMENT_PROPERTIES);
+        invocation.put(JsonConstants.RPC_PROPERTY, property);
+        invocation.put(JsonConstants.RPC_PROPERTY_VALUE, value);
+        send(invocation);
+    }
+
+    /**
+     * Navigates the UI to a new location, as done when clicking a router
+     * link.
+     *
+     * @param location
+     *            the location to navigate to, relative to the servlet
+     * @throws IOException
+     *             if the request fails
+     */
+    public void navigate(String location) throws IOException {
+        JsonObject invocation = Json.createObject();
+        invocation.put(JsonConstants.RPC_TYPE,
+                JsonConstants.RPC_TYPE_NAVIGATION);
+        invocation.put(JsonConstants.RPC_NAVIGATION_LOCATION, location);
+        invocation.put(JsonConstants.RPC_NAVIGATION_ROUTERLINK, true);
+        send(invocation);
+    }
+
+    /**
+     * Sends the given RPC invocations to the server in one request and
+     * applies the changes in the response.
+     *
+     * @param invocations
+     *            the invocations to send
+     * @throws IOException
+     *             if the request fails
+     * @throws IllegalStateException
+     *             if the UI has not been bootstrapped or the session has
+     *             expired
+     */
+    public void send(JsonObject... invocations) throws IOException {
+        JsonArray rpc = Json.createArray();
+        for (JsonObject invocation : invocations) {
+            rpc.set(rpc.length(), invocation);
+        }
+        sendMessage(rpc);
+    }
+
+    /**
+     * Sends a heartbeat request to keep the UI alive.
+     *
+     * @throws IOException
+     *             if the request fails
+     */
+    public void sendHeartbeat() throws IOException {
+        checkBootstrapped();
+        long start = System.nanoTime();
+        transport.post(getQuery(ApplicationConstants.REQUEST_TYPE_HEARTBEAT),
+                "");
+        reportLatency(start);
+    }
+
+    private void sendMessage(JsonArray rpc) throws IOException {
+        checkBootstrapped();
+        JsonObject message = Json.createObject();
+        message.put(ApplicationConstants.CSRF_TOKEN, csrfToken);
+        message.put(ApplicationConstants.RPC_INVOCATIONS, rpc);
+        message.put(ApplicationConstants.SERVER_SYNC_ID, syncId);
+        message.put(ApplicationConstants.CLIENT_TO_SERVER_ID, clientId++);
+
+        long start = System.nanoTime();
+        String response = transport.post(
+                getQuery(ApplicationConstants.REQUEST_TYPE_UIDL),
+                message.toJson());
+        handleUidl(parseUidlResponse(response));
+        reportLatency(start);
+    }
+
+    private void handleUidl(JsonObject uidl) {
+        lastResponse = uidl;
+        if (uidl.hasKey("meta")) {
+            JsonObject meta = uidl.getObject("meta");
+            if (meta.hasKey(JsonConstants.META_SESSION_EXPIRED)) {
+                throw new IllegalStateException("The session has expired");
+            }
+        }
+        if (uidl.hasKey(ApplicationConstants.RESYNCHRONIZE_ID)
+                && uidl.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID)) {
+            stateTree.clear();
+        }
+        if (uidl.hasKey(ApplicationConstants.UIDL_SECURITY_TOKEN_ID)) {
+            csrfToken = uidl
+                    .getString(ApplicationConstants.UIDL_SECURITY_TOKEN_ID);
+        }
+        if (uidl.hasKey(ApplicationConstants.SERVER_SYNC_ID)) {
+            syncId = (int) uidl.getNumber(ApplicationConstants.SERVER_SYNC_ID);
+        }
+        if (uidl.hasKey(ApplicationConstants.CLIENT_TO_SERVER_ID)) {
+            clientId = (int) uidl
+                    .getNumber(ApplicationConstants.CLIENT_TO_SERVER_ID);
+        }
+        if (uidl.hasKey("constants")) {
+            stateTree.addConstants(uidl.getObject("constants"));
+        }
+        if (uidl.hasKey("changes")) {
+            stateTree.applyChanges(uidl.getArray("changes"));
+        }
+    }
+
+    private static JsonObject parseUidlResponse(String response) {
+        String json = response.startsWith(UIDL_RESPONSE_PREFIX)
+                ? response.substring(UIDL_RESPONSE_PREFIX.length())
+                : response;
+        JsonValue parsed = JsonUtil.parse(json);
+        if (parsed instanceof JsonArray) {
+            return ((JsonArray) parsed).getObject(0);
+        }
+        return (JsonObject) parsed;
+    }
+
+    private String getQuery(String requestType) {
+        return ApplicationConstants.REQUEST_TYPE_PARAMETER + "=" + requestType
+                + "&" + ApplicationConstants.UI_ID_PARAMETER + "=" + uiId;
+    }
+
+    private void checkBootstrapped() {
+        if (uiId < 0) {
+            throw new IllegalStateException(
+                    "The UI must be bootstrapped before sending requests");
+        }
+    }
+
+    private void reportLatency(long start) {
+        if (latencyListener != null) {
+            latencyListener.accept(System.nanoTime() - start);
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the id of the UI on the server.
+     *
+     * @return the UI id, or <code>-1</code> if not bootstrapped
+     */
+    public int getUiId() {
+        return uiId;
+    }
+
+    /**
+     * Gets the mirror of the state tree of the UI.
+     *
+     * @return the state tree, not <code>null</code>
+     */
+    public MirrorStateTree getStateTree() {
+        return stateTree;
+    }
+
+    /**
+     * Gets the UIDL of the last response received from the server.
+     *
+     * @return the last response, or <code>null</code> if no response has
+     *         been received
+     */
+    public JsonObject getLastResponse() {
+        return lastResponse;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.io.IOException;
+
+/**
+ * Sends the requests of a {@link UidlClient} to a Flow application.
+ * <p>
+ * A transport instance represents one browser session, so it must keep track
+ * of the session cookies. Each virtual user should use its own instance.
+ *
+ * @author Vaadin Ltd
+ * @since
+ * @see HttpUidlTransport
+ */
+public interface UidlTransport {
+
+    /**
+     * Sends a GET request to the Vaadin servlet.
+     *
+     * @param query
+     *            the query string of the request, without the leading
+     *            <code>?</code>
+     * @return the response body
+     * @throws IOException
+     *             if the request fails
+     */
+    String get(String query) throws IOException;
+
+    /**
+     * Sends a POST request with a JSON body to the Vaadin servlet.
+     *
+     * @param query
+     *            the query string of the request, without the leading
+     *            <code>?</code>
+     * @param body
+     *            the JSON body of the request
+     * @return the response body
+     * @throws IOException
+     *             if the request fails
+     */
+    String post(String query, String body) throws IOException;
+}
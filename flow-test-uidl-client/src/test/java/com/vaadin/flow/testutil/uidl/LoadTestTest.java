@@ -0,0 +1,82 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoadTestTest {
+
+    private static final String INIT_RESPONSE = "{\"appConfig\":"
+            + "{\"v-uiId\":0,\"uidl\":{\"syncId\":0}}}";
+
+    @Test
+    public void run_allUsersRunScenario() throws Exception {
+        AtomicInteger bootstraps = new AtomicInteger();
+        LoadTest loadTest = new LoadTest(() -> new UidlTransport() {
+            @Override
+            public String get(String query) {
+                bootstraps.incrementAndGet();
+                return INIT_RESPONSE;
+            }
+
+            @Override
+            public String post(String query, String body) {
+                return "";
+            }
+        }, client -> {
+            client.bootstrap("");
+            client.sendHeartbeat();
+        });
+
+        LoadTestResult result = loadTest.run(10, 1, TimeUnit.MINUTES);
+
+        Assert.assertEquals(10, bootstraps.get());
+        Assert.assertEquals(10, result.getUsers());
+        Assert.assertEquals(0, result.getFailedUsers());
+        Assert.assertEquals(20, result.getRequestCount());
+        Assert.assertTrue(result.getThroughput() > 0);
+        Assert.assertTrue(result.getLatencyPercentile(99,
+                TimeUnit.NANOSECONDS) >= result.getLatencyPercentile(50,
+                        TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void run_failingScenario_errorCollected() throws Exception {
+        LoadTest loadTest = new LoadTest(() -> new UidlTransport() {
+            @Override
+            public String get(String query) throws IOException {
+                throw new IOException("Connection refused");
+            }
+
+            @Override
+            public String post(String query, String body) {
+                return "";
+            }
+        }, client -> client.bootstrap(""));
+
+        LoadTestResult result = loadTest.run(3, 1, TimeUnit.MINUTES);
+
+        Assert.assertEquals(3, result.getFailedUsers());
+        Assert.assertEquals(0, result.getRequestCount());
+        Assert.assertEquals("Connection refused",
+                result.getErrors().get(0).getMessage());
+    }
+}
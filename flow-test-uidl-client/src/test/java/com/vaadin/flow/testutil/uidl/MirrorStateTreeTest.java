@@ -0,0 +1,117 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonValue;
+import elemental.json.impl.JsonUtil;
+
+public class MirrorStateTreeTest {
+
+    private final MirrorStateTree tree = new MirrorStateTree();
+
+    @Test
+    public void applyChanges_attachAndPut_nodesCreated() {
+        tree.applyChanges(parse("[" //
+                + "{'node':1,'type':'attach'}," //
+                + "{'node':2,'type':'attach'}," //
+                + "{'node':2,'type':'put','feat':0,'key':'tag','value':'div'},"
+                + "{'node':2,'type':'put','feat':3,'key':'id','value':'foo'},"
+                + "{'node':2,'type':'put','feat':1,'key':'value','value':3},"
+                + "{'node':2,'type':'put','feat':4,'key':'click','value':{}},"
+                + "{'node':1,'type':'splice','feat':2,'index':0,'addNodes':[2]}"
+                + "]"));
+
+        MirrorNode div = tree.getNode(2).get();
+        Assert.assertEquals("div", div.getTag().get());
+        Assert.assertEquals("foo", div.getAttribute("id"));
+        Assert.assertEquals(3,
+                ((JsonValue) div.getProperty("value")).asNumber(), 0);
+        Assert.assertTrue(div.getEventTypes().contains("click"));
+        Assert.assertEquals(div, tree.findById("foo").get());
+        Assert.assertEquals(div, tree.findByTag("div").get(0));
+
+        List<MirrorNode> children = tree.getRootNode().getChildren();
+        Assert.assertEquals(1, children.size());
+        Assert.assertSame(div, children.get(0));
+        Assert.assertFalse(tree.getRootNode().getTag().isPresent());
+    }
+
+    @Test
+    public void applyChanges_spliceRemoveAndDetach_nodeRemoved() {
+        tree.applyChanges(parse("[{'node':1,'type':'attach'},"
+                + "{'node':2,'type':'attach'},{'node':3,'type':'attach'},"
+                + "{'node':1,'type':'splice','feat':2,'index':0,"
+                + "'addNodes':[2,3]}]"));
+        tree.applyChanges(parse("[{'node':1,'type':'splice','feat':2,"
+                + "'index':0,'remove':1},{'node':2,'type':'detach'}]"));
+
+        Assert.assertFalse(tree.getNode(2).isPresent());
+        Assert.assertEquals(1, tree.getRootNode().getChildren().size());
+        Assert.assertEquals(3,
+                tree.getRootNode().getChildren().get(0).getId());
+
+        tree.applyChanges(parse("[{'node':1,'type':'clear','feat':2}]"));
+        Assert.assertTrue(tree.getRootNode().getChildren().isEmpty());
+    }
+
+    @Test
+    public void applyChanges_putNodeValueAndRemove() {
+        tree.applyChanges(parse("[{'node':1,'type':'attach'},"
+                + "{'node':4,'type':'attach'},"
+                + "{'node':4,'type':'put','feat':7,'key':'text','value':'hi'},"
+                + "{'node':1,'type':'put','feat':1,'key':'p','nodeValue':4}]"));
+
+        MirrorNode value = (MirrorNode) tree.getRootNode().getProperty("p");
+        Assert.assertEquals("hi", value.getText());
+
+        tree.applyChanges(
+                parse("[{'node':1,'type':'remove','feat':1,'key':'p'}]"));
+        Assert.assertNull(tree.getRootNode().getProperty("p"));
+        Assert.assertTrue(tree.getRootNode()
+                .getMap(NodeFeatures.ELEMENT_PROPERTIES).isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void applyChanges_unknownNode_throws() {
+        tree.applyChanges(
+                parse("[{'node':5,'type':'put','feat':1,'key':'a','value':1}]"));
+    }
+
+    @Test
+    public void addConstants_clear() {
+        tree.addConstants(Json.parse("{\"abc\":{\"click\":[]}}"));
+        tree.applyChanges(parse("[{'node':1,'type':'attach'}]"));
+        Assert.assertNotNull(tree.getConstant("abc"));
+
+        tree.clear();
+
+        Assert.assertNull(tree.getConstant("abc"));
+        Assert.assertFalse(tree.getNode(1).isPresent());
+    }
+
+    private static JsonArray parse(String json) {
+        return JsonUtil.parse(json.replace('\'', '"'));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.testutil.uidl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+public class UidlClientTest {
+
+    private static final String INIT_RESPONSE = ("{'appConfig':{'v-uiId':3,"
+            + "'uidl':{'syncId':0,'clientId':0,'Vaadin-Security-Key':'token',"
+            + "'changes':[{'node':1,'type':'attach'},"
+            + "{'node':2,'type':'attach'},"
+            + "{'node':2,'type':'put','feat':0,'key':'tag','value':'button'},"
+            + "{'node':1,'type':'splice','feat':2,'index':0,'addNodes':[2]}"
+            + "]}}}").replace('\'', '"');
+
+    private static final String UIDL_RESPONSE = ("for(;;);[{'syncId':1,"
+            + "'clientId':1,'changes':[{'node':3,'type':'attach'},"
+            + "{'node':3,'type':'put','feat':7,'key':'text','value':'ok'},"
+            + "{'node':1,'type':'splice','feat':2,'index':1,'addNodes':[3]}"
+            + "]}]").replace('\'', '"');
+
+    private final List<String> queries = new ArrayList<>();
+    private final List<String> bodies = new ArrayList<>();
+    private String nextResponse = UIDL_RESPONSE;
+
+    private UidlClient client;
+
+    @Before
+    public void setUp() {
+        client = new UidlClient(new UidlTransport() {
+            @Override
+            public String get(String query) {
+                queries.add(query);
+                return INIT_RESPONSE;
+            }
+
+            @Override
+            public String post(String query, String body) {
+                queries.add(query);
+                bodies.add(body);
+                return nextResponse;
+            }
+        });
+    }
+
+    @Test
+    public void bootstrap_treeAndUiIdRead() throws Exception {
+        client.bootstrap("foo/bar");
+
+        Assert.assertEquals("v-r=init&location=foo%2Fbar&serverSideRouting",
+                queries.get(0));
+        Assert.assertEquals(3, client.getUiId());
+        Assert.assertEquals("button", client.getStateTree().getRootNode()
+                .getChildren().get(0).getTag().get());
+    }
+
+    @Test
+    public void fireEvent_messageSentAndChangesApplied() throws Exception {
+        List<Long> latencies = new ArrayList<>();
+        client.setLatencyListener(latencies::add);
+        client.bootstrap("");
+        MirrorNode button = client.getStateTree().findByTag("button").get(0);
+
+        client.fireEvent(button, "click", null);
+
+        Assert.assertEquals("v-r=uidl&v-uiId=3", queries.get(1));
+        JsonObject message = Json.parse(bodies.get(0));
+        Assert.assertEquals("token", message.getString("csrfToken"));
+        Assert.assertEquals(0, message.getNumber("syncId"), 0);
+        Assert.assertEquals(0, message.getNumber("clientId"), 0);
+        JsonArray rpc = message.getArray("rpc");
+        Assert.assertEquals(1, rpc.length());
+        Assert.assertEquals("event", rpc.getObject(0).getString("type"));
+        Assert.assertEquals(2, rpc.getObject(0).getNumber("node"), 0);
+        Assert.assertEquals("click", rpc.getObject(0).getString("event"));
+
+        Assert.assertEquals("ok", client.getStateTree().getRootNode()
+                .getChildren().get(1).getText());
+        Assert.assertEquals(2, latencies.size());
+
+        client.setProperty(button, "value", Json.create("x"));
+        message = Json.parse(bodies.get(1));
+        Assert.assertEquals(1, message.getNumber("syncId"), 0);
+        Assert.assertEquals(1, message.getNumber("clientId"), 0);
+        JsonObject sync = message.getArray("rpc").getObject(0);
+        Assert.assertEquals("mSync", sync.getString("type"));
+        Assert.assertEquals(1, sync.getNumber("feature"), 0);
+        Assert.assertEquals("x", sync.getString("value"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sessionExpired_throws() throws Exception {
+        client.bootstrap("");
+        nextResponse = "for(;;);[{\"meta\":{\"sessionExpired\":true}}]";
+
+        client.navigate("other");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void send_notBootstrapped_throws() throws Exception {
+        client.sendHeartbeat();
+    }
+}
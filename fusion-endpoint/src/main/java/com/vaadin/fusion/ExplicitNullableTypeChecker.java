@@ -23,6 +23,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import com.github.javaparser.ast.expr.AnnotationExpr;
@@ -32,6 +34,9 @@ import com.github.javaparser.ast.expr.AnnotationExpr;
  * parameter and return types.
  */
 public class ExplicitNullableTypeChecker {
+    private final ExplicitNullableTypeCheckerHelper helper = new ExplicitNullableTypeCheckerHelper();
+    private final Map<AnnotatedElement, Boolean> requiredElements = new ConcurrentHashMap<>();
+
     /**
      * Checks if the reflected element should be required (not nullable) in the
      * generated Typescript code based on annotations.
@@ -89,7 +94,8 @@ public class ExplicitNullableTypeChecker {
      */
     public String checkValueForAnnotatedElement(Object value,
             AnnotatedElement annotatedElement) {
-        if (!isRequired(annotatedElement)) {
+        if (!requiredElements.computeIfAbsent(annotatedElement,
+                ExplicitNullableTypeChecker::isRequired)) {
             return null;
         }
         if (annotatedElement instanceof Method) {
@@ -100,7 +106,6 @@ public class ExplicitNullableTypeChecker {
     }
 
     String checkValueForType(Object value, Type expectedType) {
-        return new ExplicitNullableTypeCheckerHelper().checkValueForType(value,
-                expectedType);
+        return helper.checkValueForType(value, expectedType);
     }
 }
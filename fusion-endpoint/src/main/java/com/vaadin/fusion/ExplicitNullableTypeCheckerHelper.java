@@ -25,13 +25,16 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -42,39 +45,159 @@ import static com.vaadin.fusion.ExplicitNullableTypeChecker.isRequired;
 
 /**
  * A helper class for ExplicitNullableTypeChecker.
+ * <p>
+ * The checking logic for each type is derived once, into a {@link TypeChecker}
+ * which knows the item type of collections and the checked properties of
+ * beans, and then reused for all values of the type. Values of types which
+ * have nothing to check inside, such as strings or beans without required
+ * properties, are not traversed at all.
  */
 class ExplicitNullableTypeCheckerHelper {
 
-    // A map for tracking already visited Beans.
-    private Map<Type, Set<Object>> visitedBeans;
+    private static final TypeChecker UNCHECKED = new TypeChecker(null);
 
-    private static Logger getLogger() {
-        return LoggerFactory.getLogger(VaadinConnectController.class);
+    private final Map<Type, TypeChecker> checkers = new ConcurrentHashMap<>();
+
+    private enum Kind {
+        VALUE, ITERABLE, ARRAY, MAP, BEAN
     }
 
     /**
-     * Check if the Bean value and type have been visited.
+     * The checking logic of a single type.
      */
-    boolean hasVisited(Object value, Type type) {
-        if (visitedBeans == null) {
-            return false;
+    private static final class TypeChecker {
+        private final String nullError;
+        private Kind kind = Kind.VALUE;
+        private Type type;
+        private TypeChecker itemChecker;
+        private String itemDescription;
+        private List<PropertyChecker> properties = Collections.emptyList();
+        private String introspectionError;
+
+        private TypeChecker(String nullError) {
+            this.nullError = nullError;
         }
-        Set<Object> values = visitedBeans.get(type);
-        if (values == null) {
-            return false;
+
+        private boolean isTraversed() {
+            return kind != Kind.VALUE && (kind != Kind.BEAN
+                    || !properties.isEmpty() || introspectionError != null);
+        }
+
+        private String check(Object value, CheckContext context) {
+            if (value == null) {
+                return nullError;
+            }
+            switch (kind) {
+            case ITERABLE:
+                return checkItems((Iterable<?>) value, context);
+            case ARRAY:
+                return value instanceof Object[]
+                        ? checkItems(Arrays.asList((Object[]) value), context)
+                        : null;
+            case MAP:
+                return checkMapValues((Map<?, ?>) value, context);
+            case BEAN:
+                return checkBeanProperties(value, context);
+            default:
+                return null;
+            }
+        }
+
+        private String checkItems(Iterable<?> value, CheckContext context) {
+            boolean traverse = itemChecker.isTraversed();
+            for (Object item : value) {
+                String error = item == null ? itemChecker.nullError
+                        : traverse ? itemChecker.check(item, context) : null;
+                if (error != null) {
+                    return String.format(
+                            "Unexpected null item in %s type '%s'. %s",
+                            itemDescription, type, error);
+                }
+            }
+            return null;
+        }
+
+        private String checkMapValues(Map<?, ?> value, CheckContext context) {
+            for (Map.Entry<?, ?> e : value.entrySet()) {
+                String error = itemChecker.check(e.getValue(), context);
+                if (error != null) {
+                    return String.format(
+                            "Unexpected null value for key '%s' of "
+                                    + "map type '%s'. %s",
+                            e.getKey(), type, error);
+                }
+            }
+            return null;
+        }
+
+        private String checkBeanProperties(Object value,
+                CheckContext context) {
+            if (introspectionError != null) {
+                return introspectionError;
+            }
+            if (properties.isEmpty() || !context.markAsVisited(value, type)) {
+                return null;
+            }
+            for (PropertyChecker property : properties) {
+                Object propertyValue;
+                try {
+                    propertyValue = property.readMethod.invoke(value);
+                } catch (InvocationTargetException | IllegalAccessException e) {
+                    getLogger().error(
+                            "Cannot check for null property values in Java Bean",
+                            e);
+                    return e.toString();
+                }
+
+                String error = property.checker.check(propertyValue, context);
+                if (error != null) {
+                    return String.format(
+                            "Unexpected null value in Java "
+                                    + "Bean type '%s' property '%s'. %s",
+                            type.getTypeName(), property.name, error);
+                }
+            }
+            return null;
         }
-        return values.contains(value);
     }
 
     /**
-     * Mark the given value and type have been visited.
+     * A checked bean property.
      */
-    void markAsVisited(Object value, Type type) {
-        if (visitedBeans == null) {
-            visitedBeans = new HashMap<>();
+    private static final class PropertyChecker {
+        private final String name;
+        private final Method readMethod;
+        private final TypeChecker checker;
+
+        private PropertyChecker(String name, Method readMethod,
+                TypeChecker checker) {
+            this.name = name;
+            this.readMethod = readMethod;
+            this.checker = checker;
         }
-        visitedBeans.putIfAbsent(type, new HashSet<>());
-        visitedBeans.get(type).add(value);
+    }
+
+    /**
+     * The state of checking a single value, used for tracking already visited
+     * beans.
+     */
+    private static final class CheckContext {
+        private Map<Type, Set<Object>> visitedBeans;
+
+        private boolean markAsVisited(Object value, Type type) {
+            if (visitedBeans == null) {
+                visitedBeans = new HashMap<>();
+            }
+            return visitedBeans
+                    .computeIfAbsent(type,
+                            key -> Collections
+                                    .newSetFromMap(new IdentityHashMap<>()))
+                    .add(value);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(VaadinConnectController.class);
     }
 
     /**
@@ -89,104 +212,79 @@ class ExplicitNullableTypeCheckerHelper {
      *         not explicitly allow null, or null meaning the value is OK.
      */
     String checkValueForType(Object value, Type expectedType) {
-        Class<?> clazz;
-        if (expectedType instanceof TypeVariable) {
-            return null;
-        } else if (expectedType instanceof ParameterizedType) {
-            clazz = (Class<?>) ((ParameterizedType) expectedType).getRawType();
-        } else {
-            clazz = (Class<?>) expectedType;
-        }
-
-        if (value != null) {
-            if (Iterable.class.isAssignableFrom(clazz)) {
-                return checkIterable((Iterable<?>) value, expectedType);
-            } else if (clazz.isArray() && value instanceof Object[]) {
-                return checkIterable(Arrays.asList((Object[]) value),
-                        expectedType);
-            } else if (Map.class.isAssignableFrom(clazz)) {
-                return checkMapValues((Map<?, ?>) value, expectedType);
-            } else if (expectedType instanceof Class<?>
-                    && !clazz.getName().startsWith("java.")) {
-                return checkBeanFields(value, expectedType);
-            } else {
-                return null;
-            }
-        }
+        return getChecker(expectedType).check(value, new CheckContext());
+    }
 
-        if (expectedType.equals(Void.TYPE)) {
-            // Corner case: void methods return null value by design
-            return null;
+    private TypeChecker getChecker(Type type) {
+        TypeChecker checker = checkers.get(type);
+        if (checker == null) {
+            // Checkers are published only when complete, including the ones
+            // of nested types
+            Map<Type, TypeChecker> compiled = new HashMap<>();
+            checker = compile(type, compiled);
+            compiled.forEach(checkers::putIfAbsent);
         }
+        return checker;
+    }
 
-        if (Void.class.isAssignableFrom(clazz)) {
-            // Corner case: explicit Void parameter
-            return null;
+    private TypeChecker compile(Type type, Map<Type, TypeChecker> compiled) {
+        Class<?> clazz;
+        if (type instanceof ParameterizedType) {
+            clazz = (Class<?>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof Class<?>) {
+            clazz = (Class<?>) type;
+        } else {
+            // Type variables and wildcards are not checked
+            return UNCHECKED;
         }
 
-        if (Optional.class.isAssignableFrom(clazz)) {
-            return String.format(
-                    "Got null value for type '%s', consider Optional.empty",
-                    expectedType.getTypeName());
+        TypeChecker checker = checkers.get(type);
+        if (checker == null) {
+            checker = compiled.get(type);
         }
-
-        return String.format(
-                "Got null value for type '%s', which is neither Optional"
-                        + " nor void",
-                expectedType.getTypeName());
-    }
-
-    private String checkIterable(Iterable<?> value, Type expectedType) {
-        Type itemType = Object.class;
-        String iterableDescription = "iterable";
-        if (expectedType instanceof ParameterizedType) {
-            itemType = ((ParameterizedType) expectedType)
-                    .getActualTypeArguments()[0];
-            iterableDescription = "collection";
-        } else if (expectedType instanceof Class<?>) {
-            itemType = ((Class<?>) expectedType).getComponentType();
-            iterableDescription = "array";
-        }
-
-        for (Object item : value) {
-            String error = checkValueForType(item, itemType);
-            if (error != null) {
-                return String.format("Unexpected null item in %s type '%s'. %s",
-                        iterableDescription, expectedType, error);
-            }
+        if (checker != null) {
+            return checker;
         }
 
-        return null;
-    }
-
-    private String checkMapValues(Map<?, ?> value, Type expectedType) {
-        Type valueType = Object.class;
+        checker = new TypeChecker(getNullError(type, clazz));
+        checker.type = type;
+        compiled.put(type, checker);
 
-        if (expectedType instanceof ParameterizedType) {
-            valueType = ((ParameterizedType) expectedType)
-                    .getActualTypeArguments()[1];
-        }
-
-        for (Map.Entry<?, ?> e : value.entrySet()) {
-            String error = checkValueForType(e.getValue(), valueType);
-            if (error != null) {
-                return String.format(
-                        "Unexpected null value for key '%s' of "
-                                + "map type '%s'. %s",
-                        e.getKey(), expectedType, error);
+        if (Iterable.class.isAssignableFrom(clazz)) {
+            checker.kind = Kind.ITERABLE;
+            if (type instanceof ParameterizedType) {
+                checker.itemChecker = compile(((ParameterizedType) type)
+                        .getActualTypeArguments()[0], compiled);
+                checker.itemDescription = "collection";
+            } else {
+                Class<?> componentType = clazz.getComponentType();
+                checker.itemChecker = compile(
+                        componentType == null ? Object.class : componentType,
+                        compiled);
+                checker.itemDescription = "iterable";
             }
+        } else if (clazz.isArray()) {
+            checker.kind = Kind.ARRAY;
+            checker.itemChecker = compile(clazz.getComponentType(), compiled);
+            checker.itemDescription = "array";
+        } else if (Map.class.isAssignableFrom(clazz)) {
+            checker.kind = Kind.MAP;
+            checker.itemChecker = type instanceof ParameterizedType
+                    ? compile(((ParameterizedType) type)
+                            .getActualTypeArguments()[1], compiled)
+                    : compile(Object.class, compiled);
+        } else if (type instanceof Class<?>
+                && !clazz.getName().startsWith("java.")) {
+            checker.kind = Kind.BEAN;
+            compileBeanProperties(checker, clazz, compiled);
         }
-
-        return null;
+        return checker;
     }
 
-    private String checkBeanFields(Object value, Type expectedType) {
-        if (hasVisited(value, expectedType)) {
-            return null;
-        }
-        markAsVisited(value, expectedType);
-        Class<?> clazz = (Class<?>) expectedType;
+    private void compileBeanProperties(TypeChecker checker, Class<?> clazz,
+            Map<Type, TypeChecker> compiled) {
         try {
+            List<PropertyChecker> properties = new ArrayList<>();
             for (PropertyDescriptor propertyDescriptor : Introspector
                     .getBeanInfo(clazz).getPropertyDescriptors()) {
                 if (!isPropertySubjectForChecking(propertyDescriptor)) {
@@ -194,26 +292,39 @@ class ExplicitNullableTypeCheckerHelper {
                 }
 
                 Method readMethod = propertyDescriptor.getReadMethod();
-                Type propertyType = readMethod.getGenericReturnType();
-                Object propertyValue = readMethod.invoke(value);
-
-                String error = checkValueForType(propertyValue, propertyType);
-                if (error != null) {
-                    return String.format(
-                            "Unexpected null value in Java "
-                                    + "Bean type '%s' property '%s'. %s",
-                            expectedType.getTypeName(),
-                            propertyDescriptor.getName(), error);
-                }
+                properties.add(new PropertyChecker(propertyDescriptor.getName(),
+                        readMethod,
+                        compile(readMethod.getGenericReturnType(), compiled)));
             }
-        } catch (IntrospectionException | InvocationTargetException
-                | IllegalAccessException e) {
+            checker.properties = properties;
+        } catch (IntrospectionException e) {
             getLogger().error(
                     "Cannot check for null property values in Java Bean", e);
-            return e.toString();
+            checker.introspectionError = e.toString();
         }
+    }
 
-        return null;
+    private static String getNullError(Type expectedType, Class<?> clazz) {
+        if (expectedType.equals(Void.TYPE)) {
+            // Corner case: void methods return null value by design
+            return null;
+        }
+
+        if (Void.class.isAssignableFrom(clazz)) {
+            // Corner case: explicit Void parameter
+            return null;
+        }
+
+        if (Optional.class.isAssignableFrom(clazz)) {
+            return String.format(
+                    "Got null value for type '%s', consider Optional.empty",
+                    expectedType.getTypeName());
+        }
+
+        return String.format(
+                "Got null value for type '%s', which is neither Optional"
+                        + " nor void",
+                expectedType.getTypeName());
     }
 
     private boolean isPropertySubjectForChecking(
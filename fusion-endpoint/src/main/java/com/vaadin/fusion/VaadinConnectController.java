@@ -17,30 +17,42 @@ package com.vaadin.fusion;
 
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import java.io.IOException;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.googlecode.gentyref.GenericTypeReflector;
 import org.slf4j.Logger;
@@ -60,6 +72,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.server.VaadinRequest;
@@ -89,6 +103,13 @@ import com.vaadin.fusion.exception.EndpointValidationException.ValidationErrorDa
  * the method has parameters, the request body should contain a valid JSON with
  * all parameters in the same order as they are declared in the method. The
  * parameter types should also correspond for the request to be successful.
+ * <p>
+ * Endpoint methods may return a {@link CompletionStage}, such as a
+ * {@link CompletableFuture}, in which case the request is completed
+ * asynchronously with the result of the stage, without keeping a request
+ * thread waiting. Methods returning a {@link Stream} or an {@link Iterator} have
+ * their result written to the response as a JSON array one item at a time,
+ * without buffering the whole response.
  */
 @RestController
 @Import({ VaadinConnectControllerConfiguration.class,
@@ -187,14 +208,19 @@ public class VaadinConnectController {
      *            called has parameters
      * @param request
      *            the current request which triggers the endpoint call
-     * @return execution result as a JSON string or an error message string
+     * @param response
+     *            the response to the current request, used for writing
+     *            streamed results
+     * @return execution result as a JSON string or an error message string,
+     *         or {@code null} if the result is written to the response
+     *         directly or asynchronously
      */
     @PostMapping(path = ENDPOINT_METHODS, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<String> serveEndpoint(
             @PathVariable("endpoint") String endpointName,
             @PathVariable("method") String methodName,
             @RequestBody(required = false) ObjectNode body,
-            HttpServletRequest request) {
+            HttpServletRequest request, HttpServletResponse response) {
         getLogger().debug("Endpoint: {}, method: {}, request body: {}",
                 endpointName, methodName, body);
 
@@ -222,32 +248,67 @@ public class VaadinConnectController {
             CurrentInstance.set(VaadinRequest.class,
                     new VaadinServletRequest(request, service));
             return invokeVaadinEndpointMethod(endpointName, methodName,
-                    methodToInvoke, body, vaadinEndpointData, request);
+                    methodToInvoke, body, vaadinEndpointData, request,
+                    response);
         } catch (JsonProcessingException e) {
-            String errorMessage = String.format(
-                    "Failed to serialize endpoint '%s' method '%s' response. "
-                            + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
-                    endpointName, methodName,
-                    VAADIN_ENDPOINT_MAPPER_BEAN_QUALIFIER);
-            getLogger().error(errorMessage, e);
-            try {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createResponseErrorObject(errorMessage));
-            } catch (JsonProcessingException unexpected) {
-                throw new IllegalStateException(String.format(
-                        "Unexpected: Failed to serialize a plain Java string '%s' into a JSON. "
-                                + "Double check the provided mapper's configuration.",
-                        errorMessage), unexpected);
-            }
+            return createSerializationErrorResponse(endpointName, methodName,
+                    e);
         } finally {
             CurrentInstance.set(VaadinRequest.class, null);
         }
     }
 
+    /**
+     * Processes a Vaadin endpoint request without access to the response.
+     * <p>
+     * Works as
+     * {@link #serveEndpoint(String, String, ObjectNode, HttpServletRequest, HttpServletResponse)}
+     * except that results of {@link CompletionStage}s are waited for and
+     * {@link Stream} and {@link Iterator} results are collected before being
+     * serialized, so the result is always returned.
+     *
+     * @param endpointName
+     *            the name of an endpoint to address the calls to, not case
+     *            sensitive
+     * @param methodName
+     *            the method name to execute on an endpoint, not case sensitive
+     * @param body
+     *            optional request body, that should be specified if the method
+     *            called has parameters
+     * @param request
+     *            the current request which triggers the endpoint call
+     * @return execution result as a JSON string or an error message string
+     */
+    public ResponseEntity<String> serveEndpoint(String endpointName,
+            String methodName, ObjectNode body, HttpServletRequest request) {
+        return serveEndpoint(endpointName, methodName, body, request, null);
+    }
+
+    private ResponseEntity<String> createSerializationErrorResponse(
+            String endpointName, String methodName,
+            JsonProcessingException e) {
+        String errorMessage = String.format(
+                "Failed to serialize endpoint '%s' method '%s' response. "
+                        + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
+                endpointName, methodName,
+                VAADIN_ENDPOINT_MAPPER_BEAN_QUALIFIER);
+        getLogger().error(errorMessage, e);
+        try {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createResponseErrorObject(errorMessage));
+        } catch (JsonProcessingException unexpected) {
+            throw new IllegalStateException(String.format(
+                    "Unexpected: Failed to serialize a plain Java string '%s' into a JSON. "
+                            + "Double check the provided mapper's configuration.",
+                    errorMessage), unexpected);
+        }
+    }
+
     private ResponseEntity<String> invokeVaadinEndpointMethod(
             String endpointName, String methodName, Method methodToInvoke,
             ObjectNode body, VaadinEndpointData vaadinEndpointData,
-            HttpServletRequest request) throws JsonProcessingException {
+            HttpServletRequest request, HttpServletResponse response)
+            throws JsonProcessingException {
         VaadinConnectAccessChecker accessChecker = getAccessChecker(
                 request.getServletContext());
         String checkError = accessChecker.check(methodToInvoke, request);
@@ -320,23 +381,64 @@ public class VaadinConnectController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createResponseErrorObject(errorMessage));
         } catch (InvocationTargetException e) {
-            return handleMethodExecutionError(endpointName, methodName, e);
+            return handleMethodExecutionError(endpointName, methodName,
+                    e.getCause());
+        }
+
+        if (returnValue instanceof CompletionStage) {
+            return handleAsyncReturnValue(endpointName, methodName,
+                    methodToInvoke, vaadinEndpointData,
+                    (CompletionStage<?>) returnValue, request, response);
         }
 
         String implicitNullError = this.explicitNullableTypeChecker
                 .checkValueForAnnotatedElement(returnValue, methodToInvoke);
         if (implicitNullError != null) {
-            EndpointException returnValueException = new EndpointException(
-                    String.format(
-                            "Unexpected return value in endpoint '%s' method '%s'. %s",
-                            endpointName, methodName, implicitNullError));
+            return createReturnValueErrorResponse(endpointName, methodName,
+                    implicitNullError);
+        }
 
-            getLogger().error(returnValueException.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(vaadinEndpointMapper.writeValueAsString(
-                            returnValueException.getSerializationData()));
+        logReturnValueConstraintViolations(endpointName, methodName,
+                methodToInvoke, vaadinEndpointData, returnValue);
+        if (isStreamed(returnValue)) {
+            Type itemType = getCheckedItemType(methodToInvoke, ClassUtils
+                    .getUserClass(vaadinEndpointData.getEndpointObject()));
+            if (response != null) {
+                writeStreamedReturnValue(endpointName, methodName, returnValue,
+                        itemType, response);
+                return null;
+            }
+            List<Object> items = collectItems(returnValue);
+            for (Object item : items) {
+                String itemError = checkItem(item, itemType);
+                if (itemError != null) {
+                    return createReturnValueErrorResponse(endpointName,
+                            methodName, itemError);
+                }
+            }
+            return ResponseEntity
+                    .ok(vaadinEndpointMapper.writeValueAsString(items));
         }
+        return ResponseEntity.ok(writeReturnValue(returnValue));
+    }
 
+    private ResponseEntity<String> createReturnValueErrorResponse(
+            String endpointName, String methodName, String implicitNullError)
+            throws JsonProcessingException {
+        EndpointException returnValueException = new EndpointException(
+                String.format(
+                        "Unexpected return value in endpoint '%s' method '%s'. %s",
+                        endpointName, methodName, implicitNullError));
+
+        getLogger().error(returnValueException.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(vaadinEndpointMapper.writeValueAsString(
+                        returnValueException.getSerializationData()));
+    }
+
+    private void logReturnValueConstraintViolations(String endpointName,
+            String methodName, Method methodToInvoke,
+            VaadinEndpointData vaadinEndpointData, Object returnValue) {
         Set<ConstraintViolation<Object>> returnValueConstraintViolations = validator
                 .forExecutables()
                 .validateReturnValue(vaadinEndpointData.getEndpointObject(),
@@ -346,8 +448,212 @@ public class VaadinConnectController {
                     "Endpoint '{}' method '{}' had returned a value that has validation errors: '{}', this might cause bugs on the client side. Fix the method implementation.",
                     endpointName, methodName, returnValueConstraintViolations);
         }
-        return ResponseEntity
-                .ok(vaadinEndpointMapper.writeValueAsString(returnValue));
+    }
+
+    private ResponseEntity<String> handleAsyncReturnValue(String endpointName,
+            String methodName, Method methodToInvoke,
+            VaadinEndpointData vaadinEndpointData, CompletionStage<?> stage,
+            HttpServletRequest request, HttpServletResponse response) {
+        Type valueType = getAsyncValueType(methodToInvoke, ClassUtils
+                .getUserClass(vaadinEndpointData.getEndpointObject()));
+        if (response != null && request.isAsyncSupported()) {
+            DeferredResult<ResponseEntity<String>> deferredResult = new DeferredResult<>();
+            try {
+                WebAsyncUtils.getAsyncManager(request)
+                        .startDeferredResultProcessing(deferredResult);
+                stage.whenComplete((value, error) -> deferredResult
+                        .setResult(createAsyncResponse(endpointName, methodName,
+                                methodToInvoke, vaadinEndpointData, valueType,
+                                value, error)));
+                return null;
+            } catch (Exception e) { // NOSONAR
+                getLogger().debug(
+                        "Unable to start asynchronous processing for endpoint '{}' method '{}', waiting for the result",
+                        endpointName, methodName, e);
+            }
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(error);
+            }
+        });
+        try {
+            return createAsyncResponse(endpointName, methodName,
+                    methodToInvoke, vaadinEndpointData, valueType,
+                    future.get(), null);
+        } catch (ExecutionException e) {
+            return createAsyncResponse(endpointName, methodName,
+                    methodToInvoke, vaadinEndpointData, valueType, null,
+                    e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return createAsyncResponse(endpointName, methodName,
+                    methodToInvoke, vaadinEndpointData, valueType, null, e);
+        }
+    }
+
+    private ResponseEntity<String> createAsyncResponse(String endpointName,
+            String methodName, Method methodToInvoke,
+            VaadinEndpointData vaadinEndpointData, Type valueType,
+            Object value, Throwable error) {
+        try {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException
+                        && error.getCause() != null ? error.getCause() : error;
+                return handleMethodExecutionError(endpointName, methodName,
+                        cause);
+            }
+            String implicitNullError = ExplicitNullableTypeChecker
+                    .isRequired(methodToInvoke)
+                            ? explicitNullableTypeChecker
+                                    .checkValueForType(value, valueType)
+                            : null;
+            if (implicitNullError != null) {
+                return createReturnValueErrorResponse(endpointName, methodName,
+                        implicitNullError);
+            }
+            logReturnValueConstraintViolations(endpointName, methodName,
+                    methodToInvoke, vaadinEndpointData, value);
+            return ResponseEntity.ok(writeReturnValue(value));
+        } catch (JsonProcessingException e) {
+            return createSerializationErrorResponse(endpointName, methodName,
+                    e);
+        }
+    }
+
+    private Type getAsyncValueType(Method methodToInvoke, Type classType) {
+        Type valueType = GenericTypeReflector.getTypeParameter(
+                GenericTypeReflector.getExactReturnType(methodToInvoke,
+                        classType),
+                CompletionStage.class.getTypeParameters()[0]);
+        return valueType == null ? Object.class : valueType;
+    }
+
+    private static boolean isStreamed(Object returnValue) {
+        return returnValue instanceof Stream || returnValue instanceof Iterator;
+    }
+
+    private String writeReturnValue(Object returnValue)
+            throws JsonProcessingException {
+        return vaadinEndpointMapper.writeValueAsString(
+                isStreamed(returnValue) ? collectItems(returnValue)
+                        : returnValue);
+    }
+
+    /**
+     * Gets the type to check the items of a returned stream or iterator
+     * against, or null if the items may be null. Like the items of returned
+     * collections, the items are required if the method is required. They
+     * are also required if the item type itself is annotated, as in
+     * {@code Stream<@Nonnull T>}.
+     */
+    private Type getCheckedItemType(Method methodToInvoke, Type classType) {
+        AnnotatedType returnType = methodToInvoke.getAnnotatedReturnType();
+        boolean itemRequired = returnType instanceof AnnotatedParameterizedType
+                && Stream.of(((AnnotatedParameterizedType) returnType)
+                        .getAnnotatedActualTypeArguments()[0].getAnnotations())
+                        .anyMatch(annotation -> "nonnull".equalsIgnoreCase(
+                                annotation.annotationType().getSimpleName()));
+        if (!itemRequired
+                && !ExplicitNullableTypeChecker.isRequired(methodToInvoke)) {
+            return null;
+        }
+        Type exactReturnType = GenericTypeReflector
+                .getExactReturnType(methodToInvoke, classType);
+        Type itemType = GenericTypeReflector.getTypeParameter(exactReturnType,
+                Stream.class.isAssignableFrom(methodToInvoke.getReturnType())
+                        ? Stream.class.getTypeParameters()[0]
+                        : Iterator.class.getTypeParameters()[0]);
+        return itemType == null ? Object.class : itemType;
+    }
+
+    private String checkItem(Object item, Type itemType) {
+        return itemType == null ? null
+                : explicitNullableTypeChecker.checkValueForType(item, itemType);
+    }
+
+    private static List<Object> collectItems(Object returnValue) {
+        List<Object> items = new ArrayList<>();
+        if (returnValue instanceof Stream) {
+            try (Stream<?> stream = (Stream<?>) returnValue) {
+                stream.forEachOrdered(items::add);
+            }
+        } else {
+            ((Iterator<?>) returnValue).forEachRemaining(items::add);
+        }
+        return items;
+    }
+
+    private void writeStreamedReturnValue(String endpointName,
+            String methodName, Object returnValue, Type itemType,
+            HttpServletResponse response) {
+        Iterator<?> iterator = returnValue instanceof Stream
+                ? ((Stream<?>) returnValue).iterator()
+                : (Iterator<?>) returnValue;
+        // Flushing after each item would defeat the output buffering
+        ObjectWriter writer = vaadinEndpointMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        try {
+            // The array is not closed if writing fails, so that a partial
+            // response is never mistaken for a complete one
+            JsonGenerator generator = vaadinEndpointMapper.getFactory()
+                    .createGenerator(response.getOutputStream())
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartArray();
+            while (iterator.hasNext()) {
+                Object item = iterator.next();
+                String itemError = checkItem(item, itemType);
+                if (itemError != null) {
+                    throw new EndpointException(String.format(
+                            "Unexpected return value in endpoint '%s' method '%s'. %s",
+                            endpointName, methodName, itemError));
+                }
+                writer.writeValue(generator, item);
+            }
+            generator.writeEndArray();
+            generator.close();
+        } catch (IOException | RuntimeException e) {
+            abortStreamedResponse(endpointName, methodName, response, e);
+        } finally {
+            if (returnValue instanceof Stream) {
+                ((Stream<?>) returnValue).close();
+            }
+        }
+    }
+
+    private void abortStreamedResponse(String endpointName, String methodName,
+            HttpServletResponse response, Exception e) {
+        String errorMessage = String.format(
+                "Failed to stream endpoint '%s' method '%s' response",
+                endpointName, methodName);
+        getLogger().error(errorMessage, e);
+        if (!response.isCommitted()) {
+            // Nothing has been sent yet, so an error can be sent instead
+            response.reset();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+            try {
+                String body = e instanceof EndpointException
+                        ? vaadinEndpointMapper.writeValueAsString(
+                                ((EndpointException) e).getSerializationData())
+                        : createResponseErrorObject(errorMessage);
+                response.getOutputStream()
+                        .write(body.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException writeError) {
+                getLogger().debug("Failed to write the error response",
+                        writeError);
+            }
+            return;
+        }
+        // The status has been sent already. Failing the request makes the
+        // container break off the response instead of completing it.
+        throw new IllegalStateException(errorMessage, e);
     }
 
     private Type[] getJavaParameters(Method methodToInvoke, Type classType) {
@@ -357,11 +663,10 @@ public class VaadinConnectController {
     }
 
     private ResponseEntity<String> handleMethodExecutionError(
-            String endpointName, String methodName, InvocationTargetException e)
+            String endpointName, String methodName, Throwable e)
             throws JsonProcessingException {
-        if (EndpointException.class.isAssignableFrom(e.getCause().getClass())) {
-            EndpointException endpointException = ((EndpointException) e
-                    .getCause());
+        if (e instanceof EndpointException) {
+            EndpointException endpointException = (EndpointException) e;
             getLogger().debug("Endpoint '{}' method '{}' aborted the execution",
                     endpointName, methodName, endpointException);
             return ResponseEntity.badRequest()
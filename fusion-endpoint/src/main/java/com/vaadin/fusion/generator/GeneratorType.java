@@ -22,11 +22,14 @@ import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.resolution.declarations.ResolvedTypeParameterDeclaration;
@@ -70,6 +73,11 @@ class GeneratorType {
         return resolvedType.isArray();
     }
 
+    boolean isAsync() {
+        return resolvedType.isReferenceType()
+                && isAssignableType(CompletionStage.class);
+    }
+
     boolean isBoolean() {
         if (resolvedType.isPrimitive()) {
             return resolvedType.asPrimitive() == ResolvedPrimitiveType.BOOLEAN;
@@ -80,8 +88,8 @@ class GeneratorType {
 
     boolean isCollection() {
         return !resolvedType.isPrimitive()
-                && (isAssignableType(Collection.class)
-                        || isExactType(Iterable.class));
+                && (isAssignableType(Collection.class, Iterator.class,
+                        Stream.class) || isExactType(Iterable.class));
     }
 
     boolean isDate() {
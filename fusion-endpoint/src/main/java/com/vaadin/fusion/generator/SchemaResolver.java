@@ -129,6 +129,10 @@ class SchemaResolver {
             return createOptionalSchema();
         }
 
+        if (type.isAsync()) {
+            return createAsyncSchema();
+        }
+
         if (type.isUnhandled()) {
             return createNullableWrapper(new ObjectSchema());
         }
@@ -165,6 +169,17 @@ class SchemaResolver {
                         .resolve());
     }
 
+    private Schema createAsyncSchema() {
+        // The endpoint call is asynchronous in the client anyway, so only
+        // the completion value is of interest
+        List<GeneratorType> typeArguments = type.getTypeArguments();
+        if (typeArguments.isEmpty()) {
+            return createNullableWrapper(new ObjectSchema());
+        }
+        return new SchemaResolver(typeArguments.get(0), nodeAnnotations,
+                usedTypes).resolve();
+    }
+
     private Schema createNullableWrapper(Schema nestedTypeSchema) {
         return createNullableWrapper(nestedTypeSchema, !isRequired());
     }
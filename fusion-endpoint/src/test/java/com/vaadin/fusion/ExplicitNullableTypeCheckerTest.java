@@ -35,7 +35,6 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
@@ -221,17 +220,22 @@ public class ExplicitNullableTypeCheckerTest {
     }
 
     @Test
-    public void should_Recursively_Check_List_Items() {
-        ExplicitNullableTypeCheckerHelper checker = spy(helper);
-
-        List<String> list = parametrizedListMethod("foo", "bar");
+    public void should_Recursively_Check_List_Items()
+            throws NoSuchMethodException {
+        Type beanListType = getClass().getMethod("beanListMethod")
+                .getGenericReturnType();
+        Bean valid = new Bean();
+        valid.setTitle("foo");
 
-        checker.checkValueForType(list, stringListType);
-        // The first interaction is the obvious
-        verify(checker).checkValueForType(list, stringListType);
+        Assert.assertNull(helper.checkValueForType(
+                Arrays.asList(valid, valid), beanListType));
 
-        verify(checker).checkValueForType("foo", String.class);
-        verify(checker).checkValueForType("bar", String.class);
+        String error = helper.checkValueForType(
+                Arrays.asList(valid, new Bean()), beanListType);
+        Assert.assertNotNull(error);
+        Assert.assertTrue(error.contains("List"));
+        Assert.assertTrue(error.contains("Bean"));
+        Assert.assertTrue(error.contains("title"));
     }
 
     @Test
@@ -252,19 +256,22 @@ public class ExplicitNullableTypeCheckerTest {
     }
 
     @Test
-    public void should_Recursively_Check_Map_Values() {
-        ExplicitNullableTypeCheckerHelper checker = spy(helper);
-
-        Date dateOne = new Date();
-        Date dateTwo = new Date();
-        Map<String, Date> map = parametrizedMapMethod(dateOne, dateTwo);
+    public void should_Recursively_Check_Map_Values()
+            throws NoSuchMethodException {
+        Type beanMapType = getClass().getMethod("beanMapMethod")
+                .getGenericReturnType();
+        Bean valid = new Bean();
+        valid.setTitle("foo");
+        Map<String, Bean> map = new HashMap<>();
+        map.put("valid", valid);
 
-        checker.checkValueForType(map, stringToDateMapType);
-        // The first interaction is the obvious
-        verify(checker).checkValueForType(map, stringToDateMapType);
+        Assert.assertNull(helper.checkValueForType(map, beanMapType));
 
-        verify(checker).checkValueForType(dateOne, Date.class);
-        verify(checker).checkValueForType(dateTwo, Date.class);
+        map.put("invalid", new Bean());
+        String error = helper.checkValueForType(map, beanMapType);
+        Assert.assertNotNull(error);
+        Assert.assertTrue(error.contains("key 'invalid'"));
+        Assert.assertTrue(error.contains("title"));
     }
 
     @Test
@@ -287,17 +294,21 @@ public class ExplicitNullableTypeCheckerTest {
     }
 
     @Test
-    public void should_Recursively_Check_GenericArray_Items() {
-        ExplicitNullableTypeCheckerHelper checker = spy(helper);
-
-        String[] array = arrayMethod("foo", "bar");
+    public void should_Recursively_Check_GenericArray_Items()
+            throws NoSuchMethodException {
+        Type beanArrayType = getClass().getMethod("beanArrayMethod")
+                .getGenericReturnType();
+        Bean valid = new Bean();
+        valid.setTitle("foo");
 
-        checker.checkValueForType(array, stringArrayType);
-        // The first interaction is the obvious
-        verify(checker).checkValueForType(array, stringArrayType);
+        Assert.assertNull(helper.checkValueForType(new Bean[] { valid },
+                beanArrayType));
 
-        verify(checker).checkValueForType("foo", String.class);
-        verify(checker).checkValueForType("bar", String.class);
+        String error = helper.checkValueForType(
+                new Bean[] { valid, new Bean() }, beanArrayType);
+        Assert.assertNotNull(error);
+        Assert.assertTrue(error.contains("array"));
+        Assert.assertTrue(error.contains("title"));
     }
 
     @Test
@@ -324,19 +335,43 @@ public class ExplicitNullableTypeCheckerTest {
 
     @Test
     public void should_Recursively_Check_BeanProperties() {
-        ExplicitNullableTypeCheckerHelper checker = spy(helper);
-
         final Bean bean = new Bean();
         bean.setTitle("foo");
-        bean.description = "bar";
+        // Should not check non-bean properties
+        bean.description = null;
 
-        checker.checkValueForType(bean, Bean.class);
-        // The first interaction is the obvious
-        verify(checker).checkValueForType(bean, Bean.class);
+        Assert.assertNull(helper.checkValueForType(bean, Bean.class));
 
-        verify(checker).checkValueForType("foo", String.class);
-        // Should not check non-bean properties
-        verify(checker, never()).checkValueForType("bar", String.class);
+        bean.setTitle(null);
+        String error = helper.checkValueForType(bean, Bean.class);
+        Assert.assertNotNull(error);
+        Assert.assertTrue(error.contains("title"));
+    }
+
+    @Test
+    public void should_ReturnNull_When_GivenNonNull_CircularReference_NonnullBeanProperties() {
+        Node first = new Node();
+        Node second = new Node();
+        first.setNext(second);
+        second.setNext(first);
+
+        Assert.assertNull(helper.checkValueForType(first, Node.class));
+
+        second.setNext(new Node());
+        String error = helper.checkValueForType(first, Node.class);
+        Assert.assertNotNull(error);
+        Assert.assertTrue(error.contains("next"));
+    }
+
+    @Test
+    public void should_ReuseCheckerState_When_CheckingRepeatedly() {
+        Bean bean = new Bean();
+        bean.setTitle("foo");
+        Assert.assertNull(helper.checkValueForType(bean, Bean.class));
+        Assert.assertNull(helper.checkValueForType(bean, Bean.class));
+
+        bean.setTitle(null);
+        Assert.assertNotNull(helper.checkValueForType(bean, Bean.class));
     }
 
     @Test
@@ -437,6 +472,18 @@ public class ExplicitNullableTypeCheckerTest {
         return args;
     }
 
+    public List<Bean> beanListMethod() {
+        return null;
+    }
+
+    public Map<String, Bean> beanMapMethod() {
+        return null;
+    }
+
+    public Bean[] beanArrayMethod() {
+        return null;
+    }
+
     /**
      * Method for testing
      */
@@ -482,6 +529,19 @@ public class ExplicitNullableTypeCheckerTest {
         }
     }
 
+    static private class Node {
+        @Nonnull
+        private Node next;
+
+        public Node getNext() {
+            return next;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+    }
+
     static private abstract class AbstractEntity<ID> {
         private ID id;
 
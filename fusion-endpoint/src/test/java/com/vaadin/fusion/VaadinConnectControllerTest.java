@@ -5,9 +5,13 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.Principal;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import javax.annotation.security.DenyAll;
@@ -38,6 +42,11 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -59,6 +68,7 @@ import com.vaadin.fusion.exception.EndpointValidationException;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -75,6 +85,7 @@ import static org.mockito.Mockito.when;
 
 public class VaadinConnectControllerTest {
     private static final TestClass TEST_ENDPOINT = new TestClass();
+    private static final int LARGE_ITEM_LENGTH = 64 * 1024;
     private static final String TEST_ENDPOINT_NAME = TEST_ENDPOINT.getClass()
             .getSimpleName();
     private static final Method TEST_METHOD;
@@ -177,6 +188,61 @@ public class VaadinConnectControllerTest {
         }
     }
 
+    @Endpoint
+    public static class AsyncTestClass {
+        private final CompletableFuture<String> pending = new CompletableFuture<>();
+        private final AtomicBoolean streamClosed = new AtomicBoolean();
+
+        public CompletableFuture<String> getAsync() {
+            return CompletableFuture.completedFuture("async");
+        }
+
+        public CompletableFuture<String> getPending() {
+            return pending;
+        }
+
+        public CompletableFuture<String> getFailing() {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new EndpointException("failed"));
+            return future;
+        }
+
+        public Stream<String> streamNames() {
+            return Stream.of("foo", "bar")
+                    .onClose(() -> streamClosed.set(true));
+        }
+
+        public Iterator<String> iterateNames() {
+            return Arrays.asList("foo", "bar").iterator();
+        }
+
+        public Stream<@Nonnull String> streamNullNames() {
+            return Stream.of("foo", null);
+        }
+
+        public Iterator<String> iterateFailing() {
+            return new Iterator<String>() {
+                private boolean first = true;
+
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public String next() {
+                    if (first) {
+                        first = false;
+                        char[] name = new char[LARGE_ITEM_LENGTH];
+                        Arrays.fill(name, 'a');
+                        return new String(name);
+                    }
+                    throw new IllegalStateException("Next name not available");
+                }
+            };
+        }
+    }
+
     @Rule
     public final ExpectedException exception = ExpectedException.none();
 
@@ -1180,6 +1246,151 @@ public class VaadinConnectControllerTest {
                 response.getBody());
     }
 
+    @Test
+    public void should_ReturnFutureResult_When_AsyncIsNotSupported() {
+        ResponseEntity<String> response = createVaadinController(
+                new AsyncTestClass()).serveEndpoint("AsyncTestClass",
+                        "getAsync", createRequestParameters("{}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"async\"", response.getBody());
+    }
+
+    @Test
+    public void should_Return400_When_FutureFailsWithEndpointException() {
+        ResponseEntity<String> response = createVaadinController(
+                new AsyncTestClass()).serveEndpoint("AsyncTestClass",
+                        "getFailing", createRequestParameters("{}"),
+                        requestMock);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("failed"));
+    }
+
+    @Test
+    public void should_CompleteRequestAsynchronously_When_AsyncIsSupported() {
+        AsyncTestClass endpoint = new AsyncTestClass();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(
+                new StandardServletAsyncWebRequest(request, response));
+
+        ResponseEntity<String> result = createVaadinController(endpoint)
+                .serveEndpoint("AsyncTestClass", "getPending",
+                        createRequestParameters("{}"), request, response);
+
+        assertNull(result);
+        assertTrue(asyncManager.isConcurrentHandlingStarted());
+        Assert.assertFalse(asyncManager.hasConcurrentResult());
+
+        endpoint.pending.complete("done");
+
+        assertTrue(asyncManager.hasConcurrentResult());
+        ResponseEntity<?> asyncResult = (ResponseEntity<?>) asyncManager
+                .getConcurrentResult();
+        assertEquals(HttpStatus.OK, asyncResult.getStatusCode());
+        assertEquals("\"done\"", asyncResult.getBody());
+    }
+
+    @Test
+    public void should_CollectStream_When_NoResponseIsGiven() {
+        AsyncTestClass endpoint = new AsyncTestClass();
+        ResponseEntity<String> response = createVaadinController(endpoint)
+                .serveEndpoint("AsyncTestClass", "streamNames",
+                        createRequestParameters("{}"), requestMock);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[\"foo\",\"bar\"]", response.getBody());
+        assertTrue(endpoint.streamClosed.get());
+    }
+
+    @Test
+    public void should_WriteStreamToResponse_When_ResponseIsGiven()
+            throws IOException {
+        AsyncTestClass endpoint = new AsyncTestClass();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<String> result = createVaadinController(endpoint)
+                .serveEndpoint("AsyncTestClass", "streamNames",
+                        createRequestParameters("{}"), requestMock, response);
+
+        assertNull(result);
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("[\"foo\",\"bar\"]", response.getContentAsString());
+        assertTrue(endpoint.streamClosed.get());
+    }
+
+    @Test
+    public void should_WriteIteratorToResponse_When_ResponseIsGiven()
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<String> result = createVaadinController(
+                new AsyncTestClass()).serveEndpoint("AsyncTestClass",
+                        "iterateNames", createRequestParameters("{}"),
+                        requestMock, response);
+
+        assertNull(result);
+        assertEquals("[\"foo\",\"bar\"]", response.getContentAsString());
+    }
+
+    @Test
+    public void should_Return500_When_StreamedItemIsNullAndNotAllowed()
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<String> result = createVaadinController(
+                new AsyncTestClass(), null, null, null,
+                new ExplicitNullableTypeChecker()).serveEndpoint(
+                        "AsyncTestClass", "streamNullNames",
+                        createRequestParameters("{}"), requestMock, response);
+
+        assertNull(result);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                response.getStatus());
+        ObjectNode jsonNodes = new ObjectMapper()
+                .readValue(response.getContentAsString(), ObjectNode.class);
+        assertEquals(EndpointException.class.getName(),
+                jsonNodes.get("type").asText());
+        assertTrue(jsonNodes.get("message").asText()
+                .contains("Unexpected return value"));
+    }
+
+    @Test
+    public void should_Return500_When_CollectedStreamItemIsNullAndNotAllowed() {
+        ResponseEntity<String> response = createVaadinController(
+                new AsyncTestClass(), null, null, null,
+                new ExplicitNullableTypeChecker()).serveEndpoint(
+                        "AsyncTestClass", "streamNullNames",
+                        createRequestParameters("{}"), requestMock);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+                response.getStatusCode());
+        assertTrue(response.getBody().contains("Unexpected return value"));
+    }
+
+    @Test
+    public void should_BreakOffResponse_When_StreamFailsAfterResponseIsCommitted()
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setBufferSize(LARGE_ITEM_LENGTH / 2);
+        VaadinConnectController controller = createVaadinController(
+                new AsyncTestClass());
+
+        try {
+            controller.serveEndpoint("AsyncTestClass", "iterateFailing",
+                    createRequestParameters("{}"), requestMock, response);
+            Assert.fail("The response should be broken off");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("iterateFailing"));
+        }
+        assertTrue(response.isCommitted());
+        assertFalse(response.getContentAsString().endsWith("]"));
+    }
+
     private void assertEndpointInfoPresent(String responseBody) {
         assertTrue(String.format(
                 "Response body '%s' should have endpoint information in it",
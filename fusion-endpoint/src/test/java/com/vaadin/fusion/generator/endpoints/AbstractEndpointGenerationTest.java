@@ -41,15 +41,18 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.models.Components;
@@ -406,7 +409,11 @@ public abstract class AbstractEndpointGenerationTest
                             typeArguments);
                 } else {
                     assertTrue(Iterable.class
-                            .isAssignableFrom(expectedSchemaClass));
+                            .isAssignableFrom(expectedSchemaClass)
+                            || Iterator.class
+                                    .isAssignableFrom(expectedSchemaClass)
+                            || Stream.class
+                                    .isAssignableFrom(expectedSchemaClass));
                     Type itemType = expectedSchemaClass.getTypeParameters()[0];
                     assertSchema(((ArraySchema) actualSchema).getItems(),
                             applyTypeArguments(itemType, typeArguments),
@@ -466,6 +473,12 @@ public abstract class AbstractEndpointGenerationTest
                                         .getName()),
                         new HashMap<>());
             }
+        } else if (CompletionStage.class
+                .isAssignableFrom(expectedSchemaClass)) {
+            assertSchema(actualSchema,
+                    typeArguments.get(expectedSchemaClass.getTypeParameters()[0]
+                            .getName()),
+                    new HashMap<>());
         } else if (expectedSchemaClass == Object.class) {
             assertNull(actualSchema.getProperties());
             assertNull(actualSchema.getAdditionalProperties());
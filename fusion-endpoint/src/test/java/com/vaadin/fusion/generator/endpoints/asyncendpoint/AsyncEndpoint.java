@@ -0,0 +1,51 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.fusion.generator.endpoints.asyncendpoint;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.server.auth.AnonymousAllowed;
+import com.vaadin.fusion.Endpoint;
+import com.vaadin.fusion.Nonnull;
+
+@Endpoint
+@AnonymousAllowed
+public class AsyncEndpoint {
+
+    public static class Foo {
+        public String bar = "bar";
+    }
+
+    public CompletableFuture<Foo> getFoo() {
+        return CompletableFuture.completedFuture(new Foo());
+    }
+
+    @Nonnull
+    public CompletableFuture<String> getName() {
+        return CompletableFuture.completedFuture("foo");
+    }
+
+    public Stream<Foo> streamFoos() {
+        return Stream.of(new Foo(), new Foo());
+    }
+
+    public Iterator<String> iterateNames() {
+        return Arrays.asList("foo", "bar").iterator();
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * This module is generated from AsyncEndpoint.java
+ * All changes to this file are overridden. Please consider to make changes in the corresponding Java file if necessary.
+ * @module AsyncEndpoint
+ */
+
+// @ts-ignore
+import client from './connect-client.default';
+import Foo from './com/vaadin/fusion/generator/endpoints/asyncendpoint/AsyncEndpoint/Foo';
+
+function _getFoo(): Promise<Foo | undefined> {
+    return client.call('AsyncEndpoint', 'getFoo');
+}
+export {_getFoo as getFoo};
+
+function _getName(): Promise<string> {
+    return client.call('AsyncEndpoint', 'getName');
+}
+export {_getName as getName};
+
+function _iterateNames(): Promise<ReadonlyArray<string | undefined> | undefined> {
+    return client.call('AsyncEndpoint', 'iterateNames');
+}
+export {_iterateNames as iterateNames};
+
+function _streamFoos(): Promise<ReadonlyArray<Foo | undefined> | undefined> {
+    return client.call('AsyncEndpoint', 'streamFoos');
+}
+export {_streamFoos as streamFoos};
+
+export const AsyncEndpoint = Object.freeze({
+    getFoo: _getFoo,
+    getName: _getName,
+    iterateNames: _iterateNames,
+    streamFoos: _streamFoos,
+});
\ No newline at end of file
@@ -0,0 +1,8 @@
+/**
+ * This module is generated from com.vaadin.fusion.generator.endpoints.asyncendpoint.AsyncEndpoint.Foo.
+ * All changes to this file are overridden. Please consider to make changes in the corresponding Java file if necessary.
+ */
+
+export default interface Foo {
+  readonly bar?: string;
+}
\ No newline at end of file
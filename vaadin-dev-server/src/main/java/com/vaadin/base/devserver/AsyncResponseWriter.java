@@ -0,0 +1,161 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.base.devserver;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams a response body to the client with non-blocking servlet I/O, so
+ * that no request thread waits for a slow client or for the dev server.
+ * <p>
+ * The body comes from an {@link java.net.HttpURLConnection}, which only
+ * supports blocking reads, so the body is read by the given executor one
+ * buffer at a time. Each buffer is written whenever the output stream is
+ * ready, and the asynchronous request is completed once the whole body has
+ * been written or reading or writing fails.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+class AsyncResponseWriter implements WriteListener {
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream output;
+    private final InputStream body;
+    private final Executor readExecutor;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    // The following fields are guarded by this
+    private int pendingBytes;
+    private boolean reading;
+    private boolean endOfBody;
+    private boolean completed;
+
+    /**
+     * Creates a writer for the given body.
+     *
+     * @param asyncContext
+     *            the context of the started asynchronous request
+     * @param output
+     *            the output stream of the response
+     * @param body
+     *            the body to write, closed once written
+     * @param readExecutor
+     *            the executor to read the body with
+     */
+    AsyncResponseWriter(AsyncContext asyncContext, ServletOutputStream output,
+            InputStream body, Executor readExecutor) {
+        this.asyncContext = asyncContext;
+        this.output = output;
+        this.body = body;
+        this.readExecutor = readExecutor;
+    }
+
+    @Override
+    public synchronized void onWritePossible() throws IOException {
+        writePending();
+    }
+
+    @Override
+    public synchronized void onError(Throwable throwable) {
+        getLogger().debug("Failed to write a dev server response", throwable);
+        complete();
+    }
+
+    private void writePending() throws IOException {
+        while (!completed && output.isReady()) {
+            if (pendingBytes > 0) {
+                int bytes = pendingBytes;
+                pendingBytes = 0;
+                output.write(buffer, 0, bytes);
+            } else if (endOfBody) {
+                complete();
+            } else {
+                if (!reading) {
+                    startRead();
+                }
+                // Continued once the read completes
+                return;
+            }
+        }
+    }
+
+    private void startRead() {
+        reading = true;
+        try {
+            readExecutor.execute(this::read);
+        } catch (RejectedExecutionException e) {
+            reading = false;
+            onError(e);
+        }
+    }
+
+    private void read() {
+        int bytes;
+        try {
+            bytes = body.read(buffer);
+        } catch (IOException e) {
+            onError(e);
+            return;
+        }
+        synchronized (this) {
+            reading = false;
+            if (bytes < 0) {
+                endOfBody = true;
+            } else {
+                pendingBytes = bytes;
+            }
+            try {
+                // If the output is not ready, the container calls
+                // onWritePossible once it is
+                writePending();
+            } catch (IOException e) {
+                onError(e);
+            }
+        }
+    }
+
+    private void complete() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        try {
+            body.close();
+        } catch (IOException e) {
+            getLogger().debug("Failed to close a dev server response", e);
+        }
+        asyncContext.complete();
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(AsyncResponseWriter.class);
+    }
+}
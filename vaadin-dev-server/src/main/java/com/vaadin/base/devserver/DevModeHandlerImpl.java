@@ -15,9 +15,11 @@
  */
 package com.vaadin.base.devserver;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -30,10 +32,17 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
@@ -44,6 +53,7 @@ import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.base.devserver.DevServerResponseCache.CachedResponse;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.internal.BrowserLiveReload;
 import com.vaadin.flow.internal.BrowserLiveReloadAccessor;
@@ -122,6 +132,11 @@ public final class DevModeHandlerImpl
     private static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
     private static final int DEFAULT_TIMEOUT = 120 * 1000;
     private static final String WEBPACK_HOST = "http://localhost";
+    private static final long RESPONSE_CACHE_SIZE = 64 * 1024 * 1024;
+    private static final Set<String> HOP_BY_HOP_HEADERS = new HashSet<>(
+            Arrays.asList("connection", "keep-alive", "proxy-authenticate",
+                    "proxy-authorization", "proxy-connection", "te",
+                    "trailer", "transfer-encoding", "upgrade"));
 
     private boolean notified = false;
 
@@ -152,6 +167,18 @@ public final class DevModeHandlerImpl
      */
     private volatile List<String> manifestPaths = new ArrayList<>();
 
+    private final transient DevServerResponseCache responseCache = new DevServerResponseCache(
+            RESPONSE_CACHE_SIZE);
+
+    // Reads the dev server responses, which only support blocking reads, so
+    // that request threads do not wait for the dev server
+    private final transient ExecutorService responseReader = Executors
+            .newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "webpack-response");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     private StringBuilder cumulativeOutput = new StringBuilder();
 
     private final CompletableFuture<Void> devServerStartFuture;
@@ -333,17 +360,31 @@ public final class DevModeHandlerImpl
             requestFilename = "/VAADIN/static" + requestFilename;
         }
 
+        boolean get = "GET".equals(request.getMethod());
+        CachedResponse cached = get ? responseCache.get(requestFilename)
+                : null;
+        if (cached != null) {
+            getLogger().debug("Served resource from the dev server cache: {}",
+                    requestFilename);
+            cached.getHeaders().forEach(response::addHeader);
+            writeBody(request, response,
+                    new ByteArrayInputStream(cached.getBody()));
+            return true;
+        }
+
         HttpURLConnection connection = prepareConnection(requestFilename,
                 request.getMethod());
 
-        // Copies all the headers from the original request
+        // Copies the headers from the original request, except for the
+        // hop-by-hop headers so that the connection to webpack stays alive
+        // and is reused for the following requests
         Enumeration<String> headerNames = request.getHeaderNames();
         while (headerNames.hasMoreElements()) {
             String header = headerNames.nextElement();
-            connection.setRequestProperty(header,
-                    // Exclude keep-alive
-                    "Connect".equals(header) ? "close"
-                            : request.getHeader(header));
+            if (!isHopByHopHeader(header)) {
+                connection.setRequestProperty(header,
+                        request.getHeader(header));
+            }
         }
 
         // Send the request
@@ -353,6 +394,7 @@ public final class DevModeHandlerImpl
         if (responseCode == HTTP_NOT_FOUND) {
             getLogger().debug("Resource not served by webpack {}",
                     requestFilename);
+            discardBody(connection);
             // webpack cannot access the resource, return false so as flow can
             // handle it
             return false;
@@ -361,22 +403,34 @@ public final class DevModeHandlerImpl
                 requestFilename);
 
         // Copies response headers
+        Map<String, String> headers = new LinkedHashMap<>();
         connection.getHeaderFields().forEach((header, values) -> {
-            if (header != null) {
-                response.addHeader(header, values.get(0));
+            if (header != null && !isHopByHopHeader(header)) {
+                headers.put(header, values.get(0));
             }
         });
+        headers.forEach(response::addHeader);
 
         if (responseCode == HTTP_OK) {
             // Copies response payload
-            writeStream(response.getOutputStream(),
-                    connection.getInputStream());
+            InputStream body = connection.getInputStream();
+            if (get && DevServerResponseCache.isCacheable(requestFilename)) {
+                byte[] data;
+                try (InputStream stream = body) {
+                    data = IOUtils.toByteArray(stream);
+                }
+                responseCache.put(requestFilename, headers, data);
+                body = new ByteArrayInputStream(data);
+            }
+            writeBody(request, response, body);
+            return true;
         } else if (responseCode < 400) {
             response.setStatus(responseCode);
         } else {
             // Copies response code
             response.sendError(responseCode);
         }
+        discardBody(connection);
 
         // Close request to avoid issues in CI and Chrome
         response.getOutputStream().close();
@@ -384,6 +438,41 @@ public final class DevModeHandlerImpl
         return true;
     }
 
+    private void writeBody(HttpServletRequest request,
+            HttpServletResponse response, InputStream body)
+            throws IOException {
+        if (request.isAsyncSupported()) {
+            // Stream the body without blocking the request thread
+            AsyncContext asyncContext = request.startAsync();
+            asyncContext.setTimeout(DEFAULT_TIMEOUT);
+            ServletOutputStream output = response.getOutputStream();
+            output.setWriteListener(
+                    new AsyncResponseWriter(asyncContext, output, body,
+                            responseReader));
+        } else {
+            try (InputStream stream = body) {
+                writeStream(response.getOutputStream(), stream);
+            }
+            // Close request to avoid issues in CI and Chrome
+            response.getOutputStream().close();
+        }
+    }
+
+    private static boolean isHopByHopHeader(String header) {
+        return HOP_BY_HOP_HEADERS.contains(header.toLowerCase(Locale.ENGLISH));
+    }
+
+    // A connection is only kept alive and reused if its body is fully read
+    private static void discardBody(HttpURLConnection connection) {
+        try (InputStream stream = connection.getErrorStream() != null
+                ? connection.getErrorStream()
+                : connection.getInputStream()) {
+            IOUtils.consume(stream);
+        } catch (IOException e) {
+            getLogger().trace("Discarding a response body failed", e);
+        }
+    }
+
     private boolean checkWebpackConnection() {
         try {
             readManifestPaths();
@@ -484,6 +573,9 @@ public final class DevModeHandlerImpl
             // reset cumulative buffer for the next compilation
             cumulativeOutput = new StringBuilder();
 
+            // bundles of the previous compilation are not needed anymore
+            responseCache.clear();
+
             // Read webpack asset manifest json
             try {
                 readManifestPaths();
@@ -832,6 +924,7 @@ public final class DevModeHandlerImpl
         if (atomicHandler.get() == null) {
             return;
         }
+        responseReader.shutdownNow();
         if (reuseDevServer) {
             return;
         }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.base.devserver;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the responses of <code>webpack-dev-server</code> for immutable
+ * resources in memory, so that they are not requested again on each page
+ * reload.
+ * <p>
+ * Only resources with a content hash in their name are cached, since their
+ * content never changes for the same name. The least recently used responses
+ * are evicted once the total size of the cached responses exceeds the limit.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+class DevServerResponseCache {
+
+    // Matches the bundles named by webpack as
+    // vaadin-[name]-[contenthash].cache.js
+    private static final Pattern IMMUTABLE_RESOURCE_PATTERN = Pattern
+            .compile("-[0-9a-f]{16,}\\.cache\\.js$");
+
+    /**
+     * A cached response.
+     */
+    static class CachedResponse {
+        private final Map<String, String> headers;
+        private final byte[] body;
+
+        private CachedResponse(Map<String, String> headers, byte[] body) {
+            this.headers = Collections
+                    .unmodifiableMap(new LinkedHashMap<>(headers));
+            this.body = body;
+        }
+
+        /**
+         * Gets the response headers.
+         *
+         * @return the response headers, not <code>null</code>
+         */
+        Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Gets the response body.
+         *
+         * @return the response body, not <code>null</code>
+         */
+        byte[] getBody() {
+            return body;
+        }
+    }
+
+    private final long maxSize;
+
+    private long size;
+
+    private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(
+            16, 0.75f, true);
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize
+     *            the maximum total size of the cached response bodies, in
+     *            bytes
+     */
+    DevServerResponseCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Checks whether the response for the given path can be cached.
+     *
+     * @param path
+     *            the requested path
+     * @return <code>true</code> if the resource is immutable,
+     *         <code>false</code> otherwise
+     */
+    static boolean isCacheable(String path) {
+        return IMMUTABLE_RESOURCE_PATTERN.matcher(path).find();
+    }
+
+    /**
+     * Gets the cached response for the given path.
+     *
+     * @param path
+     *            the requested path
+     * @return the cached response, or <code>null</code> if not cached
+     */
+    synchronized CachedResponse get(String path) {
+        return responses.get(path);
+    }
+
+    /**
+     * Caches the response for the given path, if the path is cacheable and
+     * the response is not larger than the cache.
+     *
+     * @param path
+     *            the requested path
+     * @param headers
+     *            the response headers
+     * @param body
+     *            the response body
+     */
+    synchronized void put(String path, Map<String, String> headers,
+            byte[] body) {
+        if (!isCacheable(path) || body.length > maxSize) {
+            return;
+        }
+        CachedResponse previous = responses.put(path,
+                new CachedResponse(headers, body));
+        if (previous != null) {
+            size -= previous.body.length;
+        }
+        size += body.length;
+
+        Iterator<CachedResponse> eldest = responses.values()
+                .iterator();
+        while (size > maxSize) {
+            size -= eldest.next().body.length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    synchronized void clear() {
+        responses.clear();
+        size = 0;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.base.devserver;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class AsyncResponseWriterTest {
+
+    private ExecutorService readExecutor;
+    private AsyncContext asyncContext;
+    private ServletOutputStream output;
+    private ByteArrayOutputStream written;
+
+    @Before
+    public void setup() throws IOException {
+        readExecutor = Executors.newSingleThreadExecutor();
+        asyncContext = Mockito.mock(AsyncContext.class);
+        output = Mockito.mock(ServletOutputStream.class);
+        written = new ByteArrayOutputStream();
+        Mockito.when(output.isReady()).thenReturn(true);
+        Mockito.doAnswer(invocation -> {
+            written.write((byte[]) invocation.getArgument(0),
+                    (int) invocation.getArgument(1),
+                    (int) invocation.getArgument(2));
+            return null;
+        }).when(output).write(Mockito.any(byte[].class), Mockito.anyInt(),
+                Mockito.anyInt());
+    }
+
+    @After
+    public void teardown() throws InterruptedException {
+        readExecutor.shutdownNow();
+        readExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void onWritePossible_bodyNotAvailable_doesNotWaitForBody()
+            throws IOException {
+        PipedOutputStream devServer = new PipedOutputStream();
+        AsyncResponseWriter writer = new AsyncResponseWriter(asyncContext,
+                output, new PipedInputStream(devServer), readExecutor);
+
+        // Returns although the dev server has not sent anything yet
+        writer.onWritePossible();
+        Mockito.verify(asyncContext, Mockito.never()).complete();
+
+        devServer.write("body".getBytes(StandardCharsets.UTF_8));
+        devServer.close();
+
+        Mockito.verify(asyncContext, Mockito.timeout(5000)).complete();
+        Assert.assertEquals("body", written.toString("UTF-8"));
+    }
+
+    @Test
+    public void onWritePossible_outputNotReady_writtenWhenReadyAgain()
+            throws IOException {
+        PipedOutputStream devServer = new PipedOutputStream();
+        AsyncResponseWriter writer = new AsyncResponseWriter(asyncContext,
+                output, new PipedInputStream(devServer), readExecutor);
+        writer.onWritePossible();
+
+        Mockito.when(output.isReady()).thenReturn(false);
+        devServer.write("body".getBytes(StandardCharsets.UTF_8));
+        devServer.close();
+        Mockito.verify(output, Mockito.timeout(5000).atLeast(2)).isReady();
+        Assert.assertEquals(0, written.size());
+
+        Mockito.when(output.isReady()).thenReturn(true);
+        writer.onWritePossible();
+
+        Mockito.verify(asyncContext, Mockito.timeout(5000)).complete();
+        Assert.assertEquals("body", written.toString("UTF-8"));
+    }
+}
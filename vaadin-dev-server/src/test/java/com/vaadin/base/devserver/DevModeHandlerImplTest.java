@@ -15,10 +15,12 @@
  */
 package com.vaadin.base.devserver;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.ByteArrayOutputStream;
@@ -53,6 +55,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.di.Lookup;
@@ -131,13 +134,16 @@ public class DevModeHandlerImplTest {
 
     @After
     public void teardown() throws Exception {
-        if (httpServer != null) {
-            httpServer.stop(0);
-        }
+        // Stop the handler while the stub server still answers its requests
         DevModeHandlerImpl handler = DevModeHandlerImpl.getDevModeHandler();
         if (handler != null) {
             handler.stop();
         }
+        removeDevModeHandlerInstance();
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
     }
 
     public static void removeDevModeHandlerInstance() throws Exception {
@@ -440,6 +446,61 @@ public class DevModeHandlerImplTest {
         devModeHandler.serveDevModeRequest(request, null);
     }
 
+    @Test
+    public void serveDevModeRequest_hashedBundle_servedFromCacheOnceFetched()
+            throws Exception {
+        String bundle = "/VAADIN/build/vaadin-bundle-0123456789abcdef0123.cache.js";
+        HttpServletRequest request = prepareRequest(bundle);
+        int port = prepareHttpServer(0, HTTP_OK, "{}");
+
+        DevModeHandlerImpl devModeHandler = DevModeHandlerImpl.start(port,
+                createDevModeLookup(), npmFolder,
+                CompletableFuture.completedFuture(null));
+        devModeHandler.join();
+        ByteArrayOutputStream fetched = new ByteArrayOutputStream();
+        assertTrue(devModeHandler.serveDevModeRequest(request,
+                prepareResponse(fetched)));
+
+        // The bundle is not requested from webpack anymore
+        httpServer.stop(0);
+        ByteArrayOutputStream cached = new ByteArrayOutputStream();
+        assertTrue(devModeHandler.serveDevModeRequest(request,
+                prepareResponse(cached)));
+        assertEquals("{}", new String(cached.toByteArray(),
+                StandardCharsets.UTF_8));
+        assertEquals(fetched.toString("UTF-8"), cached.toString("UTF-8"));
+    }
+
+    @Test
+    public void serveDevModeRequest_asyncSupported_bodyWrittenWhenOutputReady()
+            throws Exception {
+        HttpServletRequest request = prepareRequest("/VAADIN/foo.js");
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        Mockito.when(request.isAsyncSupported()).thenReturn(true);
+        Mockito.when(request.startAsync()).thenReturn(asyncContext);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        HttpServletResponse response = prepareResponse(body);
+        ServletOutputStream output = response.getOutputStream();
+        Mockito.when(output.isReady()).thenReturn(true);
+        int port = prepareHttpServer(0, HTTP_OK, "{}");
+
+        DevModeHandlerImpl devModeHandler = DevModeHandlerImpl.start(port,
+                createDevModeLookup(), npmFolder,
+                CompletableFuture.completedFuture(null));
+        devModeHandler.join();
+        assertTrue(devModeHandler.serveDevModeRequest(request, response));
+
+        ArgumentCaptor<WriteListener> listener = ArgumentCaptor
+                .forClass(WriteListener.class);
+        Mockito.verify(output).setWriteListener(listener.capture());
+        Mockito.verify(asyncContext, Mockito.never()).complete();
+
+        listener.getValue().onWritePossible();
+
+        Mockito.verify(asyncContext, Mockito.timeout(5000)).complete();
+        assertEquals("{}", body.toString("UTF-8"));
+    }
+
     @Test
     public void vaadinServlet_forDifferentRequests_shouldHaveCorrectResponse()
             throws Exception {
@@ -809,6 +870,20 @@ public class DevModeHandlerImplTest {
         return response;
     }
 
+    private HttpServletResponse prepareResponse(ByteArrayOutputStream body)
+            throws IOException {
+        HttpServletResponse response = prepareResponse();
+        ServletOutputStream output = response.getOutputStream();
+        Mockito.doAnswer(invocation -> {
+            body.write((byte[]) invocation.getArgument(0),
+                    (int) invocation.getArgument(1),
+                    (int) invocation.getArgument(2));
+            return null;
+        }).when(output).write(Mockito.any(byte[].class), Mockito.anyInt(),
+                Mockito.anyInt());
+        return response;
+    }
+
     private int prepareHttpServer(int port, int status, String response)
             throws Exception {
         if (port == 0) {
@@ -856,6 +931,9 @@ public class DevModeHandlerImplTest {
         HttpServer httpServer = HttpServer.create(new InetSocketAddress(port),
                 0);
         httpServer.createContext("/", exchange -> {
+            // Connections to the stub are not kept alive, so that no pooled
+            // connection outlives the stub and holds on to a local port
+            exchange.getResponseHeaders().add("Connection", "close");
             exchange.sendResponseHeaders(status, response.length());
             exchange.getResponseBody().write(response.getBytes());
             exchange.close();
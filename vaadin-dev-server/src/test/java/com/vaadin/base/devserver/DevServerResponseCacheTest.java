@@ -0,0 +1,69 @@
+/*
+ * Copyright 2000-2021 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.base.devserver;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DevServerResponseCacheTest {
+
+    private static final String BUNDLE = "/VAADIN/build/vaadin-bundle-0123456789abcdef0123.cache.js";
+    private static final String OTHER_BUNDLE = "/VAADIN/build/vaadin-other-fedcba98765432100123.cache.js";
+
+    private final DevServerResponseCache cache = new DevServerResponseCache(
+            10);
+
+    @Test
+    public void isCacheable_onlyHashedBundles() {
+        Assert.assertTrue(DevServerResponseCache.isCacheable(BUNDLE));
+        Assert.assertFalse(DevServerResponseCache
+                .isCacheable("/VAADIN/build/vaadin-bundle.cache.js"));
+        Assert.assertFalse(DevServerResponseCache.isCacheable("/VAADIN/foo.js"));
+    }
+
+    @Test
+    public void put_get_responseCached() {
+        cache.put(BUNDLE, Collections.singletonMap("Content-Type", "js"),
+                new byte[] { 1, 2 });
+
+        DevServerResponseCache.CachedResponse cached = cache.get(BUNDLE);
+        Assert.assertArrayEquals(new byte[] { 1, 2 }, cached.getBody());
+        Assert.assertEquals("js", cached.getHeaders().get("Content-Type"));
+    }
+
+    @Test
+    public void put_notCacheableOrTooLarge_notCached() {
+        cache.put("/VAADIN/foo.js", Collections.emptyMap(), new byte[1]);
+        cache.put(BUNDLE, Collections.emptyMap(), new byte[11]);
+
+        Assert.assertNull(cache.get("/VAADIN/foo.js"));
+        Assert.assertNull(cache.get(BUNDLE));
+    }
+
+    @Test
+    public void put_cacheFull_leastRecentlyUsedEvicted() {
+        cache.put(BUNDLE, Collections.emptyMap(), new byte[6]);
+        cache.put(OTHER_BUNDLE, Collections.emptyMap(), new byte[6]);
+
+        Assert.assertNull(cache.get(BUNDLE));
+        Assert.assertNotNull(cache.get(OTHER_BUNDLE));
+
+        cache.clear();
+        Assert.assertNull(cache.get(OTHER_BUNDLE));
+    }
+}